@@ -0,0 +1,84 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jumpmind.db.model.Column;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TypeMap;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.CsvUtils;
+import org.jumpmind.symmetric.io.data.DataEventType;
+
+/**
+ * Sample table and rows shared by the benchmarks, shaped like a typical captured order line.
+ */
+public class BenchmarkData {
+    public static final String TABLE_NAME = "bench_order_line";
+    public static final String[] KEY_NAMES = { "order_id", "line_number" };
+    public static final String[] COLUMN_NAMES = { "order_id", "line_number", "store_id", "item_id", "description", "quantity", "price",
+            "status", "last_update_time" };
+
+    public static Table buildTable() {
+        Table table = new Table(TABLE_NAME);
+        for (String columnName : COLUMN_NAMES) {
+            Column column = new Column(columnName);
+            if (columnName.equals("order_id") || columnName.equals("line_number") || columnName.equals("quantity")) {
+                column.setMappedType(TypeMap.INTEGER);
+            } else if (columnName.equals("price")) {
+                column.setMappedType(TypeMap.DECIMAL);
+                column.setSizeAndScale(12, 2);
+            } else if (columnName.equals("last_update_time")) {
+                column.setMappedType(TypeMap.TIMESTAMP);
+            } else {
+                column.setMappedType(TypeMap.VARCHAR);
+                column.setSize("100");
+            }
+            for (String keyName : KEY_NAMES) {
+                if (keyName.equals(columnName)) {
+                    column.setPrimaryKey(true);
+                    column.setRequired(true);
+                }
+            }
+            table.addColumn(column);
+        }
+        return table;
+    }
+
+    public static String[] buildRow(long orderId, int lineNumber) {
+        return new String[] { Long.toString(orderId), Integer.toString(lineNumber), "store-" + (orderId % 50), "item-" + (lineNumber * 31),
+                "Widget, \"deluxe\" model " + lineNumber, Integer.toString(lineNumber % 7 + 1), "19.99", "NEW", "2024-06-01 12:34:56.789" };
+    }
+
+    public static String buildCsvRow(long orderId, int lineNumber) {
+        return CsvUtils.escapeCsvData(buildRow(orderId, lineNumber));
+    }
+
+    public static List<CsvData> buildInserts(long firstOrderId, int rowCount) {
+        List<CsvData> list = new ArrayList<CsvData>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            list.add(new CsvData(DataEventType.INSERT, buildRow(firstOrderId + i, i % 10 + 1)));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.symmetric.csv.CsvReader;
+import org.jumpmind.symmetric.csv.CsvWriter;
+import org.jumpmind.symmetric.io.data.CsvUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and escaping of the CSV used for captured row data and the transport protocol.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvBenchmark {
+    @Param({ "100" })
+    int rowCount;
+
+    String csvRow;
+    String[] row;
+    String csvRows;
+    String[][] rows;
+
+    @Setup
+    public void setup() {
+        row = BenchmarkData.buildRow(1000, 1);
+        csvRow = BenchmarkData.buildCsvRow(1000, 1);
+        rows = new String[rowCount][];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = BenchmarkData.buildRow(1000 + i, i % 10 + 1);
+            sb.append(CsvUtils.escapeCsvData(rows[i])).append("\n");
+        }
+        csvRows = sb.toString();
+    }
+
+    @Benchmark
+    public String[] tokenizeRow() {
+        return CsvUtils.tokenizeCsvData(csvRow);
+    }
+
+    /**
+     * Tokenizes a row the way it was done before readers were reused, with a new reader and buffers for every row, for comparison with tokenizeRow. Run
+     * with -prof gc to compare allocation rates.
+     */
+    @Benchmark
+    public String[] tokenizeRowWithNewReader() throws IOException {
+        try (CsvReader reader = CsvUtils.getCsvReader(new StringReader(csvRow))) {
+            return reader.readRecord() ? reader.getValues() : null;
+        }
+    }
+
+    @Benchmark
+    public String escapeRow() {
+        return CsvUtils.escapeCsvData(row);
+    }
+
+    @Benchmark
+    public long readRows() throws IOException {
+        CsvReader reader = CsvUtils.getCsvReader(new StringReader(csvRows));
+        long columnCount = 0;
+        while (reader.readRecord()) {
+            columnCount += reader.getColumnCount();
+        }
+        reader.close();
+        return columnCount;
+    }
+
+    @Benchmark
+    public String writeRows() throws IOException {
+        StringWriter out = new StringWriter(csvRows.length());
+        CsvWriter writer = new CsvWriter(out, ',');
+        writer.setEscapeMode(CsvWriter.ESCAPE_MODE_BACKSLASH);
+        writer.setTextQualifier('"');
+        writer.setUseTextQualifier(true);
+        writer.setForceQualifier(true);
+        for (String[] values : rows) {
+            writer.writeRecord(values);
+        }
+        writer.flush();
+        return out.toString();
+    }
+}
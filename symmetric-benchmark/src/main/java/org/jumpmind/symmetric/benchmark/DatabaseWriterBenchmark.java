@@ -0,0 +1,115 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.JdbcDatabasePlatformFactory;
+import org.jumpmind.db.sql.SqlTemplateSettings;
+import org.jumpmind.db.util.BinaryEncoding;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.Batch.BatchType;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.writer.DatabaseWriterSettings;
+import org.jumpmind.symmetric.io.data.writer.DefaultDatabaseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a batch of inserts through the default database writer into an in-memory H2 database, which measures the
+ * data loader overhead (statement building, type conversion, statistics) more than the database itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseWriterBenchmark {
+    @Param({ "1000" })
+    int rowCount;
+
+    BasicDataSource dataSource;
+    IDatabasePlatform platform;
+    Table table;
+    List<CsvData> rows;
+    long batchId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        platform = JdbcDatabasePlatformFactory.getInstance().create(dataSource, new SqlTemplateSettings(), true, false);
+        table = BenchmarkData.buildTable();
+        platform.createTables(true, false, table);
+        rows = BenchmarkData.buildInserts(1, rowCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        platform.getSqlTemplate().update("truncate table " + table.getQualifiedTableName(platform.getDatabaseInfo().getDelimiterToken(),
+                platform.getDatabaseInfo().getCatalogSeparator(), platform.getDatabaseInfo().getSchemaSeparator()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long writeInserts() {
+        DefaultDatabaseWriter writer = new DefaultDatabaseWriter(platform, new DatabaseWriterSettings());
+        Batch batch = new Batch(BatchType.LOAD, ++batchId, "default", BinaryEncoding.BASE64, "00000", "00001", false);
+        writer.open(new DataContext(batch));
+        try {
+            writer.start(batch);
+            if (writer.start(table)) {
+                for (CsvData data : rows) {
+                    writer.write(data);
+                }
+                writer.end(table);
+            }
+            writer.end(batch, false);
+        } finally {
+            writer.close();
+        }
+        return batchId;
+    }
+}
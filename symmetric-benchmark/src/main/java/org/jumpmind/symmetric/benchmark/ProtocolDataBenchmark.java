@@ -0,0 +1,107 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.util.BinaryEncoding;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.Batch.BatchType;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.reader.ProtocolDataReader;
+import org.jumpmind.symmetric.io.data.writer.ProtocolDataWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serializing a batch to the transport protocol and parsing it back, which is what every push, pull and staging read does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolDataBenchmark {
+    @Param({ "100", "1000" })
+    int rowCount;
+
+    Table table;
+    List<CsvData> rows;
+    String protocolData;
+    long batchId;
+
+    @Setup
+    public void setup() {
+        table = BenchmarkData.buildTable();
+        rows = BenchmarkData.buildInserts(1, rowCount);
+        protocolData = writeBatch();
+    }
+
+    @Benchmark
+    public String writeBatch() {
+        StringWriter out = new StringWriter();
+        ProtocolDataWriter writer = new ProtocolDataWriter("00000", out, false, false, false);
+        Batch batch = new Batch(BatchType.LOAD, ++batchId, "default", BinaryEncoding.BASE64, "00000", "00001", false);
+        writer.open(new DataContext(batch));
+        writer.start(batch);
+        writer.start(table);
+        for (CsvData data : rows) {
+            writer.write(data);
+        }
+        writer.end(table);
+        writer.end(batch, false);
+        writer.close();
+        return out.toString();
+    }
+
+    @Benchmark
+    public long readBatch() {
+        ProtocolDataReader reader = new ProtocolDataReader(BatchType.LOAD, "00001", protocolData);
+        reader.open(new DataContext(reader));
+        long count = 0;
+        Batch batch = null;
+        while ((batch = reader.nextBatch()) != null) {
+            while (reader.nextTable() != null) {
+                CsvData data = null;
+                while ((data = reader.nextData()) != null) {
+                    count += data.getParsedData(CsvData.ROW_DATA).length;
+                }
+            }
+            batch.getBatchId();
+        }
+        reader.close();
+        return count;
+    }
+}
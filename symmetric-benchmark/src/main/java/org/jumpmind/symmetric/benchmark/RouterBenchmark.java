@@ -0,0 +1,157 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.io.data.CsvUtils;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.model.DataMetaData;
+import org.jumpmind.symmetric.model.Node;
+import org.jumpmind.symmetric.model.NodeChannel;
+import org.jumpmind.symmetric.model.OutgoingBatch;
+import org.jumpmind.symmetric.model.Router;
+import org.jumpmind.symmetric.model.TriggerHistory;
+import org.jumpmind.symmetric.model.TriggerRouter;
+import org.jumpmind.symmetric.route.AbstractDataRouter;
+import org.jumpmind.symmetric.route.ColumnMatchDataRouter;
+import org.jumpmind.symmetric.route.DefaultDataRouter;
+import org.jumpmind.symmetric.route.SimpleRouterContext;
+import org.jumpmind.symmetric.service.INodeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Routing a single captured change to a set of target nodes, which the route job does for every row in sym_data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouterBenchmark {
+    @Param({ "10", "1000" })
+    int nodeCount;
+
+    @Param({ "store_id=:NODE_ID", "status=NEW or store_id=:NODE_ID" })
+    String routerExpression;
+
+    ColumnMatchDataRouter columnMatchRouter;
+    DefaultDataRouter defaultRouter;
+    DataMapRouter dataMapRouter;
+    SimpleRouterContext routerContext;
+    DataMetaData dataMetaData;
+    Set<Node> nodes;
+
+    @Setup
+    public void setup() {
+        ISymmetricEngine engine = buildEngine(new Node("00000", "corp"));
+        columnMatchRouter = new ColumnMatchDataRouter(engine);
+        defaultRouter = new DefaultDataRouter();
+        dataMapRouter = new DataMapRouter();
+
+        TriggerHistory triggerHistory = new TriggerHistory(BenchmarkData.TABLE_NAME, "order_id,line_number",
+                String.join(",", BenchmarkData.COLUMN_NAMES));
+        triggerHistory.setTriggerHistoryId(1);
+        Data data = new Data(BenchmarkData.TABLE_NAME, DataEventType.INSERT, CsvUtils.escapeCsvData(BenchmarkData.buildRow(1000, 1)), null,
+                triggerHistory, "default", null, null);
+        Router router = new Router();
+        router.setRouterId("benchmark");
+        router.setRouterExpression(routerExpression);
+        NodeChannel nodeChannel = new NodeChannel("default");
+        Table table = BenchmarkData.buildTable();
+        dataMetaData = new DataMetaData(data, table, router, nodeChannel);
+        routerContext = new SimpleRouterContext("00000", nodeChannel);
+
+        nodes = new HashSet<Node>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new Node("store-" + i, "store"));
+        }
+    }
+
+    @Benchmark
+    public Set<String> columnMatch() {
+        return columnMatchRouter.routeToNodes(routerContext, dataMetaData, nodes, false, false, null);
+    }
+
+    @Benchmark
+    public Set<String> defaultRouter() {
+        return defaultRouter.routeToNodes(routerContext, dataMetaData, nodes, false, false, null);
+    }
+
+    @Benchmark
+    public Map<String, String> dataMap() {
+        return dataMapRouter.dataMap(dataMetaData);
+    }
+
+    /**
+     * Only the node service identity is needed by the column match router, so a proxy avoids starting an engine.
+     */
+    protected static ISymmetricEngine buildEngine(Node identity) {
+        INodeService nodeService = proxy(INodeService.class, (proxy, method, args) -> method.getName().equals("findIdentity") ? identity : null);
+        return proxy(ISymmetricEngine.class, (proxy, method, args) -> method.getName().equals("getNodeService") ? nodeService : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static <T> T proxy(Class<T> clazz, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(RouterBenchmark.class.getClassLoader(), new Class<?>[] { clazz }, handler);
+    }
+
+    static class DataMapRouter extends AbstractDataRouter {
+        public Map<String, String> dataMap(DataMetaData dataMetaData) {
+            return getDataMap(dataMetaData, null);
+        }
+
+        public Set<String> routeToNodes(SimpleRouterContext context, DataMetaData dataMetaData, Set<Node> nodes, boolean initialLoad,
+                boolean initialLoadSelectUsed, TriggerRouter triggerRouter) {
+            return null;
+        }
+
+        public void completeBatch(SimpleRouterContext context, OutgoingBatch batch) {
+        }
+
+        public boolean isConfigurable() {
+            return false;
+        }
+
+        public boolean isDmlOnly() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.jumpmind.symmetric.io.stage.IStagedResource;
+import org.jumpmind.symmetric.io.stage.IStagedResource.State;
+import org.jumpmind.symmetric.io.stage.StagingManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing a batch to staging, finding it again and reading it back, both for memory and file staged resources.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StagingBenchmark {
+    @Param({ "1000" })
+    int rowCount;
+
+    @Param({ "0", "100000000" })
+    long memoryThreshold;
+
+    File directory;
+    StagingManager stagingManager;
+    String[] lines;
+    long batchId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("sym-staging-bench").toFile();
+        stagingManager = new StagingManager(directory.getAbsolutePath(), false);
+        lines = new String[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            lines[i] = "insert," + BenchmarkData.buildCsvRow(i, i % 10 + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public long writeFindRead() throws IOException {
+        long id = ++batchId;
+        IStagedResource resource = stagingManager.create("outgoing", "00001", id);
+        BufferedWriter writer = resource.getWriter(memoryThreshold);
+        for (String line : lines) {
+            writer.write(line);
+            writer.newLine();
+        }
+        resource.close();
+        resource.setState(State.DONE);
+
+        IStagedResource found = stagingManager.find("outgoing", "00001", id);
+        long length = 0;
+        BufferedReader reader = found.getReader();
+        String line = null;
+        while ((line = reader.readLine()) != null) {
+            length += line.length();
+        }
+        found.close();
+        found.delete();
+        return length;
+    }
+}
@@ -122,6 +122,26 @@ public class DbCompareCommand extends AbstractCommandLauncher {
         if (!StringUtils.isEmpty(continueAfterError)) {
             config.setContinueAfterError(Boolean.parseBoolean(continueAfterError));
         }
+        String hashCompare = getOptionValue(OPTION_HASH_COMPARE, "hashCompare", line, config);
+        if (!StringUtils.isEmpty(hashCompare)) {
+            config.setHashCompare(Boolean.parseBoolean(hashCompare));
+        }
+        String hashLeafRowsArg = getOptionValue(OPTION_HASH_LEAF_ROWS, "hashLeafRows", line, config);
+        if (!StringUtils.isEmpty(hashLeafRowsArg)) {
+            try {
+                config.setHashLeafRows(Integer.parseInt(hashLeafRowsArg.trim()));
+            } catch (NumberFormatException ex) {
+                throw new RuntimeException("Failed to parse arg [" + hashLeafRowsArg + "] ", ex);
+            }
+        }
+        String hashBucketsArg = getOptionValue(OPTION_HASH_BUCKETS, "hashBuckets", line, config);
+        if (!StringUtils.isEmpty(hashBucketsArg)) {
+            try {
+                config.setHashBuckets(Integer.parseInt(hashBucketsArg.trim()));
+            } catch (NumberFormatException ex) {
+                throw new RuntimeException("Failed to parse arg [" + hashBucketsArg + "] ", ex);
+            }
+        }
         ISymmetricEngine sourceEngine = new ClientSymmetricEngine(sourceProperies);
         ISymmetricEngine targetEngine = new ClientSymmetricEngine(targetProperties);
         DbCompare dbCompare = new DbCompare(sourceEngine, targetEngine, config);
@@ -186,6 +206,9 @@ public class DbCompareCommand extends AbstractCommandLauncher {
     private static final String OPTION_DATE_TIME_FORMAT = "date-time-format";
     private static final String OPTION_CONFIG_PROPERTIES = "config";
     private static final String OPTION_CONTINUE_AFTER_ERROR = "continue-after-error";
+    private static final String OPTION_HASH_COMPARE = "hash-compare";
+    private static final String OPTION_HASH_LEAF_ROWS = "hash-leaf-rows";
+    private static final String OPTION_HASH_BUCKETS = "hash-buckets";
 
     @Override
     protected void printHelp(CommandLine cmd, Options options) {
@@ -207,6 +230,9 @@ public class DbCompareCommand extends AbstractCommandLauncher {
         addOption(options, null, OPTION_DATE_TIME_FORMAT, true);
         addOption(options, null, OPTION_CONFIG_PROPERTIES, true);
         addOption(options, null, OPTION_CONTINUE_AFTER_ERROR, true);
+        addOption(options, null, OPTION_HASH_COMPARE, true);
+        addOption(options, null, OPTION_HASH_LEAF_ROWS, true);
+        addOption(options, null, OPTION_HASH_BUCKETS, true);
     }
 
     protected Map<String, String> parseProperty(CommandLine line, String propertyName) {
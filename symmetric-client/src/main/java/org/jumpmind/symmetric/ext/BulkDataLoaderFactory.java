@@ -24,11 +24,15 @@ import java.util.List;
 
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.platform.kafka.KafkaPlatform;
+import org.jumpmind.db.platform.mysql.MySqlDatabasePlatform;
+import org.jumpmind.db.platform.postgresql.PostgreSqlDatabasePlatform;
 import org.jumpmind.extension.IBuiltInExtensionPoint;
 import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.io.JdbcBatchBulkDatabaseWriter;
+import org.jumpmind.symmetric.io.MySqlBulkDatabaseWriter;
+import org.jumpmind.symmetric.io.PostgresBulkDatabaseWriter;
 import org.jumpmind.symmetric.io.data.IDataWriter;
 import org.jumpmind.symmetric.io.data.writer.Conflict;
 import org.jumpmind.symmetric.io.data.writer.IDatabaseWriterErrorHandler;
@@ -54,6 +58,16 @@ public class BulkDataLoaderFactory extends AbstractDataLoaderFactory implements
         if (engine.getParameterService().is(ParameterConstants.JDBC_EXECUTE_BULK_BATCH_OVERRIDE, false)) {
             return new JdbcBatchBulkDatabaseWriter(symmetricDialect.getPlatform(), platform,
                     symmetricDialect.getTablePrefix(), buildParameterDatabaseWriterSettings(conflictSettings));
+        } else if (platform instanceof PostgreSqlDatabasePlatform
+                && engine.getParameterService().is(ParameterConstants.POSTGRES_BULK_LOAD_USE_COPY, false)) {
+            return new PostgresBulkDatabaseWriter(symmetricDialect.getPlatform(), platform, symmetricDialect.getTablePrefix(),
+                    buildParameterDatabaseWriterSettings(conflictSettings),
+                    engine.getParameterService().getInt(ParameterConstants.POSTGRES_BULK_LOAD_MAX_ROWS_BEFORE_FLUSH, 100000));
+        } else if (platform instanceof MySqlDatabasePlatform
+                && engine.getParameterService().is(ParameterConstants.MYSQL_BULK_LOAD_LOCAL_INFILE, false)) {
+            return new MySqlBulkDatabaseWriter(symmetricDialect.getPlatform(), platform, symmetricDialect.getTablePrefix(),
+                    buildParameterDatabaseWriterSettings(conflictSettings), engine.getStagingManager(),
+                    engine.getParameterService().getInt(ParameterConstants.MYSQL_BULK_LOAD_MAX_ROWS_BEFORE_FLUSH, 100000));
         } else {
             return new JdbcBatchBulkDatabaseWriter(symmetricDialect.getPlatform(), platform,
                     symmetricDialect.getTablePrefix(), buildParameterDatabaseWriterSettings(conflictSettings));
@@ -0,0 +1,252 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io;
+
+import java.io.IOException;
+import java.sql.Types;
+
+import org.apache.commons.codec.binary.Hex;
+import org.jumpmind.db.model.Column;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.DatabaseInfo;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.mysql.MySqlDatabasePlatform;
+import org.jumpmind.db.util.BinaryEncoding;
+import org.jumpmind.symmetric.SymmetricException;
+import org.jumpmind.symmetric.common.Constants;
+import org.jumpmind.symmetric.csv.CsvWriter;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.writer.DataWriterStatisticConstants;
+import org.jumpmind.symmetric.io.data.writer.DatabaseWriterSettings;
+import org.jumpmind.symmetric.io.stage.IStagedResource;
+import org.jumpmind.symmetric.io.stage.IStagingManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spools inserts into a staging file and applies them to MySQL or MariaDB with LOAD DATA LOCAL INFILE. The JDBC URL must allow local infile
+ * (allowLoadLocalInfile=true for MySQL, allowLocalInfile=true for MariaDB). A batch that contains an update or delete, or that loads fewer rows than were
+ * spooled because of a conflict, is thrown back to the data loader so it can be loaded again with the default writer.
+ */
+public class MySqlBulkDatabaseWriter extends AbstractBulkDatabaseWriter {
+    private static final Logger log = LoggerFactory.getLogger(MySqlBulkDatabaseWriter.class);
+    protected IStagingManager stagingManager;
+    protected int maxRowsBeforeFlush;
+    protected IStagedResource stagedInputFile;
+    protected CsvWriter csvWriter;
+    protected Table loadTable;
+    protected int[] loadColumnIndexes;
+    protected boolean[] loadColumnIsBinary;
+    protected String[] loadValues;
+    protected int loadRowCount;
+
+    public MySqlBulkDatabaseWriter(IDatabasePlatform symmetricPlatform, IDatabasePlatform targetPlatform, String tablePrefix,
+            DatabaseWriterSettings settings, IStagingManager stagingManager, int maxRowsBeforeFlush) {
+        super(symmetricPlatform, targetPlatform, tablePrefix, settings);
+        this.stagingManager = stagingManager;
+        this.maxRowsBeforeFlush = maxRowsBeforeFlush;
+    }
+
+    @Override
+    protected void bulkWrite(CsvData data) {
+        DataEventType eventType = data.getDataEventType();
+        if (eventType == DataEventType.UPDATE || eventType == DataEventType.DELETE) {
+            throw new SymmetricException("MySqlBulkDatabaseWriter does not load " + eventType.name().toLowerCase()
+                    + " events, will attempt to fallback using default writer.");
+        }
+        if (eventType != DataEventType.INSERT) {
+            flush();
+        }
+        writeDefault(data);
+    }
+
+    @Override
+    protected LoadStatus insert(CsvData data) {
+        if (isFallBackToDefault() || !(getPlatform() instanceof MySqlDatabasePlatform)) {
+            return super.insert(data);
+        }
+        if (stagedInputFile == null || loadTable != targetTable) {
+            flush();
+            createStagingFile();
+        }
+        statistics.get(batch).startTimer(DataWriterStatisticConstants.LOADMILLIS);
+        try {
+            String[] rowData = getRowData(data, CsvData.ROW_DATA);
+            for (int i = 0; i < loadColumnIndexes.length; i++) {
+                String value = rowData[loadColumnIndexes[i]];
+                loadValues[i] = loadColumnIsBinary[i] && value != null ? encodeBinary(value) : value;
+            }
+            csvWriter.writeRecord(loadValues, true);
+            statistics.get(batch).increment(DataWriterStatisticConstants.INSERTCOUNT);
+            statistics.get(batch).incrementTableStats(targetTable.getName(), DataEventType.INSERT.getCode(), 1);
+        } catch (IOException ex) {
+            throw new SymmetricException(ex);
+        } finally {
+            statistics.get(batch).stopTimer(DataWriterStatisticConstants.LOADMILLIS);
+        }
+        if (++loadRowCount >= maxRowsBeforeFlush) {
+            flush();
+        }
+        return LoadStatus.SUCCESS;
+    }
+
+    protected void createStagingFile() {
+        Column[] columns = targetTable.getColumns();
+        String[] sourceColumnNames = sourceTable.getColumnNames();
+        int[] indexes = new int[columns.length];
+        int count = 0;
+        for (int t = 0; t < columns.length; t++) {
+            for (String sourceColumnName : sourceColumnNames) {
+                if (sourceColumnName.equalsIgnoreCase(columns[t].getName())) {
+                    indexes[count++] = t;
+                    break;
+                }
+            }
+        }
+        loadColumnIndexes = new int[count];
+        loadColumnIsBinary = new boolean[count];
+        loadValues = new String[count];
+        for (int i = 0; i < count; i++) {
+            loadColumnIndexes[i] = indexes[i];
+            loadColumnIsBinary[i] = columns[indexes[i]].isOfBinaryType();
+        }
+        stagedInputFile = stagingManager.create(Constants.STAGING_CATEGORY_BULK_LOAD, targetTable.getName().toLowerCase(),
+                batch.getBatchId());
+        csvWriter = new CsvWriter(stagedInputFile.getWriter(0), ',');
+        csvWriter.setEscapeMode(CsvWriter.ESCAPE_MODE_BACKSLASH);
+        csvWriter.setTextQualifier('"');
+        csvWriter.setUseTextQualifier(true);
+        csvWriter.setForceQualifier(true);
+        csvWriter.setRecordDelimiter('\n');
+        csvWriter.setNullString("\\N");
+        loadTable = targetTable;
+        loadRowCount = 0;
+    }
+
+    protected String buildLoadSql() {
+        IDatabasePlatform platform = getPlatform(loadTable);
+        DatabaseInfo info = platform.getDatabaseInfo();
+        String quote = platform.getDdlBuilder().isDelimitedIdentifierModeOn() ? info.getDelimiterToken() : "";
+        String path = stagedInputFile.getFile().getAbsolutePath().replace('\\', '/').replace("'", "\\'");
+        StringBuilder sql = new StringBuilder("LOAD DATA LOCAL INFILE '").append(path).append("' INTO TABLE ");
+        sql.append(loadTable.getQualifiedTableName(quote, info.getCatalogSeparator(), info.getSchemaSeparator()));
+        sql.append(" CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (");
+        StringBuilder set = new StringBuilder();
+        Column[] columns = loadTable.getColumns();
+        for (int i = 0; i < loadColumnIndexes.length; i++) {
+            Column column = columns[loadColumnIndexes[i]];
+            String columnName = quote + column.getName() + quote;
+            sql.append(i > 0 ? ", " : "");
+            if (loadColumnIsBinary[i]) {
+                sql.append("@v").append(i);
+                set.append(set.length() > 0 ? ", " : "").append(columnName).append(" = UNHEX(@v").append(i).append(")");
+            } else if (column.getMappedTypeCode() == Types.BIT || column.getMappedTypeCode() == Types.BOOLEAN) {
+                sql.append("@v").append(i);
+                set.append(set.length() > 0 ? ", " : "").append(columnName).append(" = CAST(@v").append(i).append(" AS UNSIGNED)");
+            } else {
+                sql.append(columnName);
+            }
+        }
+        sql.append(")");
+        if (set.length() > 0) {
+            sql.append(" SET ").append(set);
+        }
+        return sql.toString();
+    }
+
+    protected void flush() {
+        if (stagedInputFile != null) {
+            try {
+                csvWriter.flush();
+                stagedInputFile.close();
+                if (loadRowCount > 0) {
+                    statistics.get(batch).startTimer(DataWriterStatisticConstants.LOADMILLIS);
+                    try {
+                        String sql = buildLoadSql();
+                        log.debug("Loading {} rows: {}", loadRowCount, sql);
+                        int count = getTransaction(loadTable).execute(sql);
+                        if (count != loadRowCount) {
+                            throw new SymmetricException("MySqlBulkDatabaseWriter loaded " + count + " of " + loadRowCount + " rows into "
+                                    + loadTable.getFullyQualifiedTableName() + ", will attempt to fallback using default writer.");
+                        }
+                    } finally {
+                        statistics.get(batch).stopTimer(DataWriterStatisticConstants.LOADMILLIS);
+                    }
+                }
+            } finally {
+                discard();
+            }
+        }
+    }
+
+    protected void discard() {
+        if (stagedInputFile != null) {
+            stagedInputFile.delete();
+            stagedInputFile = null;
+            csvWriter = null;
+            loadTable = null;
+            loadRowCount = 0;
+        }
+    }
+
+    protected String encodeBinary(String value) {
+        if (batch.getBinaryEncoding() == BinaryEncoding.HEX) {
+            return value;
+        }
+        return new String(Hex.encodeHex(batch.decodeBinary(value)));
+    }
+
+    @Override
+    public void end(Table table) {
+        flush();
+        super.end(table);
+    }
+
+    @Override
+    public void end(Batch batch, boolean inError) {
+        if (inError) {
+            discard();
+        } else {
+            flush();
+        }
+        super.end(batch, inError);
+    }
+
+    @Override
+    protected void commit(boolean earlyCommit) {
+        flush();
+        super.commit(earlyCommit);
+    }
+
+    @Override
+    protected void rollback() {
+        discard();
+        super.rollback();
+    }
+
+    @Override
+    public void close() {
+        discard();
+        super.close();
+    }
+}
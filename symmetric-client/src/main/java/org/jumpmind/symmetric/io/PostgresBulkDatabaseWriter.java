@@ -0,0 +1,229 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import org.apache.commons.codec.binary.Hex;
+import org.jumpmind.db.model.Column;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.DatabaseInfo;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.postgresql.PostgreSqlDatabasePlatform;
+import org.jumpmind.db.sql.JdbcSqlTransaction;
+import org.jumpmind.db.util.BinaryEncoding;
+import org.jumpmind.symmetric.SymmetricException;
+import org.jumpmind.symmetric.csv.CsvWriter;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.writer.DataWriterStatisticConstants;
+import org.jumpmind.symmetric.io.data.writer.DatabaseWriterSettings;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams inserts into PostgreSQL with COPY FROM STDIN in CSV format. A batch that contains an update or delete, or that fails to copy because of a conflict,
+ * is thrown back to the data loader so it can be loaded again with the default writer.
+ */
+public class PostgresBulkDatabaseWriter extends AbstractBulkDatabaseWriter {
+    private static final Logger log = LoggerFactory.getLogger(PostgresBulkDatabaseWriter.class);
+    protected int maxRowsBeforeFlush;
+    protected CopyIn copyIn;
+    protected Table copyTable;
+    protected int[] copyColumnIndexes;
+    protected boolean[] copyColumnIsBinary;
+    protected String[] copyValues;
+    protected int copyRowCount;
+    protected StringWriter rowWriter = new StringWriter();
+    protected CsvWriter csvWriter;
+
+    public PostgresBulkDatabaseWriter(IDatabasePlatform symmetricPlatform, IDatabasePlatform targetPlatform,
+            String tablePrefix, DatabaseWriterSettings settings, int maxRowsBeforeFlush) {
+        super(symmetricPlatform, targetPlatform, tablePrefix, settings);
+        this.maxRowsBeforeFlush = maxRowsBeforeFlush;
+        csvWriter = new CsvWriter(rowWriter, ',');
+        csvWriter.setEscapeMode(CsvWriter.ESCAPE_MODE_DOUBLED);
+        csvWriter.setTextQualifier('"');
+        csvWriter.setUseTextQualifier(true);
+        /* quote every value so one like \. is not read as the end of data marker and carriage returns are accepted, while null stays unquoted */
+        csvWriter.setForceQualifier(true);
+        csvWriter.setRecordDelimiter('\n');
+        csvWriter.setNullString("");
+    }
+
+    @Override
+    protected void bulkWrite(CsvData data) {
+        DataEventType eventType = data.getDataEventType();
+        if (eventType == DataEventType.UPDATE || eventType == DataEventType.DELETE) {
+            throw new SymmetricException("PostgresBulkDatabaseWriter does not copy " + eventType.name().toLowerCase()
+                    + " events, will attempt to fallback using default writer.");
+        }
+        if (eventType != DataEventType.INSERT) {
+            endCopy();
+        }
+        writeDefault(data);
+    }
+
+    @Override
+    protected LoadStatus insert(CsvData data) {
+        if (isFallBackToDefault() || !(getPlatform() instanceof PostgreSqlDatabasePlatform)) {
+            return super.insert(data);
+        }
+        statistics.get(batch).startTimer(DataWriterStatisticConstants.LOADMILLIS);
+        try {
+            if (copyIn == null || copyTable != targetTable) {
+                endCopy();
+                startCopy();
+            }
+            String[] rowData = getRowData(data, CsvData.ROW_DATA);
+            for (int i = 0; i < copyColumnIndexes.length; i++) {
+                String value = rowData[copyColumnIndexes[i]];
+                copyValues[i] = copyColumnIsBinary[i] && value != null ? encodeBinary(value) : value;
+            }
+            rowWriter.getBuffer().setLength(0);
+            csvWriter.writeRecord(copyValues, true);
+            csvWriter.flush();
+            byte[] row = rowWriter.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(row, 0, row.length);
+            statistics.get(batch).increment(DataWriterStatisticConstants.INSERTCOUNT);
+            statistics.get(batch).incrementTableStats(targetTable.getName(), DataEventType.INSERT.getCode(), 1);
+            if (++copyRowCount >= maxRowsBeforeFlush) {
+                endCopy();
+            }
+            return LoadStatus.SUCCESS;
+        } catch (SQLException | IOException ex) {
+            throw getPlatform().getSqlTemplate().translate(ex);
+        } finally {
+            statistics.get(batch).stopTimer(DataWriterStatisticConstants.LOADMILLIS);
+        }
+    }
+
+    protected void startCopy() throws SQLException {
+        Column[] columns = targetTable.getColumns();
+        String[] sourceColumnNames = sourceTable.getColumnNames();
+        int[] indexes = new int[columns.length];
+        int count = 0;
+        for (int t = 0; t < columns.length; t++) {
+            for (String sourceColumnName : sourceColumnNames) {
+                if (sourceColumnName.equalsIgnoreCase(columns[t].getName())) {
+                    indexes[count++] = t;
+                    break;
+                }
+            }
+        }
+        DatabaseInfo info = getPlatform().getDatabaseInfo();
+        String quote = getPlatform().getDdlBuilder().isDelimitedIdentifierModeOn() ? info.getDelimiterToken() : "";
+        StringBuilder sql = new StringBuilder("COPY ");
+        sql.append(targetTable.getQualifiedTableName(quote, info.getCatalogSeparator(), info.getSchemaSeparator())).append(" (");
+        copyColumnIndexes = new int[count];
+        copyColumnIsBinary = new boolean[count];
+        copyValues = new String[count];
+        for (int i = 0; i < count; i++) {
+            Column column = columns[indexes[i]];
+            copyColumnIndexes[i] = indexes[i];
+            copyColumnIsBinary[i] = column.isOfBinaryType();
+            sql.append(i > 0 ? ", " : "").append(quote).append(column.getName()).append(quote);
+        }
+        sql.append(") FROM STDIN WITH (FORMAT csv)");
+        log.debug("Starting bulk copy: {}", sql);
+        PGConnection connection = ((JdbcSqlTransaction) getTransaction()).getConnection().unwrap(PGConnection.class);
+        copyIn = connection.getCopyAPI().copyIn(sql.toString());
+        copyTable = targetTable;
+        copyRowCount = 0;
+    }
+
+    protected void endCopy() {
+        if (copyIn != null) {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.endCopy();
+                }
+            } catch (SQLException ex) {
+                throw getPlatform(copyTable).getSqlTemplate().translate(ex);
+            } finally {
+                copyIn = null;
+                copyTable = null;
+            }
+        }
+    }
+
+    protected void cancelCopy() {
+        if (copyIn != null) {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            } catch (SQLException ex) {
+                log.debug("Failed to cancel bulk copy", ex);
+            } finally {
+                copyIn = null;
+                copyTable = null;
+            }
+        }
+    }
+
+    protected String encodeBinary(String value) {
+        if (batch.getBinaryEncoding() == BinaryEncoding.HEX) {
+            return "\\x" + value;
+        }
+        return "\\x" + new String(Hex.encodeHex(batch.decodeBinary(value)));
+    }
+
+    @Override
+    public void end(Table table) {
+        endCopy();
+        super.end(table);
+    }
+
+    @Override
+    public void end(Batch batch, boolean inError) {
+        if (inError) {
+            cancelCopy();
+        } else {
+            endCopy();
+        }
+        super.end(batch, inError);
+    }
+
+    @Override
+    protected void commit(boolean earlyCommit) {
+        endCopy();
+        super.commit(earlyCommit);
+    }
+
+    @Override
+    protected void rollback() {
+        cancelCopy();
+        super.rollback();
+    }
+
+    @Override
+    public void close() {
+        cancelCopy();
+        super.close();
+    }
+}
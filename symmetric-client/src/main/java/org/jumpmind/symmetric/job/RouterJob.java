@@ -22,6 +22,9 @@ package org.jumpmind.symmetric.job;
 
 import static org.jumpmind.symmetric.job.JobDefaults.EVERY_10_SECONDS;
 
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
 import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.service.ClusterConstants;
@@ -31,6 +34,9 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
  * This job calls {@link IRouterService#routeData()} 
  */
 public class RouterJob extends AbstractJob {
+    private ScheduledFuture<?> wakeupProbe;
+    private long lastMaxDataId = -1;
+
     public RouterJob(ISymmetricEngine engine, ThreadPoolTaskScheduler taskScheduler) {
         super(ClusterConstants.ROUTE, engine, taskScheduler);
     }
@@ -42,6 +48,48 @@ public class RouterJob extends AbstractJob {
                 .description("Create outgoing batches");
     }
 
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted() && wakeupProbe == null && parameterService.is(ParameterConstants.ROUTING_WAKEUP_ENABLED)) {
+            long periodMs = Math.max(parameterService.getLong(ParameterConstants.ROUTING_WAKEUP_PROBE_PERIOD_MS, 250), 10);
+            log.info("Starting job '{}' when new data is captured, checking every {}ms", jobName, periodMs);
+            wakeupProbe = getTaskScheduler().scheduleWithFixedDelay(() -> probeForData(), Duration.ofMillis(periodMs));
+        }
+    }
+
+    @Override
+    public boolean stop() {
+        if (wakeupProbe != null) {
+            wakeupProbe.cancel(true);
+            wakeupProbe = null;
+            lastMaxDataId = -1;
+        }
+        return super.stop();
+    }
+
+    /**
+     * Run the job when the highest data id has grown since the last check. A check made while the job is running is skipped, so the data it missed is
+     * picked up by the next check after the run.
+     */
+    protected void probeForData() {
+        if (!engine.isStarted() || isRunning() || isPaused()) {
+            return;
+        }
+        try {
+            long maxDataId = engine.getDataService().findMaxDataId();
+            if (maxDataId > lastMaxDataId) {
+                boolean firstCheck = lastMaxDataId < 0;
+                lastMaxDataId = maxDataId;
+                if (!firstCheck) {
+                    invoke(false);
+                }
+            }
+        } catch (Throwable ex) {
+            log.debug("Failed to check for new data to route", ex);
+        }
+    }
+
     @Override
     public void doJob(boolean force) throws Exception {
         setProcessedCount(engine.getRouterService().routeData(force));
@@ -0,0 +1,78 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.service.jmx;
+
+import org.jumpmind.driver.SqlMetrics;
+import org.jumpmind.driver.StatementMetricsInterceptor;
+import org.jumpmind.extension.IBuiltInExtensionPoint;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.ext.ISymmetricEngineAware;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Exposes the statement metrics gathered by the {@link StatementMetricsInterceptor} when it is configured on the jdbc:symds: driver.
+ */
+@ManagedResource(description = "The management interface for SQL statement metrics")
+public class SqlMetricsManagementService implements IBuiltInExtensionPoint, ISymmetricEngineAware {
+    private String engineName;
+
+    public SqlMetricsManagementService() {
+    }
+
+    public void setSymmetricEngine(ISymmetricEngine engine) {
+        this.engineName = engine.getEngineName();
+    }
+
+    @ManagedAttribute(description = "The statements that took the most time, with calls, rows and latency percentiles")
+    public String getTopStatements() {
+        return getSummary(20);
+    }
+
+    @ManagedAttribute(description = "The number of distinct statements being tracked")
+    public int getStatementCount() {
+        SqlMetrics metrics = SqlMetrics.findInstance(engineName);
+        return metrics != null ? metrics.getStatements().size() : 0;
+    }
+
+    @ManagedOperation(description = "Show the statements that took the most time")
+    @ManagedOperationParameters({
+            @ManagedOperationParameter(name = "count", description = "The number of statements to show") })
+    public String getSummary(int count) {
+        SqlMetrics metrics = SqlMetrics.findInstance(engineName);
+        if (metrics == null) {
+            return "Statement metrics are not enabled.  Configure " + StatementMetricsInterceptor.class.getName()
+                    + " as the interceptor for the jdbc:symds: driver.";
+        }
+        return metrics.getSummary(count);
+    }
+
+    @ManagedOperation(description = "Clear the statement metrics")
+    public void reset() {
+        SqlMetrics metrics = SqlMetrics.findInstance(engineName);
+        if (metrics != null) {
+            metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.service.jmx;
+
+import org.jumpmind.extension.IBuiltInExtensionPoint;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.ext.ISymmetricEngineAware;
+import org.jumpmind.symmetric.transport.ITransportManager;
+import org.jumpmind.symmetric.transport.http.HttpClientPool;
+import org.jumpmind.symmetric.transport.http.HttpClientTransportManager;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Exposes the connection pools that {@link HttpClientTransportManager} keeps for each remote node when transport.type=httpclient.
+ */
+@ManagedResource(description = "The management interface for the transport")
+public class TransportManagementService implements IBuiltInExtensionPoint, ISymmetricEngineAware {
+    private ISymmetricEngine engine;
+
+    public TransportManagementService() {
+    }
+
+    public void setSymmetricEngine(ISymmetricEngine engine) {
+        this.engine = engine;
+    }
+
+    @ManagedAttribute(description = "The class name of the transport manager in use")
+    public String getTransportManager() {
+        ITransportManager transportManager = engine.getTransportManager();
+        return transportManager != null ? transportManager.getClass().getSimpleName() : null;
+    }
+
+    @ManagedAttribute(description = "The connection pool for each remote node, with active and waiting requests, failures and HTTP/2 use")
+    public String getConnectionPools() {
+        ITransportManager transportManager = engine.getTransportManager();
+        if (!(transportManager instanceof HttpClientTransportManager)) {
+            return "Connection pools are only kept when transport.type=httpclient.";
+        }
+        StringBuilder buff = new StringBuilder();
+        for (HttpClientPool pool : ((HttpClientTransportManager) transportManager).getPools()) {
+            buff.append(pool).append("\n");
+        }
+        return buff.toString();
+    }
+
+    @ManagedAttribute(description = "The number of requests in progress across all remote nodes")
+    public int getActiveConnections() {
+        int count = 0;
+        ITransportManager transportManager = engine.getTransportManager();
+        if (transportManager instanceof HttpClientTransportManager) {
+            for (HttpClientPool pool : ((HttpClientTransportManager) transportManager).getPools()) {
+                count += pool.getActiveConnections();
+            }
+        }
+        return count;
+    }
+}
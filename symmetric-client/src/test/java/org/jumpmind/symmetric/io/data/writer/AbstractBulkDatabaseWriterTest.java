@@ -286,6 +286,30 @@ public abstract class AbstractBulkDatabaseWriterTest extends AbstractWriterTest
         }
     }
 
+    /**
+     * Writes the data with a new bulk writer, which is expected to fail, and then again with the bulk writer falling back to the default writer, the way
+     * the data loader does after a bulk load fails.
+     */
+    protected long writeDataWithFallback(List<CsvData> data) {
+        Table table = platform.getTableFromCache(getTestTable(), false);
+        boolean bulkFailed = false;
+        setErrorExpected(false);
+        try {
+            writeData(create(), new DataContext(), new TableCsvData(table, data));
+        } catch (Exception ex) {
+            bulkFailed = true;
+        } finally {
+            setErrorExpected(true);
+        }
+        Assert.assertTrue("The bulk writer should have failed", bulkFailed);
+        DataContext context = new DataContext();
+        IncomingBatch expectedBatch = new IncomingBatch();
+        expectedBatch.setErrorFlag(true);
+        context.put("currentBatch", expectedBatch);
+        context.put(ContextConstants.CONTEXT_BULK_WRITER_TO_USE, "default");
+        return writeData(create(), context, new TableCsvData(table, data));
+    }
+
     protected abstract AbstractDatabaseWriter create();
 
     @Override
@@ -0,0 +1,132 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.jumpmind.db.DbTestUtils;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.postgresql.PostgreSqlDatabasePlatform;
+import org.jumpmind.db.util.BinaryEncoding;
+import org.jumpmind.symmetric.io.PostgresBulkDatabaseWriter;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class PostgresBulkDatabaseWriterTest extends AbstractBulkDatabaseWriterTest {
+    @BeforeAll
+    public static void setup() throws Exception {
+        platform = DbTestUtils.createDatabasePlatform(DbTestUtils.ROOT);
+        if (platform instanceof PostgreSqlDatabasePlatform) {
+            platform.createDatabase(platform.readDatabaseFromXml("/testBulkWriter.xml", true), true, false);
+        }
+    }
+
+    @Override
+    protected boolean shouldTestRun(IDatabasePlatform platform) {
+        return platform instanceof PostgreSqlDatabasePlatform;
+    }
+
+    @Override
+    protected AbstractDatabaseWriter create() {
+        return new PostgresBulkDatabaseWriter(platform, platform, "sym_", writerSettings, 10);
+    }
+
+    @Override
+    protected long writeData(List<CsvData> data) {
+        return writeData(BinaryEncoding.BASE64, data);
+    }
+
+    @Override
+    protected long writeData(BinaryEncoding encoding, List<CsvData> data) {
+        Table table = platform.getTableFromCache(getTestTable(), false);
+        return writeData(create(), encoding, new TableCsvData(table, data));
+    }
+
+    @Test
+    public void testUpdateFallsBackToDefault() {
+        if (shouldTestRun(platform)) {
+            platform.getSqlTemplate().update("truncate table " + getTestTable());
+            String id = getNextId();
+            String[] values = newValues(id);
+            String[] updatedValues = ArrayUtils.clone(values);
+            updatedValues[1] = "updated string";
+            List<CsvData> data = new ArrayList<CsvData>();
+            data.add(new CsvData(DataEventType.INSERT, values));
+            data.add(new CsvData(DataEventType.UPDATE, new String[] { id }, updatedValues));
+            Assert.assertEquals(2, writeDataWithFallback(data));
+            Assert.assertEquals("updated string", platform.getSqlTemplate().queryForString(
+                    "select string_value from " + getTestTable() + " where id=?", Integer.valueOf(id)));
+        }
+    }
+
+    @Test
+    public void testDeleteFallsBackToDefault() {
+        if (shouldTestRun(platform)) {
+            platform.getSqlTemplate().update("truncate table " + getTestTable());
+            String id = getNextId();
+            List<CsvData> data = new ArrayList<CsvData>();
+            data.add(new CsvData(DataEventType.INSERT, newValues(id)));
+            data.add(new CsvData(DataEventType.INSERT, newValues(getNextId())));
+            data.add(new CsvData(DataEventType.DELETE, new String[] { id }, null));
+            Assert.assertEquals(3, writeDataWithFallback(data));
+            Assert.assertEquals(1, countRows(getTestTable()));
+        }
+    }
+
+    @Test
+    public void testInsertValuesThatNeedQuoting() {
+        if (shouldTestRun(platform)) {
+            platform.getSqlTemplate().update("truncate table " + getTestTable());
+            String[] specialValues = { "\\.", "a\rb", "a\nb", "\"quoted\", value", "" };
+            List<CsvData> data = new ArrayList<CsvData>();
+            List<String> ids = new ArrayList<String>();
+            for (String specialValue : specialValues) {
+                String id = getNextId();
+                ids.add(id);
+                String[] values = newValues(id);
+                values[1] = specialValue;
+                data.add(new CsvData(DataEventType.INSERT, values));
+            }
+            String nullId = getNextId();
+            String[] nullValues = newValues(nullId);
+            nullValues[1] = null;
+            data.add(new CsvData(DataEventType.INSERT, nullValues));
+            writeData(data);
+            for (int i = 0; i < specialValues.length; i++) {
+                Assert.assertEquals(specialValues[i], platform.getSqlTemplate().queryForString(
+                        "select string_value from " + getTestTable() + " where id=?", Integer.valueOf(ids.get(i))));
+            }
+            Assert.assertNull(platform.getSqlTemplate().queryForString(
+                    "select string_value from " + getTestTable() + " where id=?", Integer.valueOf(nullId)));
+        }
+    }
+
+    protected String[] newValues(String id) {
+        return new String[] { id, "string", "string not null", "char", "char not null", "2007-01-02 00:00:00.000",
+                "2007-02-03 04:05:06.000", "0", "47", "67.89", "-0.0747663", encodeBase64("string") };
+    }
+}
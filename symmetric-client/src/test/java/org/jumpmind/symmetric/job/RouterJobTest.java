@@ -0,0 +1,112 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.service.IDataService;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RouterJobTest {
+    ISymmetricEngine engine;
+    IDataService dataService;
+    TestRouterJob job;
+
+    @BeforeEach
+    public void setup() {
+        engine = mock(ISymmetricEngine.class);
+        dataService = mock(IDataService.class);
+        when(engine.getParameterService()).thenReturn(mock(IParameterService.class));
+        when(engine.getDataService()).thenReturn(dataService);
+        when(engine.isStarted()).thenReturn(true);
+        job = new TestRouterJob(engine);
+    }
+
+    @Test
+    public void testProbeRunsJobWhenMaxDataIdGrows() {
+        when(dataService.findMaxDataId()).thenReturn(10l, 10l, 12l, 12l, 15l);
+        job.probeForData();
+        assertEquals(0, job.invokeCount, "The first check only records the current max data id");
+        job.probeForData();
+        assertEquals(0, job.invokeCount);
+        job.probeForData();
+        assertEquals(1, job.invokeCount);
+        job.probeForData();
+        assertEquals(1, job.invokeCount);
+        job.probeForData();
+        assertEquals(2, job.invokeCount);
+    }
+
+    @Test
+    public void testProbeSkippedWhileRunningOrPaused() {
+        when(dataService.findMaxDataId()).thenReturn(10l, 11l, 12l);
+        job.probeForData();
+        job.running = true;
+        job.probeForData();
+        assertEquals(0, job.invokeCount);
+        job.running = false;
+        job.setPaused(true);
+        job.probeForData();
+        assertEquals(0, job.invokeCount);
+        job.setPaused(false);
+        job.probeForData();
+        assertEquals(1, job.invokeCount, "Data captured while the job was running starts the next run");
+        when(engine.isStarted()).thenReturn(false);
+        when(dataService.findMaxDataId()).thenReturn(20l);
+        job.probeForData();
+        assertEquals(1, job.invokeCount);
+    }
+
+    @Test
+    public void testProbeIgnoresQueryFailure() {
+        when(dataService.findMaxDataId()).thenReturn(10l).thenThrow(new RuntimeException("connection refused")).thenReturn(11l);
+        job.probeForData();
+        job.probeForData();
+        assertEquals(0, job.invokeCount);
+        job.probeForData();
+        assertEquals(1, job.invokeCount);
+    }
+
+    static class TestRouterJob extends RouterJob {
+        int invokeCount;
+        boolean running;
+
+        public TestRouterJob(ISymmetricEngine engine) {
+            super(engine, null);
+        }
+
+        @Override
+        public boolean invoke(boolean force) {
+            invokeCount++;
+            return true;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
@@ -842,6 +842,12 @@ abstract public class AbstractSymmetricEngine implements ISymmetricEngine {
         if (updateService != null) {
             updateService.stop();
         }
+        if (fileSyncService != null) {
+            fileSyncService.stop();
+        }
+        if (acknowledgeService != null) {
+            acknowledgeService.stop();
+        }
         if (statisticManager != null) {
             List<ProcessInfo> infos = statisticManager.getProcessInfos();
             List<Thread> threadsToWaitOn = new ArrayList<Thread>();
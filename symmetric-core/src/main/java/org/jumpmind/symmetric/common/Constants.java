@@ -100,6 +100,7 @@ final public class Constants {
     public static final String MAX_CONCURRENT_WORKERS = "maxConcurrentWorkers";
     public static final String PROTOCOL_NONE = "nop";
     public static final String PROTOCOL_HTTP = "http";
+    public static final String PROTOCOL_HTTP_CLIENT = "httpclient";
     public static final String PROTOCOL_INTERNAL = "internal";
     public static final String PROTOCOL_FILE = "file";
     public static final String PROTOCOL_EXT = "ext";
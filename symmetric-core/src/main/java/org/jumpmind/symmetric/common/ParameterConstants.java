@@ -77,6 +77,8 @@ final public class ParameterConstants {
     public final static String PULL_MINIMUM_PERIOD_MS = "pull.period.minimum.ms";
     public final static String PULL_LOCK_TIMEOUT_MS = "pull.lock.timeout.ms";
     public final static String PULL_IMMEDIATE_IF_DATA_FOUND = "pull.immediate.if.data.found";
+    public final static String PULL_LONG_POLL_WAIT_MS = "pull.long.poll.wait.ms";
+    public final static String PULL_LONG_POLL_MAX_REQUESTS = "pull.long.poll.max.requests";
     public final static String PUSH_THREAD_COUNT_PER_SERVER = "push.thread.per.server.count";
     public final static String PUSH_MINIMUM_PERIOD_MS = "push.period.minimum.ms";
     public final static String PUSH_LOCK_TIMEOUT_MS = "push.lock.timeout.ms";
@@ -157,6 +159,8 @@ final public class ParameterConstants {
     public final static String INITIAL_LOAD_EXTRACT_THREAD_COUNT_PER_SERVER = "initial.load.extract.thread.per.server.count";
     public final static String INITIAL_LOAD_EXTRACT_TIMEOUT_MS = "initial.load.extract.timeout.ms";
     public final static String INITIAL_LOAD_EXTRACT_USE_TWO_PASS_LOB = "initial.load.extract.use.two.pass.lob";
+    public final static String INITIAL_LOAD_EXTRACT_PARTITION_COUNT = "initial.load.extract.partition.count";
+    public final static String INITIAL_LOAD_EXTRACT_PARTITION_MIN_ROWS = "initial.load.extract.partition.min.rows";
     public final static String INITIAL_LOAD_EXTRACT_JOB_START = "start.initial.load.extract.job";
     public final static String INITIAL_LOAD_SCHEMA_DUMP_COMMAND = "initial.load.schema.dump.command";
     public final static String INITIAL_LOAD_SCHEMA_LOAD_COMMAND = "initial.load.schema.load.command";
@@ -168,6 +172,7 @@ final public class ParameterConstants {
     public final static String EXTRACT_CHECK_ROW_SIZE = "extract.check.row.size";
     public final static String EXTRACT_ROW_MAX_LENGTH = "extract.row.max.length";
     public final static String EXTRACT_ROW_CAPTURE_TIME = "extract.row.capture.time";
+    public final static String EXTRACT_THREAD_PER_NODE_COUNT = "extract.thread.per.node.count";
     public final static String CREATE_TABLE_WITHOUT_DEFAULTS = "create.table.without.defaults";
     public final static String CREATE_TABLE_WITHOUT_FOREIGN_KEYS = "create.table.without.foreign.keys";
     public final static String CREATE_TABLE_WITHOUT_INDEXES = "create.table.without.indexes";
@@ -210,7 +215,11 @@ final public class ParameterConstants {
     public final static String ROUTING_MAX_BATCH_SIZE_EXCEED_PERCENT = "routing.max.batch.size.exceed.percent";
     public final static String ROUTING_USE_CHANNEL_THREADS = "routing.use.channel.threads";
     public final static String ROUTING_THREAD_COUNT_PER_SERVER = "routing.thread.per.server.count";
+    public final static String ROUTING_THREAD_PER_CHANNEL_COUNT = "routing.thread.per.channel.count";
     public final static String ROUTING_LOCK_TIMEOUT_MS = "routing.lock.timeout.ms";
+    public final static String ROUTING_SUBSELECT_BATCH_SIZE = "routing.subselect.batch.size";
+    public final static String ROUTING_WAKEUP_ENABLED = "routing.wakeup.enabled";
+    public final static String ROUTING_WAKEUP_PROBE_PERIOD_MS = "routing.wakeup.probe.period.ms";
     public final static String INCOMING_BATCH_SKIP_DUPLICATE_BATCHES_ENABLED = "incoming.batches.skip.duplicates";
     @Deprecated
     public final static String INCOMING_BATCH_DELETE_ON_LOAD = "incoming.batch.delete.on.load";
@@ -222,8 +231,11 @@ final public class ParameterConstants {
     public final static String DATA_LOADER_ERROR_RECORD_CUR_VAL = "dataloader.error.save.curval";
     public final static String DATA_LOADER_NUM_OF_ACK_RETRIES = "num.of.ack.retries";
     public final static String DATA_LOADER_SEND_ACK_KEEPALIVE = "send.ack.keepalive.ms";
+    public final static String ACK_BULK_SIZE = "ack.bulk.size";
+    public final static String DATA_LOADER_PARALLEL_THREAD_COUNT = "dataloader.parallel.thread.count";
     public final static String DATA_LOADER_TIME_BETWEEN_ACK_RETRIES = "time.between.ack.retries.ms";
     public final static String DATA_LOADER_MAX_ROWS_BEFORE_COMMIT = "dataloader.max.rows.before.commit";
+    public final static String DATA_LOADER_PREPARED_STATEMENT_CACHE_SIZE = "dataloader.prepared.statement.cache.size";
     public final static String DATA_LOADER_CREATE_TABLE_ALTER_TO_MATCH_DB_CASE = "dataloader.create.table.alter.to.match.db.case";
     public final static String DATA_LOADER_CREATE_TABLE_WITHOUT_DEFAULTS_ON_ERROR = "dataloader.create.table.without.defaults.on.error";
     public final static String DATA_LOADER_TEXT_COLUMN_EXPRESSION = "dataloader.text.column.expression";
@@ -262,11 +274,15 @@ final public class ParameterConstants {
     public final static String TRANSPORT_HTTP_COMPRESSION_DISABLED_SERVLET = "web.compression.disabled";
     public final static String TRANSPORT_HTTP_COMPRESSION_LEVEL = "compression.level";
     public final static String TRANSPORT_HTTP_COMPRESSION_STRATEGY = "compression.strategy";
+    public final static String TRANSPORT_HTTP_COMPRESSION_CODEC = "compression.codec";
+    public final static String TRANSPORT_HTTP_COMPRESSION_CODEC_LEVEL = "compression.codec.level";
     public final static String TRANSPORT_HTTP_USE_SESSION_AUTH = "http.use.session.auth";
     public final static String TRANSPORT_HTTP_SESSION_EXPIRE_SECONDS = "http.session.expire.seconds";
     public final static String TRANSPORT_HTTP_SESSION_MAX_COUNT = "http.session.max.count";
     public final static String TRANSPORT_HTTP_USE_HEADER_SECURITY_TOKEN = "http.use.header.security.token";
     public final static String TRANSPORT_TYPE = "transport.type";
+    public final static String TRANSPORT_HTTP_CLIENT_MAX_CONNECTIONS_PER_NODE = "http.client.max.connections.per.node";
+    public final static String TRANSPORT_HTTP_CLIENT_HTTP2_ENABLED = "http.client.http2.enabled";
     public final static String TRANSPORT_MAX_BYTES_TO_SYNC = "transport.max.bytes.to.sync";
     public final static String TRANSPORT_MAX_ERROR_MILLIS = "transport.max.error.millis";
     public final static String CACHE_TIMEOUT_GROUPLETS_IN_MS = "cache.grouplets.time.ms";
@@ -321,6 +337,10 @@ final public class ParameterConstants {
     public final static String PURGE_MAX_EXPIRED_DATA_GAPS_READ = "job.purge.max.data.gaps.read";
     public final static String PURGE_FIRST_PASS = "job.purge.first.pass";
     public final static String PURGE_FIRST_PASS_OUTSTANDING_BATCHES_THRESHOLD = "job.purge.first.pass.outstanding.batches.threshold";
+    public final static String PURGE_THREAD_COUNT = "job.purge.thread.count";
+    public final static String PURGE_DATA_PARTITION_ENABLED = "purge.data.partition.enabled";
+    public final static String PURGE_DATA_PARTITION_SIZE = "purge.data.partition.size";
+    public final static String PURGE_DATA_PARTITION_AHEAD_COUNT = "purge.data.partition.ahead.count";
     public final static String JMX_LINE_FEED = "jmx.line.feed";
     public final static String IP_FILTERS = "ip.filters";
     public final static String NODE_COPY_MODE_ENABLED = "node.copy.mode.enabled";
@@ -348,6 +368,11 @@ final public class ParameterConstants {
     public final static String SYNCHRONIZE_ALL_JOBS = "jobs.synchronized.enable";
     public final static String FILE_SYNC_ENABLE = "file.sync.enable";
     public final static String FILE_SYNC_FAST_SCAN = "file.sync.fast.scan";
+    public final static String FILE_SYNC_WATCH_ENABLED = "file.sync.watch.enabled";
+    public final static String FILE_SYNC_WATCH_RESCAN_PERIOD_MS = "file.sync.watch.rescan.period.ms";
+    public final static String FILE_SYNC_DELTA_ENABLED = "file.sync.delta.enabled";
+    public final static String FILE_SYNC_DELTA_MIN_FILE_SIZE = "file.sync.delta.min.file.size";
+    public final static String FILE_SYNC_DELTA_BLOCK_SIZE = "file.sync.delta.block.size";
     public final static String FILE_SYNC_USE_CRC = "file.sync.use.crc";
     public final static String FILE_SYNC_PREVENT_PING_BACK = "file.sync.prevent.ping.back";
     public final static String FILE_SYNC_LOCK_WAIT_MS = "file.sync.lock.wait.ms";
@@ -359,6 +384,8 @@ final public class ParameterConstants {
     public final static String FILE_SYNC_RETRY_DELAY_MS = "file.sync.retry.delay.ms";
     public final static String BSH_LOAD_FILTER_HANDLES_MISSING_TABLES = "bsh.load.filter.handles.missing.tables";
     public final static String BSH_TRANSFORM_GLOBAL_SCRIPT = "bsh.transform.global.script";
+    public final static String TRANSFORM_LOOKUP_CACHE_ENABLED = "transform.lookup.cache.enabled";
+    public final static String TRANSFORM_LOOKUP_CACHE_MAX_SIZE = "transform.lookup.cache.max.size";
     public final static String BSH_EXTENSION_GLOBAL_SCRIPT = "bsh.extension.global.script";
     public final static String MSSQL_ROW_LEVEL_LOCKS_ONLY = "mssql.allow.only.row.level.locks.on.runtime.tables";
     public final static String MSSQL_USE_NTYPES_FOR_SYNC = "mssql.use.ntypes.for.sync";
@@ -407,6 +434,8 @@ final public class ParameterConstants {
     public final static String ALLOW_TRIGGER_CREATE_OR_REPLACE = "trigger.allow.create.or.replace";
     public final static String NODE_LOAD_ONLY = "load.only";
     public final static String MYSQL_TINYINT_DDL_TO_BOOLEAN = "mysql.tinyint.ddl.to.boolean";
+    public final static String MYSQL_BULK_LOAD_LOCAL_INFILE = "mysql.bulk.load.local.infile";
+    public final static String MYSQL_BULK_LOAD_MAX_ROWS_BEFORE_FLUSH = "mysql.bulk.load.max.rows.before.flush";
     public static final String LOAD_ONLY_PROPERTY_PREFIX = "target.";
     public final static String KAFKA_PRODUCER = "kafka.producer";
     public final static String KAFKA_FORMAT = "kafka.format";
@@ -437,6 +466,8 @@ final public class ParameterConstants {
     public final static String SNAPSHOT_OPERATION_TIMEOUT_MS = "snapshot.operation.timeout.ms";
     public final static String POSTGRES_SECURITY_DEFINER = "postgres.security.definer";
     public final static String POSTGRES_CONVERT_INFINITY_DATE_TO_NULL = "postgres.convert.infinity.date.to.null";
+    public final static String POSTGRES_BULK_LOAD_USE_COPY = "postgres.bulk.load.use.copy";
+    public final static String POSTGRES_BULK_LOAD_MAX_ROWS_BEFORE_FLUSH = "postgres.bulk.load.max.rows.before.flush";
     public final static String[] ALL_JDBC_PARAMS = new String[] { DB_FETCH_SIZE, DB_QUERY_TIMEOUT_SECS, JDBC_EXECUTE_BATCH_SIZE, JDBC_ISOLATION_LEVEL,
             JDBC_READ_STRINGS_AS_BYTES, TREAT_BINARY_AS_LOB_ENABLED, LOG_SLOW_SQL_THRESHOLD_MILLIS, LOG_SQL_PARAMETERS_INLINE };
     public final static String GOOGLE_BIG_QUERY_MAX_ROWS_PER_RPC = "google.bigquery.max.rows.per.rpc";
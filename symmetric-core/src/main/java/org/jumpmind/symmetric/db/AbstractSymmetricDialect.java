@@ -54,6 +54,7 @@ import org.jumpmind.exception.IoException;
 import org.jumpmind.symmetric.Version;
 import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.common.TableConstants;
 import org.jumpmind.symmetric.ext.IDatabaseInstallStatementListener;
 import org.jumpmind.symmetric.ext.IDatabaseUpgradeListener;
 import org.jumpmind.symmetric.io.data.CsvUtils;
@@ -597,6 +598,13 @@ abstract public class AbstractSymmetricDialect implements ISymmetricDialect {
         try {
             Database database = merge(readDatabaseFromXml("/symmetric-schema.xml"), readDatabaseFromXml("/console-schema.xml"));
             prefixConfigDatabase(database);
+            if (parameterService.is(ParameterConstants.PURGE_DATA_PARTITION_ENABLED)) {
+                Table dataTable = database.findTable(TableConstants.getTableName(parameterService.getTablePrefix(), TableConstants.SYM_DATA));
+                if (dataTable != null) {
+                    dataTable.setPartitionColumnName("data_id");
+                    dataTable.setPartitionInterval(parameterService.getLong(ParameterConstants.PURGE_DATA_PARTITION_SIZE));
+                }
+            }
             String extraTablesXml = parameterService.getString(ParameterConstants.AUTO_CONFIGURE_EXTRA_TABLES);
             if (StringUtils.isNotBlank(extraTablesXml)) {
                 try {
@@ -125,6 +125,11 @@ public class BeanShellFileSyncZipScript extends FileSyncZipScript {
                         }
                     }
                     command.append("  if (processFile) {\n");
+                    command.append("    java.io.File deltaFile = new java.io.File(sourceFile.getPath() + \"")
+                            .append(FileSyncDelta.DELTA_FILE_SUFFIX).append("\");\n");
+                    command.append("    if (deltaFile.exists()) {\n");
+                    command.append("      org.jumpmind.symmetric.file.FileSyncDelta.apply(targetFile, deltaFile, sourceFile);\n");
+                    command.append("    }\n");
                     command.append("    try {\n");
                     command.append("      if (sourceFile.isDirectory()) {\n");
                     command.append("        org.apache.commons.io.FileUtils.copyDirectory(sourceFile, targetFile, true);\n");
@@ -171,6 +176,11 @@ public class BeanShellFileSyncZipScript extends FileSyncZipScript {
         getScript().append(command);
     }
 
+    @Override
+    public boolean isDeltaSupported() {
+        return true;
+    }
+
     @Override
     public void buildScriptEnd(Batch batch) {
         getScript().append("return fileList;\n");
@@ -0,0 +1,469 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.jumpmind.exception.IoException;
+
+/**
+ * Block delta of a changed file, in the style of rsync. The source keeps the block signatures of the copy it last sent to a node and, when the file changes,
+ * sends only the bytes that are not found in one of those blocks. The target rebuilds the file from its own copy and the delta. The delta carries the length
+ * and CRC32 of the copy it was built from and of the new file, so the target refuses a delta for a copy it does not have.
+ */
+public class FileSyncDelta {
+    public static final String DELTA_FILE_SUFFIX = ".symdelta";
+    protected static final int DELTA_MAGIC = 0x53594d44;
+    protected static final int SIGNATURES_MAGIC = 0x53594d53;
+    protected static final int VERSION = 1;
+    protected static final byte OP_END = 0;
+    protected static final byte OP_COPY = 1;
+    protected static final byte OP_DATA = 2;
+    protected static final int BUFFER_SIZE = 1024 * 1024;
+
+    private FileSyncDelta() {
+    }
+
+    /**
+     * Write a delta of the new content read from the input stream against the base signatures, and return the signatures of the new content.
+     */
+    public static Signatures createDelta(InputStream in, Signatures base, OutputStream out) throws IOException {
+        return new DeltaEncoder(base, new DataOutputStream(out)).encode(in);
+    }
+
+    /**
+     * Rebuild a file from the base copy and a delta, writing it to the target file and giving it the modified time of the delta file.
+     * 
+     * @throws FileSyncDeltaException
+     *             if the base copy is not the one the delta was built from, or the rebuilt file does not match
+     */
+    public static void apply(File base, File delta, File target) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(delta)))) {
+            if (in.readInt() != DELTA_MAGIC || in.readInt() != VERSION) {
+                throw new IoException("Unrecognized file sync delta %s", delta.getName());
+            }
+            int blockSize = in.readInt();
+            long baseLength = in.readLong();
+            long baseCrc = in.readLong();
+            if (!base.isFile() || base.length() != baseLength || FileUtils.checksumCRC32(base) != baseCrc) {
+                throw new FileSyncDeltaException(FileSyncDeltaException.BASE_MISMATCH + ": " + base.getAbsolutePath()
+                        + " is not the copy the delta was built from");
+            }
+            CRC32 crc = new CRC32();
+            long length = 0;
+            byte[] buffer = new byte[Math.max(blockSize, 8192)];
+            boolean rebuilt = false;
+            try (RandomAccessFile baseFile = new RandomAccessFile(base, "r");
+                    OutputStream out = new BufferedOutputStream(new FileOutputStream(target))) {
+                byte op;
+                while ((op = in.readByte()) != OP_END) {
+                    if (op == OP_COPY) {
+                        int blockIndex = in.readInt();
+                        int blockCount = in.readInt();
+                        baseFile.seek((long) blockIndex * blockSize);
+                        for (int i = 0; i < blockCount; i++) {
+                            baseFile.readFully(buffer, 0, blockSize);
+                            out.write(buffer, 0, blockSize);
+                            crc.update(buffer, 0, blockSize);
+                        }
+                        length += (long) blockCount * blockSize;
+                    } else if (op == OP_DATA) {
+                        int remaining = in.readInt();
+                        length += remaining;
+                        while (remaining > 0) {
+                            int count = Math.min(remaining, buffer.length);
+                            in.readFully(buffer, 0, count);
+                            out.write(buffer, 0, count);
+                            crc.update(buffer, 0, count);
+                            remaining -= count;
+                        }
+                    } else {
+                        throw new IoException("Unrecognized operation in file sync delta %s", delta.getName());
+                    }
+                }
+                long newLength = in.readLong();
+                long newCrc = in.readLong();
+                rebuilt = length == newLength && crc.getValue() == newCrc;
+            } catch (EOFException e) {
+                throw new IoException("File sync delta %s was truncated", delta.getName());
+            } finally {
+                if (!rebuilt) {
+                    FileUtils.deleteQuietly(target);
+                }
+            }
+            if (!rebuilt) {
+                throw new FileSyncDeltaException("The file rebuilt from " + base.getAbsolutePath() + " by file sync delta did not match the source");
+            }
+            target.setLastModified(delta.lastModified());
+        }
+    }
+
+    protected static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Weak checksum of a window of bytes that can be rolled forward one byte at a time.
+     */
+    protected static int weakChecksum(int a, int b) {
+        return (b << 16) | a;
+    }
+
+    /**
+     * Block signatures of one version of a file: a weak rolling checksum and an MD5 for each full block, and the length and CRC32 of the whole file.
+     */
+    public static class Signatures {
+        protected int blockSize;
+        protected long length;
+        protected long crc32;
+        protected int[] weak;
+        protected byte[][] strong;
+        protected Map<Integer, List<Integer>> blocksByWeak;
+
+        public Signatures(int blockSize, long length, long crc32, int[] weak, byte[][] strong) {
+            this.blockSize = blockSize;
+            this.length = length;
+            this.crc32 = crc32;
+            this.weak = weak;
+            this.strong = strong;
+        }
+
+        public static Signatures read(File file) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if (in.readInt() != SIGNATURES_MAGIC || in.readInt() != VERSION) {
+                    throw new IoException("Unrecognized file sync signatures %s", file.getName());
+                }
+                int blockSize = in.readInt();
+                long length = in.readLong();
+                long crc32 = in.readLong();
+                int count = in.readInt();
+                int[] weak = new int[count];
+                byte[][] strong = new byte[count][16];
+                for (int i = 0; i < count; i++) {
+                    weak[i] = in.readInt();
+                    in.readFully(strong[i]);
+                }
+                return new Signatures(blockSize, length, crc32, weak, strong);
+            }
+        }
+
+        public void write(File file) throws IOException {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                out.writeInt(SIGNATURES_MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(blockSize);
+                out.writeLong(length);
+                out.writeLong(crc32);
+                out.writeInt(weak.length);
+                for (int i = 0; i < weak.length; i++) {
+                    out.writeInt(weak[i]);
+                    out.write(strong[i]);
+                }
+            }
+        }
+
+        protected Map<Integer, List<Integer>> getBlocksByWeak() {
+            if (blocksByWeak == null) {
+                blocksByWeak = new HashMap<Integer, List<Integer>>(weak.length * 2);
+                for (int i = 0; i < weak.length; i++) {
+                    blocksByWeak.computeIfAbsent(weak[i], k -> new ArrayList<Integer>(1)).add(i);
+                }
+            }
+            return blocksByWeak;
+        }
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getCrc32() {
+            return crc32;
+        }
+
+        public int getBlockCount() {
+            return weak.length;
+        }
+    }
+
+    /**
+     * Builds the signatures of a file as its content streams by.
+     */
+    public static class SignatureBuilder {
+        protected int blockSize;
+        protected byte[] block;
+        protected int blockLength;
+        protected long length;
+        protected CRC32 crc = new CRC32();
+        protected MessageDigest digest = newDigest();
+        protected List<Integer> weak = new ArrayList<Integer>();
+        protected List<byte[]> strong = new ArrayList<byte[]>();
+
+        public SignatureBuilder(int blockSize) {
+            this.blockSize = blockSize;
+            this.block = new byte[blockSize];
+        }
+
+        public void update(byte[] buffer, int offset, int count) {
+            crc.update(buffer, offset, count);
+            length += count;
+            while (count > 0) {
+                int n = Math.min(count, blockSize - blockLength);
+                System.arraycopy(buffer, offset, block, blockLength, n);
+                blockLength += n;
+                offset += n;
+                count -= n;
+                if (blockLength == blockSize) {
+                    int a = 0, b = 0;
+                    for (int i = 0; i < blockSize; i++) {
+                        int value = block[i] & 0xff;
+                        a += value;
+                        b += (blockSize - i) * value;
+                    }
+                    weak.add(weakChecksum(a & 0xffff, b & 0xffff));
+                    strong.add(digest.digest(block));
+                    blockLength = 0;
+                }
+            }
+        }
+
+        public Signatures finish() {
+            int[] weakArray = new int[weak.size()];
+            for (int i = 0; i < weakArray.length; i++) {
+                weakArray[i] = weak.get(i);
+            }
+            return new Signatures(blockSize, length, crc.getValue(), weakArray, strong.toArray(new byte[strong.size()][]));
+        }
+    }
+
+    /**
+     * Keeps the signatures of the files last sent to each node, one file per node, file trigger router, and synchronized file.
+     */
+    public static class SignatureStore {
+        protected File baseDir;
+        protected int blockSize;
+
+        public SignatureStore(File baseDir, int blockSize) {
+            this.baseDir = baseDir;
+            this.blockSize = blockSize;
+        }
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        public Signatures get(String nodeId, String triggerId, String routerId, String relativeDir, String fileName) {
+            File file = getFile(nodeId, triggerId, routerId, relativeDir, fileName);
+            if (file.isFile()) {
+                try {
+                    Signatures signatures = Signatures.read(file);
+                    if (signatures.getBlockSize() == blockSize) {
+                        return signatures;
+                    }
+                } catch (IOException | IoException e) {
+                    FileUtils.deleteQuietly(file);
+                }
+            }
+            return null;
+        }
+
+        public void put(String nodeId, String triggerId, String routerId, String relativeDir, String fileName, Signatures signatures) {
+            File file = getFile(nodeId, triggerId, routerId, relativeDir, fileName);
+            File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+            try {
+                file.getParentFile().mkdirs();
+                signatures.write(tmpFile);
+                if (file.exists()) {
+                    FileUtils.forceDelete(file);
+                }
+                FileUtils.moveFile(tmpFile, file);
+            } catch (IOException e) {
+                FileUtils.deleteQuietly(tmpFile);
+                FileUtils.deleteQuietly(file);
+                throw new IoException(e);
+            }
+        }
+
+        public void remove(String nodeId, String triggerId, String routerId, String relativeDir, String fileName) {
+            FileUtils.deleteQuietly(getFile(nodeId, triggerId, routerId, relativeDir, fileName));
+        }
+
+        protected File getFile(String nodeId, String triggerId, String routerId, String relativeDir, String fileName) {
+            String path = relativeDir + "/" + fileName;
+            return new File(baseDir, nodeId + File.separator + triggerId + File.separator + routerId + File.separator
+                    + DigestUtils.md5Hex(path.getBytes(StandardCharsets.UTF_8)) + ".sig");
+        }
+    }
+
+    /**
+     * Finds the blocks of the base that appear in the new content by rolling a weak checksum over it a byte at a time, and writes copy operations for
+     * them and data operations for the bytes in between.
+     */
+    protected static class DeltaEncoder {
+        protected Signatures base;
+        protected DataOutputStream out;
+        protected int blockSize;
+        protected int copyBlock;
+        protected int copyCount;
+
+        protected DeltaEncoder(Signatures base, DataOutputStream out) {
+            this.base = base;
+            this.out = out;
+            this.blockSize = base.getBlockSize();
+        }
+
+        protected Signatures encode(InputStream in) throws IOException {
+            out.writeInt(DELTA_MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(blockSize);
+            out.writeLong(base.getLength());
+            out.writeLong(base.getCrc32());
+            SignatureBuilder signer = new SignatureBuilder(blockSize);
+            Map<Integer, List<Integer>> blocksByWeak = base.getBlocksByWeak();
+            MessageDigest digest = newDigest();
+            byte[] buffer = new byte[Math.max(blockSize * 2, BUFFER_SIZE)];
+            int start = 0, end = 0, dataStart = 0;
+            int a = 0, b = 0;
+            boolean rolling = false;
+            boolean eof = false;
+            while (true) {
+                if (!eof && end - start <= blockSize) {
+                    writeData(buffer, dataStart, start - dataStart);
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                    dataStart = 0;
+                    int count = in.read(buffer, end, buffer.length - end);
+                    if (count < 0) {
+                        eof = true;
+                    } else {
+                        signer.update(buffer, end, count);
+                        end += count;
+                    }
+                    continue;
+                }
+                if (end - start < blockSize) {
+                    break;
+                }
+                if (!rolling) {
+                    a = 0;
+                    b = 0;
+                    for (int i = 0; i < blockSize; i++) {
+                        int value = buffer[start + i] & 0xff;
+                        a += value;
+                        b += (blockSize - i) * value;
+                    }
+                    a &= 0xffff;
+                    b &= 0xffff;
+                    rolling = true;
+                }
+                int match = -1;
+                List<Integer> candidates = blocksByWeak.get(weakChecksum(a, b));
+                if (candidates != null) {
+                    digest.update(buffer, start, blockSize);
+                    byte[] strong = digest.digest();
+                    for (int candidate : candidates) {
+                        if (Arrays.equals(base.strong[candidate], strong)) {
+                            match = candidate;
+                            break;
+                        }
+                    }
+                }
+                if (match >= 0) {
+                    writeData(buffer, dataStart, start - dataStart);
+                    if (copyCount > 0 && copyBlock + copyCount == match) {
+                        copyCount++;
+                    } else {
+                        writeCopy();
+                        copyBlock = match;
+                        copyCount = 1;
+                    }
+                    start += blockSize;
+                    dataStart = start;
+                    rolling = false;
+                } else if (end - start > blockSize) {
+                    int outgoing = buffer[start] & 0xff;
+                    int incoming = buffer[start + blockSize] & 0xff;
+                    a = (a - outgoing + incoming) & 0xffff;
+                    b = (b - blockSize * outgoing + a) & 0xffff;
+                    start++;
+                } else {
+                    break;
+                }
+            }
+            writeData(buffer, dataStart, end - dataStart);
+            writeCopy();
+            Signatures signatures = signer.finish();
+            out.writeByte(OP_END);
+            out.writeLong(signatures.getLength());
+            out.writeLong(signatures.getCrc32());
+            out.flush();
+            return signatures;
+        }
+
+        protected void writeCopy() throws IOException {
+            if (copyCount > 0) {
+                out.writeByte(OP_COPY);
+                out.writeInt(copyBlock);
+                out.writeInt(copyCount);
+                copyCount = 0;
+            }
+        }
+
+        protected void writeData(byte[] buffer, int offset, int count) throws IOException {
+            if (count > 0) {
+                writeCopy();
+                out.writeByte(OP_DATA);
+                out.writeInt(count);
+                out.write(buffer, offset, count);
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -35,11 +36,15 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.jumpmind.db.model.Table;
 import org.jumpmind.exception.IoException;
 import org.jumpmind.symmetric.common.Constants;
+import org.jumpmind.symmetric.file.FileSyncDelta.SignatureBuilder;
+import org.jumpmind.symmetric.file.FileSyncDelta.SignatureStore;
+import org.jumpmind.symmetric.file.FileSyncDelta.Signatures;
 import org.jumpmind.symmetric.io.data.Batch;
 import org.jumpmind.symmetric.io.data.CsvData;
 import org.jumpmind.symmetric.io.data.DataContext;
@@ -78,6 +83,9 @@ public class FileSyncZipDataWriter implements IDataWriter {
     protected IExtensionService extensionService;
     protected IConfigurationService configurationService;
     protected boolean batchInError;
+    protected SignatureStore signatureStore;
+    protected boolean deltaEnabled;
+    protected long deltaMinFileSize;
 
     public FileSyncZipDataWriter(long maxBytesToSync, int compressionLevel, IFileSyncService fileSyncService,
             INodeService nodeService, IStagedResource stagedResource, IExtensionService extensionService, IConfigurationService configurationService) {
@@ -240,8 +248,15 @@ public class FileSyncZipDataWriter implements IDataWriter {
                         if (addFileToZip) {
                             if (eventType != LastEventType.DELETE) {
                                 if (file.exists()) {
-                                    byteCount += file.length();
-                                    ZipEntry entry = new ZipEntry(entryName.toString());
+                                    boolean trackSignatures = signatureStore != null && fileTracker == null && file.isFile()
+                                            && file.length() >= deltaMinFileSize;
+                                    Signatures baseSignatures = null;
+                                    if (trackSignatures && deltaEnabled && eventType == LastEventType.MODIFY && script.isDeltaSupported()) {
+                                        baseSignatures = signatureStore.get(batch.getTargetNodeId(), snapshot.getTriggerId(),
+                                                snapshot.getRouterId(), snapshot.getRelativeDir(), snapshot.getFileName());
+                                    }
+                                    ZipEntry entry = new ZipEntry(baseSignatures != null ? entryName + FileSyncDelta.DELTA_FILE_SUFFIX
+                                            : entryName.toString());
                                     if (fileTracker == null) {
                                         BasicFileAttributes attr = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
                                         // note: as of 8/21 getting the creation time won't work on unix file systems EVEN IF THEY HAVE EXT4
@@ -249,12 +264,32 @@ public class FileSyncZipDataWriter implements IDataWriter {
                                         // windows
                                         entry.setCreationTime(attr.creationTime());
                                     }
-                                    entry.setSize(file.length());
+                                    if (baseSignatures == null) {
+                                        entry.setSize(file.length());
+                                    }
                                     entry.setTime(file.lastModified());
                                     zos.putNextEntry(entry);
-                                    if (file.isFile()) {
-                                        try (InputStream fis = fileTracker != null ? fileTracker.getInputStream(file) : new FileInputStream(file)) {
-                                            IOUtils.copy(fis, zos);
+                                    if (baseSignatures != null) {
+                                        try (InputStream fis = new FileInputStream(file)) {
+                                            CountingOutputStream cos = new CountingOutputStream(zos);
+                                            Signatures signatures = FileSyncDelta.createDelta(fis, baseSignatures, cos);
+                                            byteCount += cos.getByteCount();
+                                            signatureStore.put(batch.getTargetNodeId(), snapshot.getTriggerId(), snapshot.getRouterId(),
+                                                    snapshot.getRelativeDir(), snapshot.getFileName(), signatures);
+                                            log.debug("Sending {} of {} bytes of {} as a block delta", cos.getByteCount(), file.length(), file);
+                                        }
+                                    } else if (trackSignatures) {
+                                        byteCount += file.length();
+                                        try (InputStream fis = new FileInputStream(file)) {
+                                            signatureStore.put(batch.getTargetNodeId(), snapshot.getTriggerId(), snapshot.getRouterId(),
+                                                    snapshot.getRelativeDir(), snapshot.getFileName(), copyWithSignatures(fis, zos));
+                                        }
+                                    } else {
+                                        byteCount += file.length();
+                                        if (file.isFile()) {
+                                            try (InputStream fis = fileTracker != null ? fileTracker.getInputStream(file) : new FileInputStream(file)) {
+                                                IOUtils.copy(fis, zos);
+                                            }
                                         }
                                     }
                                     zos.closeEntry();
@@ -265,6 +300,9 @@ public class FileSyncZipDataWriter implements IDataWriter {
                                             "Could not find the {} file to package for synchronization.  Skipping it.",
                                             file.getAbsolutePath());
                                 }
+                            } else if (signatureStore != null) {
+                                signatureStore.remove(batch.getTargetNodeId(), snapshot.getTriggerId(), snapshot.getRouterId(),
+                                        snapshot.getRelativeDir(), snapshot.getFileName());
                             }
                         }
                         if (addFileToScript) {
@@ -317,6 +355,35 @@ public class FileSyncZipDataWriter implements IDataWriter {
         }
     }
 
+    protected Signatures copyWithSignatures(InputStream in, OutputStream out) throws IOException {
+        SignatureBuilder signer = new SignatureBuilder(signatureStore.getBlockSize());
+        byte[] buffer = new byte[IOUtils.DEFAULT_BUFFER_SIZE];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+            signer.update(buffer, 0, count);
+        }
+        return signer.finish();
+    }
+
+    /**
+     * Keep the block signatures of the files written for each node, so a later change to a file can be sent as a block delta.
+     */
+    public void setSignatureStore(SignatureStore signatureStore) {
+        this.signatureStore = signatureStore;
+    }
+
+    /**
+     * Whether modified files are written as a block delta against the signatures kept for the node. Can be changed between batches.
+     */
+    public void setDeltaEnabled(boolean deltaEnabled) {
+        this.deltaEnabled = deltaEnabled;
+    }
+
+    public void setDeltaMinFileSize(long deltaMinFileSize) {
+        this.deltaMinFileSize = deltaMinFileSize;
+    }
+
     public boolean readyToSend() {
         return byteCount > maxBytesToSync;
     }
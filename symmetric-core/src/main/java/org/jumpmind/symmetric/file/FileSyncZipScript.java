@@ -39,6 +39,15 @@ public abstract class FileSyncZipScript {
 
     public abstract void buildScriptEnd(Batch batch);
 
+    /**
+     * Whether the script rebuilds a file from a block delta when the batch has a delta entry in place of the file.
+     * 
+     * @see FileSyncDelta
+     */
+    public boolean isDeltaSupported() {
+        return false;
+    }
+
     public StringBuilder getScript() {
         return buff;
     }
@@ -0,0 +1,346 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.file;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.model.FileSnapshot;
+import org.jumpmind.symmetric.model.FileSnapshot.LastEventType;
+import org.jumpmind.symmetric.model.FileTrigger;
+import org.jumpmind.symmetric.model.FileTriggerRouter;
+import org.jumpmind.symmetric.model.ProcessInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the files of a file trigger from the events of a {@link WatchService}, so the file sync tracker does not walk the whole directory tree on every
+ * run. The tree is scanned in full with a {@link FileTriggerTracker} when the watcher starts, when the event queue overflows, and on a slow reconciliation
+ * schedule to pick up anything the events missed, like files under a directory that was moved out of the tree. If the directories cannot be watched, for
+ * example because the inotify watch limit is reached, the trigger is scanned in full on every run until watching is tried again after the
+ * reconciliation period.
+ */
+public class FileTriggerWatcher implements Closeable {
+    final protected Logger log = LoggerFactory.getLogger(getClass());
+    protected FileTriggerRouter fileTriggerRouter;
+    protected boolean useCrc;
+    protected long rescanPeriodMs;
+    protected ISymmetricEngine engine;
+    protected IOFileFilter fileFilter;
+    protected Path baseDir;
+    protected WatchService watchService;
+    protected Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+    protected Map<Path, WatchKey> directoryKeys = new HashMap<Path, WatchKey>();
+    protected Map<Path, LastEventType> pendingChanges = new LinkedHashMap<Path, LastEventType>();
+    protected boolean rescanNeeded = true;
+    protected long lastRescanTime;
+    protected boolean watchFailed;
+    protected long lastWatchAttemptTime;
+
+    public FileTriggerWatcher(FileTriggerRouter fileTriggerRouter, boolean useCrc, long rescanPeriodMs, ISymmetricEngine engine) {
+        this.fileTriggerRouter = fileTriggerRouter;
+        this.useCrc = useCrc;
+        this.rescanPeriodMs = rescanPeriodMs;
+        this.engine = engine;
+        this.fileFilter = fileTriggerRouter.getFileTrigger().createIOFileFilter();
+        this.baseDir = Paths.get(fileTriggerRouter.getFileTrigger().getBaseDir()).toAbsolutePath();
+    }
+
+    /**
+     * Whether this watcher was started for the same directory spec, so it can keep tracking for the given file trigger router.
+     */
+    public boolean isWatching(FileTriggerRouter other, boolean useCrc) {
+        FileTrigger trigger = fileTriggerRouter.getFileTrigger();
+        FileTrigger otherTrigger = other.getFileTrigger();
+        return this.useCrc == useCrc && StringUtils.equals(trigger.getBaseDir(), otherTrigger.getBaseDir())
+                && trigger.isRecurse() == otherTrigger.isRecurse() && trigger.isSyncOnCtlFile() == otherTrigger.isSyncOnCtlFile()
+                && StringUtils.equals(trigger.getIncludesFiles(), otherTrigger.getIncludesFiles())
+                && StringUtils.equals(trigger.getExcludesFiles(), otherTrigger.getExcludesFiles());
+    }
+
+    public void setFileTriggerRouter(FileTriggerRouter fileTriggerRouter) {
+        this.fileTriggerRouter = fileTriggerRouter;
+    }
+
+    public synchronized boolean isRescanNeeded() {
+        return rescanNeeded || watchService == null || (rescanPeriodMs > 0 && System.currentTimeMillis() - lastRescanTime >= rescanPeriodMs);
+    }
+
+    /**
+     * Start watching the directory tree again and compare a full scan of it to the last snapshot.
+     */
+    public synchronized DirectorySnapshot rescan(DirectorySnapshot lastSnapshot, ProcessInfo processInfo) {
+        close();
+        long now = System.currentTimeMillis();
+        if (!watchFailed || rescanPeriodMs <= 0 || now - lastWatchAttemptTime >= rescanPeriodMs) {
+            lastWatchAttemptTime = now;
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                register(baseDir, false);
+                watchFailed = false;
+                log.info("Watching {} directories for file trigger {}", directoryKeys.size(), fileTriggerRouter.getTriggerId());
+            } catch (IOException e) {
+                log.warn("Failed to watch the directories of file trigger {}, so it will be scanned in full on each run instead: {}",
+                        fileTriggerRouter.getTriggerId(), e.getMessage());
+                close();
+                watchFailed = true;
+            }
+        }
+        rescanNeeded = false;
+        lastRescanTime = now;
+        return new FileTriggerTracker(fileTriggerRouter, lastSnapshot, processInfo, useCrc, engine).trackChanges();
+    }
+
+    /**
+     * Whether the directories could not be watched, so every run scans the directory tree in full.
+     */
+    public synchronized boolean isWatchFailed() {
+        return watchFailed;
+    }
+
+    /**
+     * Collect the changes reported by file system events since the last call.
+     * 
+     * @return the changes, or null if events were lost and {@link #rescan(DirectorySnapshot, ProcessInfo)} needs to run instead
+     */
+    public synchronized DirectorySnapshot pollChanges(ProcessInfo processInfo) {
+        if (watchService == null) {
+            return null;
+        }
+        WatchKey key = null;
+        while ((key = watchService.poll()) != null) {
+            Path dir = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    log.info("File system events overflowed for file trigger {}, so it will be scanned in full", fileTriggerRouter.getTriggerId());
+                    rescanNeeded = true;
+                } else if (dir != null) {
+                    onEvent(dir.resolve((Path) event.context()), event.kind());
+                }
+            }
+            if (!key.reset()) {
+                Path removed = watchedDirectories.remove(key);
+                if (removed != null) {
+                    directoryKeys.remove(removed);
+                    if (removed.equals(baseDir)) {
+                        rescanNeeded = true;
+                    }
+                }
+            }
+        }
+        if (rescanNeeded) {
+            pendingChanges.clear();
+            return null;
+        }
+        DirectorySnapshot changes = new DirectorySnapshot(fileTriggerRouter);
+        for (Map.Entry<Path, LastEventType> entry : pendingChanges.entrySet()) {
+            File file = entry.getKey().toFile();
+            LastEventType eventType = entry.getValue();
+            if (eventType != LastEventType.DELETE && !file.exists()) {
+                if (eventType == LastEventType.CREATE) {
+                    continue;
+                }
+                eventType = LastEventType.DELETE;
+            }
+            log.debug("File {} detected: {}", eventType.name().toLowerCase(), file.getAbsolutePath());
+            changes.add(new FileSnapshot(fileTriggerRouter, file, eventType, useCrc));
+            if (processInfo != null) {
+                processInfo.incrementCurrentDataCount();
+            }
+        }
+        pendingChanges.clear();
+        if (changes.size() > 0) {
+            log.info("Found {} files changed from file system events for file trigger {}", changes.size(), fileTriggerRouter.getTriggerId());
+        }
+        return changes;
+    }
+
+    protected void onEvent(Path path, WatchEvent.Kind<?> kind) {
+        File file = path.toFile();
+        if (kind == ENTRY_DELETE) {
+            if (directoryKeys.containsKey(path)) {
+                unregister(path);
+                addChange(path, LastEventType.DELETE);
+            } else if (fileFilter.accept(file)) {
+                addChange(path, LastEventType.DELETE);
+            }
+        } else if (Files.isDirectory(path)) {
+            if (kind == ENTRY_CREATE && fileFilter.accept(file)) {
+                try {
+                    register(path, true);
+                } catch (IOException e) {
+                    log.warn("Failed to watch directory {}, so file trigger {} will be scanned in full", path, fileTriggerRouter.getTriggerId(), e);
+                    rescanNeeded = true;
+                }
+            }
+        } else if (fileFilter.accept(file)) {
+            if (kind == ENTRY_CREATE) {
+                onFileCreate(path);
+            } else if (kind == ENTRY_MODIFY) {
+                addChange(path, LastEventType.MODIFY);
+            }
+        }
+        if (kind != ENTRY_DELETE && fileTriggerRouter.getFileTrigger().isSyncOnCtlFile()
+                && file.getName().endsWith(FileTrigger.FILE_CTL_EXTENSION)) {
+            onCtlFile(path);
+        }
+    }
+
+    protected void onFileCreate(Path path) {
+        if (!fileTriggerRouter.getFileTrigger().isSyncOnCtlFile() || engine.getFileSyncService().getControleFile(path.toFile()).exists()) {
+            addChange(path, LastEventType.CREATE);
+        }
+    }
+
+    /**
+     * A control file arrived, so record the creation of the files it releases.
+     */
+    protected void onCtlFile(Path ctlPath) {
+        File ctlFile = ctlPath.toFile();
+        String name = ctlFile.getName();
+        String prefix = name.substring(0, name.length() - FileTrigger.FILE_CTL_EXTENSION.length());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(ctlPath.getParent(), entry -> entry.getFileName().toString().startsWith(prefix))) {
+            for (Path candidate : stream) {
+                File file = candidate.toFile();
+                if (!candidate.equals(ctlPath) && file.isFile() && fileFilter.accept(file)
+                        && engine.getFileSyncService().getControleFile(file).getAbsoluteFile().equals(ctlFile.getAbsoluteFile())) {
+                    addChange(candidate, LastEventType.CREATE);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to look for the files released by control file {}", ctlFile.getAbsolutePath(), e);
+        }
+    }
+
+    protected void addChange(Path path, LastEventType eventType) {
+        LastEventType previous = pendingChanges.get(path);
+        if (previous == null) {
+            pendingChanges.put(path, eventType);
+        } else if (previous == LastEventType.CREATE) {
+            if (eventType == LastEventType.DELETE) {
+                pendingChanges.remove(path);
+            }
+        } else {
+            pendingChanges.put(path, eventType == LastEventType.DELETE ? LastEventType.DELETE : LastEventType.MODIFY);
+        }
+    }
+
+    /**
+     * Watch a directory and, when the trigger recurses, the directories under it.
+     * 
+     * @param created
+     *            whether the directory was just created, in which case it and everything already in it are recorded as created
+     */
+    protected void register(Path dir, boolean created) throws IOException {
+        final boolean recurse = fileTriggerRouter.getFileTrigger().isRecurse();
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) throws IOException {
+                if (!path.equals(baseDir) && (!recurse || !fileFilter.accept(path.toFile()))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watchedDirectories.put(key, path);
+                directoryKeys.put(path, key);
+                if (created) {
+                    addChange(path, LastEventType.CREATE);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                if (created && fileFilter.accept(path.toFile())) {
+                    onFileCreate(path);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path path, IOException e) {
+                log.debug("Unable to read {}", path, e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Stop watching a directory that was deleted or moved away, along with the directories that were under it.
+     */
+    protected void unregister(Path dir) {
+        List<Path> removed = new ArrayList<Path>();
+        Iterator<Map.Entry<Path, WatchKey>> iterator = directoryKeys.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, WatchKey> entry = iterator.next();
+            if (entry.getKey().startsWith(dir)) {
+                entry.getValue().cancel();
+                watchedDirectories.remove(entry.getValue());
+                iterator.remove();
+                if (!entry.getKey().equals(dir)) {
+                    removed.add(entry.getKey());
+                }
+            }
+        }
+        for (Path path : removed) {
+            addChange(path, LastEventType.DELETE);
+        }
+    }
+
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the watch service for file trigger {}", fileTriggerRouter.getTriggerId(), e);
+            }
+            watchService = null;
+        }
+        watchedDirectories.clear();
+        directoryKeys.clear();
+        pendingChanges.clear();
+    }
+}
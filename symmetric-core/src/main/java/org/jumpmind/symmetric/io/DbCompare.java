@@ -44,11 +44,13 @@ import org.jumpmind.db.sql.DmlStatement.DmlType;
 import org.jumpmind.db.sql.ISqlReadCursor;
 import org.jumpmind.db.sql.ISqlRowMapper;
 import org.jumpmind.db.sql.Row;
+import org.jumpmind.db.sql.SqlException;
 import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.SymmetricException;
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.common.TableConstants;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
+import org.jumpmind.symmetric.io.DbCompareHasher.BucketHash;
 import org.jumpmind.symmetric.io.DbCompareReport.TableReport;
 import org.jumpmind.symmetric.model.TriggerHistory;
 import org.jumpmind.symmetric.model.TriggerRouter;
@@ -140,8 +142,137 @@ public class DbCompare {
     }
 
     protected TableReport compareTables(DbCompareTables tables, OutputStream sqlDiffOutput) {
-        String sourceSelect = getSourceComparisonSQL(tables, sourceEngine.getTargetDialect().getTargetPlatform());
-        String targetSelect = getTargetComparisonSQL(tables, targetEngine.getTargetDialect().getTargetPlatform());
+        TableReport tableReport = new TableReport();
+        tableReport.setSourceTable(tables.getSourceTable().getName());
+        tableReport.setTargetTable(tables.getTargetTable().getName());
+        DbCompareDiffWriter diffWriter = null;
+        OutputStream stream = null;
+        if (sqlDiffOutput != null) {
+            diffWriter = new DbCompareDiffWriter(targetEngine, tables, sqlDiffOutput);
+        } else {
+            stream = getSqlDiffOutputStream(tables);
+            diffWriter = new DbCompareDiffWriter(targetEngine, tables, stream);
+        }
+        diffWriter.setContinueAfterError(config.isContinueAfterError());
+        try {
+            if (!config.isHashCompare() || !compareTablesByHash(tables, tableReport, diffWriter)) {
+                String sourceSelect = getSourceComparisonSQL(tables, sourceEngine.getTargetDialect().getTargetPlatform());
+                String targetSelect = getTargetComparisonSQL(tables, targetEngine.getTargetDialect().getTargetPlatform());
+                compareRows(tables, sourceSelect, targetSelect, tableReport, diffWriter);
+            }
+        } finally {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                }
+            }
+        }
+        return tableReport;
+    }
+
+    /**
+     * Compares the tables by hashing ranges of the primary key in each database, and only reading the rows of ranges whose hashes are different. Returns
+     * false if the tables cannot be compared by hash, so every row should be compared instead.
+     */
+    protected boolean compareTablesByHash(DbCompareTables tables, TableReport tableReport, DbCompareDiffWriter diffWriter) {
+        IDatabasePlatform sourcePlatform = sourceEngine.getTargetDialect().getTargetPlatform();
+        IDatabasePlatform targetPlatform = targetEngine.getTargetDialect().getTargetPlatform();
+        Table sourceTable = tables.getSourceTable();
+        Table targetTable = tables.getTargetTable();
+        String family = DbCompareHasher.getHashFamily(sourcePlatform);
+        if (family == null || !family.equals(DbCompareHasher.getHashFamily(targetPlatform))) {
+            log.info("Hash compare is not supported from {} to {}, comparing every row of {}", sourcePlatform.getName(), targetPlatform.getName(),
+                    sourceTable.getName());
+            return false;
+        }
+        if (sourceTable.getPrimaryKeyColumnCount() != 1 || targetTable.getPrimaryKeyColumnCount() != 1
+                || !DbCompareHasher.isIntegerKey(sourceTable.getPrimaryKeyColumns()[0])
+                || !DbCompareHasher.isIntegerKey(targetTable.getPrimaryKeyColumns()[0])) {
+            log.info("Hash compare needs a single integer primary key, comparing every row of {}", sourceTable.getName());
+            return false;
+        }
+        List<Column> sourceColumns = new ArrayList<Column>();
+        List<Column> targetColumns = new ArrayList<Column>();
+        for (Column sourceColumn : sourceTable.getColumns()) {
+            Column targetColumn = tables.getColumnMapping().get(sourceColumn);
+            if (targetColumn != null) {
+                sourceColumns.add(sourceColumn);
+                targetColumns.add(targetColumn);
+            }
+        }
+        DbCompareHasher sourceHasher = new DbCompareHasher(sourcePlatform, sourceTable, sourceColumns, sourceTable.getPrimaryKeyColumns()[0],
+                config.getSourceWhereClause(sourceTable.getName()));
+        DbCompareHasher targetHasher = new DbCompareHasher(targetPlatform, targetTable, targetColumns, targetTable.getPrimaryKeyColumns()[0],
+                config.getTargetWhereClause(targetTable.getName()));
+        for (int i = 0; i < sourceColumns.size(); i++) {
+            if (!sourceHasher.isHashable(sourceColumns.get(i)) || !targetHasher.isHashable(targetColumns.get(i))) {
+                log.info("Hash compare does not support column {}, comparing every row of {}", sourceColumns.get(i).getName(), sourceTable.getName());
+                return false;
+            }
+        }
+        long startKey, endKey;
+        BucketHash sourceHash, targetHash;
+        try {
+            long[] sourceRange = sourceHasher.getKeyRange();
+            long[] targetRange = targetHasher.getKeyRange();
+            if (sourceRange == null && targetRange == null) {
+                return true;
+            }
+            startKey = Math.min(sourceRange != null ? sourceRange[0] : Long.MAX_VALUE, targetRange != null ? targetRange[0] : Long.MAX_VALUE);
+            long maxKey = Math.max(sourceRange != null ? sourceRange[1] : Long.MIN_VALUE, targetRange != null ? targetRange[1] : Long.MIN_VALUE);
+            if (maxKey == Long.MAX_VALUE || maxKey - startKey < 0) {
+                log.info("Hash compare cannot split the key range of {}, comparing every row", sourceTable.getName());
+                return false;
+            }
+            endKey = maxKey + 1;
+            sourceHash = sourceHasher.getBuckets(startKey, endKey, endKey - startKey).get(0L);
+            targetHash = targetHasher.getBuckets(startKey, endKey, endKey - startKey).get(0L);
+        } catch (SqlException e) {
+            log.warn("Failed to hash " + sourceTable.getName() + ", comparing every row", e);
+            return false;
+        }
+        compareHashedRange(tables, sourceHasher, targetHasher, startKey, endKey, sourceHash, targetHash, tableReport, diffWriter);
+        return true;
+    }
+
+    protected void compareHashedRange(DbCompareTables tables, DbCompareHasher sourceHasher, DbCompareHasher targetHasher, long startKey, long endKey,
+            BucketHash sourceHash, BucketHash targetHash, TableReport tableReport, DbCompareDiffWriter diffWriter) {
+        long sourceCount = sourceHash != null ? sourceHash.getRowCount() : 0;
+        long targetCount = targetHash != null ? targetHash.getRowCount() : 0;
+        if (sourceHash != null && sourceHash.matches(targetHash)) {
+            tableReport.setSourceRows(tableReport.getSourceRows() + (int) sourceCount);
+            tableReport.setTargetRows(tableReport.getTargetRows() + (int) targetCount);
+            tableReport.setMatchedRows(tableReport.getMatchedRows() + (int) sourceCount);
+        } else if (Math.max(sourceCount, targetCount) <= config.getHashLeafRows() || endKey - startKey <= 1) {
+            log.debug("Comparing rows of {} with keys from {} to {}", tables.getSourceTable().getName(), startKey, endKey);
+            String sourceSelect = getSourceComparisonSQL(tables, sourceEngine.getTargetDialect().getTargetPlatform(),
+                    sourceHasher.getRangeCondition(startKey, endKey));
+            String targetSelect = getTargetComparisonSQL(tables, targetEngine.getTargetDialect().getTargetPlatform(),
+                    targetHasher.getRangeCondition(startKey, endKey));
+            compareRows(tables, sourceSelect, targetSelect, tableReport, diffWriter);
+        } else {
+            int bucketCount = Math.max(2, config.getHashBuckets());
+            long bucketWidth = (endKey - startKey + bucketCount - 1) / bucketCount;
+            Map<Long, BucketHash> sourceBuckets = sourceHasher.getBuckets(startKey, endKey, bucketWidth);
+            Map<Long, BucketHash> targetBuckets = targetHasher.getBuckets(startKey, endKey, bucketWidth);
+            for (long bucket = 0; bucket < bucketCount; bucket++) {
+                long bucketStartKey = startKey + bucket * bucketWidth;
+                if (bucketStartKey >= endKey) {
+                    break;
+                }
+                BucketHash sourceBucket = sourceBuckets.get(bucket);
+                BucketHash targetBucket = targetBuckets.get(bucket);
+                if (sourceBucket != null || targetBucket != null) {
+                    compareHashedRange(tables, sourceHasher, targetHasher, bucketStartKey, Math.min(bucketStartKey + bucketWidth, endKey),
+                            sourceBucket, targetBucket, tableReport, diffWriter);
+                }
+            }
+        }
+    }
+
+    protected void compareRows(DbCompareTables tables, String sourceSelect, String targetSelect, TableReport tableReport,
+            DbCompareDiffWriter diffWriter) {
         ISymmetricDialect sourceDialect = sourceEngine.getSymmetricDialect();
         ISymmetricDialect targetDialect = targetEngine.getSymmetricDialect();
         boolean isUsingUnitypes = targetDialect.getParameterService().is(ParameterConstants.DBDIALECT_SYBASE_ASE_CONVERT_UNITYPES_FOR_SYNC) ||
@@ -166,9 +297,8 @@ public class DbCompare {
         CountingSqlReadCursor targetCursor = new CountingSqlReadCursor(targetEngine.getTargetDialect().getTargetPlatform().getSqlTemplateDirty().queryForCursor(
                 targetSelect,
                 defaultRowMapper));
-        TableReport tableReport = new TableReport();
-        tableReport.setSourceTable(tables.getSourceTable().getName());
-        tableReport.setTargetTable(tables.getTargetTable().getName());
+        int sourceRowsBefore = tableReport.getSourceRows();
+        int targetRowsBefore = tableReport.getTargetRows();
         long time = System.currentTimeMillis();
         Row sourceRow = sourceCursor.next();
         Row targetRow = targetCursor.next();
@@ -176,15 +306,6 @@ public class DbCompare {
         log.debug("Took " + time + " milliseconds to get the starting source and target rows.");
         int counter = 0;
         long startTime = System.currentTimeMillis();
-        DbCompareDiffWriter diffWriter = null;
-        OutputStream stream = null;
-        if (sqlDiffOutput != null) {
-            diffWriter = new DbCompareDiffWriter(targetEngine, tables, sqlDiffOutput);
-        } else {
-            stream = getSqlDiffOutputStream(tables);
-            diffWriter = new DbCompareDiffWriter(targetEngine, tables, stream);
-        }
-        diffWriter.setContinueAfterError(config.isContinueAfterError());
         try {
             while (true) {
                 if (sourceRow == null && targetRow == null) {
@@ -340,8 +461,8 @@ public class DbCompare {
                     targetRow = targetCursor.next();
                 }
                 long tableReportTime = System.currentTimeMillis();
-                tableReport.setSourceRows(sourceCursor.count);
-                tableReport.setTargetRows(targetCursor.count);
+                tableReport.setSourceRows(sourceRowsBefore + sourceCursor.count);
+                tableReport.setTargetRows(targetRowsBefore + targetCursor.count);
                 tableReportTime = System.currentTimeMillis() - tableReportTime;
                 if (tableReportTime > 2) {
                     log.debug("Took " + tableReportTime + " milliseconds to update the table report.");
@@ -350,12 +471,6 @@ public class DbCompare {
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
         } finally {
-            if (stream != null) {
-                try {
-                    stream.close();
-                } catch (IOException e) {
-                }
-            }
             if (sourceCursor != null) {
                 sourceCursor.close();
             }
@@ -363,7 +478,6 @@ public class DbCompare {
                 targetCursor.close();
             }
         }
-        return tableReport;
     }
 
     protected void modifyRowForUnitypes(Row originalRow, Map<String, Object> records, Boolean isInserting) {
@@ -390,14 +504,26 @@ public class DbCompare {
     }
 
     protected String getSourceComparisonSQL(DbCompareTables tables, IDatabasePlatform platform) {
-        String whereClause = config.getSourceWhereClause(tables.getSourceTable().getName());
+        return getSourceComparisonSQL(tables, platform, null);
+    }
+
+    protected String getSourceComparisonSQL(DbCompareTables tables, IDatabasePlatform platform, String rangeCondition) {
+        String whereClause = addRangeCondition(config.getSourceWhereClause(tables.getSourceTable().getName()), rangeCondition);
         String sql = getComparisonSQL(tables.getSourceTable(),
                 tables.getSourceTable().getPrimaryKeyColumns(), platform, whereClause, true);
-        log.info("Source comparison SQL: {}", sql);
+        if (rangeCondition == null) {
+            log.info("Source comparison SQL: {}", sql);
+        } else {
+            log.debug("Source comparison SQL: {}", sql);
+        }
         return sql;
     }
 
     protected String getTargetComparisonSQL(DbCompareTables tables, IDatabasePlatform platform) {
+        return getTargetComparisonSQL(tables, platform, null);
+    }
+
+    protected String getTargetComparisonSQL(DbCompareTables tables, IDatabasePlatform platform, String rangeCondition) {
         List<Column> mappedPkColumns = new ArrayList<Column>();
         for (Column sourcePkColumn : tables.getSourceTable().getPrimaryKeyColumns()) {
             Column targetColumn = tables.getColumnMapping().get(sourcePkColumn);
@@ -407,13 +533,21 @@ public class DbCompare {
                 mappedPkColumns.add(targetColumn);
             }
         }
-        String whereClause = config.getTargetWhereClause(tables.getTargetTable().getName());
+        String whereClause = addRangeCondition(config.getTargetWhereClause(tables.getTargetTable().getName()), rangeCondition);
         String sql = getComparisonSQL(tables.getTargetTable(), tables.getTargetTable().getPrimaryKeyColumns(), platform,
                 whereClause, false);
-        log.info("Target comparison SQL: {}", sql);
+        if (rangeCondition == null) {
+            log.info("Target comparison SQL: {}", sql);
+        } else {
+            log.debug("Target comparison SQL: {}", sql);
+        }
         return sql;
     }
 
+    protected String addRangeCondition(String whereClause, String rangeCondition) {
+        return rangeCondition == null ? whereClause : "(" + whereClause + ") and " + rangeCondition;
+    }
+
     protected String getComparisonSQL(Table table, Column[] sortByColumns, IDatabasePlatform platform,
             String whereClause, boolean isSource) {
         DmlStatement statement = platform.createDmlStatement(DmlType.SELECT, table.getCatalog(), table.getSchema(),
@@ -46,6 +46,9 @@ public class DbCompareConfig {
     private Map<String, List<String>> tablesToExcludedColumns = new LinkedHashMap<String, List<String>>();
     private String outputSql;
     private boolean continueAfterError = false;
+    private boolean hashCompare = false;
+    private int hashLeafRows = 10000;
+    private int hashBuckets = 16;
     private Map<String, String> configSources = new HashMap<String, String>();
 
     public DbCompareConfig() {
@@ -61,6 +64,9 @@ public class DbCompareConfig {
         configSources.put("sqlDiffFileName", "default");
         configSources.put("outputSql", "default");
         configSources.put("continueAfterError", "default");
+        configSources.put("hashCompare", "default");
+        configSources.put("hashLeafRows", "default");
+        configSources.put("hashBuckets", "default");
     }
 
     public String getSourceWhereClause(String tableName) {
@@ -237,6 +243,30 @@ public class DbCompareConfig {
         return continueAfterError;
     }
 
+    public boolean isHashCompare() {
+        return hashCompare;
+    }
+
+    public void setHashCompare(boolean hashCompare) {
+        this.hashCompare = hashCompare;
+    }
+
+    public int getHashLeafRows() {
+        return hashLeafRows;
+    }
+
+    public void setHashLeafRows(int hashLeafRows) {
+        this.hashLeafRows = hashLeafRows;
+    }
+
+    public int getHashBuckets() {
+        return hashBuckets;
+    }
+
+    public void setHashBuckets(int hashBuckets) {
+        this.hashBuckets = hashBuckets;
+    }
+
     public String report() {
         StringBuilder buff = new StringBuilder(128);
         buff.append("\tsourceTableNames=").append(sourceTableNames).append(" @").append(configSources.get("sourceTableNames")).append("\n");
@@ -250,6 +280,9 @@ public class DbCompareConfig {
                 "\n");
         buff.append("\toutputSql=").append(outputSql).append(" @").append(configSources.get("outputSql")).append("\n");
         buff.append("\tcontinueAfterError=").append(continueAfterError).append(" @").append(configSources.get("continueAfterError")).append("\n");
+        buff.append("\thashCompare=").append(hashCompare).append(" @").append(configSources.get("hashCompare")).append("\n");
+        buff.append("\thashLeafRows=").append(hashLeafRows).append(" @").append(configSources.get("hashLeafRows")).append("\n");
+        buff.append("\thashBuckets=").append(hashBuckets).append(" @").append(configSources.get("hashBuckets")).append("\n");
         return buff.toString();
     }
 }
@@ -0,0 +1,224 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.db.model.Column;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.DatabaseInfo;
+import org.jumpmind.db.platform.DatabaseNamesConstants;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.Row;
+
+/**
+ * Builds and runs the SQL that hashes a table in the database for a hash compare. Rows are grouped into buckets by ranges of a single integer primary key,
+ * and each bucket returns its row count and the sum of a 32-bit hash of each row, so only a few numbers per bucket cross the network. Both sides of a compare
+ * must use the same hash family so that equal rows render to the same text and hash to the same value.
+ */
+public class DbCompareHasher {
+    private IDatabasePlatform platform;
+    private Table table;
+    private List<Column> columns;
+    private Column pkColumn;
+    private String whereClause;
+    private String family;
+    private String quote;
+
+    public DbCompareHasher(IDatabasePlatform platform, Table table, List<Column> columns, Column pkColumn, String whereClause) {
+        this.platform = platform;
+        this.table = table;
+        this.columns = columns;
+        this.pkColumn = pkColumn;
+        this.whereClause = whereClause;
+        this.family = getHashFamily(platform);
+        DatabaseInfo databaseInfo = platform.getDatabaseInfo();
+        this.quote = databaseInfo.getDelimiterToken() == null ? "" : databaseInfo.getDelimiterToken();
+    }
+
+    public static String getHashFamily(IDatabasePlatform platform) {
+        String name = platform.getName();
+        if (name.equals(DatabaseNamesConstants.H2)) {
+            return DatabaseNamesConstants.H2;
+        } else if (name.equals(DatabaseNamesConstants.POSTGRESQL) || name.equals(DatabaseNamesConstants.POSTGRESQL95)) {
+            return DatabaseNamesConstants.POSTGRESQL;
+        } else if (name.equals(DatabaseNamesConstants.MYSQL) || name.equals(DatabaseNamesConstants.MARIADB)) {
+            return DatabaseNamesConstants.MYSQL;
+        } else if (name.startsWith(DatabaseNamesConstants.ORACLE)) {
+            return DatabaseNamesConstants.ORACLE;
+        } else if (name.startsWith(DatabaseNamesConstants.MSSQL)) {
+            return DatabaseNamesConstants.MSSQL;
+        }
+        return null;
+    }
+
+    public static boolean isIntegerKey(Column column) {
+        int type = column.getMappedTypeCode();
+        return type == Types.TINYINT || type == Types.SMALLINT || type == Types.INTEGER || type == Types.BIGINT
+                || ((type == Types.NUMERIC || type == Types.DECIMAL) && column.getScale() == 0);
+    }
+
+    public boolean isHashable(Column column) {
+        if (family.equals(DatabaseNamesConstants.POSTGRESQL)) {
+            return true;
+        }
+        int type = column.getMappedTypeCode();
+        return !column.isOfSpecialType() && type != Types.BLOB && type != Types.CLOB && type != Types.NCLOB && type != Types.LONGVARBINARY
+                && type != Types.LONGVARCHAR && type != Types.LONGNVARCHAR;
+    }
+
+    /**
+     * Returns the lowest and highest key in the table, or null if the table has no rows.
+     */
+    public long[] getKeyRange() {
+        String pk = quoteColumn(pkColumn);
+        String sql = "select min(" + pk + "), max(" + pk + ") from " + getTableName() + " t where " + whereClause;
+        Row row = platform.getSqlTemplateDirty().queryForRow(sql);
+        Object[] values = row != null ? row.toArray() : null;
+        if (values == null || values[0] == null) {
+            return null;
+        }
+        return new long[] { ((Number) values[0]).longValue(), ((Number) values[1]).longValue() };
+    }
+
+    /**
+     * Returns the hash of each non-empty bucket between startKey (inclusive) and endKey (exclusive), indexed by bucket number.
+     */
+    public Map<Long, BucketHash> getBuckets(long startKey, long endKey, long bucketWidth) {
+        String pk = quoteColumn(pkColumn);
+        String bucket = "floor((" + pk + " - " + startKey + ") / " + bucketWidth + ")";
+        String sql = "select " + bucket + ", count(*), sum(" + getRowHashExpression() + ") from " + getTableName() + " t where (" + whereClause
+                + ") and " + getRangeCondition(startKey, endKey) + " group by " + bucket;
+        Map<Long, BucketHash> buckets = new HashMap<Long, BucketHash>();
+        for (Row row : platform.getSqlTemplateDirty().query(sql)) {
+            Object[] values = row.toArray();
+            buckets.put(((Number) values[0]).longValue(), new BucketHash(((Number) values[1]).longValue(), toBigDecimal(values[2])));
+        }
+        return buckets;
+    }
+
+    public String getRangeCondition(long startKey, long endKey) {
+        String pk = quoteColumn(pkColumn);
+        return pk + " >= " + startKey + " and " + pk + " < " + endKey;
+    }
+
+    protected String getRowHashExpression() {
+        List<String> parts = new ArrayList<String>();
+        for (Column column : columns) {
+            if (parts.size() > 0) {
+                parts.add("'|'");
+            }
+            String columnName = quoteColumn(column);
+            parts.add("case when " + columnName + " is null then 'n' else " + concat(Arrays.asList("'v'", getTextExpression(column, columnName)))
+                    + " end");
+        }
+        String text = concat(parts);
+        if (family.equals(DatabaseNamesConstants.POSTGRESQL)) {
+            return "('x' || substr(md5(" + text + "), 1, 8))::bit(32)::bigint";
+        } else if (family.equals(DatabaseNamesConstants.MYSQL)) {
+            return "cast(conv(substring(md5(" + text + "), 1, 8), 16, 10) as unsigned)";
+        } else if (family.equals(DatabaseNamesConstants.MSSQL)) {
+            return "cast(substring(hashbytes('MD5', " + text + "), 1, 4) as bigint)";
+        } else {
+            return "ora_hash(" + text + ")";
+        }
+    }
+
+    protected String concat(List<String> parts) {
+        if (family.equals(DatabaseNamesConstants.MYSQL)) {
+            return "concat(" + StringUtils.join(parts, ", ") + ")";
+        } else if (family.equals(DatabaseNamesConstants.MSSQL)) {
+            return StringUtils.join(parts, " + ");
+        }
+        return StringUtils.join(parts, " || ");
+    }
+
+    protected String getTextExpression(Column column, String columnName) {
+        int type = column.getMappedTypeCode();
+        if (family.equals(DatabaseNamesConstants.POSTGRESQL)) {
+            return "cast(" + columnName + " as text)";
+        } else if (family.equals(DatabaseNamesConstants.MYSQL)) {
+            return "cast(" + columnName + " as char)";
+        } else if (family.equals(DatabaseNamesConstants.ORACLE)) {
+            if (type == Types.DATE || type == Types.TIMESTAMP) {
+                String format = StringUtils.startsWithIgnoreCase(column.getJdbcTypeName(), "TIMESTAMP") ? "YYYY-MM-DD HH24:MI:SS.FF9"
+                        : "YYYY-MM-DD HH24:MI:SS";
+                return "to_char(" + columnName + ", '" + format + "')";
+            }
+            return "to_char(" + columnName + ")";
+        } else if (family.equals(DatabaseNamesConstants.MSSQL)) {
+            if (type == Types.DATE || type == Types.TIME || type == Types.TIMESTAMP) {
+                return "convert(nvarchar(max), " + columnName + ", 121)";
+            } else if (type == Types.FLOAT || type == Types.REAL || type == Types.DOUBLE) {
+                return "convert(nvarchar(max), " + columnName + ", 2)";
+            }
+            return "cast(" + columnName + " as nvarchar(max))";
+        }
+        return "cast(" + columnName + " as varchar)";
+    }
+
+    protected String getTableName() {
+        DatabaseInfo databaseInfo = platform.getDatabaseInfo();
+        return table.getQualifiedTableName(quote, databaseInfo.getCatalogSeparator(), databaseInfo.getSchemaSeparator());
+    }
+
+    protected String quoteColumn(Column column) {
+        return "t." + quote + column.getName() + quote;
+    }
+
+    protected static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        } else if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    public static class BucketHash {
+        private long rowCount;
+        private BigDecimal hash;
+
+        public BucketHash(long rowCount, BigDecimal hash) {
+            this.rowCount = rowCount;
+            this.hash = hash;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public BigDecimal getHash() {
+            return hash;
+        }
+
+        public boolean matches(BucketHash other) {
+            return other != null && rowCount == other.rowCount && hash.compareTo(other.hash) == 0;
+        }
+    }
+}
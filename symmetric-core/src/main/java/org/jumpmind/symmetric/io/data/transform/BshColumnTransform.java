@@ -43,11 +43,11 @@ import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.io.data.DataEventType;
 import org.jumpmind.symmetric.model.Data;
 import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.util.CachingBshInterpreter;
 import org.jumpmind.util.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import bsh.Interpreter;
 import bsh.TargetError;
 
 public class BshColumnTransform implements ISingleNewAndOldValueColumnTransform, IBuiltInExtensionPoint {
@@ -81,7 +81,7 @@ public class BshColumnTransform implements ISingleNewAndOldValueColumnTransform,
             TransformColumn column, TransformedData data, Map<String, String> sourceValues,
             String newValue, String oldValue) throws IgnoreColumnException, IgnoreRowException {
         try {
-            Interpreter interpreter = getInterpreter(context);
+            CachingBshInterpreter interpreter = getInterpreter(context);
             interpreter.set("currentValue", newValue);
             interpreter.set("oldValue", oldValue);
             interpreter.set("channelId", context.getBatch().getChannelId());
@@ -105,7 +105,7 @@ public class BshColumnTransform implements ISingleNewAndOldValueColumnTransform,
                         + "configuration for transform '" + column.getTransformId() + "'");
             }
             String globalScript = parameterService.getString(ParameterConstants.BSH_TRANSFORM_GLOBAL_SCRIPT);
-            String methodName = String.format("transform_%d()",
+            String methodName = String.format("transform_%d",
                     Math.abs(transformExpression.hashCode() + (globalScript == null ? 0 : globalScript.hashCode())));
             if (context.get(methodName) == null) {
                 interpreter.set("log", log);
@@ -124,10 +124,10 @@ public class BshColumnTransform implements ISingleNewAndOldValueColumnTransform,
                 if (StringUtils.isNotBlank(globalScript)) {
                     interpreter.eval(globalScript);
                 }
-                interpreter.eval(String.format("%s {\n%s\n}", methodName, transformExpression));
+                interpreter.eval(String.format("%s() {\n%s\n}", methodName, transformExpression));
                 context.put(methodName, Boolean.TRUE);
             }
-            Object result = interpreter.eval(methodName);
+            Object result = interpreter.invokeMethod(methodName);
             if (csvData != null && csvData.getTriggerHistory() != null) {
                 interpreter.unset("sourceSchemaName");
                 interpreter.unset("sourceCatalogName");
@@ -173,10 +173,10 @@ public class BshColumnTransform implements ISingleNewAndOldValueColumnTransform,
         }
     }
 
-    protected Interpreter getInterpreter(Context context) {
-        Interpreter interpreter = (Interpreter) context.get(INTERPRETER_KEY);
+    protected CachingBshInterpreter getInterpreter(Context context) {
+        CachingBshInterpreter interpreter = (CachingBshInterpreter) context.get(INTERPRETER_KEY);
         if (interpreter == null) {
-            interpreter = new Interpreter();
+            interpreter = new CachingBshInterpreter();
             context.put(INTERPRETER_KEY, interpreter);
         }
         return interpreter;
@@ -22,17 +22,26 @@ package org.jumpmind.symmetric.io.data.transform;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlTransaction;
+import org.jumpmind.db.sql.NamedParameterUtils;
+import org.jumpmind.db.sql.ParsedSql;
 import org.jumpmind.db.sql.mapper.StringMapper;
 import org.jumpmind.extension.IBuiltInExtensionPoint;
 import org.jumpmind.symmetric.common.Constants;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.io.data.Batch;
 import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.util.FormatUtils;
 import org.jumpmind.util.LinkedCaseInsensitiveMap;
 import org.slf4j.Logger;
@@ -42,6 +51,16 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
     protected final Logger log = LoggerFactory.getLogger(getClass());
     public static final String NAME = "lookup";
     protected static final StringMapper lookupColumnRowMapper = new StringMapper();
+    final String CACHE_KEY = String.format("%d.LookupCache", hashCode());
+    protected IParameterService parameterService;
+    protected Map<String, ParsedSql> parsedSqlBySql = new ConcurrentHashMap<String, ParsedSql>();
+
+    public LookupColumnTransform() {
+    }
+
+    public LookupColumnTransform(IParameterService parameterService) {
+        this.parameterService = parameterService;
+    }
 
     public String getName() {
         return NAME;
@@ -75,10 +94,21 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
                     namedParams.put("TRM_" + transformedCol.getKey().toUpperCase(), transformedCol.getValue());
                 }
             }
-            if (transaction != null) {
-                values = transaction.query(sql, lookupColumnRowMapper, namedParams);
-            } else {
-                values = platform.getSqlTemplate().query(sql, lookupColumnRowMapper, namedParams);
+            LookupCache cache = getLookupCache(context);
+            List<Object> cacheKey = null;
+            if (cache != null) {
+                cacheKey = getCacheKey(sql, namedParams);
+                values = cache.get(cacheKey);
+            }
+            if (values == null) {
+                if (transaction != null) {
+                    values = transaction.query(sql, lookupColumnRowMapper, namedParams);
+                } else {
+                    values = platform.getSqlTemplate().query(sql, lookupColumnRowMapper, namedParams);
+                }
+                if (cache != null && values.size() > 0) {
+                    cache.put(cacheKey, values);
+                }
             }
             int rowCount = values.size();
             if (rowCount == 1) {
@@ -101,6 +131,36 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
         return new NewAndOldValue(column, data, lookupValue);
     }
 
+    /**
+     * Lookup results are cached for the life of a batch, so rows that repeat the same lookup values only query once. Lookups that return
+     * no rows are not cached, because an earlier row in the batch might be inserting the row being looked up.
+     */
+    protected LookupCache getLookupCache(DataContext context) {
+        Batch batch = context.getBatch();
+        if (parameterService == null || batch == null || !parameterService.is(ParameterConstants.TRANSFORM_LOOKUP_CACHE_ENABLED, false)) {
+            return null;
+        }
+        LookupCache cache = (LookupCache) context.get(CACHE_KEY);
+        if (cache == null || cache.batchId != batch.getBatchId()) {
+            cache = new LookupCache(batch.getBatchId(), parameterService.getInt(ParameterConstants.TRANSFORM_LOOKUP_CACHE_MAX_SIZE, 10000));
+            context.put(CACHE_KEY, cache);
+        }
+        return cache;
+    }
+
+    protected List<Object> getCacheKey(String sql, Map<String, Object> namedParams) {
+        ParsedSql parsedSql = parsedSqlBySql.get(sql);
+        if (parsedSql == null) {
+            parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+            parsedSqlBySql.put(sql, parsedSql);
+        }
+        Object[] args = NamedParameterUtils.buildValueArray(parsedSql, namedParams);
+        List<Object> key = new ArrayList<Object>(args.length + 1);
+        key.add(sql);
+        key.addAll(Arrays.asList(args));
+        return key;
+    }
+
     protected String doTokenReplacementOnSql(DataContext context, String sql) {
         if (isNotBlank(sql)) {
             Data csvData = (Data) context.get(Constants.DATA_CONTEXT_CURRENT_CSV_DATA);
@@ -115,4 +175,21 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
         }
         return sql;
     }
+
+    static class LookupCache extends LinkedHashMap<List<Object>, List<String>> {
+        private static final long serialVersionUID = 1L;
+        long batchId;
+        int maxSize;
+
+        LookupCache(long batchId, int maxSize) {
+            super(16, 0.75f, true);
+            this.batchId = batchId;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, List<String>> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
@@ -23,11 +23,14 @@ package org.jumpmind.symmetric.io.stage;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.db.model.Table;
 import org.jumpmind.db.util.BinaryEncoding;
 import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.csv.CsvReader;
@@ -83,6 +86,8 @@ public class SimpleStagingDataWriter {
             TableLine tableLine = null;
             Map<TableLine, TableLine> syncTableLines = new HashMap<TableLine, TableLine>();
             Map<TableLine, TableLine> batchTableLines = new HashMap<TableLine, TableLine>();
+            List<Table> stagedTables = null;
+            boolean stagedScript = false;
             String line = null;
             long startTime = System.currentTimeMillis(), ts = startTime, lineCount = 0;
             String batchStatsColumnsLine = null;
@@ -98,6 +103,10 @@ public class SimpleStagingDataWriter {
                     writeLine(line);
                 } else if (line.startsWith(CsvConstants.TABLE)) {
                     tableLine = new TableLine(catalogLine, schemaLine, line);
+                    if (stagedTables != null) {
+                        stagedTables.add(new Table(StringUtils.trimToNull(getArgLine(catalogLine)), StringUtils.trimToNull(getArgLine(schemaLine)),
+                                getArgLine(line)));
+                    }
                     TableLine batchTableLine = batchTableLines.get(tableLine);
                     if (batchTableLine != null) {
                         tableLine = batchTableLine;
@@ -138,6 +147,8 @@ public class SimpleStagingDataWriter {
                     }
                     resource = stagingManager.create(category, location, batch.getBatchId());
                     writer = resource.getWriter(memoryThresholdInBytes);
+                    stagedTables = new ArrayList<Table>();
+                    stagedScript = false;
                     writeLine(nodeLine);
                     writeLine(binaryLine);
                     writeLine(channelLine);
@@ -157,6 +168,8 @@ public class SimpleStagingDataWriter {
                     batchTableLines.clear();
                     if (batch != null) {
                         batch.setStatistics(batchStats);
+                        batch.setStagedTables(stagedTables);
+                        batch.setStagedScript(stagedScript);
                         if (listeners != null && exception == null) {
                             for (IProtocolDataWriterListener listener : listeners) {
                                 listener.end(context, batch, resource);
@@ -165,6 +178,7 @@ public class SimpleStagingDataWriter {
                     }
                     batchStats = null;
                     resource = null;
+                    stagedTables = null;
                 } else if (line.startsWith(CsvConstants.RETRY)) {
                     batch = new Batch(batchType, Long.parseLong(getArgLine(line)), getArgLine(channelLine), getBinaryEncoding(binaryLine),
                             getArgLine(nodeLine), targetNodeId, false);
@@ -179,6 +193,8 @@ public class SimpleStagingDataWriter {
                         resource.setState(State.DONE);
                     }
                     resource = stagingManager.find(category, location, batch.getBatchId());
+                    stagedTables = null;
+                    stagedScript = false;
                     if (resource == null || resource.getState() == State.CREATE) {
                         if (resource != null) {
                             resource.delete();
@@ -234,6 +250,9 @@ public class SimpleStagingDataWriter {
                             || line.startsWith(CsvConstants.BSH)) {
                         processInfo.incrementCurrentDataCount();
                     }
+                    if (line.startsWith(CsvConstants.CREATE) || line.startsWith(CsvConstants.SQL) || line.startsWith(CsvConstants.BSH)) {
+                        stagedScript = true;
+                    }
                     int size = line.length();
                     if (size > MAX_WRITE_LENGTH) {
                         log.debug("Exceeded max line length with {}", size);
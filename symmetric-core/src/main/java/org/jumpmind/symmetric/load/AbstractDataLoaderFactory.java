@@ -46,6 +46,8 @@ public abstract class AbstractDataLoaderFactory {
                 parameterService.is(ParameterConstants.DATA_LOADER_CREATE_TABLE_WITHOUT_DEFAULTS_ON_ERROR, false));
         settings.setMaxRowsBeforeCommit(
                 parameterService.getLong(ParameterConstants.DATA_LOADER_MAX_ROWS_BEFORE_COMMIT));
+        settings.setPreparedStatementCacheSize(
+                parameterService.getInt(ParameterConstants.DATA_LOADER_PREPARED_STATEMENT_CACHE_SIZE, 0));
         settings.setCommitSleepInterval(
                 parameterService.getLong(ParameterConstants.DATA_LOADER_SLEEP_TIME_AFTER_EARLY_COMMIT));
         settings.setIgnoreMissingTables(parameterService.is(ParameterConstants.DATA_LOADER_IGNORE_MISSING_TABLES));
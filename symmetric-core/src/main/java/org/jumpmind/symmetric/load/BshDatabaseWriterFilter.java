@@ -31,6 +31,7 @@ import org.jumpmind.symmetric.io.data.CsvData;
 import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.io.data.DataEventType;
 import org.jumpmind.symmetric.model.LoadFilter;
+import org.jumpmind.symmetric.util.CachingBshInterpreter;
 import org.jumpmind.util.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,7 +64,7 @@ public class BshDatabaseWriterFilter extends DynamicDatabaseWriterFilter {
         boolean writeRow = true;
         LoadFilter currentFilter = null;
         try {
-            Interpreter interpreter = getInterpreter(context);
+            CachingBshInterpreter interpreter = getInterpreter(context);
             bind(interpreter, context, table, data, error);
             for (LoadFilter filter : loadFiltersForTable) {
                 currentFilter = filter;
@@ -76,13 +77,13 @@ public class BshDatabaseWriterFilter extends DynamicDatabaseWriterFilter {
                     Object result = null;
                     if (writeMethod.equals(WriteMethod.BEFORE_WRITE)
                             && filter.getBeforeWriteScript() != null) {
-                        result = interpreter.eval(filter.getBeforeWriteScript());
+                        result = interpreter.evalScript(filter.getBeforeWriteScript());
                     } else if (writeMethod.equals(WriteMethod.AFTER_WRITE)
                             && filter.getAfterWriteScript() != null) {
-                        result = interpreter.eval(filter.getAfterWriteScript());
+                        result = interpreter.evalScript(filter.getAfterWriteScript());
                     } else if (writeMethod.equals(WriteMethod.HANDLE_ERROR)
                             && filter.getHandleErrorScript() != null) {
-                        result = interpreter.eval(filter.getHandleErrorScript());
+                        result = interpreter.evalScript(filter.getHandleErrorScript());
                     }
                     if (result != null && result.equals(Boolean.FALSE)) {
                         writeRow = false;
@@ -135,10 +136,10 @@ public class BshDatabaseWriterFilter extends DynamicDatabaseWriterFilter {
         }
     }
 
-    protected Interpreter getInterpreter(Context context) {
-        Interpreter interpreter = (Interpreter) context.get(INTERPRETER_KEY);
+    protected CachingBshInterpreter getInterpreter(Context context) {
+        CachingBshInterpreter interpreter = (CachingBshInterpreter) context.get(INTERPRETER_KEY);
         if (interpreter == null) {
-            interpreter = new Interpreter();
+            interpreter = new CachingBshInterpreter();
             context.put(INTERPRETER_KEY, interpreter);
         }
         return interpreter;
@@ -22,6 +22,7 @@ package org.jumpmind.symmetric.model;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.List;
 
 public class ExtractRequest implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -53,6 +54,7 @@ public class ExtractRequest implements Serializable {
     private long transferredMillis;
     private long loadedMillis;
     private long parentRequestId;
+    private transient List<ExtractRequest> partitionRequests;
 
     public long getRequestId() {
         return requestId;
@@ -237,4 +239,15 @@ public class ExtractRequest implements Serializable {
     public void setExtractedMillis(long extractedMillis) {
         this.extractedMillis = extractedMillis;
     }
+
+    /**
+     * The requests for each primary key range of a table that was split when the load was requested, held on the first range. Not persisted.
+     */
+    public List<ExtractRequest> getPartitionRequests() {
+        return partitionRequests;
+    }
+
+    public void setPartitionRequests(List<ExtractRequest> partitionRequests) {
+        this.partitionRequests = partitionRequests;
+    }
 }
@@ -32,6 +32,7 @@ import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.model.DataMetaData;
 import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.model.TriggerRouter;
+import org.jumpmind.symmetric.util.CachingBshInterpreter;
 
 import bsh.EvalError;
 import bsh.Interpreter;
@@ -59,14 +60,14 @@ public class BshDataRouter extends AbstractDataRouter implements IBuiltInExtensi
         Set<String> boundVariableNames = new LinkedHashSet<String>();
         try {
             long ts = System.currentTimeMillis();
-            Interpreter interpreter = getInterpreter(context);
+            CachingBshInterpreter interpreter = getInterpreter(context);
             context.incrementStat(System.currentTimeMillis() - ts, "bsh.init.ms");
             HashSet<String> targetNodes = new HashSet<String>();
             ts = System.currentTimeMillis();
             bind(interpreter, dataMetaData, nodes, targetNodes, boundVariableNames, initialLoad);
             context.incrementStat(System.currentTimeMillis() - ts, "bsh.bind.ms");
             ts = System.currentTimeMillis();
-            Object returnValue = interpreter.eval(dataMetaData.getRouter().getRouterExpression());
+            Object returnValue = interpreter.evalScript(dataMetaData.getRouter().getRouterExpression());
             context.incrementStat(System.currentTimeMillis() - ts, "bsh.eval.ms");
             return eval(returnValue, nodes, targetNodes);
         } catch (EvalError e) {
@@ -83,10 +84,10 @@ public class BshDataRouter extends AbstractDataRouter implements IBuiltInExtensi
         }
     }
 
-    protected Interpreter getInterpreter(SimpleRouterContext context) {
-        Interpreter interpreter = (Interpreter) context.getContextCache().get(INTERPRETER_KEY);
+    protected CachingBshInterpreter getInterpreter(SimpleRouterContext context) {
+        CachingBshInterpreter interpreter = (CachingBshInterpreter) context.getContextCache().get(INTERPRETER_KEY);
         if (interpreter == null) {
-            interpreter = new Interpreter();
+            interpreter = new CachingBshInterpreter();
             context.getContextCache().put(INTERPRETER_KEY, interpreter);
         }
         return interpreter;
@@ -100,6 +100,23 @@ public class ChannelRouterContext extends SimpleRouterContext {
         this.batchAlgorithm = batchAlgorithm;
     }
 
+    /**
+     * Create a context that routes data for the given context on another thread. It has its own cache, stats and available nodes. It shares the
+     * transaction of the given context, which only the thread that owns that context should use.
+     */
+    public ChannelRouterContext(ChannelRouterContext context) {
+        super(context.nodeId, context.channel);
+        this.sqlTransaction = context.sqlTransaction;
+        this.batchAlgorithm = context.batchAlgorithm;
+        this.batchSizeNotToExceed = context.batchSizeNotToExceed;
+        this.produceCommonBatches = context.produceCommonBatches;
+        this.produceGroupBatches = context.produceGroupBatches;
+        this.nonCommonForIncoming = context.nonCommonForIncoming;
+        this.onlyDefaultRoutersAssigned = context.onlyDefaultRoutersAssigned;
+        this.overrideContainsBigLob = context.overrideContainsBigLob;
+        this.dataGaps = context.dataGaps;
+    }
+
     public List<DataEvent> getDataEventList() {
         return dataEventsToSend;
     }
@@ -26,15 +26,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.extension.IBuiltInExtensionPoint;
 import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.SyntaxParsingException;
 import org.jumpmind.symmetric.common.TokenConstants;
+import org.jumpmind.symmetric.io.data.DataEventType;
 import org.jumpmind.symmetric.model.DataMetaData;
 import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.model.Router;
+import org.jumpmind.symmetric.model.TriggerHistory;
 import org.jumpmind.symmetric.model.TriggerRouter;
 
 /**
@@ -71,6 +72,8 @@ public class ColumnMatchDataRouter extends AbstractDataRouter implements IDataRo
     private ISymmetricEngine engine;
     final static String EXPRESSION_KEY = String.format("%s.Expression.", ColumnMatchDataRouter.class
             .getName());
+    final static String COMPILED_EXPRESSION_KEY = String.format("%s.CompiledExpression.", ColumnMatchDataRouter.class
+            .getName());
 
     public ColumnMatchDataRouter() {
     }
@@ -86,13 +89,27 @@ public class ColumnMatchDataRouter extends AbstractDataRouter implements IDataRo
             nodeIds = toNodeIds(nodes, null);
         } else {
             List<Expression> expressions = getExpressions(dataMetaData.getRouter(), routingContext);
-            Map<String, String> columnValues = getDataMap(dataMetaData, engine.getSymmetricDialect());
-            if (columnValues != null) {
+            String[] newData = null;
+            String[] oldData = null;
+            CompiledExpression[] compiledExpressions = null;
+            Map<String, String> columnValues = null;
+            if (isCompilable(dataMetaData)) {
+                DataEventType eventType = dataMetaData.getData().getDataEventType();
+                oldData = eventType == DataEventType.INSERT ? null : dataMetaData.getData().toParsedOldData();
+                newData = eventType == DataEventType.DELETE ? oldData : dataMetaData.getData().toParsedRowData();
+                compiledExpressions = getCompiledExpressions(dataMetaData, expressions, routingContext);
+            } else {
+                columnValues = getDataMap(dataMetaData, engine.getSymmetricDialect());
+            }
+            if (compiledExpressions != null || columnValues != null) {
                 Node identity = engine.getNodeService().findIdentity();
-                for (Expression e : expressions) {
-                    String column = e.tokens[0].trim();
+                String externalData = dataMetaData.getData().getExternalData();
+                for (int i = 0; i < expressions.size(); i++) {
+                    Expression e = expressions.get(i);
+                    CompiledExpression compiled = compiledExpressions != null ? compiledExpressions[i] : null;
                     String value = e.tokens[1];
-                    String columnValue = columnValues.get(column);
+                    String columnValue = compiled != null ? compiled.column.getValue(newData, oldData, externalData)
+                            : columnValues.get(e.tokens[0].trim());
                     if (value.equalsIgnoreCase(TokenConstants.NODE_ID)) {
                         for (Node node : nodes) {
                             nodeIds = runExpression(e, columnValue, node.getNodeId(), nodes,
@@ -137,7 +154,8 @@ public class ColumnMatchDataRouter extends AbstractDataRouter implements IDataRo
                         if (value.equalsIgnoreCase(TokenConstants.EXTERNAL_DATA)) {
                             compareValue = dataMetaData.getData().getExternalData();
                         } else if (value.startsWith(":")) {
-                            compareValue = columnValues.get(value.substring(1));
+                            compareValue = compiled != null ? compiled.compareColumn.getValue(newData, oldData, externalData)
+                                    : columnValues.get(value.substring(1));
                         } else if (value.equals(NULL_VALUE)) {
                             compareValue = null;
                         }
@@ -166,10 +184,10 @@ public class ColumnMatchDataRouter extends AbstractDataRouter implements IDataRo
                 (columnValue != null && !columnValue.equals(compareValue)))) {
             result = true;
         } else if (e.hasContains && columnValue != null && compareValue != null &&
-                ArrayUtils.contains(columnValue.split(","), compareValue)) {
+                containsToken(columnValue, compareValue)) {
             result = true;
         } else if (e.hasNotContains && columnValue != null && compareValue != null &&
-                !ArrayUtils.contains(columnValue.split(","), compareValue)) {
+                !containsToken(columnValue, compareValue)) {
             result = true;
         } else if (e.hasHas && ((columnValue == null && compareValue == null) ||
                 (columnValue != null && columnValue.contains(compareValue)))) {
@@ -200,6 +218,67 @@ public class ColumnMatchDataRouter extends AbstractDataRouter implements IDataRo
         return nodeIds;
     }
 
+    /**
+     * Check if a comma separated list contains the value, with the same results as splitting the list on commas but without creating the array.
+     */
+    protected static boolean containsToken(String list, String value) {
+        int end = list.length();
+        while (end > 0 && list.charAt(end - 1) == ',') {
+            end--;
+        }
+        if (end == 0) {
+            return list.length() == 0 && value.length() == 0;
+        }
+        int valueLength = value.length();
+        int start = 0;
+        while (start <= end) {
+            int next = list.indexOf(',', start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            if (next - start == valueLength && list.regionMatches(start, value, 0, valueLength)) {
+                return true;
+            }
+            start = next + 1;
+        }
+        return false;
+    }
+
+    /**
+     * The compiled evaluator works directly against the parsed row when it has the shape {@link #getDataMap} expects. Anything else, like a row that does
+     * not match its trigger history, goes through the data map so it is reported the same way.
+     */
+    protected boolean isCompilable(DataMetaData dataMetaData) {
+        DataEventType eventType = dataMetaData.getData().getDataEventType();
+        if (eventType != DataEventType.INSERT && eventType != DataEventType.UPDATE && eventType != DataEventType.DELETE) {
+            return false;
+        }
+        int columnCount = dataMetaData.getTriggerHistory().getParsedColumnNames().length;
+        String[] oldData = eventType == DataEventType.INSERT ? null : dataMetaData.getData().toParsedOldData();
+        String[] newData = eventType == DataEventType.DELETE ? oldData : dataMetaData.getData().toParsedRowData();
+        return newData != null && newData.length == columnCount && (oldData == null || oldData.length == columnCount);
+    }
+
+    /**
+     * Cache expressions compiled against the column positions of a trigger history, so rows are evaluated without building a map of column values.
+     */
+    protected CompiledExpression[] getCompiledExpressions(DataMetaData dataMetaData, List<Expression> expressions, SimpleRouterContext context) {
+        TriggerHistory triggerHistory = dataMetaData.getTriggerHistory();
+        final String KEY = COMPILED_EXPRESSION_KEY + dataMetaData.getRouter().getRouterId() + "." + triggerHistory.getTriggerHistoryId();
+        CompiledExpression[] compiledExpressions = (CompiledExpression[]) context.getContextCache().get(KEY);
+        if (compiledExpressions == null || compiledExpressions.length != expressions.size()) {
+            String[] columnNames = triggerHistory.getParsedColumnNames();
+            compiledExpressions = new CompiledExpression[expressions.size()];
+            for (int i = 0; i < compiledExpressions.length; i++) {
+                String[] tokens = expressions.get(i).tokens;
+                compiledExpressions[i] = new CompiledExpression(ColumnReference.compile(tokens[0].trim(), columnNames),
+                        tokens[1].startsWith(":") ? ColumnReference.compile(tokens[1].substring(1), columnNames) : null);
+            }
+            context.getContextCache().put(KEY, compiledExpressions);
+        }
+        return compiledExpressions;
+    }
+
     /**
      * Cache parsed expressions in the context to minimize the amount of parsing we have to do when we have lots of throughput.
      */
@@ -410,4 +489,71 @@ public class ColumnMatchDataRouter extends AbstractDataRouter implements IDataRo
             this.hasNotEndsWith = hasNotEndsWith;
         }
     }
+
+    static class CompiledExpression {
+        ColumnReference column;
+        ColumnReference compareColumn;
+
+        CompiledExpression(ColumnReference column, ColumnReference compareColumn) {
+            this.column = column;
+            this.compareColumn = compareColumn;
+        }
+    }
+
+    /**
+     * A column name from an expression resolved to where its value is found in the parsed row, following the same precedence as
+     * {@link AbstractDataRouter#getDataMap}: the OLD_ prefix over a column of the same name and EXTERNAL_DATA over both.
+     */
+    static class ColumnReference {
+        static final int MISSING = 0;
+        static final int NEW_DATA = 1;
+        static final int OLD_DATA = 2;
+        static final int EXTERNAL_DATA = 3;
+        static final String OLD_PREFIX = "OLD_";
+        static final String EXTERNAL_DATA_COLUMN = "EXTERNAL_DATA";
+        int source;
+        int index;
+
+        ColumnReference(int source, int index) {
+            this.source = source;
+            this.index = index;
+        }
+
+        static ColumnReference compile(String name, String[] columnNames) {
+            if (name.equalsIgnoreCase(EXTERNAL_DATA_COLUMN)) {
+                return new ColumnReference(EXTERNAL_DATA, -1);
+            }
+            if (name.length() > OLD_PREFIX.length() && name.regionMatches(true, 0, OLD_PREFIX, 0, OLD_PREFIX.length())) {
+                int index = indexOf(name.substring(OLD_PREFIX.length()), columnNames);
+                if (index >= 0) {
+                    return new ColumnReference(OLD_DATA, index);
+                }
+            }
+            int index = indexOf(name, columnNames);
+            return new ColumnReference(index >= 0 ? NEW_DATA : MISSING, index);
+        }
+
+        static int indexOf(String name, String[] columnNames) {
+            int index = -1;
+            for (int i = 0; i < columnNames.length; i++) {
+                if (columnNames[i].equalsIgnoreCase(name)) {
+                    index = i;
+                }
+            }
+            return index;
+        }
+
+        String getValue(String[] newData, String[] oldData, String externalData) {
+            switch (source) {
+                case NEW_DATA:
+                    return newData[index];
+                case OLD_DATA:
+                    return oldData != null ? oldData[index] : null;
+                case EXTERNAL_DATA:
+                    return externalData;
+                default:
+                    return null;
+            }
+        }
+    }
 }
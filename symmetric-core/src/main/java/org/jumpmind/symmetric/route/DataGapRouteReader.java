@@ -42,7 +42,6 @@ import org.jumpmind.symmetric.model.ProcessInfo.ProcessStatus;
 import org.jumpmind.symmetric.model.ProcessInfoKey;
 import org.jumpmind.symmetric.model.ProcessType;
 import org.jumpmind.symmetric.service.IParameterService;
-import org.jumpmind.util.AppUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -59,6 +58,7 @@ public class DataGapRouteReader implements IDataToRouteReader {
     protected ChannelRouterContext context;
     protected ISymmetricEngine engine;
     protected volatile boolean reading = true;
+    protected boolean interrupted;
     protected int peekAheadCount = 1000;
     protected int takeTimeout;
     protected ProcessInfo processInfo;
@@ -144,7 +144,9 @@ public class DataGapRouteReader implements IDataToRouteReader {
             if (cursor != null) {
                 cursor.close();
             }
-            copyToQueue(new EOD());
+            if (!interrupted) {
+                copyToQueue(new EOD());
+            }
             reading = false;
         }
     }
@@ -335,10 +337,26 @@ public class DataGapRouteReader implements IDataToRouteReader {
     }
 
     protected void copyToQueue(Data data) {
+        if (interrupted) {
+            return;
+        }
         long ts = System.currentTimeMillis();
         peekAheadSizeInBytes -= data.getSizeInBytes();
-        while (!dataQueue.offer(data) && reading) {
-            AppUtils.sleep(50);
+        boolean done = false;
+        while (!done) {
+            try {
+                /* blocks until the router takes from the queue, waking periodically to see if reading was stopped */
+                done = dataQueue.offer(data, 50, TimeUnit.MILLISECONDS) || !reading;
+            } catch (InterruptedException e) {
+                /*
+                 * keep the interrupt for the thread's owner and stop queuing altogether, including the end of data marker, so the router times out and
+                 * rolls back instead of routing around a dropped row
+                 */
+                Thread.currentThread().interrupt();
+                reading = false;
+                interrupted = true;
+                done = true;
+            }
         }
         context.incrementStat(System.currentTimeMillis() - ts,
                 ChannelRouterContext.STAT_ENQUEUE_DATA_MS);
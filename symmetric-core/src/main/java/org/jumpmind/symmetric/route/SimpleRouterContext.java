@@ -133,7 +133,7 @@ public class SimpleRouterContext extends Context {
     synchronized public void transferStats(SimpleRouterContext ctx) {
         Set<String> keys = new HashSet<String>(ctx.stats.keySet());
         for (String key : keys) {
-            Long value = stats.get(key);
+            Long value = ctx.getStat(key);
             if (value == null) {
                 value = 0l;
             }
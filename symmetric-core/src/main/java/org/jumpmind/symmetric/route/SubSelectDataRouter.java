@@ -20,6 +20,8 @@
  */
 package org.jumpmind.symmetric.route;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -28,11 +30,16 @@ import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.InvalidSqlException;
+import org.jumpmind.db.sql.NamedParameterUtils;
+import org.jumpmind.db.sql.ParsedSql;
+import org.jumpmind.db.sql.Row;
+import org.jumpmind.db.sql.SqlException;
 import org.jumpmind.db.sql.mapper.StringMapper;
 import org.jumpmind.extension.IBuiltInExtensionPoint;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.model.DataMetaData;
 import org.jumpmind.symmetric.model.Node;
+import org.jumpmind.symmetric.model.Router;
 import org.jumpmind.symmetric.model.TriggerRouter;
 import org.jumpmind.symmetric.route.SimpleRouterContext.RouterTimer;
 import org.jumpmind.util.FormatUtils;
@@ -55,9 +62,15 @@ import org.jumpmind.util.FormatUtils;
  * <code>
  * c.external_id in (select home_store from employee where employee_id in (:EMPLOYEE_ID, :OLD_EMPLOYEE_ID))
  * </code>
+ * <P/>
+ * When routing.subselect.batch.size is greater than one, the router service calls {@link #prefetch(SimpleRouterContext, List, int)} with a window of rows
+ * that are about to be routed. The expression is bound once per row and the statements are combined with union all, so many rows are resolved with one
+ * round trip. The results are held in the context cache until {@link #routeToNodes} is called for each row.
  */
 public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInExtensionPoint {
     private static final String SQL = "select c.node_id from $(prefixName)_node c where c.node_group_id=:NODE_GROUP_ID and c.sync_enabled=1 and ";
+    private static final String BATCH_SQL = "select %d as route_row_num, c.node_id from $(prefixName)_node c where c.node_group_id=:NODE_GROUP_ID and c.sync_enabled=1 and ";
+    final static String PREFETCHED_KEY = String.format("%s.Prefetched.", SubSelectDataRouter.class.getName());
     private ISymmetricDialect symmetricDialect;
 
     public SubSelectDataRouter(ISymmetricDialect symmetricDialect) {
@@ -71,14 +84,12 @@ public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInE
         String subSelect = dataMetaData.getRouter().getRouterExpression();
         Set<String> nodeIds = null;
         if (!StringUtils.isBlank(subSelect) && !initialLoadSelectUsed) {
+            Set<String> prefetchedNodeIds = removePrefetched(routingContext, dataMetaData);
+            if (prefetchedNodeIds != null) {
+                return prefetchedNodeIds;
+            }
             try {
-                Map<String, Object> sqlParams = getDataObjectMap(dataMetaData, symmetricDialect, true);
-                sqlParams.put("NODE_GROUP_ID", dataMetaData.getRouter().getNodeGroupLink()
-                        .getTargetNodeGroupId());
-                sqlParams.put("EXTERNAL_DATA", dataMetaData.getData().getExternalData());
-                sqlParams.put("DATA_EVENT_TYPE", dataMetaData.getData().getDataEventType().name());
-                sqlParams.put("TABLE_NAME", dataMetaData.getData().getTableName());
-                sqlParams.put("SOURCE_NODE_ID", dataMetaData.getData().getSourceNodeId());
+                Map<String, Object> sqlParams = getSqlParams(dataMetaData);
                 ISqlTemplate template = symmetricDialect.getPlatform().getSqlTemplate();
                 long queryStartTime = System.currentTimeMillis();
                 List<String> ids = template.query(String.format("%s(%s)", sql, subSelect),
@@ -107,4 +118,90 @@ public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInE
         }
         return nodeIds;
     }
+
+    /**
+     * Resolve the nodes for rows that will be routed by the same subselect router, using one query for up to batchSize rows. Rows that fail to prefetch are
+     * left for {@link #routeToNodes} to query one at a time.
+     */
+    public void prefetch(SimpleRouterContext routingContext, List<DataMetaData> dataMetaDatas, int batchSize) {
+        if (dataMetaDatas.size() < 2 || batchSize < 2) {
+            return;
+        }
+        Router router = dataMetaDatas.get(0).getRouter();
+        String subSelect = router.getRouterExpression();
+        if (StringUtils.isBlank(subSelect)) {
+            return;
+        }
+        String routerId = router.getRouterId();
+        Map<Long, Set<String>> prefetched = getPrefetched(routingContext, routerId);
+        ISqlTemplate template = symmetricDialect.getPlatform().getSqlTemplate();
+        for (int start = 0; start < dataMetaDatas.size(); start += batchSize) {
+            List<DataMetaData> chunk = dataMetaDatas.subList(start, Math.min(start + batchSize, dataMetaDatas.size()));
+            StringBuilder sql = new StringBuilder();
+            List<Object> args = new ArrayList<Object>();
+            for (int i = 0; i < chunk.size(); i++) {
+                String rowSql = FormatUtils.replaceToken(String.format(BATCH_SQL, i), "prefixName", symmetricDialect.getTablePrefix(), true);
+                ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(String.format("%s(%s)", rowSql, subSelect));
+                Map<String, Object> sqlParams = getSqlParams(chunk.get(i));
+                if (i > 0) {
+                    sql.append(" union all ");
+                }
+                sql.append(NamedParameterUtils.substituteNamedParameters(parsedSql, sqlParams));
+                for (Object arg : NamedParameterUtils.buildValueArray(parsedSql, sqlParams)) {
+                    args.add(arg);
+                }
+            }
+            try {
+                long queryStartTime = System.currentTimeMillis();
+                List<Row> rows = template.query(sql.toString(), (row) -> row, args.toArray());
+                RouterTimer rt = routingContext.addQueryTime(routerId, System.currentTimeMillis() - queryStartTime);
+                if (rt.getQueryTime() > 60000) {
+                    rt.resetQueryTime();
+                    log.info("Subselect data router with id: {} has total query time of {} seconds.", routerId, rt.getTotalQueryTime() / 1000);
+                }
+                List<Set<String>> nodeIdsByRow = new ArrayList<Set<String>>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    nodeIdsByRow.add(new HashSet<String>());
+                }
+                for (Row row : rows) {
+                    nodeIdsByRow.get(row.getInt("route_row_num")).add(row.getString("node_id"));
+                }
+                for (int i = 0; i < chunk.size(); i++) {
+                    prefetched.put(chunk.get(i).getData().getDataId(), nodeIdsByRow.get(i));
+                }
+            } catch (SqlException ex) {
+                log.warn("Subselect data router with id: {} could not resolve {} rows in one query, so they will be routed one at a time: {}",
+                        routerId, chunk.size(), ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    protected Set<String> removePrefetched(SimpleRouterContext routingContext, DataMetaData dataMetaData) {
+        @SuppressWarnings("unchecked")
+        Map<Long, Set<String>> prefetched = (Map<Long, Set<String>>) routingContext.getContextCache().get(
+                PREFETCHED_KEY + dataMetaData.getRouter().getRouterId());
+        return prefetched != null ? prefetched.remove(dataMetaData.getData().getDataId()) : null;
+    }
+
+    protected Map<Long, Set<String>> getPrefetched(SimpleRouterContext routingContext, String routerId) {
+        @SuppressWarnings("unchecked")
+        Map<Long, Set<String>> prefetched = (Map<Long, Set<String>>) routingContext.getContextCache().get(PREFETCHED_KEY + routerId);
+        if (prefetched == null) {
+            prefetched = new HashMap<Long, Set<String>>();
+            routingContext.getContextCache().put(PREFETCHED_KEY + routerId, prefetched);
+        }
+        return prefetched;
+    }
+
+    protected Map<String, Object> getSqlParams(DataMetaData dataMetaData) {
+        Map<String, Object> sqlParams = getDataObjectMap(dataMetaData, symmetricDialect, true);
+        sqlParams.put("NODE_GROUP_ID", dataMetaData.getRouter().getNodeGroupLink()
+                .getTargetNodeGroupId());
+        sqlParams.put("EXTERNAL_DATA", dataMetaData.getData().getExternalData());
+        sqlParams.put("DATA_EVENT_TYPE", dataMetaData.getData().getDataEventType().name());
+        sqlParams.put("TABLE_NAME", dataMetaData.getData().getTableName());
+        sqlParams.put("SOURCE_NODE_ID", dataMetaData.getData().getSourceNodeId());
+        return sqlParams;
+    }
 }
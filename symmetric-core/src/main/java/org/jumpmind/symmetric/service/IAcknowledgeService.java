@@ -35,4 +35,6 @@ public interface IAcknowledgeService {
     public List<BatchAckResult> ack(List<BatchAck> batches);
 
     public void checkMissingAck(List<BatchAck> batches, String queue);
+
+    public void stop();
 }
\ No newline at end of file
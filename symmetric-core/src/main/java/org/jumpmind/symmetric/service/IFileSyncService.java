@@ -64,6 +64,8 @@ public interface IFileSyncService {
 
     public void clearCache();
 
+    public void stop();
+
     public DirectorySnapshot getDirectorySnapshot(FileTriggerRouter fileTriggerRouter);
 
     public void save(List<FileSnapshot> changes);
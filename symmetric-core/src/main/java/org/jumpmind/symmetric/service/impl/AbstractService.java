@@ -434,8 +434,8 @@ abstract public class AbstractService implements IService {
             }
             log.debug("Saving ack: {}, {}", batchInfo.getBatchId(),
                     (batchInfo.isOk() ? "OK" : "ER"));
-            acknowledgeService.ack(batchInfo);
         }
+        acknowledgeService.ack(batchAcks);
         for (Long batchId : batchIds) {
             if (batchId < batchIdInError) {
                 for (OutgoingBatch outgoingBatch : batches) {
@@ -22,9 +22,17 @@ package org.jumpmind.symmetric.service.impl;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.sql.mapper.NumberMapper;
 import org.jumpmind.symmetric.ISymmetricEngine;
@@ -43,12 +51,14 @@ import org.jumpmind.symmetric.service.IOutgoingBatchService;
 import org.jumpmind.symmetric.service.IRegistrationService;
 import org.jumpmind.symmetric.statistic.RouterStats;
 import org.jumpmind.symmetric.transport.IAcknowledgeEventListener;
+import org.jumpmind.util.CustomizableThreadFactory;
 
 /**
  * @see IAcknowledgeService
  */
 public class AcknowledgeService extends AbstractService implements IAcknowledgeService {
     private ISymmetricEngine engine;
+    private ExecutorService stagingPurgeExecutor;
 
     public AcknowledgeService(ISymmetricEngine engine) {
         super(engine.getParameterService(), engine.getSymmetricDialect());
@@ -80,35 +90,7 @@ public class AcknowledgeService extends AbstractService implements IAcknowledgeS
                 }
                 boolean isFirstTimeAsOkStatus = outgoingBatch.getStatus() != Status.OK && status == Status.OK;
                 boolean isFirstTimeAsErStatus = !outgoingBatch.isErrorFlag() && status == Status.ER;
-                outgoingBatch.setStatus(status);
-                outgoingBatch.setBulkLoaderFlag(batch.isBulkLoaderFlag());
-                outgoingBatch.setErrorFlag(status == Status.ER);
-                outgoingBatch.setNetworkMillis(batch.getNetworkMillis());
-                outgoingBatch.setFilterMillis(batch.getFilterMillis());
-                outgoingBatch.setLoadMillis(batch.getLoadMillis());
-                outgoingBatch.setLoadStartTime(new Date(batch.getStartTime()));
-                outgoingBatch.setSqlCode(batch.getSqlCode());
-                outgoingBatch.setSqlState(batch.getSqlState());
-                outgoingBatch.setSqlMessage(batch.getSqlMessage());
-                outgoingBatch.setLoadRowCount(batch.getLoadRowCount());
-                outgoingBatch.setLoadInsertRowCount(batch.getLoadInsertRowCount());
-                outgoingBatch.setLoadUpdateRowCount(batch.getLoadUpdateRowCount());
-                outgoingBatch.setTransformLoadMillis(batch.getTransformLoadMillis());
-                outgoingBatch.setLoadDeleteRowCount(batch.getLoadDeleteRowCount());
-                outgoingBatch.setFallbackInsertCount(batch.getFallbackInsertCount());
-                outgoingBatch.setFallbackUpdateCount(batch.getFallbackUpdateCount());
-                outgoingBatch.setConflictWinCount(batch.getConflictWinCount());
-                outgoingBatch.setConflictLoseCount(batch.getConflictLoseCount());
-                outgoingBatch.setIgnoreRowCount(batch.getIgnoreRowCount());
-                outgoingBatch.setMissingDeleteCount(batch.getMissingDeleteCount());
-                outgoingBatch.setSkipCount(batch.getSkipCount());
-                if (batch.isIgnored()) {
-                    outgoingBatch.incrementIgnoreCount();
-                }
-                if (status == Status.OK) {
-                    outgoingBatch.setFailedDataId(0);
-                    outgoingBatch.setFailedLineNumber(0);
-                }
+                copyAckToBatch(batch, outgoingBatch, status);
                 boolean isNewError = false;
                 if (status == Status.ER && batch.getErrorLine() != 0) {
                     if (outgoingBatch.isLoadFlag()) {
@@ -238,6 +220,38 @@ public class AcknowledgeService extends AbstractService implements IAcknowledgeS
         return result;
     }
 
+    protected void copyAckToBatch(BatchAck batch, OutgoingBatch outgoingBatch, Status status) {
+        outgoingBatch.setStatus(status);
+        outgoingBatch.setBulkLoaderFlag(batch.isBulkLoaderFlag());
+        outgoingBatch.setErrorFlag(status == Status.ER);
+        outgoingBatch.setNetworkMillis(batch.getNetworkMillis());
+        outgoingBatch.setFilterMillis(batch.getFilterMillis());
+        outgoingBatch.setLoadMillis(batch.getLoadMillis());
+        outgoingBatch.setLoadStartTime(new Date(batch.getStartTime()));
+        outgoingBatch.setSqlCode(batch.getSqlCode());
+        outgoingBatch.setSqlState(batch.getSqlState());
+        outgoingBatch.setSqlMessage(batch.getSqlMessage());
+        outgoingBatch.setLoadRowCount(batch.getLoadRowCount());
+        outgoingBatch.setLoadInsertRowCount(batch.getLoadInsertRowCount());
+        outgoingBatch.setLoadUpdateRowCount(batch.getLoadUpdateRowCount());
+        outgoingBatch.setTransformLoadMillis(batch.getTransformLoadMillis());
+        outgoingBatch.setLoadDeleteRowCount(batch.getLoadDeleteRowCount());
+        outgoingBatch.setFallbackInsertCount(batch.getFallbackInsertCount());
+        outgoingBatch.setFallbackUpdateCount(batch.getFallbackUpdateCount());
+        outgoingBatch.setConflictWinCount(batch.getConflictWinCount());
+        outgoingBatch.setConflictLoseCount(batch.getConflictLoseCount());
+        outgoingBatch.setIgnoreRowCount(batch.getIgnoreRowCount());
+        outgoingBatch.setMissingDeleteCount(batch.getMissingDeleteCount());
+        outgoingBatch.setSkipCount(batch.getSkipCount());
+        if (batch.isIgnored()) {
+            outgoingBatch.incrementIgnoreCount();
+        }
+        if (status == Status.OK) {
+            outgoingBatch.setFailedDataId(0);
+            outgoingBatch.setFailedLineNumber(0);
+        }
+    }
+
     protected void purgeBatchesFromStaging(OutgoingBatch outgoingBatch) {
         long threshold = parameterService.getLong(ParameterConstants.INITIAL_LOAD_PURGE_STAGE_IMMEDIATE_THRESHOLD_ROWS);
         if (threshold >= 0 && outgoingBatch.isLoadFlag() && !outgoingBatch.isCommonFlag()) {
@@ -260,13 +274,149 @@ public class AcknowledgeService extends AbstractService implements IAcknowledgeS
     }
 
     public List<BatchAckResult> ack(List<BatchAck> batches) {
-        List<BatchAckResult> results = new ArrayList<BatchAckResult>();
+        List<BatchAckResult> results = new ArrayList<BatchAckResult>(batches.size());
+        int bulkSize = parameterService.getInt(ParameterConstants.ACK_BULK_SIZE, 500);
+        List<BatchAck> okBatches = new ArrayList<BatchAck>();
         for (BatchAck batch : batches) {
-            results.add(ack(batch));
+            if (bulkSize > 1 && isBulkAck(batch)) {
+                okBatches.add(batch);
+                if (okBatches.size() >= bulkSize) {
+                    results.addAll(ackOk(okBatches));
+                    okBatches.clear();
+                }
+            } else {
+                if (okBatches.size() > 0) {
+                    results.addAll(ackOk(okBatches));
+                    okBatches.clear();
+                }
+                results.add(ack(batch));
+            }
+        }
+        if (okBatches.size() > 0) {
+            results.addAll(ackOk(okBatches));
+        }
+        return results;
+    }
+
+    protected boolean isBulkAck(BatchAck batch) {
+        return batch.isOk() && !batch.isResend() && batch.getBatchId() != Constants.VIRTUAL_BATCH_FOR_REGISTRATION
+                && batch.getBatchId() != Constants.BATCH_ID_MISSING && StringUtils.isNotBlank(batch.getNodeId());
+    }
+
+    /**
+     * Acknowledges a group of successful batches with one query to read them and one JDBC batch update to save them. Errors and resend
+     * requests still go through {@link #ack(BatchAck)} because they need per batch handling.
+     */
+    protected List<BatchAckResult> ackOk(List<BatchAck> batches) {
+        IOutgoingBatchService outgoingBatchService = engine.getOutgoingBatchService();
+        Map<String, List<Long>> batchIdsByNode = new LinkedHashMap<String, List<Long>>();
+        for (BatchAck batch : batches) {
+            for (IAcknowledgeEventListener listener : engine.getExtensionService().getExtensionPointList(IAcknowledgeEventListener.class)) {
+                listener.onAcknowledgeEvent(batch);
+            }
+            batchIdsByNode.computeIfAbsent(batch.getNodeId(), k -> new ArrayList<Long>()).add(batch.getBatchId());
+        }
+        Map<String, Map<Long, OutgoingBatch>> outgoingBatchesByNode = new HashMap<String, Map<Long, OutgoingBatch>>();
+        for (Map.Entry<String, List<Long>> entry : batchIdsByNode.entrySet()) {
+            outgoingBatchesByNode.put(entry.getKey(), outgoingBatchService.findOutgoingBatches(entry.getKey(), entry.getValue()));
+        }
+        List<BatchAckResult> results = new ArrayList<BatchAckResult>(batches.size());
+        List<OutgoingBatch> outgoingBatches = new ArrayList<OutgoingBatch>(batches.size());
+        List<OutgoingBatch> firstTimeOkBatches = new ArrayList<OutgoingBatch>(batches.size());
+        for (BatchAck batch : batches) {
+            BatchAckResult result = new BatchAckResult(batch);
+            results.add(result);
+            OutgoingBatch outgoingBatch = outgoingBatchesByNode.get(batch.getNodeId()).get(batch.getBatchId());
+            if (outgoingBatch == null) {
+                log.error("Could not find batch {}-{} to acknowledge as {}", new Object[] { batch.getNodeId(), batch.getBatchId(),
+                        Status.OK.name() });
+                result.setOk(false);
+            } else if (outgoingBatch.getStatus() != Status.RQ) {
+                if (outgoingBatch.getStatus() == Status.IG) {
+                    log.info("Ignoring batch {}", outgoingBatch.getNodeBatchId());
+                }
+                if (outgoingBatch.getStatus() != Status.OK) {
+                    firstTimeOkBatches.add(outgoingBatch);
+                } else if (outgoingBatch.getLoadId() > 0) {
+                    log.info("Ignoring duplicate load status update for load ID {} with batch {}", outgoingBatch.getLoadId(),
+                            outgoingBatch.getNodeBatchId());
+                }
+                copyAckToBatch(batch, outgoingBatch, Status.OK);
+                outgoingBatches.add(outgoingBatch);
+            }
+        }
+        if (outgoingBatches.size() > 0) {
+            ISqlTransaction transaction = null;
+            try {
+                transaction = sqlTemplate.startSqlTransaction();
+                outgoingBatchService.updateOutgoingBatches(transaction, outgoingBatches, outgoingBatches.size());
+                Date loadTime = new Date();
+                for (OutgoingBatch outgoingBatch : firstTimeOkBatches) {
+                    if (outgoingBatch.getLoadId() > 0) {
+                        engine.getDataExtractorService().updateExtractRequestLoadTime(transaction, loadTime, outgoingBatch);
+                    }
+                }
+                transaction.commit();
+            } catch (Error ex) {
+                if (transaction != null) {
+                    transaction.rollback();
+                }
+                throw ex;
+            } catch (RuntimeException ex) {
+                if (transaction != null) {
+                    transaction.rollback();
+                }
+                throw ex;
+            } finally {
+                close(transaction);
+            }
+            for (OutgoingBatch outgoingBatch : firstTimeOkBatches) {
+                engine.getStatisticManager().incrementDataLoadedOutgoing(outgoingBatch.getChannelId(), outgoingBatch.getLoadRowCount());
+                engine.getStatisticManager().incrementDataBytesLoadedOutgoing(outgoingBatch.getChannelId(), outgoingBatch.getByteCount());
+            }
+            for (OutgoingBatch outgoingBatch : outgoingBatches) {
+                Channel channel = engine.getConfigurationService().getChannel(outgoingBatch.getChannelId());
+                if (channel != null && channel.isFileSyncFlag()) {
+                    engine.getFileSyncService().acknowledgeFiles(outgoingBatch);
+                }
+                engine.getStatisticManager().removeRouterStatsByBatch(outgoingBatch.getBatchId());
+            }
+            if (parameterService.is(ParameterConstants.STREAM_TO_FILE_ENABLED)) {
+                purgeBatchesFromStagingInBackground(outgoingBatches);
+            }
         }
         return results;
     }
 
+    protected void purgeBatchesFromStagingInBackground(final List<OutgoingBatch> outgoingBatches) {
+        getStagingPurgeExecutor().execute(() -> {
+            for (OutgoingBatch outgoingBatch : outgoingBatches) {
+                try {
+                    purgeBatchesFromStaging(outgoingBatch);
+                } catch (Exception e) {
+                    log.warn("Failed to purge batch {} from staging", outgoingBatch.getNodeBatchId(), e);
+                }
+            }
+        });
+    }
+
+    protected synchronized ExecutorService getStagingPurgeExecutor() {
+        if (stagingPurgeExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new CustomizableThreadFactory(String.format("%s-ack-staging-purge", engine.getEngineName())));
+            executor.allowCoreThreadTimeOut(true);
+            stagingPurgeExecutor = executor;
+        }
+        return stagingPurgeExecutor;
+    }
+
+    public synchronized void stop() {
+        if (stagingPurgeExecutor != null) {
+            stagingPurgeExecutor.shutdown();
+            stagingPurgeExecutor = null;
+        }
+    }
+
     public void checkMissingAck(List<BatchAck> acks, String queue) {
         boolean hasCorruptBatch = false;
         String nodeId = null;
@@ -524,7 +524,17 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 if (this.threadPoolFactory == null) {
                     this.threadPoolFactory = new CustomizableThreadFactory(String.format("%s-dataextractor", parameterService.getEngineName().toLowerCase()));
                 }
-                executor = streamToFileEnabled ? Executors.newFixedThreadPool(1, this.threadPoolFactory) : null;
+                int threadCount = 1;
+                if (streamToFileEnabled) {
+                    threadCount = Math.max(1, Math.min(activeBatches.size(),
+                            parameterService.getInt(ParameterConstants.EXTRACT_THREAD_PER_NODE_COUNT, 1)));
+                    executor = Executors.newFixedThreadPool(threadCount, this.threadPoolFactory);
+                }
+                /*
+                 * Extract threads running side by side each track their batch in their own process info, so they do not overwrite the thread,
+                 * load id and data counts of the shared one
+                 */
+                final boolean isParallel = threadCount > 1;
                 List<Future<FutureOutgoingBatch>> futures = new ArrayList<Future<FutureOutgoingBatch>>();
                 extractInfo.setTotalBatchCount(activeBatches.size());
                 for (int i = 0; i < activeBatches.size(); i++) {
@@ -534,7 +544,8 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                     Callable<FutureOutgoingBatch> callable = () -> {
                         MDC.put("engineName", engine.getParameterService().getEngineName());
                         OutgoingBatch refreshedBatch = requeryIfEnoughTimeHasPassed(batchesSelectedAtMs, extractBatch);
-                        return extractBatch(refreshedBatch, status, extractInfo, targetNode, dataWriter, mode, activeBatches);
+                        ProcessInfo batchExtractInfo = isParallel ? new ProcessInfo(extractInfo.getKey()) : extractInfo;
+                        return extractBatch(refreshedBatch, status, batchExtractInfo, targetNode, dataWriter, mode, activeBatches);
                     };
                     if (status.shouldExtractSkip) {
                         break;
@@ -761,15 +772,18 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                     outgoingBatch = new FutureOutgoingBatch(
                             extractOutgoingBatch(extractInfo, targetNode, dataWriter, extractBatch, streamToFileEnabled, true, mode, null),
                             isRetry);
-                    status.batchExtractCount++;
-                    status.byteExtractCount += extractBatch.getByteCount();
-                    if (status.byteExtractCount >= maxBytesToSync && status.batchExtractCount < activeBatches.size()) {
-                        log.info(
-                                "Reached the total byte threshold after {} of {} batches were extracted for node '{}' (extracted {} bytes, the max is {}).  "
-                                        + "The remaining batches will be extracted on a subsequent sync.",
-                                new Object[] { status.batchExtractCount, activeBatches.size(), targetNode.getNodeId(), status.byteExtractCount,
-                                        maxBytesToSync });
-                        status.shouldExtractSkip = true;
+                    synchronized (status) {
+                        status.batchExtractCount++;
+                        status.byteExtractCount += extractBatch.getByteCount();
+                        if (status.byteExtractCount >= maxBytesToSync && status.batchExtractCount < activeBatches.size()
+                                && !status.shouldExtractSkip) {
+                            log.info(
+                                    "Reached the total byte threshold after {} of {} batches were extracted for node '{}' (extracted {} bytes, the max is {}).  "
+                                            + "The remaining batches will be extracted on a subsequent sync.",
+                                    new Object[] { status.batchExtractCount, activeBatches.size(), targetNode.getNodeId(), status.byteExtractCount,
+                                            maxBytesToSync });
+                            status.shouldExtractSkip = true;
+                        }
                     }
                 } catch (Exception e) {
                     status.shouldExtractSkip = outgoingBatch.isExtractSkipped = true;
@@ -2068,7 +2082,7 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
     }
 
     static class FutureExtractStatus {
-        boolean shouldExtractSkip;
+        volatile boolean shouldExtractSkip;
         int batchExtractCount;
         int byteExtractCount;
     }
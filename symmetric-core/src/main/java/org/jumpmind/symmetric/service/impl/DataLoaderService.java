@@ -42,8 +42,10 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -54,8 +56,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.db.model.ForeignKey;
 import org.jumpmind.db.model.Table;
 import org.jumpmind.db.platform.DatabaseNamesConstants;
+import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlRowMapper;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.sql.Row;
@@ -272,6 +276,11 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
                 requestProperties.put(WebConstants.IGNORED_CHANNELS,
                         suspendIgnoreChannels.getIgnoreChannelsAsString());
                 requestProperties.put(WebConstants.CHANNEL_QUEUE, status.getQueue());
+                long longPollWaitMs = Math.min(parameterService.getLong(ParameterConstants.PULL_LONG_POLL_WAIT_MS, 0),
+                        parameterService.getLong(ParameterConstants.TRANSPORT_HTTP_TIMEOUT) / 2);
+                if (longPollWaitMs > 0) {
+                    requestProperties.put(WebConstants.LONG_POLL_WAIT_MS, Long.toString(longPollWaitMs));
+                }
                 transport = transportManager.getPullTransport(remote, local,
                         localSecurity.getNodePassword(), requestProperties,
                         parameterService.getRegistrationUrl());
@@ -564,9 +573,10 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
                 if (threadFactory == null) {
                     threadFactory = new CustomizableThreadFactory(parameterService.getEngineName().toLowerCase() + "-dataloader");
                 }
-                ExecutorService executor = Executors.newFixedThreadPool(1, threadFactory);
+                int loadThreadCount = Math.max(1, parameterService.getInt(ParameterConstants.DATA_LOADER_PARALLEL_THREAD_COUNT, 1));
+                ExecutorService executor = Executors.newFixedThreadPool(loadThreadCount, threadFactory);
                 LoadIntoDatabaseOnArrivalListener loadListener = new LoadIntoDatabaseOnArrivalListener(transferInfo,
-                        sourceNode.getNodeId(), listener, executor);
+                        sourceNode.getNodeId(), listener, executor, loadThreadCount > 1 ? new IncomingBatchDependencyGraph() : null);
                 SimpleStagingDataWriter stageWriter = null;
                 try {
                     stageWriter = new SimpleStagingDataWriter(transferInfo, transport.openReader(), stagingManager, Constants.STAGING_CATEGORY_INCOMING,
@@ -1009,24 +1019,31 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
         private long batchStartsToArriveTimeInMs;
         private String sourceNodeId;
         private ProcessInfo transferInfo;
-        private ProcessInfo loadInfo;
         private ExecutorService executor;
+        private IncomingBatchDependencyGraph dependencyGraph;
         private List<Future<IncomingBatch>> futures = new ArrayList<Future<IncomingBatch>>();
-        private boolean isError;
+        private volatile boolean isError;
 
         public LoadIntoDatabaseOnArrivalListener(ProcessInfo transferInfo, String sourceNodeId,
                 ManageIncomingBatchListener listener, ExecutorService executor) {
+            this(transferInfo, sourceNodeId, listener, executor, null);
+        }
+
+        public LoadIntoDatabaseOnArrivalListener(ProcessInfo transferInfo, String sourceNodeId,
+                ManageIncomingBatchListener listener, ExecutorService executor, IncomingBatchDependencyGraph dependencyGraph) {
             this.sourceNodeId = sourceNodeId;
             this.listener = listener;
             this.executor = executor;
             this.transferInfo = transferInfo;
+            this.dependencyGraph = dependencyGraph;
         }
 
         public void start(DataContext ctx, Batch batch) {
             batchStartsToArriveTimeInMs = System.currentTimeMillis();
         }
 
-        protected ProtocolDataReader buildDataReader(final Batch batchInStaging, final IStagedResource resource) {
+        protected ProtocolDataReader buildDataReader(final Batch batchInStaging, final IStagedResource resource,
+                final ManageIncomingBatchListener listener) {
             return new ProtocolDataReader(BatchType.LOAD, batchInStaging.getTargetNodeId(), resource) {
                 @Override
                 public Table nextTable() {
@@ -1049,98 +1066,176 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
 
         public void end(final DataContext ctx, final Batch batchInStaging, final IStagedResource resource) {
             final long networkMillis = System.currentTimeMillis() - batchStartsToArriveTimeInMs;
-            Callable<IncomingBatch> loadBatchFromStage = new Callable<IncomingBatch>() {
-                public IncomingBatch call() throws Exception {
-                    IncomingBatch incomingBatch = null;
-                    DataProcessor processor = null;
-                    MDC.put("engineName", engine.getParameterService().getEngineName());
-                    if (!isError && resource != null && resource.exists()) {
+            if (resource == null) {
+                IncomingBatch incomingBatch = new IncomingBatch(batchInStaging);
+                listener.getBatchesProcessed().add(incomingBatch);
+                if (incomingBatchService.acquireIncomingBatch(incomingBatch)) {
+                    log.info("Unable to retry batch {} because it's not in staging.  Setting status to resend.", batchInStaging.getNodeBatchId());
+                    incomingBatch.setStatus(Status.RS);
+                    incomingBatchService.updateIncomingBatch(incomingBatch);
+                }
+                isError = true;
+            } else if (dependencyGraph == null) {
+                futures.add(executor.submit(new Callable<IncomingBatch>() {
+                    public IncomingBatch call() throws Exception {
+                        return loadBatchFromStage(ctx, listener, batchInStaging, resource, networkMillis);
+                    }
+                }));
+            } else {
+                final DataContext batchCtx = new DataContext();
+                batchCtx.getContext().putAll(ctx.getContext());
+                final ManageIncomingBatchListener batchListener = new ManageIncomingBatchListener(transferInfo, engine);
+                final IncomingBatchDependencyGraph.Node node = buildDependencyNode(ctx, batchInStaging);
+                final List<IncomingBatchDependencyGraph.Node> dependencies = dependencyGraph.add(node);
+                if (log.isDebugEnabled()) {
+                    log.debug("Batch {} will load after {}", node, dependencies);
+                }
+                futures.add(executor.submit(new Callable<IncomingBatch>() {
+                    public IncomingBatch call() throws Exception {
                         try {
-                            loadInfo = statisticManager.newProcessInfo(new ProcessInfoKey(transferInfo.getSourceNodeId(),
-                                    transferInfo.getQueue(), transferInfo.getTargetNodeId(), transferInfo.getProcessType() == PULL_JOB_TRANSFER ? PULL_JOB_LOAD
-                                            : PUSH_HANDLER_LOAD));
-                            loadInfo.setCurrentLoadId(transferInfo.getCurrentLoadId());
-                            if (batchInStaging.getStatistics() != null) {
-                                loadInfo.setTotalDataCount(batchInStaging.getStatistics().get(DataReaderStatistics.DATA_ROW_COUNT));
-                                loadInfo.setCurrentLoadId(batchInStaging.getStatistics().get(DataReaderStatistics.LOAD_ID));
-                            }
-                            loadInfo.setStatus(ProcessInfo.ProcessStatus.LOADING);
-                            ProtocolDataReader reader = buildDataReader(batchInStaging, resource);
-                            processor = new DataProcessor(reader, null, listener, "data load from stage") {
-                                @Override
-                                protected IDataWriter chooseDataWriter(Batch batch) {
-                                    boolean isRetry = ((ManageIncomingBatchListener) listener).getCurrentBatch().isRetry();
-                                    return buildDataWriter(loadInfo, sourceNodeId, batch.getChannelId(), batch.getBatchId(), isRetry);
-                                }
-                            };
-                            processor.process(ctx);
-                            if (loadInfo.getCurrentBatchCount() == 0) {
-                                loadInfo.setStatus(ProcessStatus.OK);
+                            for (IncomingBatchDependencyGraph.Node dependency : dependencies) {
+                                dependency.awaitLoaded();
                             }
+                            return loadBatchFromStage(batchCtx, batchListener, batchInStaging, resource, networkMillis);
                         } catch (Exception e) {
-                            if (ctx.get(ContextConstants.CONTEXT_BULK_WRITER_TO_USE) != null && ctx.get(ContextConstants.CONTEXT_BULK_WRITER_TO_USE).equals(
-                                    "bulk")) {
-                                log.debug("Bulk loader failed : ", e);
-                                log.info("Bulk loader failed in class {} with message: {}", e.getClass().getName(), e.getMessage());
-                                ctx.put(ContextConstants.CONTEXT_BULK_WRITER_TO_USE, "default");
-                                ctx.setLastError(null);
-                                listener.currentBatch.setStatus(Status.OK);
-                                processor.setDataReader(buildDataReader(batchInStaging, resource));
-                                try {
-                                    listener.getBatchesProcessed().remove(listener.currentBatch);
-                                    processor.process(ctx);
-                                } catch (Exception retryException) {
-                                    isError = true;
-                                    incomingBatch = listener.currentBatch;
-                                    incomingBatch.setStatus(Status.ER);
-                                    incomingBatch.setErrorFlag(true);
-                                    incomingBatchService.updateIncomingBatch(incomingBatch);
-                                    throw e;
-                                }
-                            } else {
-                                isError = true;
-                                if (listener.currentBatch.getSqlCode() == ErrorConstants.PROTOCOL_VIOLATION_CODE) {
-                                    log.info("The batch {} may be corrupt in staging, so removing it.", batchInStaging.getNodeBatchId());
-                                    resource.delete();
-                                    incomingBatch = listener.currentBatch;
-                                } else {
-                                    throw e;
+                            synchronized (listener) {
+                                if (listener.getCurrentBatch() == null && batchListener.getCurrentBatch() != null) {
+                                    listener.currentBatch = batchListener.getCurrentBatch();
+                                    listener.isNewErrorForCurrentBatch = batchListener.isNewErrorForCurrentBatch();
+                                    ctx.setBatch(batchCtx.getBatch());
+                                    ctx.setTable(batchCtx.getTable());
+                                    ctx.setData(batchCtx.getData());
                                 }
                             }
+                            throw e;
                         } finally {
+                            listener.getBatchesProcessed().addAll(batchListener.getBatchesProcessed());
+                            node.markLoaded();
+                        }
+                    }
+                }));
+            }
+        }
+
+        protected IncomingBatch loadBatchFromStage(DataContext ctx, ManageIncomingBatchListener listener, Batch batchInStaging,
+                IStagedResource resource, long networkMillis) throws Exception {
+            IncomingBatch incomingBatch = null;
+            DataProcessor processor = null;
+            MDC.put("engineName", engine.getParameterService().getEngineName());
+            if (!isError && resource != null && resource.exists()) {
+                try {
+                    final ProcessInfo loadInfo = statisticManager.newProcessInfo(new ProcessInfoKey(transferInfo.getSourceNodeId(),
+                            transferInfo.getQueue(), transferInfo.getTargetNodeId(), transferInfo.getProcessType() == PULL_JOB_TRANSFER ? PULL_JOB_LOAD
+                                    : PUSH_HANDLER_LOAD));
+                    loadInfo.setCurrentLoadId(transferInfo.getCurrentLoadId());
+                    if (batchInStaging.getStatistics() != null) {
+                        loadInfo.setTotalDataCount(batchInStaging.getStatistics().get(DataReaderStatistics.DATA_ROW_COUNT));
+                        loadInfo.setCurrentLoadId(batchInStaging.getStatistics().get(DataReaderStatistics.LOAD_ID));
+                    }
+                    loadInfo.setStatus(ProcessInfo.ProcessStatus.LOADING);
+                    ProtocolDataReader reader = buildDataReader(batchInStaging, resource, listener);
+                    processor = new DataProcessor(reader, null, listener, "data load from stage") {
+                        @Override
+                        protected IDataWriter chooseDataWriter(Batch batch) {
+                            boolean isRetry = ((ManageIncomingBatchListener) listener).getCurrentBatch().isRetry();
+                            return buildDataWriter(loadInfo, sourceNodeId, batch.getChannelId(), batch.getBatchId(), isRetry);
+                        }
+                    };
+                    processor.process(ctx);
+                    if (loadInfo.getCurrentBatchCount() == 0) {
+                        loadInfo.setStatus(ProcessStatus.OK);
+                    }
+                } catch (Exception e) {
+                    if (ctx.get(ContextConstants.CONTEXT_BULK_WRITER_TO_USE) != null && ctx.get(ContextConstants.CONTEXT_BULK_WRITER_TO_USE).equals(
+                            "bulk")) {
+                        log.debug("Bulk loader failed : ", e);
+                        log.info("Bulk loader failed in class {} with message: {}", e.getClass().getName(), e.getMessage());
+                        ctx.put(ContextConstants.CONTEXT_BULK_WRITER_TO_USE, "default");
+                        ctx.setLastError(null);
+                        listener.currentBatch.setStatus(Status.OK);
+                        processor.setDataReader(buildDataReader(batchInStaging, resource, listener));
+                        try {
+                            listener.getBatchesProcessed().remove(listener.currentBatch);
+                            processor.process(ctx);
+                        } catch (Exception retryException) {
+                            isError = true;
                             incomingBatch = listener.currentBatch;
-                            if (incomingBatch != null) {
-                                incomingBatch.setNetworkMillis(networkMillis);
-                                if (batchInStaging.isIgnored()) {
-                                    incomingBatch.incrementIgnoreCount();
-                                }
-                            }
-                            resource.setState(State.DONE);
-                            if (!resource.isFileResource()) {
-                                resource.delete();
-                            }
+                            incomingBatch.setStatus(Status.ER);
+                            incomingBatch.setErrorFlag(true);
+                            incomingBatchService.updateIncomingBatch(incomingBatch);
+                            throw e;
+                        }
+                    } else {
+                        isError = true;
+                        if (listener.currentBatch.getSqlCode() == ErrorConstants.PROTOCOL_VIOLATION_CODE) {
+                            log.info("The batch {} may be corrupt in staging, so removing it.", batchInStaging.getNodeBatchId());
+                            resource.delete();
+                            incomingBatch = listener.currentBatch;
+                        } else {
+                            throw e;
+                        }
+                    }
+                } finally {
+                    incomingBatch = listener.currentBatch;
+                    if (incomingBatch != null) {
+                        incomingBatch.setNetworkMillis(networkMillis);
+                        if (batchInStaging.isIgnored()) {
+                            incomingBatch.incrementIgnoreCount();
                         }
-                    } else if (resource == null || !resource.exists()) {
-                        log.info("The batch {} was missing in staging.  Setting status to resend.", batchInStaging.getNodeBatchId());
-                        incomingBatch = new IncomingBatch(batchInStaging);
-                        incomingBatch.setStatus(Status.RS);
-                        incomingBatchService.updateIncomingBatch(incomingBatch);
                     }
-                    return incomingBatch;
+                    resource.setState(State.DONE);
+                    if (!resource.isFileResource()) {
+                        resource.delete();
+                    }
                 }
-            };
-            if (resource == null) {
-                IncomingBatch incomingBatch = new IncomingBatch(batchInStaging);
-                listener.getBatchesProcessed().add(incomingBatch);
-                if (incomingBatchService.acquireIncomingBatch(incomingBatch)) {
-                    log.info("Unable to retry batch {} because it's not in staging.  Setting status to resend.", batchInStaging.getNodeBatchId());
-                    incomingBatch.setStatus(Status.RS);
-                    incomingBatchService.updateIncomingBatch(incomingBatch);
+            } else if (resource == null || !resource.exists()) {
+                log.info("The batch {} was missing in staging.  Setting status to resend.", batchInStaging.getNodeBatchId());
+                incomingBatch = new IncomingBatch(batchInStaging);
+                incomingBatch.setStatus(Status.RS);
+                incomingBatchService.updateIncomingBatch(incomingBatch);
+            }
+            return incomingBatch;
+        }
+
+        /**
+         * Describe the batch for the dependency graph using the tables it wrote to staging and the foreign keys of the matching target tables. Batches
+         * that run scripts, are on the config channel, or load tables with load transforms are barriers because the tables they change are not known.
+         */
+        protected IncomingBatchDependencyGraph.Node buildDependencyNode(DataContext ctx, Batch batch) {
+            List<Table> stagedTables = batch.getStagedTables();
+            boolean barrier = stagedTables == null || batch.isStagedScript() || Constants.CHANNEL_CONFIG.equals(batch.getChannelId())
+                    || batch.getBatchId() == Constants.VIRTUAL_BATCH_FOR_REGISTRATION;
+            Set<String> tables = null;
+            Set<String> referencedTables = null;
+            if (!barrier) {
+                tables = new HashSet<String>();
+                referencedTables = new HashSet<String>();
+                String sourceNodeGroupId = (String) ctx.get(Constants.DATA_CONTEXT_SOURCE_NODE_GROUP_ID);
+                String targetNodeGroupId = (String) ctx.get(Constants.DATA_CONTEXT_TARGET_NODE_GROUP_ID);
+                for (Table stagedTable : stagedTables) {
+                    List<TransformTableNodeGroupLink> transforms = transformService.findTransformsFor(sourceNodeGroupId, targetNodeGroupId,
+                            stagedTable.getName());
+                    if (transforms != null) {
+                        for (TransformTableNodeGroupLink transform : transforms) {
+                            barrier |= transform.getTransformPoint() == TransformPoint.LOAD;
+                        }
+                    }
+                    IDatabasePlatform targetPlatform = symmetricDialect.getTargetPlatform(stagedTable.getName());
+                    String catalog = StringUtils.isBlank(stagedTable.getCatalog()) ? targetPlatform.getDefaultCatalog() : stagedTable.getCatalog();
+                    String schema = StringUtils.isBlank(stagedTable.getSchema()) ? targetPlatform.getDefaultSchema() : stagedTable.getSchema();
+                    tables.add(IncomingBatchDependencyGraph.getTableKey(catalog, schema, stagedTable.getName()));
+                    Table targetTable = targetPlatform.getTableFromCache(catalog, schema, stagedTable.getName(), false);
+                    if (targetTable != null) {
+                        for (ForeignKey foreignKey : targetTable.getForeignKeys()) {
+                            referencedTables.add(IncomingBatchDependencyGraph.getTableKey(
+                                    StringUtils.isBlank(foreignKey.getForeignTableCatalog()) ? catalog : foreignKey.getForeignTableCatalog(),
+                                    StringUtils.isBlank(foreignKey.getForeignTableSchema()) ? schema : foreignKey.getForeignTableSchema(),
+                                    foreignKey.getForeignTableName()));
+                        }
+                    }
                 }
-                isError = true;
-            } else {
-                futures.add(executor.submit(loadBatchFromStage));
             }
+            return new IncomingBatchDependencyGraph.Node(batch.getBatchId(), batch.getChannelId(), tables, referencedTables, barrier);
         }
 
         public boolean isDone() throws Throwable {
@@ -1521,32 +1521,62 @@ public class DataService extends AbstractService implements IDataService {
                             rowCount = getDataCountForReload(table, targetNode, selectSql);
                         }
                         long transformMultiplier = getTransformMultiplier(table, triggerRouter);
-                        long startBatchId = 0;
-                        long numberOfBatches = 1;
-                        if (parameterService.is(ParameterConstants.INITIAL_LOAD_USE_EXTRACT_JOB)) {
-                            if (rowCount > 0) {
-                                processInfo.setCurrentRowCount(processInfo.getCurrentRowCount() + rowCount);
-                                numberOfBatches = (long) Math.ceil((rowCount * transformMultiplier) / (channel.getMaxBatchSize() * 1f));
-                                processInfo.setCurrentBatchCount(processInfo.getCurrentBatchCount() + numberOfBatches);
-                            }
-                            startBatchId = insertRequestedOutgoingBatches(transaction, targetNode, triggerRouter, triggerHistory, selectSql,
-                                    loadId, createBy, reloadChannel, rowCount, channel.getMaxBatchSize(), numberOfBatches);
-                        } else {
-                            startBatchId = insertReloadEvent(transaction, targetNode, triggerRouter, triggerHistory,
-                                    selectSql, true, loadId, createBy, Status.LS, null, -1);
+                        boolean useExtractJob = parameterService.is(ParameterConstants.INITIAL_LOAD_USE_EXTRACT_JOB);
+                        List<ExtractRequest> parentPartitions = parentRequestId != 0 ? parentRequest.getPartitionRequests() : null;
+                        List<String> partitionSelects = null;
+                        if (parentRequestId == 0 && useExtractJob) {
+                            partitionSelects = getReloadPartitionSelects(table, targetNode, selectSql, rowCount);
                         }
-                        long endBatchId = startBatchId + numberOfBatches - 1;
-                        firstBatchId = firstBatchId == 0 ? startBatchId : firstBatchId;
-                        if (table.getNameLowerCase().startsWith(symmetricDialect.getTablePrefix() + "_" + TableConstants.SYM_FILE_SNAPSHOT)) {
-                            TableReloadStatus reloadStatus = getTableReloadStatusByLoadIdAndSourceNodeId(loadId, sourceNodeId);
-                            firstBatchId = reloadStatus.getStartDataBatchId() > 0 ? reloadStatus.getStartDataBatchId() : firstBatchId;
+                        int partitionCount = parentPartitions != null ? parentPartitions.size() : partitionSelects != null ? partitionSelects.size() : 1;
+                        ExtractRequest firstRequest = null;
+                        for (int partition = 0; partition < partitionCount; partition++) {
+                            String partitionSelectSql = selectSql;
+                            long partitionRowCount = rowCount;
+                            long partitionParentRequestId = parentRequestId;
+                            if (parentPartitions != null) {
+                                partitionRowCount = parentPartitions.get(partition).getRows();
+                                partitionParentRequestId = parentPartitions.get(partition).getRequestId();
+                            } else if (partitionSelects != null) {
+                                partitionSelectSql = partitionSelects.get(partition);
+                                partitionRowCount = rowCount / partitionCount + (partition < rowCount % partitionCount ? 1 : 0);
+                            }
+                            long startBatchId = 0;
+                            long numberOfBatches = 1;
+                            if (useExtractJob) {
+                                if (partitionRowCount > 0) {
+                                    processInfo.setCurrentRowCount(processInfo.getCurrentRowCount() + partitionRowCount);
+                                    numberOfBatches = (long) Math.ceil((partitionRowCount * transformMultiplier) / (channel.getMaxBatchSize() * 1f));
+                                    processInfo.setCurrentBatchCount(processInfo.getCurrentBatchCount() + numberOfBatches);
+                                }
+                                startBatchId = insertRequestedOutgoingBatches(transaction, targetNode, triggerRouter, triggerHistory, partitionSelectSql,
+                                        loadId, createBy, reloadChannel, partitionRowCount, channel.getMaxBatchSize(), numberOfBatches);
+                            } else {
+                                startBatchId = insertReloadEvent(transaction, targetNode, triggerRouter, triggerHistory,
+                                        selectSql, true, loadId, createBy, Status.LS, null, -1);
+                            }
+                            long endBatchId = startBatchId + numberOfBatches - 1;
+                            firstBatchId = firstBatchId == 0 ? startBatchId : firstBatchId;
+                            if (table.getNameLowerCase().startsWith(symmetricDialect.getTablePrefix() + "_" + TableConstants.SYM_FILE_SNAPSHOT)) {
+                                TableReloadStatus reloadStatus = getTableReloadStatusByLoadIdAndSourceNodeId(loadId, sourceNodeId);
+                                firstBatchId = reloadStatus.getStartDataBatchId() > 0 ? reloadStatus.getStartDataBatchId() : firstBatchId;
+                            }
+                            updateTableReloadStatusDataCounts(platform.supportsMultiThreadedTransactions() ? null : transaction,
+                                    loadId, sourceNodeId, firstBatchId, endBatchId, numberOfBatches, partitionRowCount);
+                            String queue = partitionCount > 1 ? getReloadPartitionQueue(channel.getQueue(), partition) : channel.getQueue();
+                            ExtractRequest request = engine.getDataExtractorService().requestExtractRequest(transaction, targetNode.getNodeId(), queue,
+                                    triggerRouter, startBatchId, endBatchId, loadId, table.getName(), partitionRowCount, partitionParentRequestId);
+                            if (firstRequest == null) {
+                                firstRequest = request;
+                                if (partitionCount > 1) {
+                                    firstRequest.setPartitionRequests(new ArrayList<ExtractRequest>(partitionCount));
+                                }
+                            }
+                            if (partitionCount > 1) {
+                                firstRequest.getPartitionRequests().add(request);
+                            }
                         }
-                        updateTableReloadStatusDataCounts(platform.supportsMultiThreadedTransactions() ? null : transaction,
-                                loadId, sourceNodeId, firstBatchId, endBatchId, numberOfBatches, rowCount);
-                        ExtractRequest request = engine.getDataExtractorService().requestExtractRequest(transaction, targetNode.getNodeId(), channel.getQueue(),
-                                triggerRouter, startBatchId, endBatchId, loadId, table.getName(), rowCount, parentRequestId);
                         if (parentRequestId == 0) {
-                            requests.put(triggerHistory.getTriggerHistoryId(), request);
+                            requests.put(triggerHistory.getTriggerHistoryId(), firstRequest);
                         }
                     } else {
                         log.warn("The table defined by trigger_hist row {} no longer exists.  A load will not be queue'd up for the table", triggerHistory
@@ -1572,6 +1602,84 @@ public class DataService extends AbstractService implements IDataService {
         return requests;
     }
 
+    /**
+     * Split the reload of a large table with a single integer primary key into ranges of the key that can be extracted at the same time, or return null
+     * if the table is not split. Each range is returned as the reload select with a condition on the key added to it.
+     */
+    protected List<String> getReloadPartitionSelects(Table table, Node targetNode, String selectSql, long rowCount) {
+        int partitionCount = parameterService.getInt(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_COUNT, 1);
+        Column[] pkColumns = table.getPrimaryKeyColumns();
+        if (partitionCount <= 1 || rowCount < parameterService.getLong(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_MIN_ROWS, 10000000)
+                || pkColumns.length != 1 || !isIntegerColumn(pkColumns[0])) {
+            return null;
+        }
+        String condition = selectSql;
+        if (condition.trim().toUpperCase().startsWith("WHERE")) {
+            condition = condition.trim().substring(5);
+        }
+        DatabaseInfo dbInfo = getTargetPlatform().getDatabaseInfo();
+        String quote = dbInfo.getDelimiterToken();
+        String pkColumn = "t." + quote + pkColumns[0].getName() + quote;
+        String sql = String.format("select min(%s) as min_id, max(%s) as max_id from %s t where %s", pkColumn, pkColumn,
+                table.getQualifiedTableName(quote, dbInfo.getCatalogSeparator(), dbInfo.getSchemaSeparator()), condition);
+        sql = replaceReloadVariables(sql, targetNode, table);
+        Row row = getTargetPlatform().getSqlTemplateDirty().queryForRow(sql);
+        if (row == null || row.get("min_id") == null || row.get("max_id") == null) {
+            return null;
+        }
+        long minId = row.getLong("min_id");
+        long maxId = row.getLong("max_id");
+        long span = maxId - minId + 1;
+        if (span <= 1) {
+            return null;
+        }
+        partitionCount = (int) Math.min(partitionCount, span);
+        long rangeSize = span / partitionCount + (span % partitionCount > 0 ? 1 : 0);
+        List<String> partitionSelects = new ArrayList<String>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            long start = minId + i * rangeSize;
+            StringBuilder partitionSelect = new StringBuilder("(").append(condition).append(") and ");
+            if (i == 0) {
+                partitionSelect.append(pkColumn).append(" < ").append(start + rangeSize);
+            } else if (i == partitionCount - 1) {
+                partitionSelect.append(pkColumn).append(" >= ").append(start);
+            } else {
+                partitionSelect.append(pkColumn).append(" >= ").append(start).append(" and ").append(pkColumn).append(" < ").append(start + rangeSize);
+            }
+            partitionSelects.add(partitionSelect.toString());
+        }
+        log.info("Splitting the load of {} rows from table {} into {} ranges of {}", rowCount, table.getFullyQualifiedTableName(), partitionCount,
+                pkColumns[0].getName());
+        return partitionSelects;
+    }
+
+    protected boolean isIntegerColumn(Column column) {
+        int type = column.getMappedTypeCode();
+        return type == Types.TINYINT || type == Types.SMALLINT || type == Types.INTEGER || type == Types.BIGINT
+                || ((type == Types.NUMERIC || type == Types.DECIMAL) && column.getScale() == 0);
+    }
+
+    /**
+     * Each range of a split table is extracted on its own queue, because the requests on a queue are extracted one at a time.
+     */
+    protected String getReloadPartitionQueue(String queue, int partition) {
+        if (partition == 0) {
+            return queue;
+        }
+        String suffix = "-p" + partition;
+        return StringUtils.left(queue, 25 - suffix.length()) + suffix;
+    }
+
+    protected String replaceReloadVariables(String sql, Node targetNode, Table table) {
+        sql = FormatUtils.replace("groupId", targetNode.getNodeGroupId(), sql);
+        sql = FormatUtils.replace("externalId", targetNode.getExternalId(), sql);
+        sql = FormatUtils.replace("nodeId", targetNode.getNodeId(), sql);
+        for (IReloadVariableFilter filter : extensionService.getExtensionPointList(IReloadVariableFilter.class)) {
+            sql = filter.filterPurgeSql(sql, targetNode, table);
+        }
+        return sql;
+    }
+
     protected long getDataCountForReload(Table table, Node targetNode, String selectSql) throws SqlException {
         long rowCount = -1;
         if (parameterService.is(ParameterConstants.INITIAL_LOAD_USE_ESTIMATED_COUNTS) &&
@@ -1588,12 +1696,7 @@ public class DataService extends AbstractService implements IDataService {
             }
             String sql = String.format("select count(*) from %s t where %s", table
                     .getQualifiedTableName(quote, catalogSeparator, schemaSeparator), selectSql);
-            sql = FormatUtils.replace("groupId", targetNode.getNodeGroupId(), sql);
-            sql = FormatUtils.replace("externalId", targetNode.getExternalId(), sql);
-            sql = FormatUtils.replace("nodeId", targetNode.getNodeId(), sql);
-            for (IReloadVariableFilter filter : extensionService.getExtensionPointList(IReloadVariableFilter.class)) {
-                sql = filter.filterPurgeSql(sql, targetNode, table);
-            }
+            sql = replaceReloadVariables(sql, targetNode, table);
             try {
                 rowCount = getTargetPlatform().getSqlTemplateDirty().queryForLong(sql);
             } catch (SqlException ex) {
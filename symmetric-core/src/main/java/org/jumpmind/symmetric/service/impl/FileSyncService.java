@@ -29,10 +29,13 @@ import java.nio.file.FileSystemException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
@@ -56,10 +59,13 @@ import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.common.TableConstants;
 import org.jumpmind.symmetric.file.DirectorySnapshot;
 import org.jumpmind.symmetric.file.FileConflictException;
+import org.jumpmind.symmetric.file.FileSyncDelta.SignatureStore;
+import org.jumpmind.symmetric.file.FileSyncDeltaException;
 import org.jumpmind.symmetric.file.FileSyncZipDataWriter;
 import org.jumpmind.symmetric.file.FileTriggerFileModifiedListener;
 import org.jumpmind.symmetric.file.FileTriggerFileModifiedListener.FileModifiedCallback;
 import org.jumpmind.symmetric.file.FileTriggerTracker;
+import org.jumpmind.symmetric.file.FileTriggerWatcher;
 import org.jumpmind.symmetric.file.IFileSourceTracker;
 import org.jumpmind.symmetric.io.data.Batch;
 import org.jumpmind.symmetric.io.data.CsvData;
@@ -113,6 +119,7 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
     private ISymmetricEngine engine;
     private Date lastUpdateTime;
     private ICacheManager cacheManager;
+    private Map<String, FileTriggerWatcher> fileTriggerWatchers = new ConcurrentHashMap<String, FileTriggerWatcher>();
 
     public FileSyncService(ISymmetricEngine engine) {
         super(engine.getParameterService(), engine.getSymmetricDialect(), engine.getExtensionService());
@@ -156,6 +163,7 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                                 new ProcessInfoKey(local.getNodeId(), null, ProcessType.FILE_SYNC_TRACKER));
                         boolean useCrc = engine.getParameterService().is(ParameterConstants.FILE_SYNC_USE_CRC);
                         if (engine.getParameterService().is(ParameterConstants.FILE_SYNC_FAST_SCAN)) {
+                            closeFileTriggerWatchers();
                             trackChangesFastScan(processInfo, useCrc);
                         } else {
                             trackChanges(processInfo, useCrc);
@@ -191,27 +199,33 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
         Date currentDate = new Date();
         List<IFileSourceTracker> fileTrackers = engine.getExtensionService().getExtensionPointList(IFileSourceTracker.class);
         List<FileTriggerRouter> fileTriggerRouters = getFileTriggerRoutersForCurrentNode(false);
+        boolean useWatcher = engine.getParameterService().is(ParameterConstants.FILE_SYNC_WATCH_ENABLED, false);
+        Set<String> watchedKeys = new HashSet<String>();
         for (FileTriggerRouter fileTriggerRouter : fileTriggerRouters) {
             if (fileTriggerRouter.isEnabled()) {
                 try {
                     FileTrigger fileTrigger = fileTriggerRouter.getFileTrigger();
-                    DirectorySnapshot lastSnapshot = getDirectorySnapshot(fileTriggerRouter);
                     DirectorySnapshot dirSnapshot = null;
                     boolean needsHandled = true;
                     for (IFileSourceTracker tracker : fileTrackers) {
                         if (tracker.handlesDir(fileTrigger.getBaseDir())) {
                             needsHandled = false;
                             if (tracker.checkSourceDir(fileTrigger.getBaseDir())) {
-                                dirSnapshot = tracker.trackChanges(fileTriggerRouter, lastSnapshot, processInfo, useCrc);
+                                dirSnapshot = tracker.trackChanges(fileTriggerRouter, getDirectorySnapshot(fileTriggerRouter), processInfo, useCrc);
                             }
                             break;
                         }
                     }
                     if (needsHandled) {
                         if (checkSourceDir(fileTriggerRouter)) {
-                            FileTriggerTracker tracker = new FileTriggerTracker(fileTriggerRouter, lastSnapshot,
-                                    processInfo, useCrc, engine);
-                            dirSnapshot = tracker.trackChanges();
+                            if (useWatcher) {
+                                watchedKeys.add(getWatcherKey(fileTriggerRouter));
+                                dirSnapshot = trackChangesWithWatcher(fileTriggerRouter, processInfo, useCrc);
+                            } else {
+                                FileTriggerTracker tracker = new FileTriggerTracker(fileTriggerRouter, getDirectorySnapshot(fileTriggerRouter),
+                                        processInfo, useCrc, engine);
+                                dirSnapshot = tracker.trackChanges();
+                            }
                         }
                     }
                     if (dirSnapshot != null) {
@@ -226,6 +240,56 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                 }
             }
         }
+        Iterator<Map.Entry<String, FileTriggerWatcher>> iterator = fileTriggerWatchers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, FileTriggerWatcher> entry = iterator.next();
+            if (!watchedKeys.contains(entry.getKey())) {
+                entry.getValue().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    protected DirectorySnapshot trackChangesWithWatcher(FileTriggerRouter fileTriggerRouter, ProcessInfo processInfo, boolean useCrc) {
+        String key = getWatcherKey(fileTriggerRouter);
+        FileTriggerWatcher watcher = fileTriggerWatchers.get(key);
+        if (watcher != null && !watcher.isWatching(fileTriggerRouter, useCrc)) {
+            watcher.close();
+            watcher = null;
+        }
+        if (watcher == null) {
+            watcher = new FileTriggerWatcher(fileTriggerRouter, useCrc,
+                    engine.getParameterService().getLong(ParameterConstants.FILE_SYNC_WATCH_RESCAN_PERIOD_MS), engine);
+            fileTriggerWatchers.put(key, watcher);
+        } else {
+            watcher.setFileTriggerRouter(fileTriggerRouter);
+        }
+        DirectorySnapshot dirSnapshot = watcher.isRescanNeeded() ? null : watcher.pollChanges(processInfo);
+        if (dirSnapshot == null) {
+            try {
+                dirSnapshot = watcher.rescan(getDirectorySnapshot(fileTriggerRouter), processInfo);
+            } catch (RuntimeException ex) {
+                fileTriggerWatchers.remove(key);
+                watcher.close();
+                throw ex;
+            }
+        }
+        return dirSnapshot;
+    }
+
+    protected String getWatcherKey(FileTriggerRouter fileTriggerRouter) {
+        return fileTriggerRouter.getTriggerId() + "::" + fileTriggerRouter.getRouterId();
+    }
+
+    protected void closeFileTriggerWatchers() {
+        for (FileTriggerWatcher watcher : fileTriggerWatchers.values()) {
+            watcher.close();
+        }
+        fileTriggerWatchers.clear();
+    }
+
+    public void stop() {
+        closeFileTriggerWatchers();
     }
 
     protected void trackChangesFastScan(ProcessInfo processInfo, boolean useCrc) {
@@ -635,6 +699,7 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
         IStagingManager stagingManager = engine.getStagingManager();
         long maxBytesToSync = parameterService.getLong(ParameterConstants.TRANSPORT_MAX_BYTES_TO_SYNC);
         int compressionLevel = parameterService.getInt(ParameterConstants.FILE_SYNC_COMPRESSION_LEVEL);
+        boolean deltaEnabled = parameterService.is(ParameterConstants.FILE_SYNC_DELTA_ENABLED);
         List<OutgoingBatch> processedBatches = new ArrayList<OutgoingBatch>();
         OutgoingBatch currentBatch = null;
         IStagedResource stagedResource = null;
@@ -646,6 +711,13 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                 for (int i = 0; i < batchesToProcess.size(); i++) {
                     currentBatch = batchesToProcess.get(i);
                     previouslyStagedResource = getStagedResource(currentBatch);
+                    boolean deltaBaseMismatch = isDeltaBaseMismatch(currentBatch);
+                    if (previouslyStagedResource != null && deltaBaseMismatch) {
+                        log.info("Extracting file sync batch {} again with whole files because the target could not apply a block delta",
+                                currentBatch.getNodeBatchId());
+                        previouslyStagedResource.delete();
+                        previouslyStagedResource = null;
+                    }
                     if (isWaitForExtractionRequired(currentBatch, previouslyStagedResource)
                             || isFlushBatchesRequired(currentBatch, processedBatches, previouslyStagedResource)) {
                         // if we've already processed and staged some batches, send them now. The
@@ -660,7 +732,13 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                             stagedResource = stagingManager.create(getStagingPathComponents(currentBatch));
                             dataWriter = new FileSyncZipDataWriter(maxBytesToSync, compressionLevel, this,
                                     engine.getNodeService(), stagedResource, engine.getExtensionService(), engine.getConfigurationService());
+                            if (deltaEnabled) {
+                                dataWriter.setSignatureStore(new SignatureStore(new File(parameterService.getTempDirectory(), "filesync-signatures"),
+                                        parameterService.getInt(ParameterConstants.FILE_SYNC_DELTA_BLOCK_SIZE, 65536)));
+                                dataWriter.setDeltaMinFileSize(parameterService.getLong(ParameterConstants.FILE_SYNC_DELTA_MIN_FILE_SIZE, 0));
+                            }
                         }
+                        dataWriter.setDeltaEnabled(deltaEnabled && !deltaBaseMismatch);
                         log.debug("Extracting batch {} for filesync.", currentBatch.getNodeBatchId());
                         ((DataExtractorService) engine.getDataExtractorService()).extractOutgoingBatch(
                                 processInfo, targetNode, dataWriter, currentBatch, false, true,
@@ -744,6 +822,10 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
         return processedBatches;
     }
 
+    private boolean isDeltaBaseMismatch(OutgoingBatch currentBatch) {
+        return currentBatch.isErrorFlag() && FileSyncDeltaException.isBaseMismatch(currentBatch.getSqlMessage());
+    }
+
     private boolean isFlushBatchesRequired(OutgoingBatch currentBatch, List<OutgoingBatch> processedBatches, IStagedResource previouslyStagedResource) {
         // if we staged some on the fly and now come across a previously staged batch, need to flush the ones in flight.
         boolean isFlushBatchesRequred = previouslyStagedResource != null && !processedBatches.isEmpty();
@@ -1108,6 +1190,9 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                         } else if (ex instanceof FileConflictException) {
                             log.error(ex.getMessage() + ".  Failed to process file sync batch "
                                     + nodeIdBatchId);
+                        } else if (ex instanceof FileSyncDeltaException) {
+                            log.warn(ex.getMessage() + ".  The source will send whole files for file sync batch "
+                                    + nodeIdBatchId);
                         } else {
                             log.error("Failed to process file sync for  batch " + nodeIdBatchId, ex);
                         }
@@ -0,0 +1,124 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.db.model.Table;
+
+/**
+ * Tracks the staged batches of a single sync that are waiting to be loaded or are loading, so batches can be loaded in parallel when they do not depend on
+ * each other. A batch depends on an earlier batch when they are on the same channel, when the tables they touch overlap (including tables referenced by
+ * foreign key), or when either batch is a barrier that must load by itself.
+ */
+class IncomingBatchDependencyGraph {
+    protected List<Node> pending = new ArrayList<Node>();
+
+    /**
+     * Add a batch to the graph and return the earlier batches that must finish loading before it can start.
+     */
+    public synchronized List<Node> add(Node node) {
+        List<Node> dependencies = new ArrayList<Node>();
+        Iterator<Node> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Node earlier = iterator.next();
+            if (earlier.isDone()) {
+                iterator.remove();
+            } else if (node.dependsOn(earlier)) {
+                dependencies.add(earlier);
+            }
+        }
+        pending.add(node);
+        return dependencies;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public static String getTableKey(String catalog, String schema, String tableName) {
+        return Table.getFullyQualifiedTableName(StringUtils.defaultString(catalog), StringUtils.defaultString(schema), tableName).toLowerCase();
+    }
+
+    static class Node {
+        protected long batchId;
+        protected String channelId;
+        protected Set<String> tables;
+        protected Set<String> referencedTables;
+        protected boolean barrier;
+        protected CountDownLatch loaded = new CountDownLatch(1);
+
+        /**
+         * @param tables
+         *            the keys of the tables loaded by this batch, or null if unknown, which makes it a barrier
+         * @param referencedTables
+         *            the keys of the tables referenced by foreign keys from the tables loaded by this batch
+         */
+        public Node(long batchId, String channelId, Set<String> tables, Set<String> referencedTables, boolean barrier) {
+            this.batchId = batchId;
+            this.channelId = channelId;
+            this.tables = tables != null ? tables : Collections.<String> emptySet();
+            this.referencedTables = new HashSet<String>(this.tables);
+            if (referencedTables != null) {
+                this.referencedTables.addAll(referencedTables);
+            }
+            this.barrier = barrier || tables == null;
+        }
+
+        public boolean dependsOn(Node earlier) {
+            return barrier || earlier.barrier || StringUtils.equals(channelId, earlier.channelId)
+                    || !Collections.disjoint(tables, earlier.referencedTables)
+                    || !Collections.disjoint(referencedTables, earlier.tables);
+        }
+
+        public void awaitLoaded() throws InterruptedException {
+            loaded.await();
+        }
+
+        public void markLoaded() {
+            loaded.countDown();
+        }
+
+        public boolean isDone() {
+            return loaded.getCount() == 0;
+        }
+
+        public long getBatchId() {
+            return batchId;
+        }
+
+        public boolean isBarrier() {
+            return barrier;
+        }
+
+        @Override
+        public String toString() {
+            return channelId + "-" + batchId;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.zip.ZipException;
@@ -68,7 +69,7 @@ import org.slf4j.LoggerFactory;
 
 class ManageIncomingBatchListener implements IDataProcessorListener {
     private static final Logger log = LoggerFactory.getLogger(ManageIncomingBatchListener.class);
-    protected List<IncomingBatch> batchesProcessed = new ArrayList<IncomingBatch>();
+    protected List<IncomingBatch> batchesProcessed = Collections.synchronizedList(new ArrayList<IncomingBatch>());
     protected IncomingBatch currentBatch;
     protected boolean isNewErrorForCurrentBatch;
     protected ProcessInfo processInfo;
@@ -66,6 +66,7 @@ import org.jumpmind.util.FormatUtils;
  * @see IOutgoingBatchService
  */
 public class OutgoingBatchService extends AbstractService implements IOutgoingBatchService {
+    private static final int MAX_BATCH_IDS_PER_QUERY = 500;
     private INodeService nodeService;
     private IConfigurationService configurationService;
     private ISequenceService sequenceService;
@@ -409,6 +410,27 @@ public class OutgoingBatchService extends AbstractService implements IOutgoingBa
         }
     }
 
+    public Map<Long, OutgoingBatch> findOutgoingBatches(String nodeId, List<Long> batchIds) {
+        Map<Long, OutgoingBatch> batches = new HashMap<Long, OutgoingBatch>(batchIds.size());
+        for (int start = 0; start < batchIds.size(); start += MAX_BATCH_IDS_PER_QUERY) {
+            List<Long> ids = batchIds.subList(start, Math.min(start + MAX_BATCH_IDS_PER_QUERY, batchIds.size()));
+            Object[] args = new Object[ids.size() + 1];
+            int[] types = new int[args.length];
+            args[0] = nodeId;
+            types[0] = Types.VARCHAR;
+            for (int i = 0; i < ids.size(); i++) {
+                args[i + 1] = ids.get(i);
+                types[i + 1] = symmetricDialect.getSqlTypeForIds();
+            }
+            String sql = getSql("selectOutgoingBatchPrefixSql", "findOutgoingBatchesSql").replace(":BATCH_IDS",
+                    StringUtils.repeat("?", ",", ids.size()));
+            for (OutgoingBatch batch : sqlTemplateDirty.query(sql, new OutgoingBatchMapper(true), args, types)) {
+                batches.put(batch.getBatchId(), batch);
+            }
+        }
+        return batches;
+    }
+
     public int countOutgoingBatchesInError() {
         return sqlTemplateDirty.queryForInt(getSql("countOutgoingBatchesErrorsSql"));
     }
@@ -25,23 +25,39 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.LongConsumer;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
+import org.jumpmind.db.model.Table;
 import org.jumpmind.db.platform.DatabaseNamesConstants;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.IDdlBuilder;
 import org.jumpmind.db.sql.ISqlReadCursor;
 import org.jumpmind.db.sql.ISqlRowMapper;
 import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.Row;
+import org.jumpmind.db.sql.SqlException;
 import org.jumpmind.db.sql.mapper.LongMapper;
 import org.jumpmind.db.sql.mapper.StringMapper;
+import org.jumpmind.symmetric.SymmetricException;
 import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.common.ContextConstants;
 import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.common.TableConstants;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.ext.IPurgeListener;
 import org.jumpmind.symmetric.model.DataGap;
@@ -58,6 +74,7 @@ import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.symmetric.service.IPurgeService;
 import org.jumpmind.symmetric.service.ISequenceService;
 import org.jumpmind.symmetric.statistic.IStatisticManager;
+import org.jumpmind.util.CustomizableThreadFactory;
 
 /**
  * @see IPurgeService
@@ -145,6 +162,9 @@ public class PurgeService extends AbstractService implements IPurgeService {
                 } else {
                     OutgoingContext context = buildOutgoingContext(retentionCutoff);
                     rowsPurged += purgeStrandedBatches();
+                    if (parameterService.is(ParameterConstants.PURGE_DATA_PARTITION_ENABLED)) {
+                        purgeDataPartitions(context);
+                    }
                     rowsPurged += purgeDataRows(context);
                     rowsPurged += purgeOutgoingBatch(context);
                     rowsPurged += purgeLingeringBatches(context);
@@ -420,6 +440,85 @@ public class PurgeService extends AbstractService implements IPurgeService {
         return dataDeletedCount;
     }
 
+    /**
+     * Drops the partitions of a range partitioned sym_data that are entirely below the first data_id that is still needed, which is the same range that the
+     * first pass purge deletes by range, and adds empty partitions ahead of the newest data_id for platforms that do not add them automatically.
+     */
+    private void purgeDataPartitions(OutgoingContext context) {
+        IDatabasePlatform platform = symmetricDialect.getPlatform();
+        IDdlBuilder builder = platform.getDdlBuilder();
+        Table table = platform.getTableFromCache(TableConstants.getTableName(parameterService.getTablePrefix(), TableConstants.SYM_DATA), false);
+        String partitionsSql = table != null ? builder.getRangePartitionsSql(table) : null;
+        if (partitionsSql == null) {
+            return;
+        }
+        table = table.copy();
+        table.setPartitionColumnName("data_id");
+        table.setPartitionInterval(parameterService.getLong(ParameterConstants.PURGE_DATA_PARTITION_SIZE));
+        TreeMap<Long, String> partitionsByHighValue = new TreeMap<Long, String>();
+        for (Row row : sqlTemplateDirty.query(partitionsSql)) {
+            String highValue = StringUtils.trim(row.getString("high_value"));
+            if (NumberUtils.isDigits(highValue)) {
+                partitionsByHighValue.put(Long.parseLong(highValue), row.getString("partition_name"));
+            }
+        }
+        if (partitionsByHighValue.isEmpty()) {
+            log.debug("Not purging by partition because {} is not range partitioned", table.getName());
+            return;
+        }
+        try {
+            long maxDataIdToDrop = getMaxDataIdForPartitionDrop(context);
+            long lastDroppedId = 0;
+            for (Map.Entry<Long, String> entry : partitionsByHighValue.entrySet()) {
+                if (entry.getKey() - 1 > maxDataIdToDrop) {
+                    break;
+                }
+                String dropSql = builder.getDropRangePartitionSql(table, entry.getValue());
+                if (dropSql != null) {
+                    log.info("Dropping partition {} with data_id values less than {}", entry.getValue(), entry.getKey());
+                    sqlTemplate.update(dropSql);
+                    lastDroppedId = entry.getKey() - 1;
+                }
+            }
+            if (lastDroppedId >= context.getMinDataId()) {
+                context.setMinDataId(lastDroppedId + 1);
+                saveContextLastId(MinMaxDeleteSql.DATA_RANGE, lastDroppedId);
+            }
+            long interval = table.getPartitionInterval();
+            long maxDataId = sqlTemplateDirty.queryForLong(getSql("maxDataId"));
+            long lastPartition = maxDataId / interval + parameterService.getInt(ParameterConstants.PURGE_DATA_PARTITION_AHEAD_COUNT);
+            long partition = Math.max((partitionsByHighValue.lastKey() + interval - 1) / interval, maxDataId / interval + 1);
+            for (; partition <= lastPartition; partition++) {
+                String addSql = builder.getAddRangePartitionSql(table, partition);
+                if (addSql == null) {
+                    break;
+                }
+                log.info("Adding partition for data_id values from {}", partition * interval);
+                sqlTemplate.update(addSql);
+            }
+        } catch (SqlException e) {
+            log.warn("Failed to maintain partitions of {}, so purging by delete instead. {}", table.getName(), e.getMessage());
+        }
+    }
+
+    private long getMaxDataIdForPartitionDrop(OutgoingContext context) {
+        long maxDataId = Math.min(context.getMaxDataId(), context.getMinDataGapStartId() - 1);
+        for (DataGap gap : context.getDataGapsExpired()) {
+            maxDataId = Math.min(maxDataId, gap.getStartId() - 1);
+        }
+        long outstandingCount = sqlTemplateDirty.queryForLong(getSql("countOutgoingBatchNotStatusSql"), OutgoingBatch.Status.OK.name());
+        if (outstandingCount > parameterService.getLong(ParameterConstants.PURGE_FIRST_PASS_OUTSTANDING_BATCHES_THRESHOLD)) {
+            log.info("Not dropping partitions because there are {} outstanding batches", outstandingCount);
+            return -1;
+        } else if (outstandingCount > 0) {
+            long minDataId = sqlTemplateDirty.queryForLong(getSql("selectDataEventMinNotStatusSql"), OutgoingBatch.Status.OK.name());
+            if (minDataId > 0) {
+                maxDataId = Math.min(maxDataId, minDataId - 1);
+            }
+        }
+        return maxDataId;
+    }
+
     /**
      * Purge old rows from sym_data_event for batch_ids that are less than min batch_id in sym_outgoing_batch. Stranded rows in sym_data start at the min
      * data_id and end at the lesser of the min data_id in sym_data_event or sym_data_gap. If an expired data gap is within stranded range, then it is repaired
@@ -562,23 +661,102 @@ public class PurgeService extends AbstractService implements IPurgeService {
     }
 
     private int purgeByMinMax(long[] minMax, MinMaxDeleteSql identifier, OutgoingContext context, int maxNumtoPurgeinTx, LongConsumer statConsumer) {
-        long minId = minMax[0];
-        long maxId = 0;
-        long purgeUpToId = minMax[1];
-        long ts = System.currentTimeMillis();
-        int totalCount = 0;
-        int totalDeleteStmts = 0;
-        int idSqlType = symmetricDialect.getSqlTypeForIds();
-        Timestamp cutoffTime = new Timestamp(context.getRetentionCutoff().getTime().getTime());
         identifier = getIdentifierIfUsingExists(identifier);
         String name = getIdentifierName(identifier);
         if (minMax[0] > minMax[1] || minMax[0] <= 0) {
             log.debug("Ending purge early for {} using range {} through {}", name, minMax[0], minMax[1]);
             return 0;
         }
-        List<DataGap> dataGapsExpired = new ArrayList<DataGap>(context.getDataGapsExpired());
         log.info("About to purge {} using range {} through {}", name, minMax[0], minMax[1]);
-        while (minId <= purgeUpToId) {
+        int threadCount = parameterService.getInt(ParameterConstants.PURGE_THREAD_COUNT, 1);
+        List<long[]> ranges = Collections.singletonList(minMax);
+        if (threadCount > 1 && identifier != MinMaxDeleteSql.STRANDED_DATA && identifier != MinMaxDeleteSql.STRANDED_DATA_EVENT) {
+            ranges = getPurgeRanges(minMax[0], minMax[1], threadCount * 4, (long) maxNumtoPurgeinTx * 10);
+        }
+        int totalCount = 0;
+        if (ranges.size() > 1) {
+            totalCount = purgeByMinMaxInParallel(ranges, Math.min(threadCount, ranges.size()), identifier, name, context, maxNumtoPurgeinTx,
+                    statConsumer);
+        } else {
+            PurgeCheckpoint checkpoint = new PurgeCheckpoint(ranges);
+            totalCount = purgeRange(minMax[0], minMax[1], identifier, name, context, maxNumtoPurgeinTx, statConsumer, checkpoint, 0);
+            saveContextLastId(identifier, checkpoint.getLastId());
+        }
+        log.info("Done purging {} of {} rows", totalCount, name);
+        return totalCount;
+    }
+
+    /**
+     * Purges the ranges concurrently on a bounded pool. Ranges finish in any order, so the last id saved to the context is the point up to which every range
+     * is done, and an interrupted purge resumes without skipping a range that was still running.
+     */
+    private int purgeByMinMaxInParallel(List<long[]> ranges, int threadCount, MinMaxDeleteSql identifier, String name, OutgoingContext context,
+            int maxNumtoPurgeinTx, LongConsumer statConsumer) {
+        log.info("Purging {} in {} ranges using {} threads", name, ranges.size(), threadCount);
+        PurgeCheckpoint checkpoint = new PurgeCheckpoint(ranges);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+                new CustomizableThreadFactory(String.format("%s-purge", parameterService.getEngineName().toLowerCase())));
+        int totalCount = 0;
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < ranges.size(); i++) {
+                final int rangeIndex = i;
+                final long[] range = ranges.get(i);
+                futures.add(executor.submit(() -> purgeRange(range[0], range[1], identifier, name, context, maxNumtoPurgeinTx, statConsumer,
+                        checkpoint, rangeIndex)));
+            }
+            for (Future<Integer> future : futures) {
+                while (true) {
+                    try {
+                        totalCount += future.get(DateUtils.MILLIS_PER_MINUTE, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        clusterService.refreshLock(ClusterConstants.PURGE_OUTGOING);
+                        saveContextLastId(identifier, checkpoint.getLastId());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SymmetricException("Interrupted while purging " + name, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new SymmetricException(cause);
+        } finally {
+            executor.shutdownNow();
+            saveContextLastId(identifier, checkpoint.getLastId());
+        }
+        return totalCount;
+    }
+
+    /**
+     * Splits a range of ids into sub-ranges that can be purged independently of each other.
+     *
+     * @param rangeCount
+     *            Maximum number of sub-ranges
+     * @param minRangeSize
+     *            Minimum number of ids in a sub-range, so a small range isn't split
+     * @return list of min and max ids of each sub-range, in order
+     */
+    public static List<long[]> getPurgeRanges(long minId, long maxId, int rangeCount, long minRangeSize) {
+        List<long[]> ranges = new ArrayList<long[]>();
+        long rangeSize = Math.max((maxId - minId + rangeCount) / rangeCount, Math.max(minRangeSize, 1));
+        for (long start = minId; start <= maxId; start += rangeSize) {
+            ranges.add(new long[] { start, Math.min(start + rangeSize - 1, maxId) });
+        }
+        return ranges;
+    }
+
+    private int purgeRange(long minId, long purgeUpToId, MinMaxDeleteSql identifier, String name, OutgoingContext context, int maxNumtoPurgeinTx,
+            LongConsumer statConsumer, PurgeCheckpoint checkpoint, int rangeIndex) {
+        long maxId = 0;
+        long ts = System.currentTimeMillis();
+        int totalCount = 0;
+        int totalDeleteStmts = 0;
+        int idSqlType = symmetricDialect.getSqlTypeForIds();
+        Timestamp cutoffTime = new Timestamp(context.getRetentionCutoff().getTime().getTime());
+        List<DataGap> dataGapsExpired = new ArrayList<DataGap>(context.getDataGapsExpired());
+        while (minId <= purgeUpToId && !Thread.currentThread().isInterrupted()) {
             totalDeleteStmts++;
             maxId = minId + maxNumtoPurgeinTx;
             if (maxId > purgeUpToId) {
@@ -664,16 +842,20 @@ public class PurgeService extends AbstractService implements IPurgeService {
                 log.info("Ending purge of {} early at {} after finding empty space", name, maxId);
                 break;
             }
+            checkpoint.setLastId(rangeIndex, maxId);
             if (System.currentTimeMillis() - ts > DateUtils.MILLIS_PER_MINUTE * 5) {
                 log.info("Purged {} of {} rows so far using {} statements", new Object[] { totalCount, name, totalDeleteStmts });
                 ts = System.currentTimeMillis();
-                clusterService.refreshLock(ClusterConstants.PURGE_OUTGOING);
-                saveContextLastId(identifier, maxId);
+                if (checkpoint.getRangeCount() == 1) {
+                    clusterService.refreshLock(ClusterConstants.PURGE_OUTGOING);
+                    saveContextLastId(identifier, maxId);
+                }
             }
             minId = maxId + 1;
         }
-        saveContextLastId(identifier, maxId);
-        log.info("Done purging {} of {} rows", totalCount, name);
+        if (minId > purgeUpToId) {
+            checkpoint.setLastId(rangeIndex, purgeUpToId);
+        }
         return totalCount;
     }
 
@@ -1058,4 +1240,38 @@ public class PurgeService extends AbstractService implements IPurgeService {
             return minBatchId;
         }
     }
+
+    static class PurgeCheckpoint {
+        private long[] rangeEndIds;
+        private long[] lastIds;
+
+        public PurgeCheckpoint(List<long[]> ranges) {
+            rangeEndIds = new long[ranges.size()];
+            lastIds = new long[ranges.size()];
+            for (int i = 0; i < ranges.size(); i++) {
+                lastIds[i] = ranges.get(i)[0] - 1;
+                rangeEndIds[i] = ranges.get(i)[1];
+            }
+        }
+
+        public synchronized void setLastId(int rangeIndex, long lastId) {
+            lastIds[rangeIndex] = lastId;
+        }
+
+        /**
+         * @return the last id purged where every id before it was also purged
+         */
+        public synchronized long getLastId() {
+            for (int i = 0; i < lastIds.length; i++) {
+                if (lastIds[i] < rangeEndIds[i]) {
+                    return lastIds[i];
+                }
+            }
+            return rangeEndIds[rangeEndIds.length - 1];
+        }
+
+        public int getRangeCount() {
+            return lastIds.length;
+        }
+    }
 }
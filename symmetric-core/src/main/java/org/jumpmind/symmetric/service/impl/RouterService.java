@@ -29,12 +29,15 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -94,6 +97,7 @@ import org.jumpmind.symmetric.route.DefaultDataRouter;
 import org.jumpmind.symmetric.route.DelayRoutingException;
 import org.jumpmind.symmetric.route.FileSyncDataRouter;
 import org.jumpmind.symmetric.route.IBatchAlgorithm;
+import org.jumpmind.symmetric.route.IBatchesRoutedListener;
 import org.jumpmind.symmetric.route.IDataRouter;
 import org.jumpmind.symmetric.route.IDataToRouteReader;
 import org.jumpmind.symmetric.route.JavaDataRouter;
@@ -117,6 +121,11 @@ import org.jumpmind.util.FormatUtils;
  */
 public class RouterService extends AbstractService implements IRouterService, INodeCommunicationExecutor {
     final int MAX_LOGGING_LENGTH = 512;
+    /**
+     * Router types that keep no state in the routing context other than caches, so data using them can be routed by {@link RouterWorkers}
+     */
+    protected static final Set<String> WORKER_ROUTER_TYPES = new HashSet<String>(Arrays.asList("default", "column", "subselect", "lookuptable", "bsh",
+            "java"));
     protected Map<Integer, CounterStat> missingTriggerRouter = new ConcurrentHashMap<Integer, CounterStat>();
     protected Map<String, CounterStat> invalidRouterType = new ConcurrentHashMap<String, CounterStat>();
     protected Map<Integer, CounterStat> missingColumns = new ConcurrentHashMap<Integer, CounterStat>();
@@ -697,11 +706,33 @@ public class RouterService extends AbstractService implements IRouterService, IN
         for (IDataRouter dataRouter : usedRouters) {
             dataRouter.contextCommitted(context);
         }
+        notifyBatchesRouted(batches);
         gapDetector.addDataIds(context.getDataIds());
         context.getDataIds().clear();
         context.setNeedsCommitted(false);
     }
 
+    protected void notifyBatchesRouted(List<OutgoingBatch> batches) {
+        List<IBatchesRoutedListener> listeners = extensionService.getExtensionPointList(IBatchesRoutedListener.class);
+        if (listeners.size() > 0 && batches.size() > 0) {
+            Set<String> nodeIds = new HashSet<String>();
+            for (OutgoingBatch batch : batches) {
+                if (batch.getStatus() == Status.NE) {
+                    nodeIds.add(batch.getNodeId());
+                }
+            }
+            if (nodeIds.size() > 0) {
+                for (IBatchesRoutedListener listener : listeners) {
+                    try {
+                        listener.batchesRouted(nodeIds);
+                    } catch (Exception ex) {
+                        log.warn("Failed to notify listener of routed batches", ex);
+                    }
+                }
+            }
+        }
+    }
+
     protected void completeBatches(ChannelRouterContext context, List<OutgoingBatch> batches, Set<IDataRouter> usedRouters) {
         if (engine.getParameterService().is(ParameterConstants.ROUTING_LOG_STATS_ON_BATCH_ERROR)) {
             engine.getStatisticManager().addRouterStats(context.getStartDataId(), context.getEndDataId(),
@@ -791,14 +822,17 @@ public class RouterService extends AbstractService implements IRouterService, IN
         long statsDataCount = 0;
         long statsDataEventCount = 0;
         final int maxNumberOfEventsBeforeFlush = parameterService.getInt(ParameterConstants.ROUTING_FLUSH_JDBC_BATCH_SIZE);
+        final int subSelectBatchSize = parameterService.getInt(ParameterConstants.ROUTING_SUBSELECT_BATCH_SIZE, 1);
+        final LinkedList<Data> window = new LinkedList<Data>();
+        final RouterWorkers workers = createRouterWorkers(context);
         try {
             long ts = System.currentTimeMillis();
             long startTime = ts;
-            nextData = reader.take();
+            nextData = workers != null ? workers.take(reader) : takeData(reader, context, window, subSelectBatchSize);
             do {
                 if (nextData != null) {
                     data = nextData;
-                    nextData = reader.take();
+                    nextData = workers != null ? workers.take(reader) : takeData(reader, context, window, subSelectBatchSize);
                     if (data != null) {
                         processInfo.setCurrentTableName(data.getTableName());
                         processInfo.incrementCurrentDataCount();
@@ -817,7 +851,8 @@ public class RouterService extends AbstractService implements IRouterService, IN
                             context.setEncountedTransactionBoundary(atTransactionBoundary);
                             statsDataCount++;
                             totalDataCount++;
-                            int dataEventsInserted = routeData(processInfo, data, context);
+                            int dataEventsInserted = workers != null ? insertDataEvents(processInfo, context, workers.getRoutes(data))
+                                    : routeData(processInfo, data, context);
                             statsDataEventCount += dataEventsInserted;
                             totalDataEventCount += dataEventsInserted;
                         }
@@ -881,6 +916,9 @@ public class RouterService extends AbstractService implements IRouterService, IN
             }
         } finally {
             reader.setReading(false);
+            if (workers != null) {
+                workers.close();
+            }
             if (statsDataCount > 0) {
                 engine.getStatisticManager().incrementDataRouted(
                         context.getChannel().getChannelId(), statsDataCount);
@@ -894,9 +932,85 @@ public class RouterService extends AbstractService implements IRouterService, IN
         return totalDataEventCount;
     }
 
-    protected int routeData(ProcessInfo processInfo, Data data, ChannelRouterContext context) {
-        int numberOfDataEventsInserted = 0;
-        List<TriggerRouter> triggerRouters = getTriggerRoutersForData(data, context);
+    /**
+     * Create workers to route the data of the channel on several threads when routing.thread.per.channel.count is more than one. The configuration and file
+     * sync channels are always routed on one thread because their routers keep state in the routing context.
+     */
+    protected RouterWorkers createRouterWorkers(ChannelRouterContext context) {
+        int threadCount = parameterService.getInt(ParameterConstants.ROUTING_THREAD_PER_CHANNEL_COUNT, 1);
+        Channel channel = context.getChannel().getChannel();
+        if (threadCount > 1 && !channel.isFileSyncFlag() && !Constants.CHANNEL_CONFIG.equals(channel.getChannelId())) {
+            return new RouterWorkers(context, threadCount);
+        }
+        return null;
+    }
+
+    /**
+     * Take the next {@link Data} to route. When subselect batching is enabled, a window of data is read ahead from the reader so subselect routers can
+     * resolve the nodes for the whole window with fewer queries before each row is routed.
+     */
+    protected Data takeData(IDataToRouteReader reader, ChannelRouterContext context, LinkedList<Data> window, int windowSize)
+            throws InterruptedException {
+        if (windowSize <= 1) {
+            return reader.take();
+        }
+        if (window.isEmpty()) {
+            Data data = null;
+            do {
+                data = reader.take();
+                window.add(data);
+            } while (data != null && window.size() < windowSize);
+            prefetchSubSelectRoutes(context, window, windowSize);
+        }
+        return window.poll();
+    }
+
+    protected void prefetchSubSelectRoutes(ChannelRouterContext context, List<Data> window, int batchSize) {
+        if (context.getChannel().isIgnoreEnabled()) {
+            return;
+        }
+        Map<String, List<DataMetaData>> dataMetaDatasByRouter = new HashMap<String, List<DataMetaData>>();
+        Map<String, SubSelectDataRouter> subSelectRouters = new HashMap<String, SubSelectDataRouter>();
+        for (Data data : window) {
+            if (data == null || data.isPreRouted() || StringUtils.isNotBlank(data.getNodeList()) || data.getTriggerHistory() == null) {
+                continue;
+            }
+            List<TriggerRouter> triggerRouters = getTriggerRoutersForData(data, context);
+            if (triggerRouters == null) {
+                continue;
+            }
+            Table table = null;
+            for (TriggerRouter triggerRouter : triggerRouters) {
+                Router router = triggerRouter.getRouter();
+                if (triggerRouter.isRouted(data.getDataEventType()) && "subselect".equals(router.getRouterType())) {
+                    if (table == null) {
+                        table = getTableForData(data);
+                    }
+                    DataMetaData dataMetaData = new DataMetaData(data, table, router, context.getChannel());
+                    IDataRouter dataRouter = getDataRouter(router, dataMetaData);
+                    if (dataRouter instanceof SubSelectDataRouter && (data.getTriggerHistory()
+                            .getLastTriggerBuildReason() != TriggerReBuildReason.TRIGGER_HIST_MISSING || doesColumnCountMatchValues(dataMetaData, data))) {
+                        List<DataMetaData> dataMetaDatas = dataMetaDatasByRouter.get(router.getRouterId());
+                        if (dataMetaDatas == null) {
+                            dataMetaDatas = new ArrayList<DataMetaData>();
+                            dataMetaDatasByRouter.put(router.getRouterId(), dataMetaDatas);
+                            subSelectRouters.put(router.getRouterId(), (SubSelectDataRouter) dataRouter);
+                        }
+                        dataMetaDatas.add(dataMetaData);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<String, List<DataMetaData>> entry : dataMetaDatasByRouter.entrySet()) {
+            long ts = System.currentTimeMillis();
+            subSelectRouters.get(entry.getKey()).prefetch(context, entry.getValue(), batchSize);
+            ts = System.currentTimeMillis() - ts;
+            context.incrementStat(ts, ChannelRouterContext.STAT_DATA_ROUTER_MS);
+            context.addTimesByRouter(entry.getKey(), ts);
+        }
+    }
+
+    protected Table getTableForData(Data data) {
         Table table = null;
         if (!isUsingTargetExternalId && data.getTriggerHistory() != null) {
             table = platform.getTableFromCache(data.getTriggerHistory().getSourceCatalogName(), data.getTriggerHistory().getSourceSchemaName(),
@@ -905,11 +1019,26 @@ public class RouterService extends AbstractService implements IRouterService, IN
         if (table == null) {
             table = buildTableFromTriggerHistory(data.getTriggerHistory());
         }
+        return table;
+    }
+
+    protected int routeData(ProcessInfo processInfo, Data data, ChannelRouterContext context) {
+        return insertDataEvents(processInfo, context, findDataRoutes(data, context));
+    }
+
+    /**
+     * Find the nodes that each trigger router routes the data to without assigning it to batches, so it can be called from any thread with a context of
+     * its own.
+     */
+    protected DataRoutes findDataRoutes(Data data, ChannelRouterContext context) {
+        List<TriggerRouter> triggerRouters = getTriggerRoutersForData(data, context);
+        DataRoutes dataRoutes = new DataRoutes(data, getTableForData(data));
         if (triggerRouters != null && triggerRouters.size() > 0) {
             for (TriggerRouter triggerRouter : triggerRouters) {
-                DataMetaData dataMetaData = new DataMetaData(data, table, triggerRouter.getRouter(),
+                DataMetaData dataMetaData = new DataMetaData(data, dataRoutes.table, triggerRouter.getRouter(),
                         context.getChannel());
                 Collection<String> nodeIds = null;
+                boolean forceNonCommon = false;
                 if (!context.getChannel().isIgnoreEnabled()
                         && triggerRouter.isRouted(data.getDataEventType())) {
                     String targetNodeIds = data.getNodeList();
@@ -939,7 +1068,7 @@ public class RouterService extends AbstractService implements IRouterService, IN
                                     triggerRouter);
                             ts = System.currentTimeMillis() - ts;
                             context.incrementStat(ts, ChannelRouterContext.STAT_DATA_ROUTER_MS);
-                            context.addUsedDataRouter(dataRouter);
+                            dataRoutes.usedDataRouters.add(dataRouter);
                             context.addTimesByRouter(triggerRouter.getRouterId(), ts);
                         } catch (DelayRoutingException ex) {
                             throw ex;
@@ -960,23 +1089,14 @@ public class RouterService extends AbstractService implements IRouterService, IN
                         if (!triggerRouter.isPingBackEnabled() && data.getSourceNodeId() != null && !data.getSourceNodeId().equals("")) {
                             nodeIds.remove(data.getSourceNodeId());
                             if (context.isNonCommonForIncoming()) {
-                                context.setForceNonCommon(true);
+                                forceNonCommon = true;
                             }
                         }
                         // should never route to self
                         nodeIds.remove(engine.getNodeService().findIdentityNodeId());
                     }
                 }
-                if (nodeIds != null && nodeIds.size() > 0) {
-                    numberOfDataEventsInserted += insertDataEvents(processInfo, context, dataMetaData, nodeIds);
-                }
-                if (context.isForceNonCommon()) {
-                    context.setForceNonCommon(false);
-                }
-            }
-            if (numberOfDataEventsInserted == 0) {
-                DataMetaData dataMetaData = new DataMetaData(data, table, null, context.getChannel());
-                numberOfDataEventsInserted += insertDataEvents(processInfo, context, dataMetaData, null);
+                dataRoutes.add(dataMetaData, nodeIds, forceNonCommon);
             }
         } else {
             Integer triggerHistId = data.getTriggerHistory() != null ? data.getTriggerHistory().getTriggerHistoryId() : -1;
@@ -986,8 +1106,38 @@ public class RouterService extends AbstractService implements IRouterService, IN
                 missingTriggerRouter.put(triggerHistId, counterStat);
             }
             counterStat.incrementCount();
-            numberOfDataEventsInserted += insertDataEvents(processInfo, context, new DataMetaData(data, table,
+            dataRoutes.missingTriggerRouters = true;
+        }
+        return dataRoutes;
+    }
+
+    /**
+     * Assign the data to the batches of the nodes it was routed to, or to the unrouted batch if it was not routed to any node.
+     */
+    protected int insertDataEvents(ProcessInfo processInfo, ChannelRouterContext context, DataRoutes dataRoutes) {
+        int numberOfDataEventsInserted = 0;
+        for (IDataRouter dataRouter : dataRoutes.usedDataRouters) {
+            context.addUsedDataRouter(dataRouter);
+        }
+        if (dataRoutes.missingTriggerRouters) {
+            numberOfDataEventsInserted += insertDataEvents(processInfo, context, new DataMetaData(dataRoutes.data, dataRoutes.table,
                     null, context.getChannel()), new HashSet<String>(0));
+        } else {
+            for (DataRoute route : dataRoutes.routes) {
+                if (route.forceNonCommon) {
+                    context.setForceNonCommon(true);
+                }
+                if (route.nodeIds != null && route.nodeIds.size() > 0) {
+                    numberOfDataEventsInserted += insertDataEvents(processInfo, context, route.dataMetaData, route.nodeIds);
+                }
+                if (context.isForceNonCommon()) {
+                    context.setForceNonCommon(false);
+                }
+            }
+            if (numberOfDataEventsInserted == 0) {
+                DataMetaData dataMetaData = new DataMetaData(dataRoutes.data, dataRoutes.table, null, context.getChannel());
+                numberOfDataEventsInserted += insertDataEvents(processInfo, context, dataMetaData, null);
+            }
         }
         context.incrementStat(numberOfDataEventsInserted,
                 ChannelRouterContext.STAT_DATA_EVENTS_INSERTED);
@@ -1252,4 +1402,159 @@ public class RouterService extends AbstractService implements IRouterService, IN
         }
         return true;
     }
+
+    /**
+     * Routes the data of a channel on several threads while the routing thread assigns it to batches in the order it was read, so batches are still
+     * created in order and without gaps. Data is partitioned by transaction id, or by table when the channel uses the non-transactional batch algorithm,
+     * so one thread routes all the data of a transaction in order. Data that uses a router which keeps state in the routing context is routed by the
+     * routing thread itself.
+     */
+    protected class RouterWorkers {
+        protected static final int WINDOW_SIZE_PER_THREAD = 100;
+        protected ChannelRouterContext context;
+        protected ExecutorService[] executors;
+        protected ChannelRouterContext[] workerContexts;
+        protected LinkedList<PendingDataRoutes> read = new LinkedList<PendingDataRoutes>();
+        protected LinkedList<PendingDataRoutes> taken = new LinkedList<PendingDataRoutes>();
+        protected int windowSize;
+        protected boolean isReadComplete;
+        protected boolean partitionByTable;
+
+        public RouterWorkers(ChannelRouterContext context, int threadCount) {
+            this.context = context;
+            this.windowSize = threadCount * WINDOW_SIZE_PER_THREAD;
+            this.partitionByTable = NonTransactionalBatchAlgorithm.NAME.equals(context.getChannel().getBatchAlgorithm());
+            this.executors = new ExecutorService[threadCount];
+            this.workerContexts = new ChannelRouterContext[threadCount];
+            String namePrefix = parameterService.getEngineName().toLowerCase() + "-router-" + context.getChannel().getChannelId() + "-";
+            for (int i = 0; i < threadCount; i++) {
+                final String name = namePrefix + (i + 1);
+                executors[i] = Executors.newSingleThreadExecutor(r -> new Thread(r, name));
+                workerContexts[i] = new ChannelRouterContext(context);
+            }
+        }
+
+        /**
+         * Take the next {@link Data} to route, after handing the data read ahead of it to the workers.
+         */
+        public Data take(IDataToRouteReader reader) throws InterruptedException {
+            while (!isReadComplete && read.size() < windowSize) {
+                Data data = reader.take();
+                if (data == null) {
+                    isReadComplete = true;
+                } else {
+                    read.add(submit(data));
+                }
+            }
+            PendingDataRoutes next = read.poll();
+            if (next != null) {
+                taken.add(next);
+                return next.data;
+            }
+            return null;
+        }
+
+        /**
+         * Wait for the routes of data that was taken, or route it on this thread if no worker could route it.
+         */
+        public DataRoutes getRoutes(Data data) throws InterruptedException {
+            PendingDataRoutes pending = taken.poll();
+            while (pending != null && pending.data != data) {
+                pending = taken.poll();
+            }
+            if (pending == null || pending.future == null) {
+                return findDataRoutes(data, context);
+            }
+            try {
+                return pending.future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new SymmetricException(e.getCause());
+            }
+        }
+
+        protected PendingDataRoutes submit(Data data) {
+            Future<DataRoutes> future = null;
+            if (!data.isPreRouted() && isRoutableByWorker(data)) {
+                String key = partitionByTable || data.getTransactionId() == null ? data.getTableName() : data.getTransactionId();
+                int partition = Math.floorMod(key != null ? key.hashCode() : 0, executors.length);
+                ChannelRouterContext workerContext = workerContexts[partition];
+                future = executors[partition].submit(() -> findDataRoutes(data, workerContext));
+            }
+            return new PendingDataRoutes(data, future);
+        }
+
+        protected boolean isRoutableByWorker(Data data) {
+            if (data.getTriggerHistory() == null) {
+                return false;
+            }
+            List<TriggerRouter> triggerRouters = getTriggerRoutersForData(data, context);
+            if (triggerRouters == null || triggerRouters.size() == 0) {
+                return false;
+            }
+            for (TriggerRouter triggerRouter : triggerRouters) {
+                String routerType = triggerRouter.getRouter().getRouterType();
+                if (StringUtils.isNotBlank(routerType) && !WORKER_ROUTER_TYPES.contains(routerType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public void close() {
+            for (int i = 0; i < executors.length; i++) {
+                executors[i].shutdownNow();
+                context.transferStats(workerContexts[i]);
+                for (Map.Entry<String, Long> entry : workerContexts[i].getTimesByRouter().entrySet()) {
+                    context.addTimesByRouter(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    protected static class PendingDataRoutes {
+        protected Data data;
+        protected Future<DataRoutes> future;
+
+        public PendingDataRoutes(Data data, Future<DataRoutes> future) {
+            this.data = data;
+            this.future = future;
+        }
+    }
+
+    /**
+     * The nodes that each trigger router routes a {@link Data} to.
+     */
+    protected static class DataRoutes {
+        protected Data data;
+        protected Table table;
+        protected List<DataRoute> routes = new ArrayList<DataRoute>();
+        protected Set<IDataRouter> usedDataRouters = new HashSet<IDataRouter>();
+        protected boolean missingTriggerRouters;
+
+        public DataRoutes(Data data, Table table) {
+            this.data = data;
+            this.table = table;
+        }
+
+        public void add(DataMetaData dataMetaData, Collection<String> nodeIds, boolean forceNonCommon) {
+            routes.add(new DataRoute(dataMetaData, nodeIds, forceNonCommon));
+        }
+    }
+
+    protected static class DataRoute {
+        protected DataMetaData dataMetaData;
+        protected Collection<String> nodeIds;
+        protected boolean forceNonCommon;
+
+        public DataRoute(DataMetaData dataMetaData, Collection<String> nodeIds, boolean forceNonCommon) {
+            this.dataMetaData = dataMetaData;
+            this.nodeIds = nodeIds;
+            this.forceNonCommon = forceNonCommon;
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.statistic;
+
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the statistics of a channel between flushes with {@link LongAdder}s, so threads that route, extract, send and load data for the same channel
+ * increment them without contending on a lock. The counts are moved into a {@link ChannelStats} when they are flushed.
+ */
+public class ChannelStatsAccumulator {
+    protected String channelId;
+    protected LongAdder dataRouted = new LongAdder();
+    protected volatile long dataUnRouted;
+    protected LongAdder dataExtracted = new LongAdder();
+    protected LongAdder dataBytesExtracted = new LongAdder();
+    protected LongAdder dataExtractedErrors = new LongAdder();
+    protected LongAdder dataEventInserted = new LongAdder();
+    protected LongAdder dataSent = new LongAdder();
+    protected LongAdder dataBytesSent = new LongAdder();
+    protected LongAdder dataSentErrors = new LongAdder();
+    protected LongAdder dataLoaded = new LongAdder();
+    protected LongAdder dataBytesLoaded = new LongAdder();
+    protected LongAdder dataLoadedErrors = new LongAdder();
+    protected LongAdder dataLoadedOutgoing = new LongAdder();
+    protected LongAdder dataBytesLoadedOutgoing = new LongAdder();
+    protected LongAdder dataLoadedOutgoingErrors = new LongAdder();
+
+    public ChannelStatsAccumulator(String channelId) {
+        this.channelId = channelId;
+    }
+
+    /**
+     * Copy the current counts into a new {@link ChannelStats} without resetting them.
+     */
+    public ChannelStats snapshot(String nodeId, String hostName, Date startTime) {
+        ChannelStats stats = new ChannelStats(nodeId, hostName, startTime, null, channelId);
+        stats.setDataRouted(dataRouted.sum());
+        stats.setDataUnRouted(dataUnRouted);
+        stats.setDataExtracted(dataExtracted.sum());
+        stats.setDataBytesExtracted(dataBytesExtracted.sum());
+        stats.setDataExtractedErrors(dataExtractedErrors.sum());
+        stats.setDataEventInserted(dataEventInserted.sum());
+        stats.setDataSent(dataSent.sum());
+        stats.setDataBytesSent(dataBytesSent.sum());
+        stats.setDataSentErrors(dataSentErrors.sum());
+        stats.setDataLoaded(dataLoaded.sum());
+        stats.setDataBytesLoaded(dataBytesLoaded.sum());
+        stats.setDataLoadedErrors(dataLoadedErrors.sum());
+        stats.setDataLoadedOutgoing(dataLoadedOutgoing.sum());
+        stats.setDataBytesLoadedOutgoing(dataBytesLoadedOutgoing.sum());
+        stats.setDataLoadedOutgoingErrors(dataLoadedOutgoingErrors.sum());
+        return stats;
+    }
+
+    /**
+     * Move the current counts into a new {@link ChannelStats} and reset them to zero. Increments made while draining are counted either in the returned
+     * stats or in the next drain, but are never lost.
+     */
+    public ChannelStats drain(String nodeId, String hostName, Date startTime, Date endTime) {
+        ChannelStats stats = new ChannelStats(nodeId, hostName, startTime, endTime, channelId);
+        stats.setDataRouted(dataRouted.sumThenReset());
+        stats.setDataUnRouted(dataUnRouted);
+        stats.setDataExtracted(dataExtracted.sumThenReset());
+        stats.setDataBytesExtracted(dataBytesExtracted.sumThenReset());
+        stats.setDataExtractedErrors(dataExtractedErrors.sumThenReset());
+        stats.setDataEventInserted(dataEventInserted.sumThenReset());
+        stats.setDataSent(dataSent.sumThenReset());
+        stats.setDataBytesSent(dataBytesSent.sumThenReset());
+        stats.setDataSentErrors(dataSentErrors.sumThenReset());
+        stats.setDataLoaded(dataLoaded.sumThenReset());
+        stats.setDataBytesLoaded(dataBytesLoaded.sumThenReset());
+        stats.setDataLoadedErrors(dataLoadedErrors.sumThenReset());
+        stats.setDataLoadedOutgoing(dataLoadedOutgoing.sumThenReset());
+        stats.setDataBytesLoadedOutgoing(dataBytesLoadedOutgoing.sumThenReset());
+        stats.setDataLoadedOutgoingErrors(dataLoadedOutgoingErrors.sumThenReset());
+        return stats;
+    }
+
+    public String getChannelId() {
+        return channelId;
+    }
+
+    public void incrementDataRouted(long count) {
+        dataRouted.add(count);
+    }
+
+    public void setDataUnRouted(long count) {
+        dataUnRouted = count;
+    }
+
+    public void incrementDataExtracted(long count) {
+        dataExtracted.add(count);
+    }
+
+    public void incrementDataBytesExtracted(long count) {
+        dataBytesExtracted.add(count);
+    }
+
+    public void incrementDataExtractedErrors(long count) {
+        dataExtractedErrors.add(count);
+    }
+
+    public void incrementDataEventInserted(long count) {
+        dataEventInserted.add(count);
+    }
+
+    public void incrementDataSent(long count) {
+        dataSent.add(count);
+    }
+
+    public void incrementDataBytesSent(long count) {
+        dataBytesSent.add(count);
+    }
+
+    public void incrementDataSentErrors(long count) {
+        dataSentErrors.add(count);
+    }
+
+    public void incrementDataLoaded(long count) {
+        dataLoaded.add(count);
+    }
+
+    public void incrementDataBytesLoaded(long count) {
+        dataBytesLoaded.add(count);
+    }
+
+    public void incrementDataLoadedErrors(long count) {
+        dataLoadedErrors.add(count);
+    }
+
+    public void incrementDataLoadedOutgoing(long count) {
+        dataLoadedOutgoing.add(count);
+    }
+
+    public void incrementDataBytesLoadedOutgoing(long count) {
+        dataBytesLoadedOutgoing.add(count);
+    }
+
+    public void incrementDataLoadedOutgoingErrors(long count) {
+        dataLoadedOutgoingErrors.add(count);
+    }
+}
@@ -59,7 +59,8 @@ public class StatisticManager implements IStatisticManager {
     protected Logger log = LoggerFactory.getLogger(getClass());
     private static final String UNKNOWN = "Unknown";
     private static final int NUMBER_OF_PERMITS = 1000;
-    private Map<String, ChannelStats> channelStats = new ConcurrentHashMap<String, ChannelStats>();
+    private final Map<String, ChannelStatsAccumulator> channelStats = new ConcurrentHashMap<String, ChannelStatsAccumulator>();
+    private volatile Date channelStatsStartTime = new Date();
     private List<JobStats> jobStats = new ArrayList<JobStats>();
     private HostStats hostStats;
     private ConcurrentHashMap<Long, RouterStats> routerStatsByBatch = new ConcurrentHashMap<Long, RouterStats>();
@@ -68,7 +69,6 @@ public class StatisticManager implements IStatisticManager {
     protected IParameterService parameterService;
     protected IConfigurationService configurationService;
     protected IClusterService clusterService;
-    protected Semaphore channelStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
     protected Semaphore hostStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
     protected Semaphore jobStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
     protected Semaphore tableStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
@@ -208,138 +208,63 @@ public class StatisticManager implements IStatisticManager {
     }
 
     public void incrementDataRouted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataRouted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataRouted(count);
     }
 
     public void setDataUnRouted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).setDataUnRouted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).setDataUnRouted(count);
     }
 
     public void incrementDataExtracted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataExtracted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataExtracted(count);
     }
 
     public void incrementDataBytesExtracted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesExtracted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataBytesExtracted(count);
     }
 
     public void incrementDataExtractedErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataExtractedErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataExtractedErrors(count);
     }
 
     public void incrementDataEventInserted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataEventInserted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataEventInserted(count);
     }
 
     public void incrementDataSent(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataSent(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataSent(count);
     }
 
     public void incrementDataBytesSent(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesSent(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataBytesSent(count);
     }
 
     public void incrementDataSentErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataSentErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataSentErrors(count);
     }
 
     public void incrementDataLoaded(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoaded(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataLoaded(count);
     }
 
     public void incrementDataBytesLoaded(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesLoaded(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataBytesLoaded(count);
     }
 
     public void incrementDataLoadedErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoadedErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataLoadedErrors(count);
     }
 
     public void incrementDataLoadedOutgoing(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoadedOutgoing(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataLoadedOutgoing(count);
     }
 
     public void incrementDataBytesLoadedOutgoing(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesLoadedOutgoing(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataBytesLoadedOutgoing(count);
     }
 
     public void incrementDataLoadedOutgoingErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoadedOutgoingErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStatsAccumulator(channelId).incrementDataLoadedOutgoingErrors(count);
     }
 
     public void incrementRestart() {
@@ -524,28 +449,21 @@ public class StatisticManager implements IStatisticManager {
         boolean recordStatistics = parameterService.is(ParameterConstants.STATISTIC_RECORD_ENABLE,
                 false);
         long recordStatisticsCountThreshold = parameterService.getLong(ParameterConstants.STATISTIC_RECORD_COUNT_THRESHOLD, -1);
-        if (channelStats != null) {
-            channelStatsLock.acquireUninterruptibly(NUMBER_OF_PERMITS);
-            try {
+        synchronized (channelStats) {
+            Date startTime = channelStatsStartTime;
+            Date endTime = new Date();
+            channelStatsStartTime = endTime;
+            Node node = nodeService.getCachedIdentity();
+            String nodeId = node != null ? node.getNodeId() : UNKNOWN;
+            addConfiguredChannels();
+            for (ChannelStatsAccumulator accumulator : channelStats.values()) {
+                ChannelStats stats = accumulator.drain(nodeId, clusterService.getServerId(), startTime, endTime);
                 if (recordStatistics) {
-                    Date endTime = new Date();
-                    for (ChannelStats stats : channelStats.values()) {
-                        if (stats.getNodeId().equals(UNKNOWN)) {
-                            Node node = nodeService.getCachedIdentity();
-                            if (node != null) {
-                                stats.setNodeId(node.getNodeId());
-                            }
-                        }
-                        stats.setEndTime(endTime);
-                        saveAdditionalStats(endTime, stats);
-                        if (stats.isNonZero()) {
-                            statisticService.save(stats);
-                        }
+                    saveAdditionalStats(endTime, stats);
+                    if (stats.isNonZero()) {
+                        statisticService.save(stats);
                     }
                 }
-                resetChannelStats(true);
-            } finally {
-                channelStatsLock.release(NUMBER_OF_PERMITS);
             }
         }
         int rowsLoaded = 0;
@@ -622,18 +540,14 @@ public class StatisticManager implements IStatisticManager {
     }
 
     public Map<String, ChannelStats> getWorkingChannelStats() {
-        if (channelStats != null) {
-            HashMap<String, ChannelStats> stats = new HashMap<String, ChannelStats>();
-            for (ChannelStats stat : channelStats.values()) {
-                ChannelStats newStat = new ChannelStats(stat.getNodeId(), stat.getHostName(), stat.getStartTime(),
-                        stat.getEndTime(), stat.getChannelId());
-                newStat.add(stat);
-                stats.put(newStat.getChannelId(), newStat);
-            }
-            return stats;
-        } else {
-            return new HashMap<String, ChannelStats>();
+        addConfiguredChannels();
+        Node node = nodeService.getCachedIdentity();
+        String nodeId = node != null ? node.getNodeId() : UNKNOWN;
+        HashMap<String, ChannelStats> stats = new HashMap<String, ChannelStats>();
+        for (ChannelStatsAccumulator accumulator : channelStats.values()) {
+            stats.put(accumulator.getChannelId(), accumulator.snapshot(nodeId, clusterService.getServerId(), channelStatsStartTime));
         }
+        return stats;
     }
 
     public List<JobStats> getWorkingJobStats() {
@@ -655,34 +569,18 @@ public class StatisticManager implements IStatisticManager {
         }
     }
 
-    protected void resetChannelStats(boolean force) {
-        if (force) {
-            channelStats = null;
-        }
-        if (channelStats == null) {
-            List<NodeChannel> channels = configurationService.getNodeChannels(false);
-            channelStats = new HashMap<String, ChannelStats>(channels.size());
-            for (NodeChannel nodeChannel : channels) {
-                getChannelStats(nodeChannel.getChannelId());
-            }
+    protected void addConfiguredChannels() {
+        for (NodeChannel nodeChannel : configurationService.getNodeChannels(false)) {
+            getChannelStatsAccumulator(nodeChannel.getChannelId());
         }
     }
 
-    protected ChannelStats getChannelStats(String channelId) {
-        resetChannelStats(false);
-        ChannelStats stats = channelStats.get(channelId);
-        if (stats == null) {
-            Node node = nodeService.getCachedIdentity();
-            if (node != null) {
-                stats = new ChannelStats(node.getNodeId(), clusterService.getServerId(),
-                        new Date(), null, channelId);
-                channelStats.put(channelId, stats);
-            } else {
-                stats = new ChannelStats(UNKNOWN, clusterService.getServerId(), new Date(), null,
-                        channelId);
-            }
+    protected ChannelStatsAccumulator getChannelStatsAccumulator(String channelId) {
+        ChannelStatsAccumulator accumulator = channelStats.get(channelId);
+        if (accumulator == null) {
+            accumulator = channelStats.computeIfAbsent(channelId, id -> new ChannelStatsAccumulator(id));
         }
-        return stats;
+        return accumulator;
     }
 
     protected HostStats getHostStats() {
@@ -47,6 +47,7 @@ import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.common.ServerConstants;
 import org.jumpmind.symmetric.transport.file.FileTransportManager;
+import org.jumpmind.symmetric.transport.http.HttpClientTransportManager;
 import org.jumpmind.symmetric.transport.http.HttpTransportManager;
 import org.jumpmind.symmetric.transport.http.SelfSignedX509TrustManager;
 import org.jumpmind.symmetric.transport.http.SimpleHostnameVerifier;
@@ -57,6 +58,7 @@ import org.slf4j.LoggerFactory;
 public class TransportManagerFactory {
     private static final Logger log = LoggerFactory.getLogger(TransportManagerFactory.class);
     private static boolean isStaticInitialized;
+    private static SSLContext sslContext;
     private ISymmetricEngine symmetricEngine;
 
     public TransportManagerFactory(ISymmetricEngine symmetricEngine) {
@@ -87,7 +89,7 @@ public class TransportManagerFactory {
     }
 
     public ITransportManager create(String transport) {
-        if (Constants.PROTOCOL_HTTP.equalsIgnoreCase(transport)) {
+        if (Constants.PROTOCOL_HTTP.equalsIgnoreCase(transport) || Constants.PROTOCOL_HTTP_CLIENT.equalsIgnoreCase(transport)) {
             String httpSslVerifiedServerNames = symmetricEngine.getParameterService().getString(
                     ServerConstants.HTTPS_VERIFIED_SERVERS);
             // Allow self signed certs based on the parameter value.
@@ -95,6 +97,15 @@ public class TransportManagerFactory {
                     ServerConstants.HTTPS_ALLOW_SELF_SIGNED_CERTS, false);
             boolean https2Enabled = symmetricEngine.getParameterService().is(ServerConstants.HTTPS2_ENABLE, false);
             initHttps(httpSslVerifiedServerNames, allowSelfSignedCerts, https2Enabled);
+            if (Constants.PROTOCOL_HTTP_CLIENT.equalsIgnoreCase(transport)) {
+                if (StringUtils.isBlank(httpSslVerifiedServerNames)) {
+                    return new HttpClientTransportManager(symmetricEngine);
+                }
+                /* the http client does not use the default hostname verifier, so it would reject the server names that are configured as verified */
+                log.warn("The {} transport does not support {}, so the {} transport is used instead.  Clear {} to use the {} transport.",
+                        Constants.PROTOCOL_HTTP_CLIENT, ServerConstants.HTTPS_VERIFIED_SERVERS, Constants.PROTOCOL_HTTP,
+                        ServerConstants.HTTPS_VERIFIED_SERVERS, Constants.PROTOCOL_HTTP_CLIENT);
+            }
             return createHttpTransportManager(symmetricEngine);
         } else if (Constants.PROTOCOL_FILE.equalsIgnoreCase(transport)) {
             return new FileTransportManager(symmetricEngine);
@@ -159,5 +170,13 @@ public class TransportManagerFactory {
         context.init(keyManagers, new TrustManager[] { trustManager }, new SecureRandom());
         SSLSocketFactory sslSocketFactory = context.getSocketFactory();
         HttpsURLConnection.setDefaultSSLSocketFactory(sslSocketFactory);
+        sslContext = context;
+    }
+
+    /**
+     * @return the SSL context that accepts self signed certificates, or null if they are not allowed
+     */
+    public static SSLContext getSslContext() {
+        return sslContext;
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.compression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Registry of the compression codecs that can be negotiated for synchronization payloads. The requesting side lists the codecs it can read in the
+ * Accept-Encoding header with its preferred codec first, and the responding side answers with the first one it also supports and names it in the
+ * Content-Encoding header. Gzip is always available, so peers that only know gzip keep working.
+ */
+public class CompressionCodecFactory {
+    private static final Map<String, ICompressionCodec> codecs = new LinkedHashMap<String, ICompressionCodec>();
+    static {
+        register(new GzipCompressionCodec());
+        register(new ZstdCompressionCodec());
+        register(new Lz4CompressionCodec());
+    }
+
+    private CompressionCodecFactory() {
+    }
+
+    public static synchronized void register(ICompressionCodec codec) {
+        codecs.put(codec.getEncoding().toLowerCase(), codec);
+    }
+
+    /**
+     * @return the codec for an encoding token, or null if it is unknown or not available
+     */
+    public static synchronized ICompressionCodec getCodec(String encoding) {
+        encoding = normalize(encoding);
+        ICompressionCodec codec = encoding != null ? codecs.get(encoding) : null;
+        return codec != null && codec.isAvailable() ? codec : null;
+    }
+
+    /**
+     * @return the codec for an encoding token, falling back to gzip if it is unknown or not available
+     */
+    public static ICompressionCodec getCodecOrDefault(String encoding) {
+        ICompressionCodec codec = getCodec(encoding);
+        return codec != null ? codec : getCodec(GzipCompressionCodec.ENCODING);
+    }
+
+    public static synchronized List<String> getAvailableEncodings() {
+        List<String> encodings = new ArrayList<String>();
+        for (ICompressionCodec codec : codecs.values()) {
+            if (codec.isAvailable()) {
+                encodings.add(codec.getEncoding());
+            }
+        }
+        return encodings;
+    }
+
+    /**
+     * Build an Accept-Encoding header value that lists the available codecs with the preferred one first.
+     */
+    public static String getAcceptEncoding(String preferredEncoding) {
+        List<String> encodings = getAvailableEncodings();
+        ICompressionCodec preferred = getCodec(preferredEncoding);
+        if (preferred != null) {
+            encodings.remove(preferred.getEncoding());
+            encodings.add(0, preferred.getEncoding());
+        }
+        return StringUtils.join(encodings, ", ");
+    }
+
+    /**
+     * Choose the first available codec in the order listed by Accept-Encoding header values, or return null if none is supported.
+     */
+    public static ICompressionCodec negotiate(Iterable<String> acceptEncodings) {
+        if (acceptEncodings != null) {
+            for (String acceptEncoding : acceptEncodings) {
+                if (acceptEncoding != null) {
+                    for (String token : acceptEncoding.split(",")) {
+                        ICompressionCodec codec = getCodec(token);
+                        if (codec != null) {
+                            return codec;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    protected static String normalize(String encoding) {
+        if (StringUtils.isBlank(encoding)) {
+            return null;
+        }
+        encoding = StringUtils.substringBefore(encoding, ";").trim().toLowerCase();
+        encoding = StringUtils.removeStart(encoding, "application/");
+        return StringUtils.removeStart(encoding, "x-");
+    }
+}
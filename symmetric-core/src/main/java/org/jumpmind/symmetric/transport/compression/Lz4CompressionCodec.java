@@ -0,0 +1,75 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream.BLOCKSIZE;
+import net.jpountz.xxhash.XXHashFactory;
+
+/**
+ * Uses the LZ4 frame format. A level of zero or less uses the fast compressor and a positive level uses the high compression compressor at that level.
+ */
+public class Lz4CompressionCodec implements ICompressionCodec {
+    private static final Logger log = LoggerFactory.getLogger(Lz4CompressionCodec.class);
+    public static final String ENCODING = "lz4";
+    private Boolean available;
+
+    @Override
+    public String getEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public synchronized boolean isAvailable() {
+        if (available == null) {
+            try {
+                available = LZ4Factory.fastestInstance() != null;
+            } catch (Throwable e) {
+                log.debug("The lz4 compression codec is not available: {}", e.getMessage());
+                available = false;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, int level, int strategy) throws IOException {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        LZ4Compressor compressor = level > 0 ? factory.highCompressor(level) : factory.fastCompressor();
+        return new LZ4FrameOutputStream(out, BLOCKSIZE.SIZE_64KB, -1L, compressor, XXHashFactory.fastestInstance().hash32(),
+                LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new LZ4FrameInputStream(in);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+
+public class ZstdCompressionCodec implements ICompressionCodec {
+    private static final Logger log = LoggerFactory.getLogger(ZstdCompressionCodec.class);
+    public static final String ENCODING = "zstd";
+    public static final int DEFAULT_LEVEL = 3;
+    private Boolean available;
+
+    @Override
+    public String getEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public synchronized boolean isAvailable() {
+        if (available == null) {
+            try {
+                Native.load();
+                available = Native.isLoaded();
+            } catch (Throwable e) {
+                log.debug("The zstd compression codec is not available: {}", e.getMessage());
+                available = false;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, int level, int strategy) throws IOException {
+        return new ZstdOutputStream(out, level < 0 ? DEFAULT_LEVEL : level);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new ZstdInputStream(in);
+    }
+}
@@ -0,0 +1,525 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link HttpConnection} backed by a shared {@link HttpClient}, so connections to a remote node are kept alive and reused, and HTTP/2 is used when the
+ * remote node offers it. A request body is streamed to the client while it is written. The request holds a permit from the remote node's
+ * {@link HttpClientPool} until the response is closed.
+ * <p>
+ * The read timeout works like a socket read timeout. It limits how long the connection may sit idle, not how long the whole request takes. The clock
+ * restarts whenever the client sends a chunk of the request body, and whenever a read of the response body returns data.
+ */
+public class HttpClientConnection extends HttpConnection {
+    private static final Logger log = LoggerFactory.getLogger(HttpClientConnection.class);
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<String>(Arrays.asList("connection", "content-length", "expect", "host",
+            "upgrade"));
+    private static final ScheduledExecutorService watchdog = createWatchdog();
+    protected HttpClient client;
+    protected HttpClientPool pool;
+    protected String method = "GET";
+    protected Map<String, List<String>> headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+    protected int connectTimeout;
+    protected int readTimeout;
+    protected RequestBodyStream requestBody;
+    protected CompletableFuture<HttpResponse<InputStream>> future;
+    protected HttpResponse<InputStream> response;
+    protected InputStream responseBody;
+    protected boolean holdingPermit;
+    protected long startTime;
+    protected volatile long lastActivityTime;
+
+    public HttpClientConnection(URL url, HttpClient client, HttpClientPool pool) {
+        super(url, null);
+        this.client = client;
+        this.pool = pool;
+    }
+
+    protected void send(HttpRequest.BodyPublisher body) throws IOException {
+        pool.acquire(connectTimeout);
+        holdingPermit = true;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(url.toURI()).method(method, body);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                    for (String value : header.getValue()) {
+                        builder.header(header.getKey(), value);
+                    }
+                }
+            }
+            startTime = System.currentTimeMillis();
+            lastActivityTime = startTime;
+            future = client.sendAsync(builder.build(), BodyHandlers.ofInputStream());
+        } catch (URISyntaxException | RuntimeException e) {
+            pool.requestFailed();
+            release();
+            throw new IOException("Failed to send request to " + url, e);
+        }
+    }
+
+    protected HttpResponse<InputStream> getResponse() throws IOException {
+        if (response == null) {
+            if (future == null) {
+                send(BodyPublishers.noBody());
+            } else if (requestBody != null) {
+                requestBody.close();
+            }
+            try {
+                response = waitForResponse();
+                pool.responseReceived(System.currentTimeMillis() - startTime, response.version() == HttpClient.Version.HTTP_2);
+                if ("HEAD".equals(method)) {
+                    response.body().close();
+                    release();
+                }
+            } catch (ExecutionException e) {
+                pool.requestFailed();
+                release();
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Request to " + url + " failed", e.getCause());
+            } catch (SocketTimeoutException e) {
+                cancel();
+                pool.requestFailed();
+                release();
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                release();
+                throw new InterruptedIOException("Interrupted while waiting for a response from " + url);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Wait for the response headers until the connection has been idle for the read timeout. Sending the request body counts as activity, so a long
+     * push does not time out while it is still streaming.
+     */
+    protected HttpResponse<InputStream> waitForResponse() throws ExecutionException, InterruptedException, SocketTimeoutException {
+        if (readTimeout <= 0) {
+            return future.get();
+        }
+        while (true) {
+            long wait = readTimeout - (System.currentTimeMillis() - lastActivityTime);
+            if (wait <= 0) {
+                throw new SocketTimeoutException("Read timed out after " + readTimeout + " ms waiting for a response from " + url);
+            }
+            try {
+                return future.get(wait, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+            }
+        }
+    }
+
+    /**
+     * Cancel the request and abandon its body, so the thread of the HTTP client that is waiting for more of the body stops instead of waiting forever.
+     */
+    protected void cancel() {
+        future.cancel(true);
+        if (requestBody != null) {
+            requestBody.abandon();
+        }
+    }
+
+    protected synchronized void release() {
+        if (holdingPermit) {
+            holdingPermit = false;
+            pool.release();
+            if (log.isDebugEnabled()) {
+                log.debug("Released connection {}", pool);
+            }
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        close();
+    }
+
+    @Override
+    public void close() {
+        if (future != null && response == null) {
+            cancel();
+        }
+        InputStream body = responseBody != null ? responseBody : response != null ? response.body() : null;
+        if (body != null) {
+            try {
+                body.close();
+            } catch (IOException e) {
+            }
+        }
+        release();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return getHeaderField("Content-Encoding");
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        int code = getResponse().statusCode();
+        if (code >= 400) {
+            throw new IOException("Server returned HTTP response code: " + code + " for URL: " + url);
+        }
+        if (responseBody == null) {
+            responseBody = new ResponseBodyStream(response.body());
+        }
+        return responseBody;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        if (requestBody == null) {
+            if ("GET".equals(method)) {
+                method = "POST";
+            }
+            requestBody = new RequestBodyStream();
+            send(BodyPublishers.ofInputStream(() -> requestBody.getInputStream()));
+        }
+        return requestBody;
+    }
+
+    @Override
+    public void setConnectTimeout(int timeout) {
+        connectTimeout = timeout;
+    }
+
+    @Override
+    public void setReadTimeout(int timeout) {
+        readTimeout = timeout;
+    }
+
+    @Override
+    public void setDoInput(boolean doinput) {
+    }
+
+    @Override
+    public void setDoOutput(boolean dooutput) {
+    }
+
+    @Override
+    public void setAllowUserInteraction(boolean allowuserinteraction) {
+    }
+
+    @Override
+    public void setUseCaches(boolean usecaches) {
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+        List<String> values = new ArrayList<String>(1);
+        values.add(value);
+        headers.put(key, values);
+    }
+
+    @Override
+    public void addRequestProperty(String key, String value) {
+        headers.computeIfAbsent(key, k -> new ArrayList<String>(1)).add(value);
+    }
+
+    @Override
+    public void setChunkedStreamingMode(int chunklen) {
+    }
+
+    @Override
+    public String getHeaderField(String name) {
+        try {
+            return getResponse().headers().firstValue(name).orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaderFields() {
+        try {
+            return getResponse().headers().map();
+        } catch (IOException e) {
+            return new TreeMap<String, List<String>>();
+        }
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(boolean followRedirects) {
+    }
+
+    @Override
+    public void setRequestMethod(String method) throws ProtocolException {
+        this.method = method;
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        return getResponse().statusCode();
+    }
+
+    @Override
+    public void setHostnameVerifier(HostnameVerifier hostnameVerifier) {
+    }
+
+    @Override
+    public void setSslSocketFactory(SSLSocketFactory sslSocketFactory) {
+    }
+
+    @Override
+    public Certificate[] getServerCertificates() {
+        try {
+            if (getResponse().sslSession().isPresent()) {
+                return getResponse().sslSession().get().getPeerCertificates();
+            }
+        } catch (SSLPeerUnverifiedException e) {
+        } catch (IOException e) {
+        }
+        return new Certificate[] {};
+    }
+
+    private static ScheduledExecutorService createWatchdog() {
+        ScheduledThreadPoolExecutor executor = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, "http-client-read-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Fails a read of the response body that blocks longer than the read timeout. The watchdog closes the body stream, which wakes up the blocked
+     * read, and the read then reports the timeout.
+     */
+    protected class ResponseBodyStream extends FilterInputStream {
+        protected volatile boolean timedOut;
+
+        public ResponseBodyStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            ScheduledFuture<?> timer = readTimeout > 0 ? watchdog.schedule(this::timeout, readTimeout, TimeUnit.MILLISECONDS) : null;
+            int count;
+            try {
+                count = super.read(b, off, len);
+            } catch (IOException e) {
+                if (timedOut) {
+                    throw newTimeoutException();
+                }
+                throw e;
+            } finally {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+            }
+            if (timedOut) {
+                throw newTimeoutException();
+            }
+            return count;
+        }
+
+        protected void timeout() {
+            timedOut = true;
+            try {
+                in.close();
+            } catch (IOException e) {
+            }
+        }
+
+        protected SocketTimeoutException newTimeoutException() {
+            return new SocketTimeoutException("Read timed out after " + readTimeout + " ms reading the response from " + url);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Hands the bytes written for the request body to the thread of the HTTP client that sends them, a chunk at a time.
+     */
+    protected class RequestBodyStream extends OutputStream {
+        protected static final int CHUNK_SIZE = 32768;
+        protected final byte[] eof = new byte[0];
+        protected final byte[] abandoned = new byte[0];
+        protected BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<byte[]>(8);
+        protected byte[] buffer = new byte[CHUNK_SIZE];
+        protected int count;
+        protected boolean closed;
+        protected volatile boolean abandon;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                int length = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, length);
+                count += length;
+                off += length;
+                len -= length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                put(Arrays.copyOf(buffer, count));
+                count = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                flush();
+                closed = true;
+                put(eof);
+            }
+        }
+
+        protected void abandon() {
+            abandon = true;
+            chunks.clear();
+            chunks.offer(abandoned);
+        }
+
+        protected void put(byte[] chunk) throws IOException {
+            if (closed && chunk != eof) {
+                throw new IOException("The request body is already closed");
+            }
+            try {
+                while (!chunks.offer(chunk, 1, TimeUnit.SECONDS)) {
+                    if (abandon || future.isDone()) {
+                        throw new IOException("The request to " + url + " ended before its body was sent");
+                    } else if (readTimeout > 0 && System.currentTimeMillis() - lastActivityTime > readTimeout) {
+                        throw new SocketTimeoutException("Write timed out after " + readTimeout + " ms sending the request body to " + url);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while sending the request body to " + url);
+            }
+        }
+
+        protected InputStream getInputStream() {
+            return new InputStream() {
+                byte[] chunk;
+                int position;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] b = new byte[1];
+                    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    try {
+                        while (chunk != eof && chunk != abandoned && (chunk == null || position == chunk.length)) {
+                            /* wake periodically so the request ending before the body is finished is noticed */
+                            chunk = chunks.poll(1, TimeUnit.SECONDS);
+                            position = 0;
+                            if (chunk == null && (abandon || future.isDone())) {
+                                chunk = abandoned;
+                            } else if (chunk != null) {
+                                lastActivityTime = System.currentTimeMillis();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                    if (chunk == eof) {
+                        return -1;
+                    } else if (chunk == abandoned) {
+                        throw new IOException("The request body to " + url + " was abandoned before it was finished");
+                    }
+                    int length = Math.min(len, chunk.length - position);
+                    System.arraycopy(chunk, position, b, off, length);
+                    position += length;
+                    return length;
+                }
+            };
+        }
+    }
+}
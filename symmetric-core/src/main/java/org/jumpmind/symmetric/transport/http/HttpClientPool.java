@@ -0,0 +1,121 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of concurrent requests, and therefore connections, that {@link HttpClientTransportManager} opens to one remote node, and keeps
+ * statistics about them.
+ */
+public class HttpClientPool {
+    protected String authority;
+    protected int maxConnections;
+    protected Semaphore permits;
+    protected AtomicLong requestCount = new AtomicLong();
+    protected AtomicLong failureCount = new AtomicLong();
+    protected AtomicLong http2Count = new AtomicLong();
+    protected AtomicLong waitMillis = new AtomicLong();
+    protected AtomicLong responseMillis = new AtomicLong();
+
+    public HttpClientPool(String authority, int maxConnections) {
+        this.authority = authority;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    public void acquire(long timeoutMillis) throws IOException {
+        long ts = System.currentTimeMillis();
+        try {
+            if (!permits.tryAcquire(timeoutMillis > 0 ? timeoutMillis : Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+                failureCount.incrementAndGet();
+                throw new IOException("Timed out after " + timeoutMillis + " ms waiting for one of " + maxConnections + " connections to "
+                        + authority);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection to " + authority, e);
+        }
+        requestCount.incrementAndGet();
+        waitMillis.addAndGet(System.currentTimeMillis() - ts);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public void responseReceived(long millis, boolean http2) {
+        responseMillis.addAndGet(millis);
+        if (http2) {
+            http2Count.incrementAndGet();
+        }
+    }
+
+    public void requestFailed() {
+        failureCount.incrementAndGet();
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getActiveConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    public long getHttp2Count() {
+        return http2Count.get();
+    }
+
+    public long getWaitMillis() {
+        return waitMillis.get();
+    }
+
+    public long getResponseMillis() {
+        return responseMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return authority + " [active=" + getActiveConnections() + "/" + maxConnections + ", waiting=" + getWaitingThreads() + ", requests="
+                + getRequestCount() + ", failures=" + getFailureCount() + ", http2=" + getHttp2Count() + ", waitMillis=" + getWaitMillis()
+                + ", responseMillis=" + getResponseMillis() + "]";
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.net.ssl.SSLContext;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.transport.TransportManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends requests with a single {@link HttpClient} that is shared by all jobs, so connections to a node are kept alive between syncs and HTTP/2 is used
+ * with nodes that support it. The number of concurrent requests to each node is bounded by an {@link HttpClientPool}. Selected with
+ * transport.type=httpclient.
+ */
+public class HttpClientTransportManager extends HttpTransportManager {
+    private static final Logger log = LoggerFactory.getLogger(HttpClientTransportManager.class);
+    protected HttpClient client;
+    protected Map<String, HttpClientPool> pools = new ConcurrentHashMap<String, HttpClientPool>();
+
+    public HttpClientTransportManager(ISymmetricEngine engine) {
+        super(engine);
+        IParameterService parameterService = engine.getParameterService();
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(parameterService.is(ParameterConstants.TRANSPORT_HTTP_CLIENT_HTTP2_ENABLED, true) ? HttpClient.Version.HTTP_2
+                        : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER);
+        int connectTimeout = parameterService.getInt(ParameterConstants.TRANSPORT_HTTP_CONNECT_TIMEOUT);
+        if (connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+        SSLContext sslContext = TransportManagerFactory.getSslContext();
+        try {
+            builder.sslContext(sslContext != null ? sslContext : SSLContext.getDefault());
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("Unable to get the default SSL context: {}", e.getMessage());
+        }
+        client = builder.build();
+    }
+
+    @Override
+    protected HttpConnection createConnection(URL url) throws IOException {
+        HttpClientPool pool = pools.computeIfAbsent(url.getAuthority(), authority -> new HttpClientPool(authority, Math.max(1,
+                engine.getParameterService().getInt(ParameterConstants.TRANSPORT_HTTP_CLIENT_MAX_CONNECTIONS_PER_NODE, 4))));
+        if (log.isDebugEnabled()) {
+            log.debug("Opening connection {}", pool);
+        }
+        return new HttpClientConnection(url, client, pool);
+    }
+
+    public Collection<HttpClientPool> getPools() {
+        return pools.values();
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+}
@@ -47,6 +47,11 @@ public class HttpConnection implements Closeable {
         conn = (HttpURLConnection) url.openConnection();
     }
 
+    protected HttpConnection(URL url, HttpURLConnection conn) {
+        this.url = url;
+        this.conn = conn;
+    }
+
     public void disconnect() {
         conn.disconnect();
     }
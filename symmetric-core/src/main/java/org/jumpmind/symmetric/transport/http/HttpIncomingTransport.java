@@ -152,6 +152,7 @@ public class HttpIncomingTransport implements IIncomingTransport {
                 throw new NoContentException();
             case WebConstants.SC_OK:
                 httpTransportManager.updateSession(connection);
+                httpTransportManager.updateEncoding(connection);
                 is = HttpTransportManager.getInputStreamFrom(connection);
                 return is;
             default:
@@ -30,7 +30,6 @@ import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.jumpmind.exception.HttpException;
@@ -51,6 +50,7 @@ import org.jumpmind.symmetric.transport.NoReservationException;
 import org.jumpmind.symmetric.transport.ServiceNotReadyException;
 import org.jumpmind.symmetric.transport.ServiceUnavailableException;
 import org.jumpmind.symmetric.transport.SyncDisabledException;
+import org.jumpmind.symmetric.transport.compression.ICompressionCodec;
 import org.jumpmind.symmetric.web.WebConstants;
 
 public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
@@ -67,6 +67,7 @@ public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
     private boolean useCompression;
     private int compressionStrategy;
     private int compressionLevel;
+    private ICompressionCodec codec;
     private String nodeId;
     private String securityToken;
     private boolean streamOutputEnabled = false;
@@ -210,9 +211,13 @@ public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
             }
             if (!fileUpload) {
                 connection.setRequestMethod("PUT");
-                connection.setRequestProperty("Accept-Encoding", "gzip");
+                connection.setRequestProperty("Accept-Encoding", httpTransportManager.getAcceptEncoding());
                 if (useCompression) {
-                    connection.addRequestProperty("Content-Type", "gzip"); // application/x-gzip?
+                    codec = httpTransportManager.getCompressionCodec(connection);
+                    if (codec != httpTransportManager.getCompressionCodec()) {
+                        compressionLevel = httpTransportManager.getCompressionLevel(codec);
+                    }
+                    connection.addRequestProperty("Content-Type", codec.getEncoding());
                 }
             } else {
                 connection.setRequestMethod("POST");
@@ -221,12 +226,7 @@ public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
             }
             os = connection.getOutputStream();
             if (!fileUpload && useCompression) {
-                os = new GZIPOutputStream(os, 128, true) {
-                    {
-                        this.def.setLevel(compressionLevel);
-                        this.def.setStrategy(compressionStrategy);
-                    }
-                };
+                os = codec.compress(os, compressionLevel, compressionStrategy);
             }
             if (fileUpload) {
                 final String fileName = "file.zip";
@@ -33,9 +33,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.GZIPInputStream;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.exception.IoException;
 import org.jumpmind.symmetric.AbstractSymmetricEngine;
 import org.jumpmind.symmetric.ISymmetricEngine;
@@ -50,6 +49,9 @@ import org.jumpmind.symmetric.transport.IIncomingTransport;
 import org.jumpmind.symmetric.transport.IOutgoingWithResponseTransport;
 import org.jumpmind.symmetric.transport.ITransportManager;
 import org.jumpmind.symmetric.transport.TransportUtils;
+import org.jumpmind.symmetric.transport.compression.CompressionCodecFactory;
+import org.jumpmind.symmetric.transport.compression.GzipCompressionCodec;
+import org.jumpmind.symmetric.transport.compression.ICompressionCodec;
 import org.jumpmind.symmetric.web.WebConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +63,7 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
     private static final Logger log = LoggerFactory.getLogger(HttpTransportManager.class);
     protected ISymmetricEngine engine;
     protected Map<String, String> sessionIdByUri = new HashMap<String, String>();
+    protected Map<String, String> encodingByUri = new ConcurrentHashMap<String, String>();
     protected boolean useHeaderSecurityToken;
     protected boolean useSessionAuth;
 
@@ -167,7 +170,7 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
 
     public HttpConnection openConnection(URL url, String nodeId, String securityToken)
             throws IOException {
-        HttpConnection conn = new HttpConnection(url);
+        HttpConnection conn = createConnection(url);
         conn.setRequestProperty(WebConstants.HEADER_ACCEPT_CHARSET, StandardCharsets.UTF_8.name());
         boolean hasSession = false;
         if (useSessionAuth) {
@@ -183,6 +186,10 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
         return conn;
     }
 
+    protected HttpConnection createConnection(URL url) throws IOException {
+        return new HttpConnection(url);
+    }
+
     public void updateSession(HttpConnection conn) {
         if (useSessionAuth) {
             String sessionId = conn.getHeaderField(WebConstants.HEADER_SET_SESSION_ID);
@@ -198,6 +205,17 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
         }
     }
 
+    /**
+     * Remember the codec the remote chose for a compressed response. It picks the first codec from our Accept-Encoding that it can handle, so
+     * this tells us whether it can also read our preferred codec on push.
+     */
+    public void updateEncoding(HttpConnection conn) {
+        ICompressionCodec codec = CompressionCodecFactory.getCodec(conn.getContentEncoding());
+        if (codec != null) {
+            encodingByUri.put(getUri(conn), codec.getEncoding());
+        }
+    }
+
     protected String getUri(HttpConnection conn) {
         String uri = conn.getURL().toExternalForm();
         uri = uri.substring(0, uri.lastIndexOf("/"));
@@ -226,8 +244,38 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
         return engine.getParameterService().is(ParameterConstants.TRANSPORT_HTTP_USE_COMPRESSION_CLIENT) && targetEngine == null;
     }
 
+    public ICompressionCodec getCompressionCodec() {
+        return CompressionCodecFactory.getCodecOrDefault(getCompressionCodecName());
+    }
+
+    public String getAcceptEncoding() {
+        return CompressionCodecFactory.getAcceptEncoding(getCompressionCodecName());
+    }
+
+    /**
+     * @return the configured codec if the remote has advertised it in an earlier response, otherwise gzip
+     */
+    public ICompressionCodec getCompressionCodec(HttpConnection conn) {
+        ICompressionCodec codec = getCompressionCodec();
+        if (!(codec instanceof GzipCompressionCodec) && !codec.getEncoding().equals(encodingByUri.get(getUri(conn)))) {
+            codec = CompressionCodecFactory.getCodec(GzipCompressionCodec.ENCODING);
+        }
+        return codec;
+    }
+
+    protected String getCompressionCodecName() {
+        return engine != null ? engine.getParameterService().getString(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_CODEC) : null;
+    }
+
     public int getCompressionLevel() {
-        return engine.getParameterService().getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_LEVEL);
+        return getCompressionLevel(getCompressionCodec());
+    }
+
+    public int getCompressionLevel(ICompressionCodec codec) {
+        if (codec instanceof GzipCompressionCodec) {
+            return engine.getParameterService().getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_LEVEL);
+        }
+        return engine.getParameterService().getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_CODEC_LEVEL, -1);
     }
 
     public int getCompressionStrategy() {
@@ -373,7 +421,7 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
 
     protected HttpConnection createGetConnectionFor(URL url, String nodeId, String securityToken) throws IOException {
         HttpConnection conn = openConnection(url, nodeId, securityToken);
-        conn.setRequestProperty("accept-encoding", "gzip");
+        conn.setRequestProperty("accept-encoding", getAcceptEncoding());
         conn.setConnectTimeout(getHttpConnectTimeOutInMs());
         conn.setReadTimeout(getHttpTimeOutInMs());
         conn.setRequestMethod("GET");
@@ -385,22 +433,22 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
     }
 
     protected static InputStream getInputStreamFrom(HttpConnection connection) throws IOException {
-        String type = connection.getContentEncoding();
         InputStream in = connection.getInputStream();
-        if (!StringUtils.isBlank(type) && type.equals("gzip")) {
-            in = new GZIPInputStream(in);
+        ICompressionCodec codec = CompressionCodecFactory.getCodec(connection.getContentEncoding());
+        if (codec != null) {
+            in = codec.decompress(in);
         }
         return in;
     }
 
     /**
-     * If the content is gzip'd, then uncompress.
+     * If the content is compressed, then uncompress.
      */
     protected static BufferedReader getReaderFrom(HttpConnection connection) throws IOException {
-        String type = connection.getContentEncoding();
         InputStream in = connection.getInputStream();
-        if (!StringUtils.isBlank(type) && type.equals("gzip")) {
-            in = new GZIPInputStream(in);
+        ICompressionCodec codec = CompressionCodecFactory.getCodec(connection.getContentEncoding());
+        if (codec != null) {
+            in = codec.decompress(in);
         }
         return TransportUtils.toReader(in);
     }
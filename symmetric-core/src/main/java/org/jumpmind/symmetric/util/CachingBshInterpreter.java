@@ -0,0 +1,151 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.util;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import bsh.CallStack;
+import bsh.EvalError;
+import bsh.Interpreter;
+import bsh.ParseException;
+import bsh.Parser;
+import bsh.Primitive;
+import bsh.TokenMgrError;
+
+/**
+ * A bean shell interpreter that parses each script it is asked to evaluate only once. The first time a script is seen its statements are parsed and kept,
+ * and every evaluation runs the kept statements against the global namespace, just like {@link #eval(String)} does after parsing. Variables the script
+ * assigns without a type stay set on the interpreter between evaluations. The syntax tree classes of bean shell are not public, so the statements are run
+ * through reflection. A script that cannot be parsed, or a bean shell version whose syntax tree cannot be reached, is evaluated with {@link #eval(String)}
+ * each time.
+ */
+public class CachingBshInterpreter extends Interpreter {
+    private static final long serialVersionUID = 1L;
+    private static final Method EVAL_NODE;
+    private static final Method SET_SOURCE_FILE;
+    private static final Class<?> RETURN_CONTROL;
+    private static final Field RETURN_VALUE;
+    static {
+        Method evalNode = null;
+        Method setSourceFile = null;
+        Class<?> returnControl = null;
+        Field returnValue = null;
+        try {
+            Class<?> simpleNode = Class.forName("bsh.SimpleNode");
+            evalNode = simpleNode.getMethod("eval", CallStack.class, Interpreter.class);
+            evalNode.setAccessible(true);
+            setSourceFile = simpleNode.getMethod("setSourceFile", String.class);
+            setSourceFile.setAccessible(true);
+            returnControl = Class.forName("bsh.ReturnControl");
+            returnValue = returnControl.getField("value");
+            returnValue.setAccessible(true);
+        } catch (Exception e) {
+            evalNode = null;
+        }
+        EVAL_NODE = evalNode;
+        SET_SOURCE_FILE = setSourceFile;
+        RETURN_CONTROL = returnControl;
+        RETURN_VALUE = returnValue;
+    }
+
+    private Map<String, List<Object>> statementsByScript = new HashMap<String, List<Object>>();
+
+    public Object evalScript(String script) throws EvalError {
+        if (EVAL_NODE == null) {
+            return eval(script);
+        }
+        List<Object> statements = statementsByScript.get(script);
+        if (statements == null) {
+            try {
+                statements = parse(script);
+            } catch (ParseException | TokenMgrError e) {
+                /* evaluate it the usual way so the error is reported exactly as before */
+                return eval(script);
+            }
+            statementsByScript.put(script, statements);
+        }
+        CallStack callstack = new CallStack(getNameSpace());
+        Object result = null;
+        for (Object statement : statements) {
+            result = invoke(EVAL_NODE, statement, callstack, this);
+            if (RETURN_CONTROL.isInstance(result)) {
+                result = getReturnValue(result);
+                break;
+            }
+        }
+        return Primitive.unwrap(result);
+    }
+
+    public Object invokeMethod(String methodName) throws EvalError {
+        return Primitive.unwrap(getNameSpace().invokeMethod(methodName, new Object[0], this));
+    }
+
+    protected List<Object> parse(String script) throws ParseException, EvalError {
+        /* like eval, end a bare expression with a semicolon */
+        String statements = script.endsWith(";") ? script : script + ";";
+        String sourceFile = "inline evaluation of: ``" + statements + "''";
+        Parser parser = new Parser(new StringReader(statements));
+        List<Object> nodes = new ArrayList<Object>();
+        boolean eof = false;
+        while (!eof) {
+            eof = parser.Line();
+            Object node = parser.popNode();
+            if (node != null) {
+                invoke(SET_SOURCE_FILE, node, sourceFile);
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    protected Object invoke(Method method, Object target, Object... args) throws EvalError {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof EvalError) {
+                throw (EvalError) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new EvalError(cause.toString(), null, null);
+        } catch (IllegalAccessException e) {
+            throw new EvalError(e.toString(), null, null);
+        }
+    }
+
+    protected Object getReturnValue(Object returnControl) throws EvalError {
+        try {
+            return RETURN_VALUE.get(returnControl);
+        } catch (IllegalAccessException e) {
+            throw new EvalError(e.toString(), null, null);
+        }
+    }
+}
@@ -98,6 +98,7 @@ public class WebConstants {
     public static final String IGNORED_CHANNELS = "Ignored-Channels";
     public static final String BATCH_TO_SEND_COUNT = "Batch-To-Send-Count";
     public static final String CHANNEL_QUEUE = "threadChannel";
+    public static final String LONG_POLL_WAIT_MS = "Long-Poll-Wait-Ms";
     public static final String CONFIG_VERSION = "configVersion";
     public static final String SESSION_PREFIX = "JSESSIONID_";
     public static final String HEADER_SECURITY_TOKEN = "Security-Token";
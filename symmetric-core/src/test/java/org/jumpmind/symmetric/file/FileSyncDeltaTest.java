@@ -0,0 +1,142 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.jumpmind.symmetric.file.FileSyncDelta.SignatureBuilder;
+import org.jumpmind.symmetric.file.FileSyncDelta.SignatureStore;
+import org.jumpmind.symmetric.file.FileSyncDelta.Signatures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FileSyncDeltaTest {
+    static final int BLOCK_SIZE = 1024;
+    File directory = new File("target/delta");
+    File baseFile = new File(directory, "base.dat");
+    File deltaFile = new File(directory, "base.dat" + FileSyncDelta.DELTA_FILE_SUFFIX);
+    File targetFile = new File(directory, "target.dat");
+    Random random = new Random(42);
+
+    @BeforeEach
+    public void setupTest() {
+        FileUtils.deleteQuietly(directory);
+        directory.mkdirs();
+    }
+
+    @AfterEach
+    public void cleanupTest() {
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void testDeltaOfInsertedAndChangedBytes() throws Exception {
+        byte[] base = randomBytes(BLOCK_SIZE * 200 + 100);
+        byte[] changed = new byte[base.length + 10];
+        System.arraycopy(base, 0, changed, 0, 5000);
+        System.arraycopy(randomBytes(10), 0, changed, 5000, 10);
+        System.arraycopy(base, 5000, changed, 5010, base.length - 5000);
+        changed[100000] ^= 1;
+        long deltaLength = applyDelta(base, changed);
+        assertTrue(deltaLength < BLOCK_SIZE * 4 + 200, "The delta was " + deltaLength + " bytes");
+    }
+
+    @Test
+    public void testDeltaOfUnrelatedContent() throws Exception {
+        applyDelta(randomBytes(BLOCK_SIZE * 10), randomBytes(BLOCK_SIZE * 12 + 7));
+    }
+
+    @Test
+    public void testDeltaOfTruncatedAndEmptyContent() throws Exception {
+        byte[] base = randomBytes(BLOCK_SIZE * 10);
+        byte[] truncated = new byte[BLOCK_SIZE * 3 + 5];
+        System.arraycopy(base, BLOCK_SIZE * 2, truncated, 0, truncated.length);
+        applyDelta(base, truncated);
+        applyDelta(base, new byte[0]);
+    }
+
+    @Test
+    public void testBaseMismatch() throws Exception {
+        byte[] base = randomBytes(BLOCK_SIZE * 10);
+        writeDelta(base, randomBytes(BLOCK_SIZE * 10));
+        base[0] ^= 1;
+        FileUtils.writeByteArrayToFile(baseFile, base);
+        FileSyncDeltaException ex = assertThrows(FileSyncDeltaException.class, () -> FileSyncDelta.apply(baseFile, deltaFile, targetFile));
+        assertTrue(FileSyncDeltaException.isBaseMismatch(ex.getMessage()));
+        assertFalse(targetFile.exists());
+    }
+
+    @Test
+    public void testSignatureStore() throws Exception {
+        SignatureStore store = new SignatureStore(new File(directory, "signatures"), BLOCK_SIZE);
+        Signatures signatures = sign(randomBytes(BLOCK_SIZE * 3 + 1));
+        store.put("001", "trigger", "router", "a/b", "file.dat", signatures);
+        Signatures stored = store.get("001", "trigger", "router", "a/b", "file.dat");
+        assertNotNull(stored);
+        assertEquals(3, stored.getBlockCount());
+        assertEquals(signatures.getLength(), stored.getLength());
+        assertEquals(signatures.getCrc32(), stored.getCrc32());
+        assertEquals(null, new SignatureStore(new File(directory, "signatures"), BLOCK_SIZE * 2).get("001", "trigger", "router", "a/b", "file.dat"));
+        store.remove("001", "trigger", "router", "a/b", "file.dat");
+        assertEquals(null, store.get("001", "trigger", "router", "a/b", "file.dat"));
+    }
+
+    protected long applyDelta(byte[] base, byte[] changed) throws Exception {
+        Signatures signatures = writeDelta(base, changed);
+        assertEquals(changed.length, signatures.getLength());
+        assertEquals(sign(changed).getCrc32(), signatures.getCrc32());
+        FileUtils.writeByteArrayToFile(baseFile, base);
+        FileSyncDelta.apply(baseFile, deltaFile, targetFile);
+        assertArrayEquals(changed, FileUtils.readFileToByteArray(targetFile));
+        return deltaFile.length();
+    }
+
+    protected Signatures writeDelta(byte[] base, byte[] changed) throws Exception {
+        try (OutputStream out = new FileOutputStream(deltaFile)) {
+            return FileSyncDelta.createDelta(new ByteArrayInputStream(changed), sign(base), out);
+        }
+    }
+
+    protected Signatures sign(byte[] content) {
+        SignatureBuilder signer = new SignatureBuilder(BLOCK_SIZE);
+        signer.update(content, 0, content.length);
+        return signer.finish();
+    }
+
+    protected byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.jumpmind.symmetric.model.FileSnapshot;
+import org.jumpmind.symmetric.model.FileSnapshot.LastEventType;
+import org.jumpmind.symmetric.model.FileTrigger;
+import org.jumpmind.symmetric.model.FileTriggerRouter;
+import org.jumpmind.symmetric.model.Router;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FileTriggerWatcherTest {
+    File directory = new File("target/watch");
+    File subdirectory = new File(directory, "a");
+    File fileInDirectory = new File(directory, "1.txt");
+    File fileInSubDirectory = new File(subdirectory, "2.txt");
+    FileTriggerWatcher watcher;
+
+    @BeforeEach
+    public void setupTest() throws Exception {
+        FileUtils.deleteQuietly(directory);
+        subdirectory.mkdirs();
+        FileUtils.write(fileInDirectory, "abc", Charset.defaultCharset(), false);
+        FileUtils.write(fileInSubDirectory, "abc", Charset.defaultCharset(), false);
+    }
+
+    @AfterEach
+    public void cleanupTest() {
+        if (watcher != null) {
+            watcher.close();
+        }
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void testTrackChangesFromEvents() throws Exception {
+        FileTriggerRouter fileTriggerRouter = new FileTriggerRouter(new FileTrigger(directory.getAbsolutePath(), true, null, null), new Router());
+        watcher = new FileTriggerWatcher(fileTriggerRouter, false, 0, null);
+        assertEquals(3, watcher.rescan(new DirectorySnapshot(fileTriggerRouter), null).size());
+        assertFalse(watcher.isRescanNeeded());
+        File newDirectory = new File(subdirectory, "b");
+        File fileInNewDirectory = new File(newDirectory, "3.txt");
+        newDirectory.mkdirs();
+        FileUtils.write(fileInNewDirectory, "abc", Charset.defaultCharset(), false);
+        FileUtils.write(fileInSubDirectory, "abcdef", Charset.defaultCharset(), false);
+        FileUtils.deleteQuietly(fileInDirectory);
+        Map<String, LastEventType> changes = waitForChanges(4);
+        assertEquals(LastEventType.CREATE, changes.get("a/b"));
+        assertEquals(LastEventType.CREATE, changes.get("a/b/3.txt"));
+        assertEquals(LastEventType.MODIFY, changes.get("a/2.txt"));
+        assertEquals(LastEventType.DELETE, changes.get("./1.txt"));
+        File later = new File(newDirectory, "4.txt");
+        FileUtils.write(later, "abc", Charset.defaultCharset(), false);
+        assertEquals(LastEventType.CREATE, waitForChanges(1).get("a/b/4.txt"));
+    }
+
+    @Test
+    public void testFallsBackToFullScanWhenWatchFails() throws Exception {
+        FileTriggerRouter fileTriggerRouter = new FileTriggerRouter(new FileTrigger(directory.getAbsolutePath(), true, null, null), new Router());
+        int[] registerAttempts = new int[1];
+        boolean[] failRegister = { true };
+        watcher = new FileTriggerWatcher(fileTriggerRouter, false, 60000, null) {
+            @Override
+            protected void register(Path dir, boolean created) throws IOException {
+                registerAttempts[0]++;
+                if (failRegister[0]) {
+                    throw new IOException("User limit of inotify watches reached");
+                }
+                super.register(dir, created);
+            }
+        };
+        assertEquals(3, watcher.rescan(new DirectorySnapshot(fileTriggerRouter), null).size());
+        assertTrue(watcher.isWatchFailed());
+        assertTrue(watcher.isRescanNeeded());
+        assertNull(watcher.pollChanges(null));
+
+        FileUtils.write(new File(subdirectory, "3.txt"), "abc", Charset.defaultCharset(), false);
+        assertEquals(4, watcher.rescan(new DirectorySnapshot(fileTriggerRouter), null).size());
+        assertEquals(1, registerAttempts[0], "Watching should not be retried before the rescan period");
+
+        failRegister[0] = false;
+        watcher.lastWatchAttemptTime -= 60000;
+        assertEquals(4, watcher.rescan(new DirectorySnapshot(fileTriggerRouter), null).size());
+        assertEquals(2, registerAttempts[0]);
+        assertFalse(watcher.isWatchFailed());
+        assertFalse(watcher.isRescanNeeded());
+        FileUtils.write(new File(directory, "5.txt"), "abc", Charset.defaultCharset(), false);
+        assertEquals(LastEventType.CREATE, waitForChanges(1).get("./5.txt"));
+    }
+
+    protected Map<String, LastEventType> waitForChanges(int count) throws Exception {
+        Map<String, LastEventType> changes = new HashMap<String, LastEventType>();
+        long end = System.currentTimeMillis() + 10000;
+        while (changes.size() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(100);
+            DirectorySnapshot snapshot = watcher.pollChanges(null);
+            assertNotNull(snapshot);
+            for (FileSnapshot file : snapshot) {
+                changes.put(file.getRelativeDir() + "/" + file.getFileName(), file.getLastEventType());
+            }
+        }
+        assertEquals(count, changes.size(), changes.toString());
+        return changes;
+    }
+}
@@ -34,6 +34,7 @@ public class DbCompareTest {
     protected final String emptyTableWithNoPK = "EMPTYTABLEWITHNOPK";
     protected final String nonEmptyTableWithPKWithDifferences = "NONEMPTYTABLEWITHPKWITHDIFFERENCES";
     protected final String nonEmptyTableWithNoPKNoDifferences = "NONEMPTYTABLEWITHNOPKNODIFFERENCES";
+    protected final String hashCompareTable = "HASHCOMPARETABLE";
     public List<String> sourceTableNames;
     public List<String> targetTableNames;
     private static boolean firstTimeSetup = true;
@@ -179,4 +180,46 @@ public class DbCompareTest {
         assertTrue(reportOutput.getErrorRows() == 0);
         assertTrue(reportOutput.getThrowable() == null);
     }
+
+    @Test
+    public void compareTableWithNoDifferencesByHash() {
+        changeTableBeingTested(nonEmptyTableWithPKNoDifferences);
+        config.setHashCompare(true);
+        List<String> rowCompares = new ArrayList<>();
+        test = newRowCompareCountingDbCompare(rowCompares);
+        TableReport reportOutput = test.compare().getTableReports().get(0);
+        assertEquals(0, rowCompares.size());
+        assertEquals(2, reportOutput.getSourceRows());
+        assertEquals(2, reportOutput.getTargetRows());
+        assertEquals(2, reportOutput.getMatchedRows());
+    }
+
+    @Test
+    public void compareTableWithDifferencesByHash() {
+        changeTableBeingTested(hashCompareTable);
+        config.setHashCompare(true);
+        config.setHashLeafRows(1);
+        List<String> rowCompares = new ArrayList<>();
+        test = newRowCompareCountingDbCompare(rowCompares);
+        TableReport reportOutput = test.compare().getTableReports().get(0);
+        assertEquals(3, rowCompares.size());
+        assertEquals(6, reportOutput.getSourceRows());
+        assertEquals(6, reportOutput.getTargetRows());
+        assertEquals(4, reportOutput.getMatchedRows());
+        assertEquals(1, reportOutput.getDifferentRows());
+        assertEquals(1, reportOutput.getMissingRows());
+        assertEquals(1, reportOutput.getExtraRows());
+        assertEquals(0, reportOutput.getErrorRows());
+    }
+
+    protected DbCompare newRowCompareCountingDbCompare(List<String> rowCompares) {
+        return new DbCompare(sourceEngine, targetEngine, config) {
+            @Override
+            protected void compareRows(DbCompareTables tables, String sourceSelect, String targetSelect, TableReport tableReport,
+                    DbCompareDiffWriter diffWriter) {
+                rowCompares.add(sourceSelect);
+                super.compareRows(tables, sourceSelect, targetSelect, tableReport, diffWriter);
+            }
+        };
+    }
 }
@@ -0,0 +1,113 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data.transform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlRowMapper;
+import org.jumpmind.db.sql.ISqlTemplate;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LookupColumnTransformTest {
+    static final String SQL = "select name from customer where customer_id = :CUSTOMER_ID";
+    IDatabasePlatform platform;
+    ISqlTemplate sqlTemplate;
+    IParameterService parameterService;
+    TransformColumn column;
+    TransformedData data;
+
+    @BeforeEach
+    public void setUp() {
+        sqlTemplate = mock(ISqlTemplate.class);
+        platform = mock(IDatabasePlatform.class);
+        when(platform.getSqlTemplate()).thenReturn(sqlTemplate);
+        doAnswer(invocation -> {
+            Map<?, ?> params = invocation.getArgument(2);
+            return Arrays.asList("name" + params.get("CUSTOMER_ID"));
+        }).when(sqlTemplate).query(anyString(), anyRowMapper(), anyMap());
+        parameterService = mock(IParameterService.class);
+        when(parameterService.is(ParameterConstants.TRANSFORM_LOOKUP_CACHE_ENABLED, false)).thenReturn(true);
+        when(parameterService.getInt(ParameterConstants.TRANSFORM_LOOKUP_CACHE_MAX_SIZE, 10000)).thenReturn(10000);
+        column = new TransformColumn("customer_id", "customer_name", false, LookupColumnTransform.NAME, SQL);
+        data = mock(TransformedData.class);
+        when(data.getTargetDmlType()).thenReturn(DataEventType.INSERT);
+    }
+
+    @Test
+    public void testLookupIsCachedForBatch() throws Exception {
+        LookupColumnTransform transform = new LookupColumnTransform(parameterService);
+        DataContext context = new DataContext(batch(1));
+        assertEquals("name1", lookup(transform, context, "1", "100"));
+        assertEquals("name1", lookup(transform, context, "1", "200"));
+        assertEquals("name2", lookup(transform, context, "2", "300"));
+        verify(sqlTemplate, times(2)).query(eq(SQL), anyRowMapper(), anyMap());
+        context.setBatch(batch(2));
+        assertEquals("name1", lookup(transform, context, "1", "400"));
+        verify(sqlTemplate, times(3)).query(eq(SQL), anyRowMapper(), anyMap());
+    }
+
+    @Test
+    public void testLookupIsNotCachedWhenDisabled() throws Exception {
+        when(parameterService.is(ParameterConstants.TRANSFORM_LOOKUP_CACHE_ENABLED, false)).thenReturn(false);
+        LookupColumnTransform transform = new LookupColumnTransform(parameterService);
+        DataContext context = new DataContext(batch(1));
+        lookup(transform, context, "1", "100");
+        lookup(transform, context, "1", "200");
+        verify(sqlTemplate, times(2)).query(eq(SQL), anyRowMapper(), anyMap());
+    }
+
+    protected String lookup(LookupColumnTransform transform, DataContext context, String customerId, String orderId) throws Exception {
+        Map<String, String> sourceValues = new HashMap<String, String>();
+        sourceValues.put("CUSTOMER_ID", customerId);
+        sourceValues.put("ORDER_ID", orderId);
+        return transform.transform(platform, context, column, data, sourceValues, customerId, null).getNewValue();
+    }
+
+    protected static ISqlRowMapper<String> anyRowMapper() {
+        return any();
+    }
+
+    protected Batch batch(long batchId) {
+        Batch batch = new Batch();
+        batch.setBatchId(batchId);
+        return batch;
+    }
+}
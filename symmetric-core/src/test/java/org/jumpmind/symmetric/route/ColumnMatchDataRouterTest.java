@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.jumpmind.db.model.Table;
 import org.jumpmind.symmetric.AbstractSymmetricEngine;
 import org.jumpmind.symmetric.ISymmetricEngine;
@@ -420,4 +421,59 @@ public class ColumnMatchDataRouterTest {
         assertEquals(true, result.contains("100"));
         assertEquals(true, result.contains("300"));
     }
+
+    @Test
+    public void testContainsTokenMatchesSplit() {
+        String[] lists = { "", "a", "a,b", "a,,b", ",a", "a,b,", ",", ",,", "ab,c", "a,bc" };
+        String[] values = { "", "a", "b", "c", "bc", "ab" };
+        for (String list : lists) {
+            for (String value : values) {
+                assertEquals(list + " contains " + value, ArrayUtils.contains(list.split(","), value),
+                        ColumnMatchDataRouter.containsToken(list, value));
+            }
+        }
+    }
+
+    @Test
+    public void testCompiledExpressionsMatchDataMap() {
+        HashSet<Node> nodes = new HashSet<Node>();
+        nodes.add(new Node("100", "client"));
+        nodes.add(new Node("200", "client"));
+        nodes.add(new Node("300", "client"));
+        ISymmetricEngine engine = mock(AbstractSymmetricEngine.class);
+        INodeService nodeService = mock(INodeService.class);
+        ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
+        doReturn(symmetricDialect).when(engine).getSymmetricDialect();
+        doReturn(nodeService).when(engine).getNodeService();
+        doReturn(new Node("100", "client")).when(nodeService).findIdentity();
+        ColumnMatchDataRouter compiledRouter = new ColumnMatchDataRouter(engine);
+        ColumnMatchDataRouter mapRouter = new ColumnMatchDataRouter(engine) {
+            @Override
+            protected boolean isCompilable(DataMetaData dataMetaData) {
+                return false;
+            }
+        };
+        TriggerHistory triggerHist = new TriggerHistory("mytable", "ID", "ID,node_id,OLD_ID,COLUMN2");
+        String[] expressions = { "NODE_ID=:NODE_ID", "node_id=:NODE_ID", "OLD_NODE_ID=:NODE_ID", "OLD_ID=1", "ID=:OLD_ID",
+                "COLUMN2 contains :NODE_ID", "COLUMN2 not contains 200", "MISSING=NULL", "EXTERNAL_DATA=:NODE_ID",
+                "NODE_ID!=:SOURCE_NODE_ID or COLUMN2 starts with 3", "COLUMN2 = NULL" };
+        for (DataEventType eventType : new DataEventType[] { DataEventType.INSERT, DataEventType.UPDATE, DataEventType.DELETE }) {
+            for (String expression : expressions) {
+                Data data = new Data();
+                data.setDataId(1);
+                data.setDataEventType(eventType);
+                data.setRowData("1,200,3,\"100,300\"");
+                data.setOldData("2,300,2,");
+                data.setExternalData("200");
+                data.setTriggerHistory(triggerHist);
+                Router route = new Router();
+                route.setRouterExpression(expression);
+                route.setRouterId("route1");
+                DataMetaData dataMetaData = new DataMetaData(data, new Table(), route, new NodeChannel());
+                assertEquals(eventType + " " + expression,
+                        mapRouter.routeToNodes(new SimpleRouterContext(), dataMetaData, nodes, false, false, null),
+                        compiledRouter.routeToNodes(new SimpleRouterContext(), dataMetaData, nodes, false, false, null));
+            }
+        }
+    }
 }
@@ -22,6 +22,8 @@ package org.jumpmind.symmetric.route;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -30,6 +32,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlRowMapper;
@@ -37,6 +41,7 @@ import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.symmetric.AbstractSymmetricEngine;
 import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.SymmetricException;
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.db.AbstractSymmetricDialect;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
@@ -359,4 +364,88 @@ public class DataGapRouteReaderTest {
         thread2.join(1000);
         assertFalse(thread2.isAlive());
     }
+
+    @Test
+    public void testInterruptStopsReading() throws Exception {
+        nodeChannel.setBatchAlgorithm(DefaultBatchAlgorithm.NAME);
+        nodeChannel.setMaxDataToRoute(100);
+        when(parameterService.getInt(ParameterConstants.ROUTING_PEEK_AHEAD_WINDOW)).thenReturn(1);
+        List<DataGap> dataGaps = new ArrayList<DataGap>();
+        dataGaps.add(new DataGap(0, Long.MAX_VALUE));
+        List<Data> data = new ArrayList<Data>();
+        data.add(new Data(1, null, null, null, TABLE1, null, null, null, TRAN1, null));
+        data.add(new Data(2, null, null, null, TABLE1, null, null, null, TRAN2, null));
+        data.add(new Data(3, null, null, null, TABLE1, null, null, null, TRAN3, null));
+        ISqlRowMapper<Data> mapper = any();
+        when(sqlTemplate.queryForCursor((String) any(), mapper, (Object[]) any(), (int[]) any()))
+                .thenReturn(new ListReadCursor(data));
+        DataGapRouteReader dataGapRouteReader = buildReader(50, dataGaps, false);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread thread = new Thread() {
+            public void run() {
+                dataGapRouteReader.execute();
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        };
+        thread.start();
+        AppUtils.sleep(200);
+        // nothing is taken from the queue, so the reader is blocked handing over the second data
+        assertTrue(thread.isAlive());
+        thread.interrupt();
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+        assertFalse(dataGapRouteReader.isReading());
+        assertTrue(interrupted.get());
+        assertEquals(1, dataGapRouteReader.take().getDataId());
+        assertThrows(SymmetricException.class, () -> dataGapRouteReader.take());
+    }
+
+    @Test
+    public void testInterruptWithFullQueueQueuesNothingAfterDroppedData() throws Exception {
+        nodeChannel.setBatchAlgorithm(DefaultBatchAlgorithm.NAME);
+        nodeChannel.setMaxDataToRoute(100);
+        when(parameterService.getInt(ParameterConstants.ROUTING_PEEK_AHEAD_WINDOW)).thenReturn(1);
+        List<DataGap> dataGaps = new ArrayList<DataGap>();
+        dataGaps.add(new DataGap(0, Long.MAX_VALUE));
+        List<Data> data = new ArrayList<Data>();
+        data.add(new Data(1, null, null, null, TABLE1, null, null, null, TRAN1, null));
+        data.add(new Data(2, null, null, null, TABLE1, null, null, null, TRAN2, null));
+        data.add(new Data(3, null, null, null, TABLE1, null, null, null, TRAN3, null));
+        ISqlRowMapper<Data> mapper = any();
+        when(sqlTemplate.queryForCursor((String) any(), mapper, (Object[]) any(), (int[]) any()))
+                .thenReturn(new ListReadCursor(data));
+        DataGapRouteReader dataGapRouteReader = buildReader(50, dataGaps, false);
+        List<Data> taken = new ArrayList<Data>();
+        // the router takes the head of the queue whenever queuing without waiting fails, making room for anything queued after a dropped data
+        dataGapRouteReader.dataQueue = new LinkedBlockingQueue<Data>(1) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean offer(Data e) {
+                boolean offered = super.offer(e);
+                if (!offered) {
+                    taken.add(poll());
+                }
+                return offered;
+            }
+        };
+        Thread thread = new Thread() {
+            public void run() {
+                dataGapRouteReader.execute();
+            }
+        };
+        thread.start();
+        AppUtils.sleep(200);
+        // the queue is full with the first data, so the reader is blocked handing over the second data
+        assertTrue(thread.isAlive());
+        thread.interrupt();
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+        taken.addAll(dataGapRouteReader.getDataQueue());
+        assertFalse(taken.stream().anyMatch(d -> d instanceof DataGapRouteReader.EOD));
+        assertEquals(1, taken.size());
+        assertEquals(1, taken.get(0).getDataId());
+        dataGapRouteReader.getDataQueue().clear();
+        assertThrows(SymmetricException.class, () -> dataGapRouteReader.take());
+    }
 }
@@ -0,0 +1,159 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlRowMapper;
+import org.jumpmind.db.sql.ISqlTemplate;
+import org.jumpmind.db.sql.Row;
+import org.jumpmind.symmetric.db.ISymmetricDialect;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.model.DataMetaData;
+import org.jumpmind.symmetric.model.Node;
+import org.jumpmind.symmetric.model.NodeChannel;
+import org.jumpmind.symmetric.model.NodeGroupLink;
+import org.jumpmind.symmetric.model.Router;
+import org.jumpmind.symmetric.model.TriggerHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+
+public class SubSelectDataRouterTest {
+    ISqlTemplate sqlTemplate;
+    SubSelectDataRouter dataRouter;
+    Router router;
+    TriggerHistory triggerHistory;
+    NodeChannel nodeChannel;
+
+    @BeforeEach
+    public void setup() {
+        sqlTemplate = mock(ISqlTemplate.class);
+        IDatabasePlatform platform = mock(IDatabasePlatform.class);
+        doReturn(sqlTemplate).when(platform).getSqlTemplate();
+        doAnswer(invocation -> invocation.getArgument(3)).when(platform).getObjectValues(any(), any(Table.class), any(String[].class),
+                any(String[].class));
+        ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
+        doReturn(platform).when(symmetricDialect).getPlatform();
+        doReturn("sym").when(symmetricDialect).getTablePrefix();
+        dataRouter = new SubSelectDataRouter(symmetricDialect);
+        router = new Router();
+        router.setRouterId("employee_store");
+        router.setNodeGroupLink(new NodeGroupLink("corp", "store"));
+        router.setRouterExpression("c.external_id in (select home_store from employee where employee_id=:EMPLOYEE_ID)");
+        triggerHistory = new TriggerHistory("password", "EMPLOYEE_ID", "EMPLOYEE_ID,PASSWORD");
+        nodeChannel = new NodeChannel("default");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrefetchResolvesRowsInOneQuery() {
+        List<Row> rows = new ArrayList<Row>();
+        rows.add(row(0, "store1"));
+        rows.add(row(0, "store2"));
+        rows.add(row(2, "store3"));
+        List<Object[]> queries = recordQueries(rows);
+        SimpleRouterContext context = new SimpleRouterContext("corp", nodeChannel);
+        List<DataMetaData> dataMetaDatas = Arrays.asList(dataMetaData(1, "e1"), dataMetaData(2, "e2"), dataMetaData(3, "e3"));
+        dataRouter.prefetch(context, dataMetaDatas, 10);
+
+        assertEquals(1, queries.size());
+        assertEquals(2, ((String) queries.get(0)[0]).split("union all").length - 1);
+        assertEquals(Arrays.asList("store", "e1", "store", "e2", "store", "e3"), Arrays.asList((Object[]) queries.get(0)[1]));
+
+        assertEquals(new HashSet<String>(Arrays.asList("store1", "store2")), route(context, dataMetaDatas.get(0)));
+        assertTrue(route(context, dataMetaDatas.get(1)).isEmpty());
+        assertEquals(new HashSet<String>(Arrays.asList("store3")), route(context, dataMetaDatas.get(2)));
+        verify(sqlTemplate, never()).query(anyString(), any(ISqlRowMapper.class), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrefetchSplitsIntoBatches() {
+        List<Object[]> queries = recordQueries(new ArrayList<Row>());
+        SimpleRouterContext context = new SimpleRouterContext("corp", nodeChannel);
+        List<DataMetaData> dataMetaDatas = new ArrayList<DataMetaData>();
+        for (int i = 1; i <= 5; i++) {
+            dataMetaDatas.add(dataMetaData(i, "e" + i));
+        }
+        dataRouter.prefetch(context, dataMetaDatas, 2);
+        assertEquals(3, queries.size());
+        assertEquals(1, ((Object[]) queries.get(2)[1]).length / 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRowsNotPrefetchedAreQueried() {
+        doReturn(Arrays.asList("store1")).when(sqlTemplate).query(anyString(), any(ISqlRowMapper.class), anyMap());
+        SimpleRouterContext context = new SimpleRouterContext("corp", nodeChannel);
+        assertEquals(new HashSet<String>(Arrays.asList("store1")), route(context, dataMetaData(1, "e1")));
+        verify(sqlTemplate, times(1)).query(eq("select c.node_id from sym_node c where c.node_group_id=:NODE_GROUP_ID and c.sync_enabled=1 and ("
+                + router.getRouterExpression() + ")"), any(ISqlRowMapper.class), anyMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<Object[]> recordQueries(List<Row> rows) {
+        List<Object[]> queries = new ArrayList<Object[]>();
+        doAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            queries.add(new Object[] { arguments[0], Arrays.copyOfRange(arguments, 2, arguments.length) });
+            return rows;
+        }).when(sqlTemplate).query(anyString(), any(ISqlRowMapper.class), ArgumentMatchers.<Object> any());
+        return queries;
+    }
+
+    protected Set<String> route(SimpleRouterContext context, DataMetaData dataMetaData) {
+        return dataRouter.routeToNodes(context, dataMetaData, new HashSet<Node>(), false, false, null);
+    }
+
+    protected DataMetaData dataMetaData(long dataId, String employeeId) {
+        Data data = new Data("password", DataEventType.INSERT, employeeId + ",secret", null, triggerHistory, "default", null, null);
+        data.setDataId(dataId);
+        return new DataMetaData(data, new Table("password"), router, nodeChannel);
+    }
+
+    protected Row row(int rowNum, String nodeId) {
+        Row row = new Row(2);
+        row.put("route_row_num", rowNum);
+        row.put("node_id", nodeId);
+        return row;
+    }
+}
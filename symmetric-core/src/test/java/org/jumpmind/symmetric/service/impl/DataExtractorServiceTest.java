@@ -0,0 +1,156 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.jumpmind.db.platform.DatabaseInfo;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.db.ISymmetricDialect;
+import org.jumpmind.symmetric.io.data.IDataProcessorListener;
+import org.jumpmind.symmetric.io.data.IDataWriter;
+import org.jumpmind.symmetric.model.AbstractBatch.Status;
+import org.jumpmind.symmetric.model.Node;
+import org.jumpmind.symmetric.model.OutgoingBatch;
+import org.jumpmind.symmetric.model.ProcessInfo;
+import org.jumpmind.symmetric.model.ProcessInfoKey;
+import org.jumpmind.symmetric.model.ProcessType;
+import org.jumpmind.symmetric.service.IConfigurationService;
+import org.jumpmind.symmetric.service.INodeService;
+import org.jumpmind.symmetric.service.IOutgoingBatchService;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.service.impl.DataExtractorService.ExtractMode;
+import org.jumpmind.symmetric.statistic.IStatisticManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DataExtractorServiceTest {
+    static final int BATCH_COUNT = 10;
+    static final long BYTES_PER_BATCH = 100;
+    ISymmetricEngine engine;
+    IParameterService parameterService;
+    List<Long> extractedBatchIds = Collections.synchronizedList(new ArrayList<Long>());
+    List<ProcessInfo> extractInfos = Collections.synchronizedList(new ArrayList<ProcessInfo>());
+    List<Long> sentBatchIds = new ArrayList<Long>();
+
+    @BeforeEach
+    public void setup() {
+        engine = mock(ISymmetricEngine.class);
+        parameterService = mock(IParameterService.class);
+        ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
+        IDatabasePlatform databasePlatform = mock(IDatabasePlatform.class);
+        INodeService nodeService = mock(INodeService.class);
+        IStatisticManager statisticManager = mock(IStatisticManager.class);
+        when(databasePlatform.getDatabaseInfo()).thenReturn(new DatabaseInfo());
+        when(symmetricDialect.getPlatform()).thenReturn(databasePlatform);
+        when(engine.getParameterService()).thenReturn(parameterService);
+        when(engine.getSymmetricDialect()).thenReturn(symmetricDialect);
+        when(engine.getNodeService()).thenReturn(nodeService);
+        when(engine.getStatisticManager()).thenReturn(statisticManager);
+        when(engine.getOutgoingBatchService()).thenReturn(mock(IOutgoingBatchService.class));
+        when(engine.getConfigurationService()).thenReturn(mock(IConfigurationService.class));
+        when(parameterService.getEngineName()).thenReturn("test");
+        when(parameterService.is(ParameterConstants.STREAM_TO_FILE_ENABLED)).thenReturn(true);
+        when(parameterService.getInt(ParameterConstants.EXTRACT_THREAD_PER_NODE_COUNT, 1)).thenReturn(4);
+        when(parameterService.getLong(ParameterConstants.DATA_LOADER_SEND_ACK_KEEPALIVE)).thenReturn(1000l);
+        when(parameterService.getLong(ParameterConstants.TRANSPORT_MAX_BYTES_TO_SYNC)).thenReturn(BYTES_PER_BATCH * 5 / 2);
+        when(parameterService.getLong(ParameterConstants.INITIAL_LOAD_TRANSPORT_MAX_BYTES_TO_SYNC)).thenReturn(Long.MAX_VALUE);
+        when(nodeService.findIdentity()).thenReturn(new Node("00000", "server"));
+        when(nodeService.findIdentityNodeId()).thenReturn("00000");
+        when(statisticManager.newProcessInfo(any(ProcessInfoKey.class))).thenAnswer(invocation -> new ProcessInfo(invocation.getArgument(0)));
+    }
+
+    @Test
+    public void testParallelExtractSendsInOrderAndStopsAtByteThreshold() {
+        DataExtractorService service = new DataExtractorService(engine) {
+            @Override
+            protected OutgoingBatch extractOutgoingBatch(ProcessInfo extractInfo, Node targetNode, IDataWriter dataWriter,
+                    OutgoingBatch currentBatch, boolean useStagingDataWriter, boolean updateBatchStatistics, ExtractMode mode,
+                    IDataProcessorListener listener) {
+                extractInfos.add(extractInfo);
+                // the first batches take the longest, so later batches finish extracting first
+                long index = currentBatch.getBatchId() - 1;
+                pause(index < 4 ? 400 - index * 100 : 10);
+                currentBatch.setByteCount(BYTES_PER_BATCH);
+                extractedBatchIds.add(currentBatch.getBatchId());
+                return currentBatch;
+            }
+
+            @Override
+            protected OutgoingBatch sendOutgoingBatch(ProcessInfo processInfo, Node targetNode, OutgoingBatch currentBatch, boolean isRetry,
+                    IDataWriter dataWriter, BufferedWriter writer, ExtractMode mode) {
+                sentBatchIds.add(currentBatch.getBatchId());
+                currentBatch.setStatus(Status.OK);
+                return currentBatch;
+            }
+        };
+        List<OutgoingBatch> batches = new ArrayList<OutgoingBatch>();
+        for (int i = 1; i <= BATCH_COUNT; i++) {
+            OutgoingBatch batch = new OutgoingBatch("00001", "default", Status.NE);
+            batch.setBatchId(i);
+            batches.add(batch);
+        }
+        ProcessInfo extractInfo = new ProcessInfo(new ProcessInfoKey("00000", "default", "00001", ProcessType.PUSH_JOB_EXTRACT));
+        Thread thread = Thread.currentThread();
+
+        service.extract(extractInfo, new Node("00001", "client"), batches, null, null, ExtractMode.FOR_SYM_CLIENT);
+
+        List<Long> sortedExtractedBatchIds = new ArrayList<Long>(extractedBatchIds);
+        Collections.sort(sortedExtractedBatchIds);
+        assertNotEquals(sortedExtractedBatchIds, extractedBatchIds, "Batches should finish extracting out of order");
+        assertTrue(extractedBatchIds.size() < BATCH_COUNT, "The byte threshold should stop further extraction");
+        assertEquals(sortedExtractedBatchIds, sentBatchIds);
+        for (int i = 0; i < sentBatchIds.size(); i++) {
+            assertEquals(i + 1, sentBatchIds.get(i).longValue(), "Batches should be sent in batch id order without gaps");
+        }
+        Set<ProcessInfo> distinctExtractInfos = Collections.newSetFromMap(new IdentityHashMap<ProcessInfo, Boolean>());
+        for (ProcessInfo info : extractInfos) {
+            assertNotSame(extractInfo, info, "Each extract thread should track its batch in its own process info");
+            distinctExtractInfos.add(info);
+        }
+        assertEquals(extractInfos.size(), distinctExtractInfos.size());
+        assertSame(thread, extractInfo.getThread());
+    }
+
+    protected static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
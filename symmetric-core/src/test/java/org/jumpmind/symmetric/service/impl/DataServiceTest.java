@@ -21,12 +21,14 @@
 package org.jumpmind.symmetric.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -418,6 +420,32 @@ public class DataServiceTest {
         }
     }
 
+    @Test
+    void testGetReloadPartitionSelects() throws Exception {
+        when(symmetricDialect.getTargetDialect()).thenReturn(symmetricDialect);
+        when(parameterService.getInt(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_COUNT, 1)).thenReturn(3);
+        when(parameterService.getLong(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_MIN_ROWS, 10000000)).thenReturn(100L);
+        Table table = new Table("orders");
+        Column id = new Column("id", true);
+        id.setMappedTypeCode(Types.BIGINT);
+        table.addColumn(id);
+        table.addColumn(new Column("note"));
+        Row row = new Row(2);
+        row.put("min_id", 1L);
+        row.put("max_id", 1000L);
+        when(sqlTemplate.queryForRow(ArgumentMatchers.anyString())).thenReturn(row);
+        DataService service = (DataService) dataService;
+        Node node = new Node("001", "client");
+        assertNull(service.getReloadPartitionSelects(table, node, "1=1", 99));
+        List<String> selects = service.getReloadPartitionSelects(table, node, "1=1", 1000);
+        assertEquals(3, selects.size());
+        assertEquals("(1=1) and t.\"id\" < 335", selects.get(0));
+        assertEquals("(1=1) and t.\"id\" >= 335 and t.\"id\" < 669", selects.get(1));
+        assertEquals("(1=1) and t.\"id\" >= 669", selects.get(2));
+        assertEquals("default", service.getReloadPartitionQueue("default", 0));
+        assertEquals("default-p2", service.getReloadPartitionQueue("default", 2));
+    }
+
     @Test
     void testGetTableReloadRequest() throws Exception {
         // actual variables
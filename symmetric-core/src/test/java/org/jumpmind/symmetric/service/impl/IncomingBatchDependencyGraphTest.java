@@ -0,0 +1,105 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jumpmind.symmetric.service.impl.IncomingBatchDependencyGraph.Node;
+import org.junit.jupiter.api.Test;
+
+public class IncomingBatchDependencyGraphTest {
+    @Test
+    public void testIndependentBatches() {
+        IncomingBatchDependencyGraph graph = new IncomingBatchDependencyGraph();
+        assertTrue(graph.add(node(1, "sales", set("orders"), null)).isEmpty());
+        assertTrue(graph.add(node(2, "inventory", set("item"), null)).isEmpty());
+        assertEquals(2, graph.getPendingCount());
+    }
+
+    @Test
+    public void testSameChannelIsOrdered() {
+        IncomingBatchDependencyGraph graph = new IncomingBatchDependencyGraph();
+        Node first = node(1, "sales", set("orders"), null);
+        graph.add(first);
+        List<Node> dependencies = graph.add(node(2, "sales", set("customer"), null));
+        assertEquals(Arrays.asList(first), dependencies);
+    }
+
+    @Test
+    public void testSameTableIsOrdered() {
+        IncomingBatchDependencyGraph graph = new IncomingBatchDependencyGraph();
+        Node first = node(1, "sales", set("orders"), null);
+        graph.add(first);
+        assertEquals(Arrays.asList(first), graph.add(node(2, "reload", set("orders"), null)));
+    }
+
+    @Test
+    public void testForeignKeyIsOrdered() {
+        IncomingBatchDependencyGraph graph = new IncomingBatchDependencyGraph();
+        Node parent = node(1, "customers", set("customer"), null);
+        graph.add(parent);
+        Node child = node(2, "sales", set("orders"), set("customer"));
+        assertEquals(Arrays.asList(parent), graph.add(child));
+        assertEquals(Arrays.asList(parent, child), graph.add(node(3, "other", set("customer"), null)));
+    }
+
+    @Test
+    public void testBarrier() {
+        IncomingBatchDependencyGraph graph = new IncomingBatchDependencyGraph();
+        Node first = node(1, "sales", set("orders"), null);
+        Node second = node(2, "inventory", set("item"), null);
+        graph.add(first);
+        graph.add(second);
+        Node barrier = new Node(3, "scripts", null, null, false);
+        assertTrue(barrier.isBarrier());
+        assertEquals(Arrays.asList(first, second), graph.add(barrier));
+        assertEquals(Arrays.asList(barrier), graph.add(node(4, "customers", set("customer"), null)));
+    }
+
+    @Test
+    public void testLoadedBatchesAreRemoved() throws Exception {
+        IncomingBatchDependencyGraph graph = new IncomingBatchDependencyGraph();
+        Node first = node(1, "sales", set("orders"), null);
+        graph.add(first);
+        first.markLoaded();
+        first.awaitLoaded();
+        assertTrue(graph.add(node(2, "sales", set("orders"), null)).isEmpty());
+        assertEquals(1, graph.getPendingCount());
+    }
+
+    protected Node node(long batchId, String channelId, Set<String> tables, Set<String> referencedTables) {
+        return new Node(batchId, channelId, tables, referencedTables, false);
+    }
+
+    protected Set<String> set(String... tableNames) {
+        Set<String> set = new HashSet<String>();
+        for (String tableName : tableNames) {
+            set.add(IncomingBatchDependencyGraph.getTableKey(null, "public", tableName));
+        }
+        return set;
+    }
+}
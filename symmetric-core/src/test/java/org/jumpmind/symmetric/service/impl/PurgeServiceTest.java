@@ -26,4 +26,32 @@ public class PurgeServiceTest {
         assertEquals(1846, minMax[1]);
         assertEquals(gaps.size(), 0);
     }
+
+    @Test
+    public void testPurgeRanges() {
+        List<long[]> ranges = PurgeService.getPurgeRanges(1, 1000, 4, 100);
+        assertEquals(4, ranges.size());
+        assertEquals(1, ranges.get(0)[0]);
+        assertEquals(250, ranges.get(0)[1]);
+        assertEquals(751, ranges.get(3)[0]);
+        assertEquals(1000, ranges.get(3)[1]);
+        ranges = PurgeService.getPurgeRanges(1, 1000, 8, 300);
+        assertEquals(4, ranges.size());
+        assertEquals(901, ranges.get(3)[0]);
+        assertEquals(1000, ranges.get(3)[1]);
+        assertEquals(1, PurgeService.getPurgeRanges(5, 5, 4, 1).size());
+    }
+
+    @Test
+    public void testPurgeCheckpoint() {
+        PurgeService.PurgeCheckpoint checkpoint = new PurgeService.PurgeCheckpoint(PurgeService.getPurgeRanges(1, 300, 3, 1));
+        assertEquals(0, checkpoint.getLastId());
+        checkpoint.setLastId(1, 200);
+        checkpoint.setLastId(2, 250);
+        assertEquals(0, checkpoint.getLastId());
+        checkpoint.setLastId(0, 100);
+        assertEquals(250, checkpoint.getLastId());
+        checkpoint.setLastId(2, 300);
+        assertEquals(300, checkpoint.getLastId());
+    }
 }
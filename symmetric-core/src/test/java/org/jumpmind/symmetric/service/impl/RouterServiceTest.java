@@ -20,23 +20,36 @@
  */
 package org.jumpmind.symmetric.service.impl;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jumpmind.db.platform.DatabaseInfo;
 import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.model.Channel;
+import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.model.NodeChannel;
 import org.jumpmind.symmetric.model.Router;
 import org.jumpmind.symmetric.model.Trigger;
+import org.jumpmind.symmetric.model.TriggerHistory;
 import org.jumpmind.symmetric.model.TriggerRouter;
+import org.jumpmind.symmetric.route.ChannelRouterContext;
+import org.jumpmind.symmetric.route.IDataToRouteReader;
 import org.jumpmind.symmetric.service.IExtensionService;
 import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.service.impl.RouterService.DataRoutes;
+import org.jumpmind.symmetric.service.impl.RouterService.RouterWorkers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -45,11 +58,13 @@ public class RouterServiceTest {
     final static String SOURCE_NODE_GROUP = "source";
     final static String TARGET_NODE_GROUP = "target";
     RouterService routerService;
+    ISymmetricEngine engine;
+    IParameterService parameterService;
 
     @BeforeEach
     public void setup() {
-        ISymmetricEngine engine = mock(ISymmetricEngine.class);
-        IParameterService parameterService = mock(IParameterService.class);
+        engine = mock(ISymmetricEngine.class);
+        parameterService = mock(IParameterService.class);
         ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
         IDatabasePlatform databasePlatform = mock(IDatabasePlatform.class);
         IExtensionService extensionService = mock(IExtensionService.class);
@@ -134,4 +149,53 @@ public class RouterServiceTest {
         triggerRouters.add(new TriggerRouter(tableTrigger3, new Router("test", TARGET_NODE_GROUP, SOURCE_NODE_GROUP, "default")));
         assertTrue(routerService.producesCommonBatches(CHANNEL_2_TEST, SOURCE_NODE_GROUP, triggerRouters));
     }
+
+    @Test
+    public void testRouterWorkersKeepReadOrderAndTransactions() throws Exception {
+        when(parameterService.getEngineName()).thenReturn("test");
+        Map<String, String> threadByTransaction = new ConcurrentHashMap<String, String>();
+        RouterService service = new RouterService(engine) {
+            @Override
+            protected List<TriggerRouter> getTriggerRoutersForData(Data data, ChannelRouterContext context) {
+                List<TriggerRouter> triggerRouters = new ArrayList<TriggerRouter>();
+                triggerRouters.add(new TriggerRouter(new Trigger("a", CHANNEL_2_TEST.getChannelId()), new Router("test", SOURCE_NODE_GROUP,
+                        TARGET_NODE_GROUP, "default")));
+                return triggerRouters;
+            }
+
+            @Override
+            protected DataRoutes findDataRoutes(Data data, ChannelRouterContext context) {
+                String thread = threadByTransaction.putIfAbsent(data.getTransactionId(), Thread.currentThread().getName());
+                assertTrue(thread == null || thread.equals(Thread.currentThread().getName()));
+                try {
+                    Thread.sleep(data.getDataId() % 3);
+                } catch (InterruptedException e) {
+                }
+                return new DataRoutes(data, null);
+            }
+        };
+        LinkedList<Data> dataToRoute = new LinkedList<Data>();
+        for (int i = 1; i <= 500; i++) {
+            Data data = new Data();
+            data.setDataId(i);
+            data.setTableName("a");
+            data.setTransactionId("tx" + (i / 7));
+            data.setTriggerHistory(new TriggerHistory());
+            dataToRoute.add(data);
+        }
+        IDataToRouteReader reader = mock(IDataToRouteReader.class);
+        when(reader.take()).thenAnswer(invocation -> dataToRoute.poll());
+        ChannelRouterContext context = new ChannelRouterContext("00000", new NodeChannel(CHANNEL_2_TEST), mock(ISqlTransaction.class), null);
+        RouterWorkers workers = service.new RouterWorkers(context, 4);
+        try {
+            for (int i = 1; i <= 500; i++) {
+                Data data = workers.take(reader);
+                assertEquals(i, data.getDataId());
+                assertEquals(data, workers.getRoutes(data).data);
+            }
+            assertNull(workers.take(reader));
+        } finally {
+            workers.close();
+        }
+    }
 }
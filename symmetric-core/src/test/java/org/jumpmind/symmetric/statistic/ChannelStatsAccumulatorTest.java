@@ -0,0 +1,86 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.statistic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class ChannelStatsAccumulatorTest {
+    @Test
+    void testConcurrentIncrementsAreNotLostWhileDraining() throws Exception {
+        ChannelStatsAccumulator accumulator = new ChannelStatsAccumulator("default");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    accumulator.incrementDataLoaded(1);
+                    accumulator.incrementDataBytesLoaded(10);
+                }
+            }));
+        }
+        long loaded = 0;
+        long bytesLoaded = 0;
+        while (!allDone(futures)) {
+            ChannelStats stats = accumulator.drain("00000", "host", new Date(), new Date());
+            loaded += stats.getDataLoaded();
+            bytesLoaded += stats.getDataBytesLoaded();
+        }
+        executor.shutdown();
+        ChannelStats stats = accumulator.drain("00000", "host", new Date(), new Date());
+        loaded += stats.getDataLoaded();
+        bytesLoaded += stats.getDataBytesLoaded();
+        assertEquals(40000, loaded);
+        assertEquals(400000, bytesLoaded);
+        assertFalse(accumulator.snapshot("00000", "host", new Date()).isNonZero());
+    }
+
+    @Test
+    void testSnapshotDoesNotReset() {
+        ChannelStatsAccumulator accumulator = new ChannelStatsAccumulator("default");
+        accumulator.incrementDataRouted(5);
+        accumulator.setDataUnRouted(3);
+        ChannelStats snapshot = accumulator.snapshot("00000", "host", new Date());
+        assertEquals("default", snapshot.getChannelId());
+        assertEquals(5, snapshot.getDataRouted());
+        assertEquals(3, snapshot.getDataUnRouted());
+        assertEquals(5, accumulator.drain("00000", "host", new Date(), new Date()).getDataRouted());
+    }
+
+    protected boolean allDone(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                return false;
+            }
+            future.get();
+        }
+        return true;
+    }
+}
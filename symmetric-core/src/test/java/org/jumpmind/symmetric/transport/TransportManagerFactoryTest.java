@@ -0,0 +1,72 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.Constants;
+import org.jumpmind.symmetric.common.ServerConstants;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.transport.http.HttpClientTransportManager;
+import org.jumpmind.symmetric.transport.http.HttpTransportManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransportManagerFactoryTest {
+    HostnameVerifier defaultHostnameVerifier;
+
+    @BeforeEach
+    public void setup() {
+        defaultHostnameVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+    }
+
+    @AfterEach
+    public void teardown() {
+        HttpsURLConnection.setDefaultHostnameVerifier(defaultHostnameVerifier);
+    }
+
+    @Test
+    public void testCreateHttpClient() {
+        ITransportManager transportManager = new TransportManagerFactory(mockEngine("")).create(Constants.PROTOCOL_HTTP_CLIENT);
+        assertEquals(HttpClientTransportManager.class, transportManager.getClass());
+    }
+
+    @Test
+    public void testHttpClientFallsBackToHttpWithVerifiedServerNames() {
+        ITransportManager transportManager = new TransportManagerFactory(mockEngine("all")).create(Constants.PROTOCOL_HTTP_CLIENT);
+        assertEquals(HttpTransportManager.class, transportManager.getClass());
+    }
+
+    protected ISymmetricEngine mockEngine(String verifiedServerNames) {
+        IParameterService parameterService = mock(IParameterService.class);
+        when(parameterService.getString(ServerConstants.HTTPS_VERIFIED_SERVERS)).thenReturn(verifiedServerNames);
+        ISymmetricEngine engine = mock(ISymmetricEngine.class);
+        when(engine.getParameterService()).thenReturn(parameterService);
+        return engine;
+    }
+}
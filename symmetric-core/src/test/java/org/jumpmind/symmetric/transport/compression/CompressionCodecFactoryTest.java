@@ -0,0 +1,82 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+public class CompressionCodecFactoryTest {
+    @Test
+    public void testRoundTrip() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("insert,\"").append(i).append("\",\"some repeated payload text\"\n");
+        }
+        byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+        for (String encoding : CompressionCodecFactory.getAvailableEncodings()) {
+            ICompressionCodec codec = CompressionCodecFactory.getCodec(encoding);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            OutputStream out = codec.compress(compressed, -1, 0);
+            out.write(data, 0, data.length / 2);
+            out.flush();
+            assertTrue(compressed.size() > 0, encoding);
+            out.write(data, data.length / 2, data.length - data.length / 2);
+            out.close();
+            assertTrue(compressed.size() < data.length, encoding);
+            try (InputStream in = codec.decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+                assertArrayEquals(data, IOUtils.toByteArray(in), encoding);
+            }
+        }
+    }
+
+    @Test
+    public void testNegotiate() {
+        assertEquals("gzip", CompressionCodecFactory.negotiate(Arrays.asList("gzip, deflate")).getEncoding());
+        assertEquals("gzip", CompressionCodecFactory.negotiate(Arrays.asList("br", "x-gzip;q=0.8")).getEncoding());
+        assertNull(CompressionCodecFactory.negotiate(Arrays.asList("br, deflate")));
+        assertNull(CompressionCodecFactory.negotiate(null));
+        for (String encoding : CompressionCodecFactory.getAvailableEncodings()) {
+            assertEquals(encoding, CompressionCodecFactory.negotiate(Arrays.asList(CompressionCodecFactory.getAcceptEncoding(encoding)))
+                    .getEncoding());
+        }
+    }
+
+    @Test
+    public void testUnknownCodecFallsBackToGzip() {
+        assertNull(CompressionCodecFactory.getCodec("snappy"));
+        assertEquals("gzip", CompressionCodecFactory.getCodecOrDefault("snappy").getEncoding());
+        assertEquals("gzip", CompressionCodecFactory.getCodecOrDefault(null).getEncoding());
+        assertNull(CompressionCodecFactory.getCodec("multipart/form-data; boundary=1234"));
+        assertEquals("gzip", CompressionCodecFactory.getCodec("application/gzip").getEncoding());
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.IOUtils;
+import org.jumpmind.util.CustomizableThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpClientConnectionTest {
+    HttpServer server;
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+            exchange.getResponseHeaders().add("X-Method", exchange.getRequestMethod());
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            IOUtils.toByteArray(exchange.getRequestBody());
+            pause(500);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/trickle", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 5; i++) {
+                    out.write(("row " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    pause(i < 4 ? 100 : 1000);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testPostStreamsBodyAndReleasesConnection() throws Exception {
+        HttpClientPool pool = new HttpClientPool("localhost", 1);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            expected.append("row ").append(i).append("\n");
+        }
+        for (int i = 0; i < 3; i++) {
+            try (HttpClientConnection conn = new HttpClientConnection(url("/echo"), client, pool)) {
+                conn.setConnectTimeout(5000);
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(expected.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                assertEquals(200, conn.getResponseCode());
+                assertEquals("POST", conn.getHeaderField("x-method"));
+                try (InputStream in = conn.getInputStream()) {
+                    assertEquals(expected.toString(), IOUtils.toString(in, StandardCharsets.UTF_8));
+                }
+            }
+            assertEquals(0, pool.getActiveConnections());
+        }
+        assertEquals(3, pool.getRequestCount());
+    }
+
+    @Test
+    public void testPoolBoundsConcurrentRequests() throws Exception {
+        HttpClientPool pool = new HttpClientPool("localhost", 1);
+        HttpClientConnection first = new HttpClientConnection(url("/echo"), client, pool);
+        assertEquals(200, first.getResponseCode());
+        assertEquals(1, pool.getActiveConnections());
+        HttpClientConnection second = new HttpClientConnection(url("/echo"), client, pool);
+        second.setConnectTimeout(100);
+        assertThrows(IOException.class, () -> second.getResponseCode());
+        first.close();
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, pool.getFailureCount());
+    }
+
+    @Test
+    public void testReadTimeoutWaitingForResponse() throws Exception {
+        HttpClientPool pool = new HttpClientPool("localhost", 1);
+        HttpClientConnection conn = new HttpClientConnection(url("/slow"), client, pool);
+        conn.setReadTimeout(200);
+        assertThrows(SocketTimeoutException.class, () -> conn.getResponseCode());
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, pool.getFailureCount());
+    }
+
+    @Test
+    public void testReadTimeoutIsPerRead() throws Exception {
+        HttpClientPool pool = new HttpClientPool("localhost", 1);
+        try (HttpClientConnection conn = new HttpClientConnection(url("/trickle"), client, pool)) {
+            conn.setReadTimeout(300);
+            assertEquals(200, conn.getResponseCode());
+            byte[] buffer = new byte[1024];
+            InputStream in = conn.getInputStream();
+            StringBuilder body = new StringBuilder();
+            while (body.indexOf("row 4") < 0) {
+                int count = in.read(buffer);
+                body.append(new String(buffer, 0, count, StandardCharsets.UTF_8));
+            }
+            assertThrows(SocketTimeoutException.class, () -> in.read(buffer));
+        }
+        assertEquals(0, pool.getActiveConnections());
+    }
+
+    @Test
+    public void testSlowRequestBodyDoesNotTimeOut() throws Exception {
+        HttpClientPool pool = new HttpClientPool("localhost", 1);
+        try (HttpClientConnection conn = new HttpClientConnection(url("/echo"), client, pool)) {
+            conn.setReadTimeout(300);
+            StringBuilder expected = new StringBuilder();
+            try (OutputStream out = conn.getOutputStream()) {
+                for (int i = 0; i < 8; i++) {
+                    String row = "row " + i + "\n";
+                    expected.append(row);
+                    out.write(row.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    pause(100);
+                }
+            }
+            assertEquals(200, conn.getResponseCode());
+            try (InputStream in = conn.getInputStream()) {
+                assertEquals(expected.toString(), IOUtils.toString(in, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testCloseAbandonsUnfinishedRequestBody() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("test-http-client"));
+        try {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+            HttpClientPool pool = new HttpClientPool("localhost", 1);
+            HttpClientConnection conn = new HttpClientConnection(url("/echo"), client, pool);
+            OutputStream out = conn.getOutputStream();
+            out.write("row 1\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            pause(200);
+            // the push fails before its body is finished, so the connection is closed without closing the request body
+            conn.close();
+            assertEquals(0, pool.getActiveConnections());
+            long endTime = System.currentTimeMillis() + 5000;
+            while (isSendingRequestBody() && System.currentTimeMillis() < endTime) {
+                pause(50);
+            }
+            assertFalse(isSendingRequestBody());
+            assertThrows(IOException.class, () -> out.write(new byte[HttpClientConnection.RequestBodyStream.CHUNK_SIZE * 20]));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected static boolean isSendingRequestBody() {
+        for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+            if (entry.getKey().getName().startsWith("test-http-client-")) {
+                for (StackTraceElement element : entry.getValue()) {
+                    if (element.getClassName().startsWith(HttpClientConnection.RequestBodyStream.class.getName())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    protected static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected URL url(String path) throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + path);
+    }
+}
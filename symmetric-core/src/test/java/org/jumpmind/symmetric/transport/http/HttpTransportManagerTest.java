@@ -0,0 +1,64 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+
+import org.jumpmind.symmetric.transport.compression.CompressionCodecFactory;
+import org.junit.jupiter.api.Test;
+
+public class HttpTransportManagerTest {
+    @Test
+    public void testPushUsesGzipUntilRemoteAdvertisesCodec() throws Exception {
+        assumeTrue(CompressionCodecFactory.getCodec("lz4") != null);
+        HttpTransportManager manager = new HttpTransportManager() {
+            @Override
+            protected String getCompressionCodecName() {
+                return "lz4";
+            }
+        };
+        HttpConnection push = mockConnection("http://localhost:31415/sync/corp-000/push?nodeId=001", null);
+        assertEquals("gzip", manager.getCompressionCodec(push).getEncoding());
+
+        manager.updateEncoding(mockConnection("http://localhost:31415/sync/corp-000/pull?nodeId=001", null));
+        assertEquals("gzip", manager.getCompressionCodec(push).getEncoding());
+
+        manager.updateEncoding(mockConnection("http://localhost:31415/sync/corp-000/pull?nodeId=001", "lz4"));
+        assertEquals("lz4", manager.getCompressionCodec(push).getEncoding());
+        assertEquals("gzip", manager.getCompressionCodec(mockConnection("http://localhost:31415/sync/store-001/push?nodeId=001", null))
+                .getEncoding());
+
+        manager.updateEncoding(mockConnection("http://localhost:31415/sync/corp-000/pull?nodeId=001", "gzip"));
+        assertEquals("gzip", manager.getCompressionCodec(push).getEncoding());
+    }
+
+    protected HttpConnection mockConnection(String url, String contentEncoding) throws Exception {
+        HttpConnection conn = mock(HttpConnection.class);
+        when(conn.getURL()).thenReturn(new URL(url));
+        when(conn.getContentEncoding()).thenReturn(contentEncoding);
+        return conn;
+    }
+}
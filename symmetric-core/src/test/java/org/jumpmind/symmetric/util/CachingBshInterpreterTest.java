@@ -0,0 +1,69 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import bsh.ParseException;
+import bsh.TargetError;
+
+public class CachingBshInterpreterTest {
+    @Test
+    public void testEvalScriptReturnsLastValue() throws Exception {
+        CachingBshInterpreter interpreter = new CachingBshInterpreter();
+        interpreter.set("X", "5");
+        assertEquals(Boolean.TRUE, interpreter.evalScript("X.equals(\"5\")"));
+        interpreter.set("X", "6");
+        assertEquals(Boolean.FALSE, interpreter.evalScript("X.equals(\"5\")"));
+        assertEquals(12, interpreter.evalScript("int n = Integer.parseInt(X); n * 2"));
+        assertEquals("n2", interpreter.evalScript("if (X.equals(\"5\")) { return \"n1\"; } return \"n2\";"));
+        assertEquals(Arrays.asList("6"), interpreter.evalScript("import java.util.*;\nList list = new ArrayList();\nlist.add(X);\nlist"));
+        assertNull(interpreter.evalScript("// nothing to do"));
+    }
+
+    @Test
+    public void testEvalScriptKeepsVariablesInGlobalNamespace() throws Exception {
+        CachingBshInterpreter interpreter = new CachingBshInterpreter();
+        interpreter.evalScript("y = 5;");
+        assertEquals(5, interpreter.get("y"));
+        assertEquals(5, interpreter.evalScript("y"));
+        String counter = "if (cnt == void) cnt = 0; cnt++; return cnt;";
+        assertEquals(1, interpreter.evalScript(counter));
+        assertEquals(2, interpreter.evalScript(counter));
+        assertEquals(3, interpreter.evalScript(counter));
+        interpreter.evalScript("helper(a) { return a + 1; }");
+        assertEquals(8, interpreter.evalScript("helper(7)"));
+    }
+
+    @Test
+    public void testEvalScriptErrors() throws Exception {
+        CachingBshInterpreter interpreter = new CachingBshInterpreter();
+        assertThrows(ParseException.class, () -> interpreter.evalScript("x = ;"));
+        TargetError error = assertThrows(TargetError.class, () -> interpreter.evalScript("\n\nObject o = null;\no.toString();"));
+        assertEquals(4, error.getErrorLineNumber());
+    }
+}
@@ -29,3 +29,5 @@ CREATE TABLE IF NOT EXISTS NONEMPTYTABLEWITHPKNODIFFERENCES (TEST_ID INTEGER PRI
 CREATE TABLE IF NOT EXISTS NONEMPTYTABLEWITHPKWITHDIFFERENCES (TEST_ID INTEGER PRIMARY KEY, TEST VARCHAR(100));
 
 CREATE TABLE IF NOT EXISTS NONEMPTYTABLEWITHNOPKNODIFFERENCES (TEST_ID INTEGER, TEST VARCHAR(100));
+
+CREATE TABLE IF NOT EXISTS HASHCOMPARETABLE (TEST_ID INTEGER PRIMARY KEY, TEST VARCHAR(100));
@@ -29,3 +29,4 @@ CREATE TABLE IF NOT EXISTS NONEMPTYTABLEWITHPKWITHDIFFERENCES (TEST_ID INTEGER P
 
 CREATE TABLE IF NOT EXISTS NONEMPTYTABLEWITHNOPKNODIFFERENCES (TEST_ID INTEGER, TEST VARCHAR(100));
 
+CREATE TABLE IF NOT EXISTS HASHCOMPARETABLE (TEST_ID INTEGER PRIMARY KEY, TEST VARCHAR(100));
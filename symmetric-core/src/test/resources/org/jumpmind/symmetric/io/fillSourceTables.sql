@@ -28,4 +28,11 @@ line3');
 insert into NONEMPTYTABLEWITHPKWITHDIFFERENCES values(100, 'one1');
 insert into NONEMPTYTABLEWITHPKWITHDIFFERENCES values(200, 'two2');
 
-insert into NONEMPTYTABLEWITHNOPKNODIFFERENCES values(1, 'one');
\ No newline at end of file
+insert into NONEMPTYTABLEWITHNOPKNODIFFERENCES values(1, 'one');
+
+insert into HASHCOMPARETABLE values(1, 'one');
+insert into HASHCOMPARETABLE values(2, 'two');
+insert into HASHCOMPARETABLE values(3, null);
+insert into HASHCOMPARETABLE values(40, 'forty');
+insert into HASHCOMPARETABLE values(50, 'fifty');
+insert into HASHCOMPARETABLE values(60, 'sixty');
@@ -27,4 +27,11 @@ line3');
 insert into NONEMPTYTABLEWITHPKWITHDIFFERENCES values(100, 'one');
 insert into NONEMPTYTABLEWITHPKWITHDIFFERENCES values(200, 'two');
 
-insert into NONEMPTYTABLEWITHNOPKNODIFFERENCES values(1, 'one');
\ No newline at end of file
+insert into NONEMPTYTABLEWITHNOPKNODIFFERENCES values(1, 'one');
+
+insert into HASHCOMPARETABLE values(1, 'one');
+insert into HASHCOMPARETABLE values(2, 'two');
+insert into HASHCOMPARETABLE values(3, null);
+insert into HASHCOMPARETABLE values(40, 'forty4');
+insert into HASHCOMPARETABLE values(60, 'sixty');
+insert into HASHCOMPARETABLE values(70, 'seventy');
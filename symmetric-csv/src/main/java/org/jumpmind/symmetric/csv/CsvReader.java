@@ -65,6 +65,7 @@ public class CsvReader implements AutoCloseable {
     private String[] values = new String[StaticSettings.INITIAL_COLUMN_COUNT];
     private boolean initialized = false;
     private boolean closed = false;
+    private CharSource charSource = null;
     /**
      * Double up the text qualifier to represent an occurrence of the text qualifier.
      */
@@ -493,6 +494,85 @@ public class CsvReader implements AutoCloseable {
         return new CsvReader(new StringReader(data));
     }
 
+    /**
+     * Points this reader at a string of data so it can parse it without allocating a new reader and its buffers.&nbsp;The settings of the reader are kept.
+     * 
+     * @param data
+     *            The String of data to use as the source.
+     */
+    public void reset(String data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Parameter data can not be null.");
+        }
+        reset(getCharSource().reset(data));
+    }
+
+    /**
+     * Points this reader at a slice of a character array so it can parse it without allocating a new reader and its buffers.&nbsp;The settings of the
+     * reader are kept.&nbsp;The array is read in place, so it must not change until parsing is done.
+     * 
+     * @param data
+     *            The characters to use as the source.
+     * @param offset
+     *            The index of the first character to parse.
+     * @param length
+     *            The number of characters to parse.
+     */
+    public void reset(char[] data, int offset, int length) {
+        if (data == null) {
+            throw new IllegalArgumentException("Parameter data can not be null.");
+        }
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("Slice " + offset + " to " + (offset + length) + " is outside of an array of length " + data.length);
+        }
+        reset(getCharSource().reset(data, offset, length));
+    }
+
+    private CharSource getCharSource() {
+        if (charSource == null) {
+            charSource = new CharSource();
+        }
+        return charSource;
+    }
+
+    private void reset(CharSource source) {
+        if (closed || dataBuffer.Buffer == null) {
+            dataBuffer = new DataBuffer();
+            columnBuffer = new ColumnBuffer();
+            rawBuffer = new RawRecordBuffer();
+            headersHolder = new HeadersHolder();
+        } else if (columnBuffer.Buffer.length > StaticSettings.MAX_RETAINED_COLUMN_BUFFER_SIZE) {
+            // let go of a buffer that grew for a large value so a reused reader does not hold onto it
+            columnBuffer = new ColumnBuffer();
+        }
+        if (inputStream != null && inputStream != source) {
+            try {
+                inputStream.close();
+            } catch (Exception e) {
+                // just eat the exception
+            }
+        }
+        inputStream = source;
+        fileName = null;
+        charset = null;
+        initialized = true;
+        closed = false;
+        dataBuffer.Position = 0;
+        dataBuffer.Count = 0;
+        dataBuffer.ColumnStart = 0;
+        dataBuffer.LineStart = 0;
+        columnBuffer.Position = 0;
+        rawBuffer.Position = 0;
+        rawRecord = "";
+        startedColumn = false;
+        startedWithQualifier = false;
+        hasMoreData = true;
+        lastLetter = '\0';
+        hasReadNextLine = false;
+        columnsCount = 0;
+        currentRecord = 0;
+    }
+
     /**
      * Reads another record.
      * 
@@ -1362,6 +1442,55 @@ public class CsvReader implements AutoCloseable {
         }
     }
 
+    /**
+     * A reader over a string or character array that can be pointed at new data, so a reused {@link CsvReader} does not allocate a reader per parse.
+     */
+    private static class CharSource extends Reader {
+        private String string;
+        private char[] chars;
+        private int position;
+        private int end;
+
+        private CharSource reset(String string) {
+            this.string = string;
+            this.chars = null;
+            this.position = 0;
+            this.end = string.length();
+            return this;
+        }
+
+        private CharSource reset(char[] chars, int offset, int length) {
+            this.string = null;
+            this.chars = chars;
+            this.position = offset;
+            this.end = offset + length;
+            return this;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= end) {
+                return -1;
+            }
+            int count = Math.min(length, end - position);
+            if (string != null) {
+                string.getChars(position, position + count, buffer, offset);
+            } else {
+                System.arraycopy(chars, position, buffer, offset, count);
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            string = null;
+            chars = null;
+            position = 0;
+            end = 0;
+        }
+    }
+
     private static class Letters {
         private static final char LF = '\n';
         private static final char CR = '\r';
@@ -1429,5 +1558,6 @@ public class CsvReader implements AutoCloseable {
         private static final int MAX_FILE_BUFFER_SIZE = 4 * 1024;
         private static final int INITIAL_COLUMN_COUNT = 10;
         private static final int INITIAL_COLUMN_BUFFER_SIZE = 50;
+        private static final int MAX_RETAINED_COLUMN_BUFFER_SIZE = 64 * 1024;
     }
 }
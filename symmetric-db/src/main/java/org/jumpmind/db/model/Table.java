@@ -95,6 +95,8 @@ public class Table implements Serializable, Cloneable, Comparable<Table> {
     private ArrayList<Column> lobColumns;
     private CompressionTypes compressionType = CompressionTypes.NONE;
     private boolean madeAllColumnsPrimaryKey;
+    private String partitionColumnName;
+    private long partitionInterval;
 
     public Table() {
     }
@@ -1576,6 +1578,29 @@ public class Table implements Serializable, Cloneable, Comparable<Table> {
         this.compressionType = compressionType;
     }
 
+    public String getPartitionColumnName() {
+        return partitionColumnName;
+    }
+
+    public void setPartitionColumnName(String partitionColumnName) {
+        this.partitionColumnName = partitionColumnName;
+    }
+
+    /**
+     * @return the range of values in each partition of a table that is range partitioned on {@link #getPartitionColumnName()}
+     */
+    public long getPartitionInterval() {
+        return partitionInterval;
+    }
+
+    public void setPartitionInterval(long partitionInterval) {
+        this.partitionInterval = partitionInterval;
+    }
+
+    public boolean isRangePartitioned() {
+        return partitionColumnName != null && partitionInterval > 0 && findColumn(partitionColumnName) != null;
+    }
+
     public boolean isMadeAllColumnsPrimaryKey() {
         return madeAllColumnsPrimaryKey;
     }
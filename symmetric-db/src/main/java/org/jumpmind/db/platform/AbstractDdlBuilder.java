@@ -2610,4 +2610,20 @@ public abstract class AbstractDdlBuilder implements IDdlBuilder {
     @Override
     public void initCteExpression() {
     }
+
+    public String getRangePartitionsSql(Table table) {
+        return null;
+    }
+
+    public String getAddRangePartitionSql(Table table, long partitionNumber) {
+        return null;
+    }
+
+    public String getDropRangePartitionSql(Table table, String partitionName) {
+        return null;
+    }
+
+    protected String getPartitionColumnName(Table table) {
+        return getDelimitedIdentifier(getColumnName(table.findColumn(table.getPartitionColumnName())));
+    }
 }
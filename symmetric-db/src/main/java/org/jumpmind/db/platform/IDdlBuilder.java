@@ -82,4 +82,21 @@ public interface IDdlBuilder {
     public List<IModelChange> getDetectedChanges(Database currentModel, Database desiredModel, IAlterDatabaseInterceptor... alterDatabaseInterceptors);
 
     public void initCteExpression();
+
+    /**
+     * @return SQL that selects the partition_name and high_value (the exclusive upper bound) of each range partition of the table, or null if the platform
+     *         does not support range partitioning
+     */
+    public String getRangePartitionsSql(Table table);
+
+    /**
+     * @return SQL to add the partition with values from partitionNumber times the partition interval up to the next partition, or null if the platform adds
+     *         partitions automatically
+     */
+    public String getAddRangePartitionSql(Table table, long partitionNumber);
+
+    /**
+     * @return SQL to drop the named range partition and the rows in it, or null if the partition cannot be dropped
+     */
+    public String getDropRangePartitionSql(Table table, String partitionName);
 }
@@ -46,6 +46,10 @@ public class CassandraSqlTransaction implements ISqlTransaction {
         // TODO Auto-generated method stub
     }
 
+    @Override
+    public void setPreparedStatementCacheSize(int size) {
+    }
+
     @Override
     public <T> T queryForObject(String sql, Class<T> clazz, Object... args) {
         // TODO Auto-generated method stub
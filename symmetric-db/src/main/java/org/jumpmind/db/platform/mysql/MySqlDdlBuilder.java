@@ -537,4 +537,34 @@ public class MySqlDdlBuilder extends AbstractDdlBuilder {
         }
         return sqlType;
     }
+
+    @Override
+    protected void writeTableCreationStmtEnding(Table table, StringBuilder ddl) {
+        if (table.isRangePartitioned()) {
+            ddl.append(" PARTITION BY RANGE (").append(getPartitionColumnName(table)).append(") (PARTITION p0 VALUES LESS THAN (");
+            ddl.append(table.getPartitionInterval()).append("), PARTITION pmax VALUES LESS THAN MAXVALUE)");
+        }
+        super.writeTableCreationStmtEnding(table, ddl);
+    }
+
+    @Override
+    public String getRangePartitionsSql(Table table) {
+        String schema = StringUtils.isBlank(table.getCatalog()) ? "database()" : "'" + table.getCatalog().replace("'", "''") + "'";
+        return "select partition_name, partition_description as high_value from information_schema.partitions where table_schema = " + schema
+                + " and table_name = '" + getTableName(table.getName()).replace("'", "''") + "' and partition_name is not null";
+    }
+
+    @Override
+    public String getAddRangePartitionSql(Table table, long partitionNumber) {
+        return "ALTER TABLE " + getFullyQualifiedTableNameShorten(table) + " REORGANIZE PARTITION pmax INTO (PARTITION p" + partitionNumber
+                + " VALUES LESS THAN (" + ((partitionNumber + 1) * table.getPartitionInterval()) + "), PARTITION pmax VALUES LESS THAN MAXVALUE)";
+    }
+
+    @Override
+    public String getDropRangePartitionSql(Table table, String partitionName) {
+        if (partitionName.equalsIgnoreCase("pmax")) {
+            return null;
+        }
+        return "ALTER TABLE " + getFullyQualifiedTableNameShorten(table) + " DROP PARTITION " + partitionName;
+    }
 }
@@ -634,4 +634,33 @@ public class OracleDdlBuilder extends AbstractDdlBuilder {
             super.writeCascadeAttributesForForeignKeyDelete(key, ddl);
         }
     }
+
+    @Override
+    protected void writeTableCreationStmtEnding(Table table, StringBuilder ddl) {
+        if (table.isRangePartitioned()) {
+            ddl.append(" PARTITION BY RANGE (").append(getPartitionColumnName(table)).append(") INTERVAL (").append(table.getPartitionInterval());
+            ddl.append(") (PARTITION p0 VALUES LESS THAN (").append(table.getPartitionInterval()).append("))");
+        }
+        super.writeTableCreationStmtEnding(table, ddl);
+    }
+
+    @Override
+    public String getRangePartitionsSql(Table table) {
+        String sql = "select partition_name, high_value from ";
+        if (StringUtils.isBlank(table.getSchema())) {
+            sql += "user_tab_partitions where ";
+        } else {
+            sql += "all_tab_partitions where table_owner = '" + table.getSchema().replace("'", "''") + "' and ";
+        }
+        return sql + "table_name = '" + getTableName(table.getName()).replace("'", "''") + "'";
+    }
+
+    @Override
+    public String getDropRangePartitionSql(Table table, String partitionName) {
+        if (partitionName.equalsIgnoreCase("p0")) {
+            // the last partition in the range section of an interval partitioned table cannot be dropped
+            return null;
+        }
+        return "ALTER TABLE " + getFullyQualifiedTableNameShorten(table) + " DROP PARTITION " + partitionName + " UPDATE GLOBAL INDEXES";
+    }
 }
@@ -586,4 +586,42 @@ public class PostgreSqlDdlBuilder extends AbstractDdlBuilder {
         }
         return type;
     }
+
+    @Override
+    protected void writeTableCreationStmtEnding(Table table, StringBuilder ddl) {
+        if (table.isRangePartitioned()) {
+            ddl.append(" PARTITION BY RANGE (").append(getPartitionColumnName(table)).append(")");
+        }
+        super.writeTableCreationStmtEnding(table, ddl);
+        if (table.isRangePartitioned()) {
+            ddl.append("CREATE TABLE ").append(getPartitionTableName(table, "default")).append(" PARTITION OF ");
+            ddl.append(getFullyQualifiedTableNameShorten(table)).append(" DEFAULT");
+            printEndOfStatement(ddl);
+            ddl.append(getAddRangePartitionSql(table, 0));
+            printEndOfStatement(ddl);
+        }
+    }
+
+    @Override
+    public String getRangePartitionsSql(Table table) {
+        return "select c.relname as partition_name, substring(pg_get_expr(c.relpartbound, c.oid) from 'TO \\(''{0,1}(-{0,1}[0-9]+)') as high_value "
+                + "from pg_inherits i inner join pg_class c on c.oid = i.inhrelid where i.inhparent = '"
+                + getFullyQualifiedTableNameShorten(table).replace("'", "''") + "'::regclass";
+    }
+
+    @Override
+    public String getAddRangePartitionSql(Table table, long partitionNumber) {
+        long interval = table.getPartitionInterval();
+        return "CREATE TABLE " + getPartitionTableName(table, "p" + partitionNumber) + " PARTITION OF " + getFullyQualifiedTableNameShorten(table)
+                + " FOR VALUES FROM (" + (partitionNumber * interval) + ") TO (" + ((partitionNumber + 1) * interval) + ")";
+    }
+
+    @Override
+    public String getDropRangePartitionSql(Table table, String partitionName) {
+        return "DROP TABLE " + getFullyQualifiedTableNameShorten(new Table(table.getCatalog(), table.getSchema(), partitionName));
+    }
+
+    protected String getPartitionTableName(Table table, String suffix) {
+        return getFullyQualifiedTableNameShorten(new Table(table.getCatalog(), table.getSchema(), table.getName() + "_" + suffix));
+    }
 }
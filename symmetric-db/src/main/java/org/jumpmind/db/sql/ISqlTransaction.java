@@ -32,6 +32,11 @@ public interface ISqlTransaction {
 
     public void setInBatchMode(boolean batchMode);
 
+    /**
+     * Keep up to this many prepared statements open for reuse by {@link #prepare(String)}, evicting the least recently used. Zero disables the cache.
+     */
+    public void setPreparedStatementCacheSize(int size);
+
     public <T> T queryForObject(String sql, Class<T> clazz, Object... args);
 
     public Row queryForRow(String sql, Object... args);
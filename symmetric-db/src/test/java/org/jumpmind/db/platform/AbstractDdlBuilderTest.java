@@ -410,4 +410,23 @@ public class AbstractDdlBuilderTest {
             }
         }
     }
+
+    @Test
+    public void testCreateRangePartitionedTable() {
+        Table table = new Table("sym_data", new Column("data_id", true, Types.BIGINT, 0, 0), new Column("table_name", false, Types.VARCHAR, 255, 0));
+        table.setPartitionColumnName("data_id");
+        table.setPartitionInterval(1000);
+        String ddl = new PostgreSqlDdlBuilder().createTable(table);
+        assertTrue(ddl, ddl.contains(") PARTITION BY RANGE (\"data_id\")"));
+        assertTrue(ddl, ddl.contains("CREATE TABLE \"sym_data_default\" PARTITION OF \"sym_data\" DEFAULT"));
+        assertTrue(ddl, ddl.contains("CREATE TABLE \"sym_data_p0\" PARTITION OF \"sym_data\" FOR VALUES FROM (0) TO (1000)"));
+        ddl = new MySqlDdlBuilder().createTable(table);
+        assertTrue(ddl, ddl.contains("PARTITION BY RANGE (`data_id`) (PARTITION p0 VALUES LESS THAN (1000), PARTITION pmax VALUES LESS THAN MAXVALUE)"));
+        ddl = new OracleDdlBuilder().createTable(table);
+        assertTrue(ddl, ddl.contains("PARTITION BY RANGE (\"data_id\") INTERVAL (1000) (PARTITION p0 VALUES LESS THAN (1000))"));
+        ddl = new H2DdlBuilder().createTable(table);
+        assertTrue(ddl, !ddl.contains("PARTITION"));
+        assertTrue(new MySqlDdlBuilder().getAddRangePartitionSql(table, 3).endsWith(
+                "REORGANIZE PARTITION pmax INTO (PARTITION p3 VALUES LESS THAN (4000), PARTITION pmax VALUES LESS THAN MAXVALUE)"));
+    }
 }
@@ -23,11 +23,13 @@ package org.jumpmind.symmetric.io.data;
 import java.nio.charset.Charset;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
+import org.jumpmind.db.model.Table;
 import org.jumpmind.db.util.BinaryEncoding;
 import org.jumpmind.util.Statistics;
 
@@ -56,6 +58,8 @@ public class Batch {
     protected Statistics statistics;
     protected boolean invalidRetry = false;
     protected boolean bulkLoaderFlag;
+    protected List<Table> stagedTables;
+    protected boolean stagedScript;
 
     public boolean isBulkLoaderFlag() {
         return bulkLoaderFlag;
@@ -230,6 +234,29 @@ public class Batch {
         return invalidRetry;
     }
 
+    /**
+     * The tables (catalog, schema and name only) that were written to staging for this batch, or null if the batch was not parsed into staging, like
+     * a retry of a batch that is already staged.
+     */
+    public List<Table> getStagedTables() {
+        return stagedTables;
+    }
+
+    public void setStagedTables(List<Table> stagedTables) {
+        this.stagedTables = stagedTables;
+    }
+
+    /**
+     * True when the staged batch contains sql, bsh or create events that could affect tables other than the ones listed in {@link #getStagedTables()}
+     */
+    public boolean isStagedScript() {
+        return stagedScript;
+    }
+
+    public void setStagedScript(boolean stagedScript) {
+        this.stagedScript = stagedScript;
+    }
+
     public String encodeBinary(String value) {
         if (value != null) {
             if (binaryEncoding == BinaryEncoding.HEX) {
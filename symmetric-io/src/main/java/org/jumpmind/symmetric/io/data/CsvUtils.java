@@ -37,6 +37,7 @@ public class CsvUtils {
     private static final Logger log = LoggerFactory.getLogger(CsvUtils.class);
     public static final String DELIMITER = ", ";
     public static final String LINE_SEPARATOR = System.getProperty("line.separator");
+    private static final ThreadLocal<CsvReader> tokenizer = ThreadLocal.withInitial(() -> getCsvReader(new StringReader("")));
 
     public static CsvReader getCsvReader(Reader reader) {
         CsvReader csvReader = new CsvReader(reader);
@@ -54,15 +55,41 @@ public class CsvUtils {
         return csvReader;
     }
 
+    /**
+     * Parse the first record of captured row data. Each thread reuses its own reader, so no reader or buffers are allocated per call.
+     */
     public static String[] tokenizeCsvData(String csvData) {
         String[] tokens = null;
         if (csvData != null) {
-            try (StringReader sr = new StringReader(csvData); CsvReader csvReader = getCsvReader(sr)) {
-                if (csvReader.readRecord()) {
-                    tokens = csvReader.getValues();
-                }
-            } catch (IOException e) {
+            CsvReader csvReader = tokenizer.get();
+            csvReader.reset(csvData);
+            tokens = readTokens(csvReader);
+        }
+        return tokens;
+    }
+
+    /**
+     * Parse the first record of captured row data from a slice of a character array, which is read in place.
+     */
+    public static String[] tokenizeCsvData(char[] csvData, int offset, int length) {
+        String[] tokens = null;
+        if (csvData != null) {
+            CsvReader csvReader = tokenizer.get();
+            csvReader.reset(csvData, offset, length);
+            tokens = readTokens(csvReader);
+        }
+        return tokens;
+    }
+
+    private static String[] readTokens(CsvReader csvReader) {
+        String[] tokens = null;
+        try {
+            if (csvReader.readRecord()) {
+                tokens = csvReader.getValues();
             }
+        } catch (IOException e) {
+        } finally {
+            csvReader.reset("");
         }
         return tokens;
     }
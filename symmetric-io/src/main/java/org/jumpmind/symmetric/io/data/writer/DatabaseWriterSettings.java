@@ -32,6 +32,7 @@ import org.jumpmind.symmetric.io.data.Batch;
 
 public class DatabaseWriterSettings {
     protected long maxRowsBeforeCommit = 10000;
+    protected int preparedStatementCacheSize = 0;
     // Milliseconds to sleep between commits.
     protected long commitSleepInterval = 5;
     protected boolean treatDateTimeFieldsAsVarchar = false;
@@ -105,6 +106,14 @@ public class DatabaseWriterSettings {
         this.maxRowsBeforeCommit = maxRowsBeforeCommit;
     }
 
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+    }
+
     public boolean isTreatDateTimeFieldsAsVarchar() {
         return treatDateTimeFieldsAsVarchar;
     }
@@ -138,6 +138,7 @@ public class DefaultDatabaseWriter extends AbstractDatabaseWriter {
     public void open(DataContext context) {
         super.open(context);
         transaction = platform.getSqlTemplate().startSqlTransaction();
+        transaction.setPreparedStatementCacheSize(writerSettings.getPreparedStatementCacheSize());
     }
 
     @Override
@@ -127,6 +127,7 @@ public class DynamicDefaultDatabaseWriter extends DefaultDatabaseWriter {
         super.open(context);
         if (isLoadOnly()) {
             this.targetTransaction = targetPlatform.getSqlTemplate().startSqlTransaction(!targetPlatform.supportsTransactions());
+            this.targetTransaction.setPreparedStatementCacheSize(writerSettings.getPreparedStatementCacheSize());
         }
     }
 
@@ -56,4 +56,26 @@ public class CsvUtilsTest {
         assertEquals(tokens[0], newTokens[0]);
         assertEquals(tokens[1], newTokens[1]);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTokenizeReusesReader() {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            longValue.append((char) ('a' + i % 26));
+        }
+        String[] tokens = CsvUtils.tokenizeCsvData("\"1\",\"" + longValue + "\",,\"back\\\\slash\"");
+        assertEquals(4, tokens.length);
+        assertEquals(longValue.toString(), tokens[1]);
+        assertNull(tokens[2]);
+        assertEquals("back\\slash", tokens[3]);
+        tokens = CsvUtils.tokenizeCsvData("\"2\",\"two\"");
+        assertArrayEquals(new String[] { "2", "two" }, tokens);
+        assertNull(CsvUtils.tokenizeCsvData(""));
+    }
+
+    @Test
+    public void testTokenizeSlice() {
+        char[] data = "xx\"3\",\"three\"yy".toCharArray();
+        assertArrayEquals(new String[] { "3", "three" }, CsvUtils.tokenizeCsvData(data, 2, data.length - 4));
+    }
+}
@@ -29,6 +29,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +56,8 @@ public class JdbcSqlTransaction implements ISqlTransaction {
     protected LogSqlBuilder logSqlBuilder;
     protected List<ISqlTransactionListener> listeners = new ArrayList<ISqlTransactionListener>();
     protected int batchSize = 100;
+    protected int preparedStatementCacheSize;
+    protected Map<String, PreparedStatement> preparedStatementCache;
 
     public JdbcSqlTransaction(JdbcSqlTemplate jdbcSqlTemplate) {
         this(jdbcSqlTemplate, false);
@@ -98,6 +101,14 @@ public class JdbcSqlTransaction implements ISqlTransaction {
         return inBatchMode;
     }
 
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+    }
+
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
     public void commit() {
         if (connection != null) {
             try {
@@ -141,6 +152,7 @@ public class JdbcSqlTransaction implements ISqlTransaction {
 
     public void close() {
         if (connection != null) {
+            closePreparedStatementCache();
             JdbcSqlTemplate.close(pstmt);
             try {
                 connection.setAutoCommit(this.oldAutoCommitValue);
@@ -410,14 +422,64 @@ public class JdbcSqlTransaction implements ISqlTransaction {
                 throw new IllegalStateException(
                         "Cannot prepare a new batch before the last batch has been flushed.");
             }
-            JdbcSqlTemplate.close(pstmt);
-            pstmt = connection.prepareStatement(sql);
+            if (preparedStatementCacheSize > 0) {
+                pstmt = getCachedStatement(sql);
+            } else {
+                closePreparedStatementCache();
+                JdbcSqlTemplate.close(pstmt);
+                pstmt = connection.prepareStatement(sql);
+            }
             psql = sql;
         } catch (SQLException ex) {
             throw jdbcSqlTemplate.translate(new SqlException("Exception while preparing sql [" + sql + "]", ex));
         }
     }
 
+    /**
+     * Switch to the cached statement for the sql, preparing it if needed. The last batch has already been flushed, so any rows still queued on the current
+     * statement were abandoned by a rollback and are cleared so they cannot run out of order when the statement is reused.
+     */
+    protected PreparedStatement getCachedStatement(String sql) throws SQLException {
+        if (preparedStatementCache == null) {
+            preparedStatementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > preparedStatementCacheSize) {
+                        JdbcSqlTemplate.close(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        if (pstmt != null) {
+            if (preparedStatementCache.containsValue(pstmt)) {
+                clearBatch();
+            } else {
+                JdbcSqlTemplate.close(pstmt);
+            }
+        }
+        PreparedStatement statement = preparedStatementCache.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            preparedStatementCache.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    protected void closePreparedStatementCache() {
+        if (preparedStatementCache != null) {
+            for (PreparedStatement statement : preparedStatementCache.values()) {
+                JdbcSqlTemplate.close(statement);
+            }
+            preparedStatementCache = null;
+        }
+    }
+
     public int addRow(Object marker, Object[] args, int[] argTypes) {
         int rowsUpdated = 0;
         try {
@@ -40,7 +40,8 @@ import org.slf4j.MDC;
  * 
  * In the your engine.properties file, you can configure interceptors:
  * org.jumpmind.driver.PreparedStatementWrapper.interceptor=org.jumpmind.driver.StatementDelayInterceptor OR
- * org.jumpmind.driver.PreparedStatementWrapper.interceptor=org.jumpmind.driver.RandomErrorInterceptor
+ * org.jumpmind.driver.PreparedStatementWrapper.interceptor=org.jumpmind.driver.RandomErrorInterceptor OR
+ * org.jumpmind.driver.PreparedStatementWrapper.interceptor=org.jumpmind.driver.StatementMetricsInterceptor
  */
 public class Driver implements java.sql.Driver {
     private static final String DRIVER_PREFIX = "jdbc:symds:";
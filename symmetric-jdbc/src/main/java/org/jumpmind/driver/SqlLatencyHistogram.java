@@ -0,0 +1,88 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.driver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with a bucket for each power of two of microseconds, so a value is recorded without locking or allocation. Percentiles are reported as
+ * the upper bound of the bucket they fall in, which is within a factor of two of the actual value.
+ */
+public class SqlLatencyHistogram {
+    protected static final int BUCKET_COUNT = 40;
+    protected AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    protected LongAdder count = new LongAdder();
+    protected LongAdder totalMicros = new LongAdder();
+    protected LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+
+    public void record(long elapsedNanos) {
+        long micros = Math.max(elapsedNanos / 1000, 0);
+        buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public long getMeanMicros() {
+        long count = getCount();
+        return count > 0 ? getTotalMicros() / count : 0;
+    }
+
+    /**
+     * @param percentile
+     *            a percentile from 0 to 100
+     * @return the upper bound, in microseconds, of the bucket that holds the percentile
+     */
+    public long getMicrosAtPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max((long) Math.ceil(total * percentile / 100d), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+}
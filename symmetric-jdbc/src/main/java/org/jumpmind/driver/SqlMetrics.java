@@ -0,0 +1,132 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.driver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Statement metrics of an engine, kept by SQL text with literals and whitespace normalized so executions of the same statement are counted together.
+ * 
+ * @see StatementMetricsInterceptor
+ */
+public class SqlMetrics {
+    private final static Logger log = LoggerFactory.getLogger(SqlMetrics.class);
+    protected static final String OTHER_SQL = "(other statements)";
+    protected static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    protected static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$\"])-?\\d+(?:\\.\\d+)?(?![\\w\"])");
+    protected static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    protected static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, SqlMetrics> metricsByEngine = new ConcurrentHashMap<String, SqlMetrics>();
+    protected Map<String, SqlStatementMetrics> statements = new ConcurrentHashMap<String, SqlStatementMetrics>();
+    protected int maxStatements = 1000;
+    protected int maxSqlLength = 2000;
+    protected long logPeriodMs;
+    protected int logTopCount = 20;
+    protected AtomicLong nextLogTime = new AtomicLong();
+
+    public static SqlMetrics getInstance(String engineName) {
+        return metricsByEngine.computeIfAbsent(engineName == null ? "" : engineName, k -> new SqlMetrics());
+    }
+
+    public static SqlMetrics findInstance(String engineName) {
+        return metricsByEngine.get(engineName == null ? "" : engineName);
+    }
+
+    public void record(String sql, long elapsedNanos, long rowCount) {
+        if (sql == null) {
+            return;
+        }
+        String key = normalize(sql);
+        SqlStatementMetrics metrics = statements.get(key);
+        if (metrics == null) {
+            if (statements.size() >= maxStatements) {
+                key = OTHER_SQL;
+            }
+            metrics = statements.computeIfAbsent(key, SqlStatementMetrics::new);
+        }
+        metrics.record(elapsedNanos, rowCount);
+        logSummaryIfDue();
+    }
+
+    public String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        if (normalized.length() > maxSqlLength) {
+            normalized = normalized.substring(0, maxSqlLength);
+        }
+        return normalized;
+    }
+
+    /**
+     * @return the statements in order of the total time spent executing them
+     */
+    public List<SqlStatementMetrics> getStatements() {
+        List<SqlStatementMetrics> list = new ArrayList<SqlStatementMetrics>(statements.values());
+        list.sort(Comparator.comparingLong((SqlStatementMetrics s) -> s.getLatency().getTotalMicros()).reversed());
+        return list;
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public String getSummary(int topCount) {
+        StringBuilder summary = new StringBuilder();
+        List<SqlStatementMetrics> list = getStatements();
+        for (int i = 0; i < list.size() && i < topCount; i++) {
+            summary.append(list.get(i)).append("\n");
+        }
+        return summary.toString();
+    }
+
+    protected void logSummaryIfDue() {
+        if (logPeriodMs > 0) {
+            long now = System.currentTimeMillis();
+            long next = nextLogTime.get();
+            if (now >= next && nextLogTime.compareAndSet(next, now + logPeriodMs) && next > 0) {
+                log.info("Top {} statements by execution time:\n{}", logTopCount, getSummary(logTopCount));
+            }
+        }
+    }
+
+    public void setLogPeriodMs(long logPeriodMs) {
+        this.logPeriodMs = logPeriodMs;
+    }
+
+    public void setLogTopCount(int logTopCount) {
+        this.logTopCount = logTopCount;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+}
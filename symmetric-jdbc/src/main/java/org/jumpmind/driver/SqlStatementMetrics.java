@@ -0,0 +1,66 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.driver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls, rows and latency of one normalized SQL statement.
+ */
+public class SqlStatementMetrics {
+    protected String sql;
+    protected SqlLatencyHistogram latency = new SqlLatencyHistogram();
+    protected LongAdder rows = new LongAdder();
+
+    public SqlStatementMetrics(String sql) {
+        this.sql = sql;
+    }
+
+    public void record(long elapsedNanos, long rowCount) {
+        latency.record(elapsedNanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public SqlLatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCallCount() {
+        return latency.getCount();
+    }
+
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("calls=%d rows=%d totalMs=%d meanUs=%d p50Us=%d p99Us=%d maxUs=%d %s", getCallCount(), getRowCount(),
+                latency.getTotalMicros() / 1000, latency.getMeanMicros(), latency.getMicrosAtPercentile(50), latency.getMicrosAtPercentile(99),
+                latency.getMaxMicros(), sql);
+    }
+}
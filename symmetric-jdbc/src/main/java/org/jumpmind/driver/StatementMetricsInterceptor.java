@@ -0,0 +1,89 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.driver;
+
+import org.jumpmind.properties.TypedProperties;
+
+/**
+ * Records the calls, rows and latency of each statement executed, grouped by normalized SQL, in the {@link SqlMetrics} of the engine. Statements are not
+ * logged individually, so it is cheap enough to leave on in production. Configure in the engine.properties file:
+ * 
+ * <pre>
+ * org.jumpmind.driver.PreparedStatementWrapper.interceptor=org.jumpmind.driver.StatementMetricsInterceptor
+ * org.jumpmind.driver.StatementWrapper.interceptor=org.jumpmind.driver.StatementMetricsInterceptor
+ * # optional, log the statements that took the most time every period
+ * org.jumpmind.driver.StatementMetricsInterceptor.log.period.ms=300000
+ * org.jumpmind.driver.StatementMetricsInterceptor.log.top.count=20
+ * org.jumpmind.driver.StatementMetricsInterceptor.max.statements=1000
+ * </pre>
+ */
+public class StatementMetricsInterceptor extends StatementInterceptor {
+    protected SqlMetrics metrics;
+    protected long startNanos;
+
+    public StatementMetricsInterceptor(Object wrapped, TypedProperties systemPlusEngineProperties) {
+        super(wrapped, systemPlusEngineProperties);
+        String prefix = StatementMetricsInterceptor.class.getName();
+        metrics = SqlMetrics.getInstance(systemPlusEngineProperties.get("engine.name"));
+        metrics.setLogPeriodMs(systemPlusEngineProperties.getLong(prefix + ".log.period.ms", 0));
+        metrics.setLogTopCount(systemPlusEngineProperties.getInt(prefix + ".log.top.count", 20));
+        metrics.setMaxStatements(systemPlusEngineProperties.getInt(prefix + ".max.statements", 1000));
+    }
+
+    @Override
+    public InterceptResult preExecute(String methodName, Object... parameters) {
+        if (methodName.startsWith("execute")) {
+            startNanos = System.nanoTime();
+        }
+        return new InterceptResult();
+    }
+
+    @Override
+    public InterceptResult postExecute(String methodName, Object result, long startTime, long endTime, Object... parameters) {
+        if (methodName.startsWith("execute")) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            String sql = null;
+            if (getWrapped() instanceof PreparedStatementWrapper) {
+                sql = ((PreparedStatementWrapper) getWrapped()).getStatement();
+            } else if (parameters != null && parameters.length > 0 && parameters[0] instanceof String) {
+                sql = (String) parameters[0];
+            }
+            metrics.record(sql, elapsedNanos, getRowCount(result));
+        }
+        return new InterceptResult();
+    }
+
+    protected long getRowCount(Object result) {
+        long rowCount = 0;
+        if (result instanceof Number) {
+            rowCount = ((Number) result).longValue();
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rowCount += Math.max(count, 0);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rowCount += Math.max(count, 0);
+            }
+        }
+        return rowCount;
+    }
+}
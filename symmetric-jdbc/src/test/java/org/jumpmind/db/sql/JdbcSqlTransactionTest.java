@@ -0,0 +1,90 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.db.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.JdbcDatabasePlatformFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+public class JdbcSqlTransactionTest {
+    static final String INSERT_SQL = "insert into test (test_id, test) values (?, ?)";
+    static final String UPDATE_SQL = "update test set test=? where test_id=?";
+    static final String DELETE_SQL = "delete from test where test_id=?";
+
+    @Test
+    public void testPreparedStatementCache() throws Exception {
+        SingleConnectionDataSource ds = getDataSource();
+        IDatabasePlatform platform = JdbcDatabasePlatformFactory.getInstance().create(ds, new SqlTemplateSettings(), true, false);
+        platform.getSqlTemplate().update("create table test (test_id integer primary key, test varchar(50))");
+        JdbcSqlTransaction transaction = (JdbcSqlTransaction) platform.getSqlTemplate().startSqlTransaction();
+        try {
+            transaction.setInBatchMode(true);
+            transaction.setPreparedStatementCacheSize(2);
+            transaction.prepare(INSERT_SQL);
+            PreparedStatement insert = transaction.pstmt;
+            transaction.addRow(1, new Object[] { 1, "one" }, new int[] { Types.INTEGER, Types.VARCHAR });
+            transaction.addRow(2, new Object[] { 2, "two" }, new int[] { Types.INTEGER, Types.VARCHAR });
+            assertEquals(2, transaction.flush());
+            transaction.prepare(UPDATE_SQL);
+            transaction.addRow(1, new Object[] { "uno", 1 }, new int[] { Types.VARCHAR, Types.INTEGER });
+            assertEquals(1, transaction.flush());
+            transaction.prepare(INSERT_SQL);
+            assertSame(insert, transaction.pstmt);
+            transaction.addRow(3, new Object[] { 3, "three" }, new int[] { Types.INTEGER, Types.VARCHAR });
+            assertEquals(1, transaction.flush());
+            transaction.prepare(DELETE_SQL);
+            transaction.addRow(2, new Object[] { 2 }, new int[] { Types.INTEGER });
+            assertEquals(1, transaction.flush());
+            assertFalse(insert.isClosed());
+            transaction.prepare(UPDATE_SQL);
+            transaction.addRow(3, new Object[] { "tres", 3 }, new int[] { Types.VARCHAR, Types.INTEGER });
+            assertEquals(1, transaction.flush());
+            assertTrue(insert.isClosed());
+            transaction.prepare(INSERT_SQL);
+            assertNotSame(insert, transaction.pstmt);
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+        assertEquals("uno", platform.getSqlTemplate().queryForObject("select test from test where test_id=1", String.class));
+        assertEquals("tres", platform.getSqlTemplate().queryForObject("select test from test where test_id=3", String.class));
+        assertEquals(2, platform.getSqlTemplate().queryForInt("select count(*) from test"));
+        ds.destroy();
+    }
+
+    private SingleConnectionDataSource getDataSource() throws Exception {
+        Class.forName("org.h2.Driver");
+        Connection c = DriverManager.getConnection("jdbc:h2:mem:preparedstatementcache");
+        return new SingleConnectionDataSource(c, true);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SqlMetricsTest {
+    @Test
+    public void testNormalize() {
+        SqlMetrics metrics = new SqlMetrics();
+        assertEquals("select * from sym_data where data_id = ? and table_name = ?",
+                metrics.normalize("select *\n  from sym_data where data_id = 42 and table_name = 'it''s'"));
+        assertEquals("delete from t1 where id in (?)", metrics.normalize("delete from t1 where id in (1, 2, 3)"));
+        assertEquals("select col1 from sym_t2 where x = ?", metrics.normalize("select col1 from sym_t2 where x = ?"));
+    }
+
+    @Test
+    public void testRecord() {
+        SqlMetrics metrics = new SqlMetrics();
+        metrics.record("update t set x = 1 where id = 1", 2000000, 1);
+        metrics.record("update t set x = 2 where id = 2", 4000000, 1);
+        metrics.record("select 1", 1000000, 0);
+        List<SqlStatementMetrics> statements = metrics.getStatements();
+        assertEquals(2, statements.size());
+        assertEquals("update t set x = ? where id = ?", statements.get(0).getSql());
+        assertEquals(2, statements.get(0).getCallCount());
+        assertEquals(2, statements.get(0).getRowCount());
+        assertEquals(4000, statements.get(0).getLatency().getMaxMicros());
+    }
+
+    @Test
+    public void testMaxStatements() {
+        SqlMetrics metrics = new SqlMetrics();
+        metrics.setMaxStatements(1);
+        metrics.record("select a from t", 1000, 0);
+        metrics.record("select b from t", 1000, 0);
+        metrics.record("select c from t", 1000, 0);
+        assertEquals(2, metrics.getStatements().size());
+        assertEquals(2, metrics.statements.get(SqlMetrics.OTHER_SQL).getCallCount());
+    }
+
+    @Test
+    public void testPercentiles() {
+        SqlLatencyHistogram histogram = new SqlLatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000000L);
+        }
+        long p50 = histogram.getMicrosAtPercentile(50);
+        long p99 = histogram.getMicrosAtPercentile(99);
+        assertTrue(p50 >= 50000 && p50 < 100000);
+        assertEquals(100000, p99);
+        assertEquals(50500, histogram.getMeanMicros());
+    }
+}
@@ -76,6 +76,7 @@ public class SymmetricBoot {
         ServletRegistrationBean<SymmetricServlet> bean = new ServletRegistrationBean<>(new SymmetricServlet(),
                 "/sync/*");
         bean.setLoadOnStartup(1);
+        bean.setAsyncSupported(true);
         return bean;
     }
 
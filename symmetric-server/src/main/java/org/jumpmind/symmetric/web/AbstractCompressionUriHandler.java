@@ -21,7 +21,7 @@
 package org.jumpmind.symmetric.web;
 
 import java.io.IOException;
-import java.util.Enumeration;
+import java.util.Collections;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +29,9 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.transport.compression.CompressionCodecFactory;
+import org.jumpmind.symmetric.transport.compression.GzipCompressionCodec;
+import org.jumpmind.symmetric.transport.compression.ICompressionCodec;
 import org.jumpmind.symmetric.web.compression.CompressionServletResponseWrapper;
 
 abstract public class AbstractCompressionUriHandler extends AbstractUriHandler {
@@ -42,12 +45,9 @@ abstract public class AbstractCompressionUriHandler extends AbstractUriHandler {
         boolean compressionEnabled = !parameterService
                 .is(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_DISABLED_SERVLET);
         if (compressionEnabled) {
-            int compressionLevel = parameterService
-                    .getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_LEVEL);
             int compressionStrategy = parameterService
                     .getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_STRATEGY);
             log.debug("@doFilter");
-            boolean supportCompression = false;
             log.debug("requestURI= {}", req.getRequestURI());
             // Are we allowed to compress ?
             String s = (String) req.getParameter("gzip");
@@ -56,24 +56,23 @@ abstract public class AbstractCompressionUriHandler extends AbstractUriHandler {
                 handleWithCompression(req, res);
                 return;
             }
-            @SuppressWarnings("rawtypes")
-            Enumeration e = req.getHeaders("Accept-Encoding");
-            while (e.hasMoreElements()) {
-                String name = (String) e.nextElement();
-                if (name.indexOf("gzip") != -1) {
-                    log.debug("Supports compression.");
-                    supportCompression = true;
-                } else {
-                    log.debug("Does not support compression.");
-                }
+            ICompressionCodec codec = CompressionCodecFactory.negotiate(Collections.list(req.getHeaders("Accept-Encoding")));
+            boolean supportCompression = codec != null;
+            if (supportCompression) {
+                log.debug("Supports compression with {}.", codec.getEncoding());
+            } else {
+                log.debug("Does not support compression.");
             }
             if (!supportCompression) {
                 log.debug("doFilter gets called without compression");
                 handleWithCompression(req, res);
                 return;
             } else {
+                int compressionLevel = codec instanceof GzipCompressionCodec
+                        ? parameterService.getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_LEVEL)
+                        : parameterService.getInt(ParameterConstants.TRANSPORT_HTTP_COMPRESSION_CODEC_LEVEL, -1);
                 CompressionServletResponseWrapper wrappedResponse = new CompressionServletResponseWrapper(
-                        res, compressionLevel, compressionStrategy);
+                        res, codec, compressionLevel, compressionStrategy);
                 log.debug("doFilter gets called with compression");
                 try {
                     handleWithCompression(req, wrappedResponse);
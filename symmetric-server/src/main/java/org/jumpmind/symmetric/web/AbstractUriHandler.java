@@ -25,13 +25,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.jumpmind.symmetric.model.ChannelMap;
 import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.symmetric.transport.IOutgoingTransport;
+import org.jumpmind.symmetric.transport.compression.CompressionCodecFactory;
+import org.jumpmind.symmetric.transport.compression.ICompressionCodec;
 import org.jumpmind.symmetric.transport.internal.InternalOutgoingTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,13 +55,10 @@ abstract public class AbstractUriHandler implements IUriHandler {
     }
 
     protected InputStream createInputStream(HttpServletRequest req) throws IOException {
-        InputStream is = null;
-        String contentType = req.getHeader("Content-Type");
-        boolean useCompression = contentType != null && (contentType.equalsIgnoreCase("gzip")
-                || contentType.equalsIgnoreCase("application/gzip"));
-        is = req.getInputStream();
-        if (useCompression) {
-            is = new GZIPInputStream(is);
+        InputStream is = req.getInputStream();
+        ICompressionCodec codec = CompressionCodecFactory.getCodec(req.getHeader("Content-Type"));
+        if (codec != null) {
+            is = codec.decompress(is);
         }
         return is;
     }
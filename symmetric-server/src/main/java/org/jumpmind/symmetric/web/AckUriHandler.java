@@ -70,8 +70,9 @@ public class AckUriHandler extends AbstractUriHandler {
         long keepAliveMillis = parameterService.getLong(ParameterConstants.DATA_LOADER_SEND_ACK_KEEPALIVE);
         long ts = System.currentTimeMillis();
         PrintWriter writer = res.getWriter();
-        for (BatchAck batchInfo : batches) {
-            acknowledgeService.ack(batchInfo);
+        int bulkSize = Math.max(1, parameterService.getInt(ParameterConstants.ACK_BULK_SIZE, 500));
+        for (int start = 0; start < batches.size(); start += bulkSize) {
+            acknowledgeService.ack(batches.subList(start, Math.min(start + bulkSize, batches.size())));
             if (keepAliveMillis > 0 && System.currentTimeMillis() - ts >= keepAliveMillis) {
                 try {
                     writer.write("1=1&");
@@ -24,7 +24,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.zip.GZIPInputStream;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletOutputStream;
@@ -34,6 +33,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.jumpmind.symmetric.service.IBandwidthService;
 import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.symmetric.transport.BandwidthTestResults;
+import org.jumpmind.symmetric.transport.compression.CompressionCodecFactory;
+import org.jumpmind.symmetric.transport.compression.ICompressionCodec;
 import org.jumpmind.util.AppUtils;
 
 import com.google.gson.Gson;
@@ -98,12 +99,10 @@ public class BandwidthSamplerUriHandler extends AbstractUriHandler {
     }
 
     protected InputStream createInputStream(HttpServletRequest req) throws IOException {
-        InputStream is = null;
-        String contentType = req.getHeader("Content-Type");
-        boolean useCompression = contentType != null && contentType.equalsIgnoreCase("gzip");
-        is = req.getInputStream();
-        if (useCompression) {
-            is = new GZIPInputStream(is);
+        InputStream is = req.getInputStream();
+        ICompressionCodec codec = CompressionCodecFactory.getCodec(req.getHeader("Content-Type"));
+        if (codec != null) {
+            is = codec.decompress(is);
         }
         return is;
     }
@@ -0,0 +1,150 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.web;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.NodeSecurity;
+import org.jumpmind.symmetric.route.IBatchesRoutedListener;
+import org.jumpmind.symmetric.service.INodeService;
+import org.jumpmind.symmetric.service.IOutgoingBatchService;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An interceptor that holds a pull request with no batches to send, using servlet async so no thread is tied up while waiting. The request is
+ * dispatched again to run the pull when the router creates batches for the node or when the wait requested by the client in the
+ * {@link WebConstants#LONG_POLL_WAIT_MS} header runs out. Interceptors ahead of this one are released while the request is held and run again on
+ * the dispatch, so a held request does not count against the node concurrency limits.
+ */
+public class LongPollInterceptor implements IInterceptor, IBatchesRoutedListener {
+    private static Logger log = LoggerFactory.getLogger(LongPollInterceptor.class);
+    private IParameterService parameterService;
+    private INodeService nodeService;
+    private IOutgoingBatchService outgoingBatchService;
+    private Map<String, Set<AsyncContext>> waitingByNodeId = new ConcurrentHashMap<String, Set<AsyncContext>>();
+    private AtomicInteger waitingCount = new AtomicInteger();
+
+    public LongPollInterceptor(IParameterService parameterService, INodeService nodeService, IOutgoingBatchService outgoingBatchService) {
+        this.parameterService = parameterService;
+        this.nodeService = nodeService;
+        this.outgoingBatchService = outgoingBatchService;
+    }
+
+    public boolean before(HttpServletRequest req, HttpServletResponse res) throws IOException, ServletException {
+        long waitMs = NumberUtils.toLong(req.getHeader(WebConstants.LONG_POLL_WAIT_MS));
+        String nodeId = StringUtils.trimToNull(req.getParameter(WebConstants.NODE_ID));
+        if (waitMs <= 0 || nodeId == null || req.getDispatcherType() != DispatcherType.REQUEST || !req.isAsyncSupported()
+                || !WebConstants.METHOD_GET.equals(req.getMethod())
+                || waitingCount.get() >= parameterService.getInt(ParameterConstants.PULL_LONG_POLL_MAX_REQUESTS, 1000)) {
+            return true;
+        }
+        NodeSecurity nodeSecurity = nodeService.findNodeSecurity(nodeId, true);
+        if (nodeSecurity == null || nodeSecurity.isRegistrationEnabled() || hasBatchesToSend(nodeId)) {
+            return true;
+        }
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(waitMs);
+        asyncContext.addListener(new AsyncListener() {
+            public void onTimeout(AsyncEvent event) throws IOException {
+                resume(nodeId, asyncContext);
+            }
+
+            public void onError(AsyncEvent event) throws IOException {
+                remove(nodeId, asyncContext);
+            }
+
+            public void onComplete(AsyncEvent event) throws IOException {
+                remove(nodeId, asyncContext);
+            }
+
+            public void onStartAsync(AsyncEvent event) throws IOException {
+            }
+        });
+        waitingByNodeId.computeIfAbsent(nodeId, k -> ConcurrentHashMap.newKeySet()).add(asyncContext);
+        waitingCount.incrementAndGet();
+        log.debug("Holding pull from node {} for up to {}ms", nodeId, waitMs);
+        /* batches routed before the request was registered would not have woken it */
+        if (hasBatchesToSend(nodeId)) {
+            resume(nodeId, asyncContext);
+        }
+        return false;
+    }
+
+    public void after(HttpServletRequest req, HttpServletResponse res) throws IOException, ServletException {
+    }
+
+    public void batchesRouted(Set<String> nodeIds) {
+        if (waitingCount.get() > 0) {
+            for (String nodeId : nodeIds) {
+                Set<AsyncContext> waiting = waitingByNodeId.get(nodeId);
+                if (waiting != null) {
+                    for (AsyncContext asyncContext : waiting) {
+                        resume(nodeId, asyncContext);
+                    }
+                }
+            }
+        }
+    }
+
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    protected boolean hasBatchesToSend(String nodeId) {
+        return outgoingBatchService.countUnsentBatchesByTargetNode(nodeId, true) > 0;
+    }
+
+    protected void resume(String nodeId, AsyncContext asyncContext) {
+        if (remove(nodeId, asyncContext)) {
+            try {
+                asyncContext.dispatch();
+            } catch (IllegalStateException ex) {
+                log.debug("Unable to resume pull from node {}", nodeId, ex);
+            }
+        }
+    }
+
+    protected boolean remove(String nodeId, AsyncContext asyncContext) {
+        Set<AsyncContext> waiting = waitingByNodeId.get(nodeId);
+        if (waiting != null && waiting.remove(asyncContext)) {
+            waitingCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+}
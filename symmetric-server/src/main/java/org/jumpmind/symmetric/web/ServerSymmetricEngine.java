@@ -93,9 +93,11 @@ public class ServerSymmetricEngine extends ClientSymmetricEngine {
         this.uriHandlers
                 .add(new InfoUriHandler(parameterService, nodeService, configurationService, clusterService, customInterceptors));
         this.uriHandlers.add(new BandwidthSamplerUriHandler(parameterService, add(customInterceptors, authInterceptor, concurrencyInterceptor)));
+        LongPollInterceptor longPollInterceptor = new LongPollInterceptor(parameterService, nodeService, outgoingBatchService);
+        extensionService.addExtensionPoint(longPollInterceptor);
         this.uriHandlers.add(new PullUriHandler(parameterService, nodeService,
                 configurationService, dataExtractorService, registrationService, statisticManager, outgoingBatchService,
-                add(customInterceptors, authInterceptor, concurrencyInterceptor)));
+                add(customInterceptors, authInterceptor, concurrencyInterceptor, longPollInterceptor)));
         this.uriHandlers.add(new PushUriHandler(parameterService, dataLoaderService,
                 statisticManager, nodeService, add(customInterceptors, authInterceptor, concurrencyInterceptor)));
         this.uriHandlers.add(new PushStatusUriHandler(parameterService, nodeCommunicationService,
@@ -29,6 +29,9 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 
+import org.jumpmind.symmetric.transport.compression.CompressionCodecFactory;
+import org.jumpmind.symmetric.transport.compression.GzipCompressionCodec;
+import org.jumpmind.symmetric.transport.compression.ICompressionCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +47,7 @@ import org.slf4j.LoggerFactory;
  */
 public class CompressionServletResponseWrapper extends HttpServletResponseWrapper {
     private static final Logger log = LoggerFactory.getLogger(CompressionServletResponseWrapper.class);
+    ICompressionCodec codec;
     int compressionLevel = Deflater.DEFAULT_COMPRESSION;
     int compressionStrategy = Deflater.DEFAULT_STRATEGY;
 
@@ -51,7 +55,15 @@ public class CompressionServletResponseWrapper extends HttpServletResponseWrappe
      * Calls the parent constructor which creates a ServletResponse adaptor wrapping the given response object.
      */
     public CompressionServletResponseWrapper(HttpServletResponse response, int compressionLevel, int compressionStrategy) {
+        this(response, CompressionCodecFactory.getCodecOrDefault(GzipCompressionCodec.ENCODING), compressionLevel, compressionStrategy);
+    }
+
+    /**
+     * Calls the parent constructor which creates a ServletResponse adaptor wrapping the given response object and compresses with the given codec.
+     */
+    public CompressionServletResponseWrapper(HttpServletResponse response, ICompressionCodec codec, int compressionLevel, int compressionStrategy) {
         super(response);
+        this.codec = codec;
         this.compressionLevel = compressionLevel;
         this.compressionStrategy = compressionStrategy;
         origResponse = response;
@@ -97,7 +109,7 @@ public class CompressionServletResponseWrapper extends HttpServletResponseWrappe
      */
     public ServletOutputStream createOutputStream() throws IOException {
         log.debug("createOutputStream gets called");
-        CompressionResponseStream stream = new CompressionResponseStream(origResponse, compressionLevel,
+        CompressionResponseStream stream = new CompressionResponseStream(origResponse, codec, compressionLevel,
                 compressionStrategy);
         return stream;
     }
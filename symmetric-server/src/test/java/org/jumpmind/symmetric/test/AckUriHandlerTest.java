@@ -23,12 +23,18 @@ package org.jumpmind.symmetric.test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +46,7 @@ import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.model.AbstractBatch.Status;
 import org.jumpmind.symmetric.model.BatchAck;
@@ -64,6 +71,8 @@ public class AckUriHandlerTest {
     static final String NODE_ID = "NODE1";
     static final String CHANNEL_ID = "default";
     ISymmetricEngine engine;
+    IParameterService parameterService;
+    IOutgoingBatchService outgoingBatchService;
     OutgoingBatch batch;
     HttpServletRequest request;
     HttpServletResponse response;
@@ -72,12 +81,12 @@ public class AckUriHandlerTest {
     @BeforeEach
     public void setup() throws IOException {
         engine = mock(ISymmetricEngine.class);
-        IParameterService parameterService = mock(IParameterService.class);
+        parameterService = mock(IParameterService.class);
         ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
         IDatabasePlatform databasePlatform = mock(IDatabasePlatform.class);
         IExtensionService extensionService = mock(IExtensionService.class);
         IRegistrationService registrationService = mock(IRegistrationService.class);
-        IOutgoingBatchService outgoingBatchService = mock(IOutgoingBatchService.class);
+        outgoingBatchService = mock(IOutgoingBatchService.class);
         IConfigurationService configService = mock(IConfigurationService.class);
         IStatisticManager statMan = mock(StatisticManager.class);
         ISqlTemplate sqlTemplate = mock(ISqlTemplate.class);
@@ -168,4 +177,29 @@ public class AckUriHandlerTest {
         assertEquals(Status.RS, batch.getStatus());
         assertFalse(batch.isErrorFlag());
     }
+
+    /**
+     * Test that successful acks are read and updated together
+     */
+    @Test
+    public void testOutgoingBatchOkBulk() throws Exception {
+        OutgoingBatch otherBatch = new OutgoingBatch(NODE_ID, CHANNEL_ID, Status.LD);
+        otherBatch.setBatchId(BATCH_ID + 1);
+        Map<Long, OutgoingBatch> batches = new HashMap<Long, OutgoingBatch>();
+        batches.put(BATCH_ID, batch);
+        batches.put(BATCH_ID + 1, otherBatch);
+        when(parameterService.getInt(ParameterConstants.ACK_BULK_SIZE, 500)).thenReturn(500);
+        when(outgoingBatchService.findOutgoingBatches(NODE_ID, Arrays.asList(BATCH_ID, BATCH_ID + 1))).thenReturn(batches);
+        paramMap.put(WebConstants.ACK_BATCH_NAME + BATCH_ID, new String[] { WebConstants.ACK_BATCH_OK });
+        paramMap.put(WebConstants.ACK_NODE_ID + BATCH_ID, new String[] { NODE_ID });
+        paramMap.put(WebConstants.ACK_BATCH_NAME + (BATCH_ID + 1), new String[] { WebConstants.ACK_BATCH_OK });
+        paramMap.put(WebConstants.ACK_NODE_ID + (BATCH_ID + 1), new String[] { NODE_ID });
+        IAcknowledgeService ackService = new AcknowledgeService(engine);
+        AckUriHandler uriHandler = new AckUriHandler(engine.getParameterService(), ackService);
+        uriHandler.handle(request, response);
+        assertEquals(Status.OK, batch.getStatus());
+        assertEquals(Status.OK, otherBatch.getStatus());
+        verify(outgoingBatchService, never()).findOutgoingBatch(BATCH_ID, NODE_ID);
+        verify(outgoingBatchService).updateOutgoingBatches(any(ISqlTransaction.class), eq(Arrays.asList(batch, otherBatch)), anyInt());
+    }
 }
@@ -0,0 +1,100 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.NodeSecurity;
+import org.jumpmind.symmetric.service.INodeService;
+import org.jumpmind.symmetric.service.IOutgoingBatchService;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LongPollInterceptorTest {
+    static final String NODE_ID = "NODE1";
+    IOutgoingBatchService outgoingBatchService;
+    LongPollInterceptor interceptor;
+    HttpServletRequest request;
+    HttpServletResponse response;
+    AsyncContext asyncContext;
+
+    @BeforeEach
+    public void setup() {
+        IParameterService parameterService = mock(IParameterService.class);
+        INodeService nodeService = mock(INodeService.class);
+        outgoingBatchService = mock(IOutgoingBatchService.class);
+        when(parameterService.getInt(ParameterConstants.PULL_LONG_POLL_MAX_REQUESTS, 1000)).thenReturn(1000);
+        when(nodeService.findNodeSecurity(NODE_ID, true)).thenReturn(new NodeSecurity());
+        interceptor = new LongPollInterceptor(parameterService, nodeService, outgoingBatchService);
+        asyncContext = mock(AsyncContext.class);
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        when(request.getHeader(WebConstants.LONG_POLL_WAIT_MS)).thenReturn("30000");
+        when(request.getParameter(WebConstants.NODE_ID)).thenReturn(NODE_ID);
+        when(request.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.getMethod()).thenReturn(WebConstants.METHOD_GET);
+        when(request.startAsync()).thenReturn(asyncContext);
+    }
+
+    @Test
+    public void testPullWithBatchesIsNotHeld() throws Exception {
+        when(outgoingBatchService.countUnsentBatchesByTargetNode(NODE_ID, true)).thenReturn(1);
+        assertTrue(interceptor.before(request, response));
+        verify(request, never()).startAsync();
+    }
+
+    @Test
+    public void testHeldPullResumesWhenBatchesAreRouted() throws Exception {
+        assertFalse(interceptor.before(request, response));
+        verify(asyncContext).setTimeout(30000);
+        assertEquals(1, interceptor.getWaitingCount());
+        interceptor.batchesRouted(Collections.singleton("NODE2"));
+        verify(asyncContext, never()).dispatch();
+        interceptor.batchesRouted(Collections.singleton(NODE_ID));
+        interceptor.batchesRouted(Collections.singleton(NODE_ID));
+        verify(asyncContext, times(1)).dispatch();
+        assertEquals(0, interceptor.getWaitingCount());
+    }
+
+    @Test
+    public void testDispatchedPullIsNotHeldAgain() throws Exception {
+        when(request.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+        assertTrue(interceptor.before(request, response));
+        verify(request, never()).startAsync();
+    }
+}